@@ -1,9 +1,11 @@
 package com.chronos.attendanceservice.controller;
 
 
+import com.chronos.attendanceservice.dto.AttendanceHistoryPageDTO;
 import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
 import com.chronos.attendanceservice.dto.CheckInRequestDTO;
 import com.chronos.attendanceservice.dto.ManagerAttendanceDisplayByDateResponseDTO;
+import com.chronos.attendanceservice.dto.SiteOccupancyResponseDTO;
 import com.chronos.attendanceservice.service.impl.AttendanceServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,12 +16,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.time.LocalDate;
 
 /**
  * REST controller that manages employee attendance operations.
@@ -28,8 +33,10 @@ import java.util.List;
  * - Record employee check-in events.
  * - Record employee check-out events.
  * - Retrieve the latest attendance record for an employee.
- * - Retrieve complete attendance history for an employee.
+ * - Retrieve an employee's attendance history, by date range and page.
  * - Retrieve team attendance for a specific date (manager view).
+ * - Stream live team presence to a manager (Server-Sent Events).
+ * - Retrieve today's headcount per site location, by hour.
  * <p>
  * Base path: /api/attendances
  * Security: Endpoints are protected and require appropriate roles as noted per method.
@@ -40,7 +47,7 @@ import java.util.List;
 
 @Tag(
         name = "Attendance CRUD Rest API",
-        description = "REST APIs - Check-in, Check-out, Get Latest Attendance, Get Attendance History, Get Team Attendance By Date"
+        description = "REST APIs - Check-in, Check-out, Get Latest Attendance, Get Attendance History, Get Team Attendance By Date, Stream Team Presence, Get Site Occupancy"
 )
 @Slf4j
 @RestController
@@ -53,6 +60,39 @@ public class AttendanceController {
         this.attendanceService = attendanceService;
     }
 
+    /**
+     * Retrieve today's headcount per site location.
+     * <p>
+     * HTTP: GET /api/attendances/occupancy?location={location}
+     * Security: Requires MANAGER role.
+     *
+     * @param location a single location to report (default: every location)
+     * @return people on site now and the peak of each hour so far, per location
+     */
+
+    @Operation(
+            summary = "Get Site Occupancy REST API",
+            description = "Fetches today's number of people on site per location, now and as the peak of every hour so far"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved site occupancy",
+                    content = @Content(schema = @Schema(implementation = SiteOccupancyResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required"
+            )
+    })
+    @PreAuthorize("hasRole('MANAGER')")
+    @GetMapping("/occupancy")
+    public ResponseEntity<SiteOccupancyResponseDTO> getSiteOccupancy(@RequestParam(value = "location", required = false) String location) {
+        log.info("Invoked the GET: getSiteOccupancy controller method, location:{}", location);
+        SiteOccupancyResponseDTO occupancy = attendanceService.getSiteOccupancy(location);
+        return new ResponseEntity<>(occupancy, HttpStatus.OK);
+    }
+
     /**
      * Retrieve the most recent attendance record for a specific employee.
      * <p>
@@ -94,28 +134,32 @@ public class AttendanceController {
     }
 
     /**
-     * Retrieve the entire attendance history for a specific employee.
+     * Retrieve an employee's attendance history, newest first, one page at a time.
      * <p>
      * HTTP: GET /api/attendances/{employeeId}/history
      * Security: Open endpoint (EMPLOYEE role commented out).
      *
      * @param employeeId the unique identifier of the employee
-     * @return list of all attendance records for the employee
+     * @param from       first day to include (default: no lower bound)
+     * @param to         last day to include (default: today)
+     * @param cursor     nextCursor from the previous page; omit for the first page
+     * @param size       page size (default attendance.history.page-size, at most 200)
+     * @return a page of attendance records and the cursor of the next page
      */
 
     @Operation(
             summary = "Get Attendance History REST API",
-            description = "Fetches the entire attendance history for a specific employee."
+            description = "Fetches a page of the attendance history for a specific employee, optionally limited to a date range."
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
                     description = "Successfully retrieved attendance history",
-                    content = @Content(schema = @Schema(implementation = AttendanceResponseDTO[].class))
+                    content = @Content(schema = @Schema(implementation = AttendanceHistoryPageDTO.class))
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Bad Request - Invalid employee ID format"
+                    description = "Bad Request - Invalid employee ID format or page cursor"
             ),
             @ApiResponse(
                     responseCode = "401",
@@ -127,9 +171,15 @@ public class AttendanceController {
             )
     })
     @GetMapping("/{employeeId}/history")
-    public ResponseEntity<List<AttendanceResponseDTO>> getAttendanceHistory(@PathVariable String employeeId) {
-        log.info("Invoked the GET: getAttendanceHistory controller method, employeeId:{}", employeeId);
-        List<AttendanceResponseDTO> history = attendanceService.getAttendanceHistory(employeeId);
+    public ResponseEntity<AttendanceHistoryPageDTO> getAttendanceHistory(
+            @PathVariable String employeeId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "${attendance.history.page-size:50}") int size
+    ) {
+        log.info("Invoked the GET: getAttendanceHistory controller method, employeeId:{}, from:{}, to:{}, cursor:{}, size:{}", employeeId, from, to, cursor, size);
+        AttendanceHistoryPageDTO history = attendanceService.getAttendanceHistory(employeeId, from, to, cursor, size);
         return new ResponseEntity<>(history, HttpStatus.OK);
     }
 
@@ -256,4 +306,51 @@ public class AttendanceController {
         ManagerAttendanceDisplayByDateResponseDTO teamAttendance = attendanceService.getTeamsAttendanceByDate(managerId, date);
         return new ResponseEntity<>(teamAttendance, HttpStatus.OK);
     }
+
+    /**
+     * Stream the live attendance of a manager's team for today.
+     * <p>
+     * HTTP: GET /api/attendances/{managerId}/presence/stream
+     * Security: Requires MANAGER role.
+     * <p>
+     * The stream opens with a "snapshot" event holding the team's sessions for today, followed by an
+     * "attendance" event whenever a team member checks in or out. Clients reconnect when the stream
+     * times out.
+     *
+     * @param managerId the unique identifier of the manager
+     * @return the event stream
+     */
+
+    @Operation(
+            summary = "Stream Team Presence REST API",
+            description = "Streams the manager's team attendance for today as Server-Sent Events: a snapshot, then one event per check-in or check-out"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream opened"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid manager ID format"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not Found - Manager not found"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Service Unavailable - Too many open presence streams"
+            )
+    })
+    @PreAuthorize("hasRole('MANAGER')")
+    @GetMapping(value = "/{managerId}/presence/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTeamPresence(@PathVariable String managerId) {
+        log.info("Invoked the GET: streamTeamPresence controller method, managerId:{}", managerId);
+        return attendanceService.streamTeamPresence(managerId);
+    }
 }
@@ -0,0 +1,152 @@
+package com.chronos.attendanceservice.controller;
+
+import com.chronos.attendanceservice.dto.AttendanceEventResultDTO;
+import com.chronos.attendanceservice.dto.AttendanceSummaryRequestDTO;
+import com.chronos.attendanceservice.dto.BulkAttendanceEventsRequestDTO;
+import com.chronos.attendanceservice.dto.EmployeeAttendanceSummaryDTO;
+import com.chronos.attendanceservice.dto.RollupRebuildResponseDTO;
+import com.chronos.attendanceservice.dto.TeamAttendanceSummaryDTO;
+import com.chronos.attendanceservice.service.AttendanceRollupService;
+import com.chronos.attendanceservice.service.AttendanceService;
+import com.chronos.attendanceservice.service.impl.AttendanceServiceInternalImpl;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Internal REST controller for attendance aggregation operations.
+ * <p>
+ * This controller provides internal APIs used by other microservices within the platform
+ * (e.g. report-service) for retrieving pre-aggregated attendance figures in a single call
+ * instead of pulling each employee's full history.
+ * <p>
+ * Responsibilities:
+ * - Summarize completed attendance (distinct present days and hours worked) for multiple employees over a date range.
+ * - Summarize completed attendance for a whole team over a date range from the daily team rollups.
+ * - Rebuild the daily rollups from raw attendance rows for backfill.
+ * - Ingest batches of check-in/check-out events from badge readers and kiosks.
+ * <p>
+ * Base path: /api/attendances/internal
+ * Security: Internal endpoints - intended for service-to-service communication.
+ * <p>
+ * Created by: Sourasish Mondal
+ * Since: 2025-11-06
+ */
+
+@Slf4j
+@RestController
+@RequestMapping("/api/attendances/internal")
+public class AttendanceInternalController {
+    private final AttendanceServiceInternalImpl attendanceServiceInternal;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AttendanceService attendanceService;
+
+    public AttendanceInternalController(
+            AttendanceServiceInternalImpl attendanceServiceInternal,
+            AttendanceRollupService attendanceRollupService,
+            AttendanceService attendanceService
+    ) {
+        this.attendanceServiceInternal = attendanceServiceInternal;
+        this.attendanceRollupService = attendanceRollupService;
+        this.attendanceService = attendanceService;
+    }
+
+    /**
+     * Summarize attendance for multiple employees within a date range.
+     * <p>
+     * HTTP: POST /api/attendances/internal/summary-by-employee-ids
+     * Security: Internal endpoint for inter-service communication.
+     * <p>
+     * Aggregates the daily employee rollups with a grouped query, returning one row per
+     * employee that has attendance in the range. Employees without attendance are omitted.
+     *
+     * @param request the employee IDs and inclusive start/end dates to aggregate over
+     * @return per-employee distinct present days and summed hours worked
+     */
+
+    @PostMapping("/summary-by-employee-ids")
+    public ResponseEntity<List<EmployeeAttendanceSummaryDTO>> getSummaryByEmployeeIds(@Valid @RequestBody AttendanceSummaryRequestDTO request) {
+        log.info("Invoked the POST: getSummaryByEmployeeIds controller method, employees:{}, startDate:{}, endDate:{}",
+                request.employeeIds() == null ? 0 : request.employeeIds().size(), request.startDate(), request.endDate());
+        List<EmployeeAttendanceSummaryDTO> summaries = attendanceServiceInternal.getAttendanceSummaryByEmployeeIds(request);
+        return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
+
+    /**
+     * Summarize attendance for a team within a date range.
+     * <p>
+     * HTTP: GET /api/attendances/internal/teams/{teamId}/summary?startDate={startDate}&endDate={endDate}
+     * Security: Internal endpoint for inter-service communication.
+     * <p>
+     * Reads one pre-aggregated row per team-day, so the cost depends on the length of the
+     * range rather than the number of check-ins.
+     *
+     * @param teamId    the team identifier
+     * @param startDate the inclusive start date
+     * @param endDate   the inclusive end date
+     * @return the team's total present employee-days and hours worked
+     */
+
+    @GetMapping("/teams/{teamId}/summary")
+    public ResponseEntity<TeamAttendanceSummaryDTO> getTeamSummary(
+            @PathVariable("teamId") String teamId,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        log.info("Invoked the GET: getTeamSummary controller method, teamId:{}, startDate:{}, endDate:{}", teamId, startDate, endDate);
+        TeamAttendanceSummaryDTO summary = attendanceServiceInternal.getTeamAttendanceSummary(teamId, startDate, endDate);
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+
+    /**
+     * Rebuild the daily employee and team rollups for a closed date range.
+     * <p>
+     * HTTP: POST /api/attendances/internal/rollups/rebuild?startDate={startDate}&endDate={endDate}
+     * Security: Internal endpoint for operational backfill.
+     * <p>
+     * Recomputes the rollups from raw attendance one month at a time. The range must end
+     * before today, since the current day is still maintained by live check-outs.
+     *
+     * @param startDate the inclusive start date
+     * @param endDate   the inclusive end date
+     * @return the number of employee-day and team-day rows written
+     */
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<RollupRebuildResponseDTO> rebuildRollups(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        log.info("Invoked the POST: rebuildRollups controller method, startDate:{}, endDate:{}", startDate, endDate);
+        RollupRebuildResponseDTO result = attendanceRollupService.rebuildRollups(startDate, endDate);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    /**
+     * Apply a batch of check-in and check-out events.
+     * <p>
+     * HTTP: POST /api/attendances/internal/events/bulk
+     * Security: Internal endpoint for badge reader and kiosk integrations.
+     * <p>
+     * Events are applied in order within one transaction. Each carries a client idempotency key:
+     * an event whose key was already applied is answered as DUPLICATE with its original session,
+     * so a reader can safely resend a batch after a timeout. Events for unknown employees, or that
+     * conflict with the employee's current session, are REJECTED without affecting the rest.
+     *
+     * @param request the events to apply (at most 1000)
+     * @return one result per event, in request order
+     */
+
+    @PostMapping("/events/bulk")
+    public ResponseEntity<List<AttendanceEventResultDTO>> recordAttendanceEvents(@Valid @RequestBody BulkAttendanceEventsRequestDTO request) {
+        log.info("Invoked the POST: recordAttendanceEvents controller method, events:{}", request.events().size());
+        List<AttendanceEventResultDTO> results = attendanceService.recordAttendanceEvents(request.events());
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,21 @@
+package com.chronos.attendanceservice.dto;
+
+import com.chronos.common.constants.enums.AttendanceEventType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.UUID;
+
+public record AttendanceEventDTO(
+        @NotBlank(message = "idempotencyKey is required")
+        @Size(max = 64, message = "idempotencyKey must be at most 64 characters")
+        String idempotencyKey,
+        @NotNull(message = "employeeId is required")
+        UUID employeeId,
+        @NotNull(message = "type is required")
+        AttendanceEventType type,
+        @Size(max = 100, message = "location must be at most 100 characters")
+        String location
+) {
+}
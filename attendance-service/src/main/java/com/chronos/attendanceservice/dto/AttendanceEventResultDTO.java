@@ -0,0 +1,16 @@
+package com.chronos.attendanceservice.dto;
+
+import com.chronos.common.constants.enums.AttendanceEventOutcome;
+import com.chronos.common.constants.enums.AttendanceEventType;
+
+import java.util.UUID;
+
+public record AttendanceEventResultDTO(
+        String idempotencyKey,
+        UUID employeeId,
+        AttendanceEventType type,
+        AttendanceEventOutcome outcome,
+        String attendanceId,
+        String error
+) {
+}
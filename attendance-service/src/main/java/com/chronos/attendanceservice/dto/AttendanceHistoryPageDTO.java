@@ -0,0 +1,10 @@
+package com.chronos.attendanceservice.dto;
+
+import java.util.List;
+
+public record AttendanceHistoryPageDTO(
+        List<AttendanceResponseDTO> records,
+        // pass back as ?cursor= for the next (older) page; null on the last page
+        String nextCursor
+) {
+}
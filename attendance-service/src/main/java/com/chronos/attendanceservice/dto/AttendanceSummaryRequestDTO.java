@@ -0,0 +1,16 @@
+package com.chronos.attendanceservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record AttendanceSummaryRequestDTO(
+        List<UUID> employeeIds,
+        @NotNull(message = "startDate is required")
+        LocalDate startDate,
+        @NotNull(message = "endDate is required")
+        LocalDate endDate
+) {
+}
@@ -0,0 +1,14 @@
+package com.chronos.attendanceservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkAttendanceEventsRequestDTO(
+        @NotEmpty(message = "events is required")
+        @Size(max = 1000, message = "At most 1000 events per request")
+        List<@Valid AttendanceEventDTO> events
+) {
+}
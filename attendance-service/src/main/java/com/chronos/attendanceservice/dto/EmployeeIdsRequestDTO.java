@@ -0,0 +1,9 @@
+package com.chronos.attendanceservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EmployeeIdsRequestDTO(
+        List<UUID> employeeIds
+) {
+}
@@ -0,0 +1,11 @@
+package com.chronos.attendanceservice.dto;
+
+import com.chronos.common.dto.EmployeeDTO;
+
+import java.util.List;
+
+public record EmployeePageDTO(
+        List<EmployeeDTO> employees,
+        String nextCursor
+) {
+}
@@ -0,0 +1,9 @@
+package com.chronos.attendanceservice.dto;
+
+import java.util.List;
+
+public record EmployeeStatusPageDTO(
+        List<EmployeeStatusDTO> employees,
+        String nextCursor
+) {
+}
@@ -0,0 +1,10 @@
+package com.chronos.attendanceservice.dto;
+
+import java.util.List;
+
+public record LocationOccupancyDTO(
+        String location,
+        int onSite,
+        List<Integer> peakByHour
+) {
+}
@@ -0,0 +1,11 @@
+package com.chronos.attendanceservice.dto;
+
+import java.time.LocalDate;
+
+public record RollupRebuildResponseDTO(
+        LocalDate startDate,
+        LocalDate endDate,
+        int employeeDaysWritten,
+        int teamDaysWritten
+) {
+}
@@ -0,0 +1,12 @@
+package com.chronos.attendanceservice.dto;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record SiteOccupancyResponseDTO(
+        LocalDate date,
+        OffsetDateTime asOf,
+        List<LocationOccupancyDTO> locations
+) {
+}
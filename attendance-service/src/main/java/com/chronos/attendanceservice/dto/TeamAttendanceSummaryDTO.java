@@ -0,0 +1,8 @@
+package com.chronos.attendanceservice.dto;
+
+public record TeamAttendanceSummaryDTO(
+        String teamId,
+        Long daysPresent,
+        Double hoursWorked
+) {
+}
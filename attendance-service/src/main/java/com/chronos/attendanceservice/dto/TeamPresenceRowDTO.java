@@ -1,18 +1,18 @@
-package com.chronos.reportservice.dto;
-
+package com.chronos.attendanceservice.dto;
 
 import com.chronos.common.constants.enums.AttendanceStatus;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
-public record AttendanceResponseDTO(
+public record TeamPresenceRowDTO(
         String attendanceId,
+        String displayEmployeeId,
+        String employeeName,
         LocalDate date,
         OffsetDateTime checkIn,
         OffsetDateTime checkOut,
         double hoursWorked,
-        AttendanceStatus attendanceStatus,
-        String location
+        AttendanceStatus attendanceStatus
 ) {
 }
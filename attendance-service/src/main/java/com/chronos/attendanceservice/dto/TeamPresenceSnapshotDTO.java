@@ -0,0 +1,10 @@
+package com.chronos.attendanceservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record TeamPresenceSnapshotDTO(
+        LocalDate date,
+        List<TeamPresenceRowDTO> rows
+) {
+}
@@ -1,12 +1,15 @@
 package com.chronos.attendanceservice.entity;
 
 import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
@@ -16,13 +19,21 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "attendances")
+@Table(
+        name = "attendances",
+        indexes = {
+                @Index(name = "idx_attendances_employee_date", columnList = "employee_id, date"),
+                @Index(name = "idx_attendances_status_check_in", columnList = "attendance_status, check_in")
+        },
+        // widened to (open_session_employee_id, date) only when the table is partitioned, see AttendancePartitionRepository
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendances_open_session", columnNames = "open_session_employee_id")
+)
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 @Builder
 public class Attendance extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -44,11 +55,28 @@ public class Attendance extends Auditable {
     @Column(name = "hours_worked")
     private double hoursWorked;
 
+    // varchar rather than Hibernate's native MySQL enum, which ddl-auto never widens when a status is added
     @Enumerated(EnumType.STRING)
-    @Column(name = "attendance_status", nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "attendance_status", length = 20, nullable = false)
     @ColumnDefault("'ACTIVE'")
     private AttendanceStatus attendanceStatus;
 
     @Column(name = "location", length = 100)
     private String location;
+
+    // the employee id while the session is ACTIVE and null afterwards, so MySQL allows one open session per employee
+    @Column(name = "open_session_employee_id", columnDefinition = "BINARY(16)")
+    private UUID openSessionEmployeeId;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void syncOpenSessionKey() {
+        openSessionEmployeeId = attendanceStatus == AttendanceStatus.ACTIVE ? employeeId : null;
+    }
 }
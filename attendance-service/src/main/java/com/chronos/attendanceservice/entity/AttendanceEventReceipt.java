@@ -0,0 +1,44 @@
+package com.chronos.attendanceservice.entity;
+
+import com.chronos.common.constants.enums.AttendanceEventType;
+import com.chronos.common.persistence.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.util.UUID;
+
+/**
+ * Records that a bulk attendance event with a given client idempotency key has been applied,
+ * and which attendance session it produced, so a resent batch is answered without re-applying it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "attendance_event_receipts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_event_receipts_key", columnNames = "idempotency_key")
+)
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class AttendanceEventReceipt extends Auditable {
+    @Id
+    @UuidV7
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(name = "idempotency_key", length = 64, nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "employee_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private AttendanceEventType eventType;
+
+    @Column(name = "attendance_id", length = 20, nullable = false)
+    private String attendanceId;
+}
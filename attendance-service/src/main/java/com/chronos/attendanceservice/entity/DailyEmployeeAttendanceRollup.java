@@ -0,0 +1,48 @@
+package com.chronos.attendanceservice.entity;
+
+import com.chronos.common.persistence.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Pre-aggregated attendance for one employee on one day.
+ * <p>
+ * Maintained incrementally on check-out and rebuilt from raw {@link Attendance} rows by the
+ * backfill job, so range reports read one row per employee-day instead of every session.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "daily_employee_attendance_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_emp_rollup_employee_date", columnNames = {"employee_id", "date"})
+)
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class DailyEmployeeAttendanceRollup extends Auditable {
+    @Id
+    @UuidV7
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(name = "employee_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID employeeId;
+
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "team_id", length = 50)
+    private String teamId;
+
+    @Column(name = "sessions", nullable = false)
+    private int sessions;
+
+    @Column(name = "hours_worked", nullable = false)
+    private double hoursWorked;
+}
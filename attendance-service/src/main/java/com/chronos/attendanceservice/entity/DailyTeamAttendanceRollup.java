@@ -0,0 +1,43 @@
+package com.chronos.attendanceservice.entity;
+
+import com.chronos.common.persistence.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Pre-aggregated attendance for one team on one day: how many distinct members completed
+ * at least one session and the hours they worked in total.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "daily_team_attendance_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_team_rollup_team_date", columnNames = {"team_id", "date"})
+)
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class DailyTeamAttendanceRollup extends Auditable {
+    @Id
+    @UuidV7
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(name = "team_id", length = 50, nullable = false)
+    private String teamId;
+
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "employees_present", nullable = false)
+    private int employeesPresent;
+
+    @Column(name = "hours_worked", nullable = false)
+    private double hoursWorked;
+}
@@ -0,0 +1,32 @@
+package com.chronos.attendanceservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One row per scheduled job that must run on a single instance at a time. The instance that
+ * moves lease_until forward owns the job until then.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "scheduler_leases")
+@Entity
+public class SchedulerLease {
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "owner", length = 64)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private Instant leaseUntil;
+}
@@ -1,9 +1,15 @@
 package com.chronos.attendanceservice.feign;
 
+import com.chronos.attendanceservice.dto.EmployeeIdsRequestDTO;
+import com.chronos.attendanceservice.dto.EmployeePageDTO;
+import com.chronos.attendanceservice.dto.EmployeeStatusPageDTO;
 import com.chronos.common.dto.EmployeeDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -14,4 +20,17 @@ public interface EmployeeClient {
 
     @GetMapping("/teams/manager/{managerId}/team-members")
     List<EmployeeDTO> getTeamMembers(@PathVariable("managerId") String managerId);
+
+    @PostMapping("/employees/internal/by-ids")
+    List<EmployeeDTO> getEmployeesByIds(@RequestBody EmployeeIdsRequestDTO request);
+
+    @GetMapping("/employees/internal/active")
+    EmployeePageDTO getActiveEmployeesPage(@RequestParam(value = "after", required = false) String after, @RequestParam("size") int size);
+
+    @GetMapping("/employees/internal/changes")
+    EmployeeStatusPageDTO getEmployeeChanges(
+            @RequestParam("since") String since,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("size") int size
+    );
 }
@@ -0,0 +1,14 @@
+package com.chronos.attendanceservice.repository;
+
+import com.chronos.attendanceservice.entity.AttendanceEventReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AttendanceEventReceiptRepository extends JpaRepository<AttendanceEventReceipt, UUID> {
+    List<AttendanceEventReceipt> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+}
@@ -0,0 +1,103 @@
+package com.chronos.attendanceservice.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly range partitions of the attendances table (MySQL only).
+ * <p>
+ * The table is partitioned by RANGE COLUMNS(date) into one partition per month, named pYYYYMM,
+ * plus p_future for anything past the last month. MySQL requires every unique key to contain the
+ * partitioning column, so the primary key becomes (id, date) and the open-session key
+ * (open_session_employee_id, date).
+ */
+@Repository
+public class AttendancePartitionRepository {
+
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendancePartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return PARTITION_NAME.format(month);
+    }
+
+    public boolean isSupported() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+
+    /**
+     * The monthly partitions in order, without p_future; empty while the table is not partitioned.
+     */
+    public List<YearMonth> findMonths() {
+        return jdbcTemplate.queryForList("""
+                        select partition_name
+                        from information_schema.partitions
+                        where table_schema = database()
+                        and table_name = 'attendances'
+                        and partition_name is not null
+                        order by partition_ordinal_position
+                        """, String.class)
+                .stream()
+                .filter(name -> !FUTURE_PARTITION.equals(name))
+                .map(name -> YearMonth.parse(name, PARTITION_NAME))
+                .toList();
+    }
+
+    public LocalDate findOldestDate() {
+        return jdbcTemplate.queryForObject("select min(date) from attendances", LocalDate.class);
+    }
+
+    /**
+     * Rebuilds the unpartitioned table as one partition per given month, the first one also taking
+     * every older row. Copies the whole table, so it only runs once.
+     * <p>
+     * The open-session key then only allows one open session per employee and day; across days,
+     * check-in's ACTIVE lookup under the per-employee lock still stops a second one.
+     */
+    public void partitionByMonth(List<YearMonth> months) {
+        jdbcTemplate.execute("""
+                alter table attendances
+                drop primary key,
+                add primary key (id, date),
+                drop index uk_attendances_open_session,
+                add unique key uk_attendances_open_session (open_session_employee_id, date)
+                partition by range columns(date) (%s)
+                """.formatted(definitions(months)));
+    }
+
+    // splits p_future, which only holds rows dated past the last month, so this is cheap
+    public void addMonths(List<YearMonth> months) {
+        jdbcTemplate.execute("alter table attendances reorganize partition %s into (%s)".formatted(FUTURE_PARTITION, definitions(months)));
+    }
+
+    public long countRows(YearMonth month) {
+        Long rows = jdbcTemplate.queryForObject("select count(*) from attendances partition (%s)".formatted(partitionName(month)), Long.class);
+        return Objects.requireNonNullElse(rows, 0L);
+    }
+
+    public void dropMonth(YearMonth month) {
+        jdbcTemplate.execute("alter table attendances drop partition %s".formatted(partitionName(month)));
+    }
+
+    private static String definitions(List<YearMonth> months) {
+        return months.stream()
+                .map(month -> "partition %s values less than ('%s')".formatted(partitionName(month), month.plusMonths(1).atDay(1)))
+                .collect(Collectors.joining(", ", "", ", partition " + FUTURE_PARTITION + " values less than (maxvalue)"));
+    }
+}
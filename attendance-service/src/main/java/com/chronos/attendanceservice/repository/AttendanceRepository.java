@@ -2,13 +2,21 @@ package com.chronos.attendanceservice.repository;
 
 import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
 import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.repository.projections.EmployeeDailyAttendanceView;
+import com.chronos.attendanceservice.repository.projections.OccupancySessionView;
+import com.chronos.attendanceservice.repository.projections.StaleSessionView;
 import com.chronos.common.constants.enums.AttendanceStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +24,38 @@ import java.util.UUID;
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
 
+    // history pages walk the (employee_id, date) index backwards; InnoDB appends id to it, so the id tie-break is free too
+    @Query("""
+            select a
+            from Attendance a
+            where a.employeeId = :employeeId
+            and a.date between :from and :to
+            order by a.date desc, a.id desc
+            """)
+    List<Attendance> findHistoryFirstPage(
+            @Param("employeeId") UUID employeeId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Limit limit
+    );
+
+    @Query("""
+            select a
+            from Attendance a
+            where a.employeeId = :employeeId
+            and a.date >= :from
+            and (a.date < :date or (a.date = :date and a.id < :id))
+            order by a.date desc, a.id desc
+            """)
+    List<Attendance> findHistoryBefore(
+            @Param("employeeId") UUID employeeId,
+            @Param("from") LocalDate from,
+            @Param("date") LocalDate date,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    // seeks the (employee_id, date) index from its end, so the cost does not grow with the employee's history
     @Query("""
             select new com.chronos.attendanceservice.dto.AttendanceResponseDTO(
                  a.attendanceId,
@@ -28,9 +68,9 @@ public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
             )
             from Attendance a
             where a.employeeId = :employeeId
-            order by a.date desc
+            order by a.date desc, a.checkIn desc
             """)
-    List<AttendanceResponseDTO> findAllByEmployeeOrderByDateDesc(@Param("employeeId") UUID employeeId);
+    List<AttendanceResponseDTO> findLatestByEmployee(@Param("employeeId") UUID employeeId, Limit limit);
 
     @Query("""
             select
@@ -41,6 +81,76 @@ public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
             """)
     List<Attendance> findLatestByEmployeeAndStatus(@Param("employeeId") UUID employeeId, @Param("status") AttendanceStatus status);
 
+    // bounded by employee and date so it stays on the (employee_id, date) index
+    @Query("""
+            select a.attendanceId
+            from Attendance a
+            where a.employeeId in :employeeIds
+            and a.date >= :since
+            """)
+    List<String> findAttendanceIdsSince(@Param("employeeIds") Collection<UUID> employeeIds, @Param("since") LocalDate since);
+
+    // walks the (attendance_status, check_in) index; ids only, so closing a chunk never loads entities
+    @Query("""
+            select a.id as id, a.employeeId as employeeId
+            from Attendance a
+            where a.attendanceStatus = :status
+            and (a.checkIn < :checkInBefore or a.date < :dateBefore)
+            order by a.checkIn asc
+            """)
+    List<StaleSessionView> findStaleSessions(
+            @Param("status") AttendanceStatus status,
+            @Param("checkInBefore") OffsetDateTime checkInBefore,
+            @Param("dateBefore") LocalDate dateBefore,
+            Limit limit
+    );
+
+    // bulk updates skip entity callbacks, so the open-session key and version are maintained here;
+    // the status guard leaves alone any session checked out since it was selected
+    @Modifying
+    @Query("""
+            update Attendance a
+            set a.attendanceStatus = :closedStatus,
+                a.hoursWorked = 0.0,
+                a.openSessionEmployeeId = null,
+                a.version = a.version + 1,
+                a.updatedAt = :now
+            where a.id in :ids
+            and a.attendanceStatus = :openStatus
+            """)
+    int closeSessions(
+            @Param("ids") Collection<UUID> ids,
+            @Param("openStatus") AttendanceStatus openStatus,
+            @Param("closedStatus") AttendanceStatus closedStatus,
+            @Param("now") Instant now
+    );
+
+    // every session on site at some point in [dayStart, dayEnd); both branches stay on the (attendance_status, check_in) index
+    @Query("""
+            select a.attendanceId as attendanceId, a.location as location, a.checkIn as checkIn,
+                 a.checkOut as checkOut, a.attendanceStatus as attendanceStatus
+            from Attendance a
+            where (a.attendanceStatus = :openStatus and a.checkIn < :dayEnd)
+            or (a.attendanceStatus = :closedStatus and a.checkIn >= :checkInFrom and a.checkIn < :dayEnd and a.checkOut >= :dayStart)
+            """)
+    List<OccupancySessionView> findOccupancySessions(
+            @Param("openStatus") AttendanceStatus openStatus,
+            @Param("closedStatus") AttendanceStatus closedStatus,
+            @Param("checkInFrom") OffsetDateTime checkInFrom,
+            @Param("dayStart") OffsetDateTime dayStart,
+            @Param("dayEnd") OffsetDateTime dayEnd
+    );
+
+    // newest first per employee, so a caller keeping the first row per employee sees the same session as findLatestByEmployeeAndStatus
+    @Query("""
+            select a
+            from Attendance a
+            where a.employeeId in :employeeIds
+            and a.attendanceStatus = :status
+            order by a.employeeId asc, a.date desc
+            """)
+    List<Attendance> findByEmployeeIdsAndStatus(@Param("employeeIds") Collection<UUID> employeeIds, @Param("status") AttendanceStatus status);
+
     @Query("""
             select a
             from Attendance a
@@ -49,5 +159,37 @@ public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
             order by a.employeeId asc, a.checkIn asc
             """)
     List<Attendance> findTeamAttendanceByDate(@Param("employeeIds") List<UUID> employeeIds, @Param("date") LocalDate date);
-}
 
+    // the days still held in the partitions below :before; the archiver reads them one day at a time
+    @Query("""
+            select distinct a.date
+            from Attendance a
+            where a.date < :before
+            order by a.date asc
+            """)
+    List<LocalDate> findDatesBefore(@Param("before") LocalDate before);
+
+    @Query("""
+            select a
+            from Attendance a
+            where a.date = :date
+            """)
+    List<Attendance> findAllByDate(@Param("date") LocalDate date);
+
+    @Query("""
+            select
+                 a.employeeId as employeeId,
+                 a.date as date,
+                 count(a) as sessions,
+                 coalesce(sum(a.hoursWorked), 0.0) as hoursWorked
+            from Attendance a
+            where a.date between :startDate and :endDate
+            and a.attendanceStatus = :status
+            group by a.employeeId, a.date
+            """)
+    List<EmployeeDailyAttendanceView> findDailyTotalsByDateBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("status") AttendanceStatus status
+    );
+}
@@ -0,0 +1,66 @@
+package com.chronos.attendanceservice.repository;
+
+import com.chronos.attendanceservice.dto.EmployeeAttendanceSummaryDTO;
+import com.chronos.attendanceservice.entity.DailyEmployeeAttendanceRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DailyEmployeeAttendanceRollupRepository extends JpaRepository<DailyEmployeeAttendanceRollup, UUID> {
+
+    // an empty row unless the day already has one; runs in the caller's transaction and leaves an existing row untouched
+    @Modifying
+    @Query(value = """
+            insert into daily_employee_attendance_rollups (id, employee_id, date, sessions, hours_worked, created_at)
+            values (:id, :employeeId, :date, 0, 0, :createdAt)
+            on duplicate key update id = id
+            """, nativeQuery = true)
+    int createIfAbsent(@Param("id") UUID id, @Param("employeeId") UUID employeeId, @Param("date") LocalDate date, @Param("createdAt") Instant createdAt);
+
+    // only matches while the day has no completed session yet, so a return value of 1 marks the employee's first session of the day
+    @Modifying
+    @Query("""
+            update DailyEmployeeAttendanceRollup r
+            set r.sessions = 1, r.hoursWorked = r.hoursWorked + :hours, r.teamId = :teamId
+            where r.employeeId = :employeeId and r.date = :date and r.sessions = 0
+            """)
+    int recordFirstSession(@Param("employeeId") UUID employeeId, @Param("date") LocalDate date, @Param("hours") double hours, @Param("teamId") String teamId);
+
+    @Modifying
+    @Query("""
+            update DailyEmployeeAttendanceRollup r
+            set r.sessions = r.sessions + 1, r.hoursWorked = r.hoursWorked + :hours
+            where r.employeeId = :employeeId and r.date = :date
+            """)
+    int recordSession(@Param("employeeId") UUID employeeId, @Param("date") LocalDate date, @Param("hours") double hours);
+
+    @Query("""
+            select new com.chronos.attendanceservice.dto.EmployeeAttendanceSummaryDTO(
+                 r.employeeId,
+                 count(r),
+                 coalesce(sum(r.hoursWorked), 0.0)
+            )
+            from DailyEmployeeAttendanceRollup r
+            where r.employeeId in :employeeIds
+            and r.date between :startDate and :endDate
+            and r.sessions > 0
+            group by r.employeeId
+            """)
+    List<EmployeeAttendanceSummaryDTO> summarizeByEmployeeIdsAndDateBetween(
+            @Param("employeeIds") List<UUID> employeeIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Modifying
+    @Query("delete from DailyEmployeeAttendanceRollup r where r.date between :startDate and :endDate")
+    int deleteByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
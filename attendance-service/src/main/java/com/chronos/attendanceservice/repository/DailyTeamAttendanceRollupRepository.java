@@ -0,0 +1,56 @@
+package com.chronos.attendanceservice.repository;
+
+import com.chronos.attendanceservice.dto.TeamAttendanceSummaryDTO;
+import com.chronos.attendanceservice.entity.DailyTeamAttendanceRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DailyTeamAttendanceRollupRepository extends JpaRepository<DailyTeamAttendanceRollup, UUID> {
+
+    // an empty row unless the day already has one; runs in the caller's transaction and leaves an existing row untouched
+    @Modifying
+    @Query(value = """
+            insert into daily_team_attendance_rollups (id, team_id, date, employees_present, hours_worked, created_at)
+            values (:id, :teamId, :date, 0, 0, :createdAt)
+            on duplicate key update id = id
+            """, nativeQuery = true)
+    int createIfAbsent(@Param("id") UUID id, @Param("teamId") String teamId, @Param("date") LocalDate date, @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Query("""
+            update DailyTeamAttendanceRollup r
+            set r.employeesPresent = r.employeesPresent + :newlyPresent, r.hoursWorked = r.hoursWorked + :hours
+            where r.teamId = :teamId and r.date = :date
+            """)
+    int recordSession(@Param("teamId") String teamId, @Param("date") LocalDate date, @Param("newlyPresent") int newlyPresent, @Param("hours") double hours);
+
+    @Query("""
+            select new com.chronos.attendanceservice.dto.TeamAttendanceSummaryDTO(
+                 r.teamId,
+                 sum(r.employeesPresent),
+                 sum(r.hoursWorked)
+            )
+            from DailyTeamAttendanceRollup r
+            where r.teamId = :teamId
+            and r.date between :startDate and :endDate
+            group by r.teamId
+            """)
+    Optional<TeamAttendanceSummaryDTO> summarizeByTeamIdAndDateBetween(
+            @Param("teamId") String teamId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Modifying
+    @Query("delete from DailyTeamAttendanceRollup r where r.date between :startDate and :endDate")
+    int deleteByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,38 @@
+package com.chronos.attendanceservice.repository;
+
+import com.chronos.attendanceservice.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // a plain insert rather than save(), which would merge over a row another instance just created
+    @Modifying
+    @Query(value = "insert into scheduler_leases (name, lease_until) values (:name, :leaseUntil)", nativeQuery = true)
+    int create(@Param("name") String name, @Param("leaseUntil") Instant leaseUntil);
+
+    // a single conditional update, so of two instances racing for an expired lease exactly one sees 1
+    @Modifying
+    @Query("""
+            update SchedulerLease l
+            set l.owner = :owner, l.leaseUntil = :leaseUntil
+            where l.name = :name
+            and (l.leaseUntil <= :now or l.owner = :owner)
+            """)
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+
+    @Modifying
+    @Query("""
+            update SchedulerLease l
+            set l.leaseUntil = :leaseUntil
+            where l.name = :name
+            and l.owner = :owner
+            """)
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("leaseUntil") Instant leaseUntil);
+}
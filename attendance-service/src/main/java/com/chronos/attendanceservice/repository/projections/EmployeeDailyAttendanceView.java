@@ -0,0 +1,14 @@
+package com.chronos.attendanceservice.repository.projections;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface EmployeeDailyAttendanceView {
+        UUID getEmployeeId();
+
+        LocalDate getDate();
+
+        Long getSessions();
+
+        Double getHoursWorked();
+}
@@ -0,0 +1,17 @@
+package com.chronos.attendanceservice.repository.projections;
+
+import com.chronos.common.constants.enums.AttendanceStatus;
+
+import java.time.OffsetDateTime;
+
+public interface OccupancySessionView {
+        String getAttendanceId();
+
+        String getLocation();
+
+        OffsetDateTime getCheckIn();
+
+        OffsetDateTime getCheckOut();
+
+        AttendanceStatus getAttendanceStatus();
+}
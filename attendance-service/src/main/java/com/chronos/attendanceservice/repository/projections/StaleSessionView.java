@@ -0,0 +1,9 @@
+package com.chronos.attendanceservice.repository.projections;
+
+import java.util.UUID;
+
+public interface StaleSessionView {
+        UUID getId();
+
+        UUID getEmployeeId();
+}
@@ -0,0 +1,12 @@
+package com.chronos.attendanceservice.service;
+
+import com.chronos.attendanceservice.dto.RollupRebuildResponseDTO;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface AttendanceRollupService {
+    void recordCompletedSession(UUID employeeId, String teamId, LocalDate date, double hoursWorked);
+
+    RollupRebuildResponseDTO rebuildRollups(LocalDate startDate, LocalDate endDate);
+}
@@ -1,20 +1,32 @@
 package com.chronos.attendanceservice.service;
 
 
+import com.chronos.attendanceservice.dto.AttendanceEventDTO;
+import com.chronos.attendanceservice.dto.AttendanceEventResultDTO;
+import com.chronos.attendanceservice.dto.AttendanceHistoryPageDTO;
 import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
 import com.chronos.attendanceservice.dto.CheckInRequestDTO;
 import com.chronos.attendanceservice.dto.ManagerAttendanceDisplayByDateResponseDTO;
+import com.chronos.attendanceservice.dto.SiteOccupancyResponseDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface AttendanceService {
     AttendanceResponseDTO getLatestAttendance(String employeeId);
 
-    List<AttendanceResponseDTO> getAttendanceHistory(String employeeId);
+    AttendanceHistoryPageDTO getAttendanceHistory(String employeeId, LocalDate from, LocalDate to, String cursor, int size);
 
     AttendanceResponseDTO checkIn(String employeeId, CheckInRequestDTO checkInRequestDTO);
 
     AttendanceResponseDTO checkOut(String employeeId);
 
+    List<AttendanceEventResultDTO> recordAttendanceEvents(List<AttendanceEventDTO> events);
+
     ManagerAttendanceDisplayByDateResponseDTO getTeamsAttendanceByDate(String managerId, String date);
+
+    SseEmitter streamTeamPresence(String managerId);
+
+    SiteOccupancyResponseDTO getSiteOccupancy(String location);
 }
@@ -0,0 +1,204 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.dto.EmployeeIdsRequestDTO;
+import com.chronos.attendanceservice.dto.EmployeePageDTO;
+import com.chronos.attendanceservice.dto.EmployeeStatusDTO;
+import com.chronos.attendanceservice.dto.EmployeeStatusPageDTO;
+import com.chronos.attendanceservice.feign.EmployeeClient;
+import com.chronos.common.dto.EmployeeDTO;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of the active employees and their teams, so check-in and check-out can validate an
+ * employee without a round trip to employee-service.
+ * <p>
+ * The index is loaded by paging through employee-service's active employees, then kept current
+ * from its change feed every refresh interval. The feed only reports updated employees, so a new
+ * employee is looked up remotely on first use and remembered from then on; a deleted employee is
+ * dropped by the periodic full reload. Until the first load completes, and whenever an id is
+ * missing, lookups fall back to employee-service. Hit and miss counts are published as
+ * attendance.employee-index.* meters.
+ */
+@Slf4j
+@Component
+public class ActiveEmployeeIndex {
+
+    private final EmployeeClient employeeClient;
+    private final int pageSize;
+    private final Duration overlap;
+    private final Duration fullReloadInterval;
+
+    private volatile Map<UUID, ActiveEmployee> employees = new ConcurrentHashMap<>();
+
+    // refresh state, only touched by the scheduler thread
+    private Instant loadedAt;
+    private Instant changesSince;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ActiveEmployeeIndex(
+            EmployeeClient employeeClient,
+            @Value("${attendance.employee-index.page-size:1000}") int pageSize,
+            @Value("${attendance.employee-index.overlap:PT1M}") Duration overlap,
+            @Value("${attendance.employee-index.full-reload-interval:PT6H}") Duration fullReloadInterval,
+            MeterRegistry meterRegistry
+    ) {
+        this.employeeClient = employeeClient;
+        this.pageSize = pageSize;
+        this.overlap = overlap;
+        this.fullReloadInterval = fullReloadInterval;
+        this.hits = Counter.builder("attendance.employee-index.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("attendance.employee-index.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("attendance.employee-index.size", this, ActiveEmployeeIndex::size).register(meterRegistry);
+    }
+
+    /**
+     * The employee with this id, from memory when indexed and otherwise from employee-service.
+     *
+     * @return empty if employee-service does not know the employee
+     */
+    public Optional<ActiveEmployee> resolve(UUID employeeId) {
+        ActiveEmployee indexed = employees.get(employeeId);
+        if (indexed != null) {
+            hits.increment();
+            return Optional.of(indexed);
+        }
+        misses.increment();
+        EmployeeDTO employee;
+        try {
+            employee = employeeClient.getEmployeeById(employeeId.toString());
+        } catch (FeignException.NotFound e) {
+            return Optional.empty();
+        }
+        if (employee == null) {
+            return Optional.empty();
+        }
+        ActiveEmployee resolved = new ActiveEmployee(employeeId, employee.teamId());
+        if (employee.isActive()) {
+            employees.put(employeeId, resolved);
+        }
+        return Optional.of(resolved);
+    }
+
+    // the indexed employees, plus one employee-service call for all the ids that are not indexed
+    public Map<UUID, ActiveEmployee> resolveAll(Collection<UUID> employeeIds) {
+        Map<UUID, ActiveEmployee> resolved = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID employeeId : employeeIds) {
+            ActiveEmployee indexed = employees.get(employeeId);
+            if (indexed != null) {
+                resolved.put(employeeId, indexed);
+            } else {
+                missing.add(employeeId);
+            }
+        }
+        hits.increment(resolved.size());
+        misses.increment(missing.size());
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        List<EmployeeDTO> found = employeeClient.getEmployeesByIds(new EmployeeIdsRequestDTO(missing));
+        if (found != null) {
+            for (EmployeeDTO employee : found) {
+                ActiveEmployee fetched = new ActiveEmployee(employee.id(), employee.teamId());
+                resolved.put(employee.id(), fetched);
+                if (employee.isActive()) {
+                    employees.put(employee.id(), fetched);
+                }
+            }
+        }
+        return resolved;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    @Scheduled(
+            initialDelayString = "${attendance.employee-index.initial-delay:PT0S}",
+            fixedDelayString = "${attendance.employee-index.refresh-interval:PT30S}"
+    )
+    public void refresh() {
+        try {
+            if (loadedAt == null || Duration.between(loadedAt, Instant.now()).compareTo(fullReloadInterval) >= 0) {
+                reload();
+            } else {
+                applyChanges();
+            }
+        } catch (RuntimeException e) {
+            // the index keeps serving what it has; misses still reach employee-service
+            log.warn("Failed to refresh the active employee index", e);
+        }
+    }
+
+    private void reload() {
+        // changes made while paging are picked up by the next feed read, which starts before this one did
+        Instant startedAt = Instant.now();
+        Map<UUID, ActiveEmployee> loaded = new ConcurrentHashMap<>();
+        String after = null;
+        do {
+            EmployeePageDTO page = employeeClient.getActiveEmployeesPage(after, pageSize);
+            if (page == null || page.employees() == null) {
+                break;
+            }
+            page.employees().forEach(e -> loaded.put(e.id(), new ActiveEmployee(e.id(), e.teamId())));
+            after = page.nextCursor();
+        } while (after != null);
+
+        employees = loaded;
+        loadedAt = startedAt;
+        changesSince = startedAt.minus(overlap);
+        log.info("Loaded {} active employees into the employee index", loaded.size());
+    }
+
+    private void applyChanges() {
+        Instant latest = changesSince;
+        String cursor = null;
+        do {
+            EmployeeStatusPageDTO page = employeeClient.getEmployeeChanges(changesSince.toString(), cursor, pageSize);
+            if (page == null || page.employees() == null) {
+                break;
+            }
+            for (EmployeeStatusDTO change : page.employees()) {
+                if (change.active()) {
+                    employees.put(change.id(), new ActiveEmployee(change.id(), change.teamId()));
+                } else {
+                    employees.remove(change.id());
+                }
+                if (change.updatedAt() != null && change.updatedAt().isAfter(latest)) {
+                    latest = change.updatedAt();
+                }
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // re-reading a short window each time catches updates that committed after a later one was read
+        Instant next = latest.minus(overlap);
+        if (next.isAfter(changesSince)) {
+            changesSince = next;
+        }
+    }
+
+    public record ActiveEmployee(UUID id, String teamId) {
+    }
+}
@@ -0,0 +1,336 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.repository.projections.EmployeeDailyAttendanceView;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Attendance sessions moved out of MySQL, kept as gzip-compressed JSON lines on local disk.
+ * <p>
+ * Each archived partition is written as one file per month of its rows' dates, named
+ * attendances-{month}.{partition}.jsonl.gz, so a reader only opens the months it asks for. Files
+ * are written under a temporary name and moved into place once synced, so a file either holds
+ * the whole partition's rows for its month or does not exist yet. Reads decompress whole month
+ * files and are meant for historical ranges, not the hot path.
+ */
+@Slf4j
+@Component
+public class AttendanceArchive {
+
+    // (date desc, id desc) with ids compared as MySQL compares BINARY(16), i.e. unsigned
+    public static final Comparator<Attendance> HISTORY_ORDER = Comparator.comparing(Attendance::getDate)
+            .thenComparing(Attendance::getId, AttendanceArchive::compareIds)
+            .reversed();
+
+    private static final Pattern FILE_NAME = Pattern.compile("attendances-(\\d{4}-\\d{2})\\.(\\w+)\\.jsonl\\.gz");
+
+    private final ObjectMapper objectMapper;
+    private final Path dir;
+
+    public AttendanceArchive(ObjectMapper objectMapper, @Value("${attendance.archive.dir:data/attendance-archive}") Path dir) {
+        this.objectMapper = objectMapper;
+        this.dir = dir;
+    }
+
+    /**
+     * The last day of the newest month holding archived rows, or empty when nothing is archived.
+     */
+    public Optional<LocalDate> archivedThrough() {
+        return archivedMonths().keySet().stream().max(Comparator.naturalOrder()).map(YearMonth::atEndOfMonth);
+    }
+
+    /**
+     * An employee's archived sessions in [from, to] in history order, stopping once limit rows are
+     * certain to be the newest ones.
+     *
+     * @param beforeDate when set, only sessions before (beforeDate, beforeId) in history order
+     */
+    public List<Attendance> findHistory(UUID employeeId, LocalDate from, LocalDate to, LocalDate beforeDate, UUID beforeId, int limit) {
+        LocalDate upTo = beforeDate != null && beforeDate.isBefore(to) ? beforeDate : to;
+        Predicate<Attendance> beforeCursor = a -> beforeDate == null
+                || a.getDate().isBefore(beforeDate)
+                || (a.getDate().equals(beforeDate) && compareIds(a.getId(), beforeId) < 0);
+        if (upTo.isBefore(from)) {
+            return new ArrayList<>();
+        }
+
+        TreeMap<YearMonth, List<Path>> months = archivedMonths();
+        List<Attendance> found = new ArrayList<>();
+        // months are read newest first; once a month fills the page, older months cannot change it
+        for (Map.Entry<YearMonth, List<Path>> month : months.subMap(YearMonth.from(from), true, YearMonth.from(upTo), true).descendingMap().entrySet()) {
+            read(month.getValue(), a -> employeeId.equals(a.getEmployeeId())
+                    && !a.getDate().isBefore(from)
+                    && !a.getDate().isAfter(upTo)
+                    && beforeCursor.test(a), found);
+            if (found.size() >= limit) {
+                break;
+            }
+        }
+        found.sort(HISTORY_ORDER);
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * The given employees' archived sessions on one day.
+     */
+    public List<Attendance> findByDate(Collection<UUID> employeeIds, LocalDate date) {
+        Set<UUID> employees = new HashSet<>(employeeIds);
+        List<Attendance> found = new ArrayList<>();
+        read(archivedMonths().getOrDefault(YearMonth.from(date), List.of()),
+                a -> date.equals(a.getDate()) && employees.contains(a.getEmployeeId()), found);
+        return found;
+    }
+
+    /**
+     * Adds the archived sessions in [from, to] with the given status to per employee and day totals
+     * read from MySQL.
+     */
+    public List<EmployeeDailyAttendanceView> addDailyTotals(List<EmployeeDailyAttendanceView> live, LocalDate from, LocalDate to, AttendanceStatus status) {
+        List<Attendance> found = new ArrayList<>();
+        archivedMonths().subMap(YearMonth.from(from), true, YearMonth.from(to), true).values().forEach(files -> read(files,
+                a -> a.getAttendanceStatus() == status && !a.getDate().isBefore(from) && !a.getDate().isAfter(to), found));
+        if (found.isEmpty()) {
+            return live;
+        }
+
+        Map<DayKey, DailyTotal> totals = new HashMap<>();
+        live.forEach(t -> totals.put(new DayKey(t.getEmployeeId(), t.getDate()), new DailyTotal(t.getEmployeeId(), t.getDate(),
+                t.getSessions(), t.getHoursWorked() == null ? 0.0 : t.getHoursWorked())));
+        for (Attendance a : found) {
+            totals.merge(new DayKey(a.getEmployeeId(), a.getDate()),
+                    new DailyTotal(a.getEmployeeId(), a.getDate(), 1L, a.getHoursWorked()),
+                    (x, y) -> new DailyTotal(x.employeeId(), x.date(), x.sessions() + y.sessions(), x.hoursWorked() + y.hoursWorked()));
+        }
+        return new ArrayList<>(totals.values());
+    }
+
+    /**
+     * Starts archiving one partition. Rows must be appended in date order; nothing is visible to
+     * readers until the writer is committed.
+     */
+    public Writer open(String partition) {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Writer(partition);
+    }
+
+    private static int compareIds(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private TreeMap<YearMonth, List<Path>> archivedMonths() {
+        TreeMap<YearMonth, List<Path>> months = new TreeMap<>();
+        if (!Files.isDirectory(dir)) {
+            return months;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                Matcher name = FILE_NAME.matcher(file.getFileName().toString());
+                if (name.matches()) {
+                    months.computeIfAbsent(YearMonth.parse(name.group(1)), m -> new ArrayList<>()).add(file);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return months;
+    }
+
+    private void read(List<Path> files, Predicate<Attendance> filter, List<Attendance> into) {
+        for (Path file : files) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Attendance attendance = objectMapper.readValue(line, ArchivedAttendance.class).toEntity();
+                    if (filter.test(attendance)) {
+                        into.add(attendance);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read attendance archive " + file, e);
+            }
+        }
+    }
+
+    public final class Writer implements AutoCloseable {
+        private final String partition;
+        private final List<Path> written = new ArrayList<>();
+        private YearMonth month;
+        private FileChannel channel;
+        private GZIPOutputStream gzip;
+        private BufferedWriter out;
+        private long rows;
+
+        private Writer(String partition) {
+            this.partition = partition;
+        }
+
+        public void append(Attendance attendance) throws IOException {
+            YearMonth rowMonth = YearMonth.from(attendance.getDate());
+            if (!rowMonth.equals(month)) {
+                if (month != null && rowMonth.isBefore(month)) {
+                    throw new IllegalStateException("Archive rows must be appended in date order");
+                }
+                finishMonth();
+                month = rowMonth;
+                Path tmp = dir.resolve(fileName(month) + ".tmp");
+                channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                gzip = new GZIPOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                out = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+                written.add(tmp);
+            }
+            out.write(objectMapper.writeValueAsString(ArchivedAttendance.of(attendance)));
+            out.newLine();
+            rows++;
+        }
+
+        public long rows() {
+            return rows;
+        }
+
+        /**
+         * Makes the written months visible to readers; they replace any earlier archive of the same partition.
+         */
+        public void commit() throws IOException {
+            finishMonth();
+            for (Path tmp : written) {
+                String name = tmp.getFileName().toString();
+                Files.move(tmp, tmp.resolveSibling(name.substring(0, name.length() - ".tmp".length())),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            written.clear();
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (out != null) {
+                    out.close();
+                }
+                for (Path tmp : written) {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to clean up the unfinished archive of partition {}", partition, e);
+            }
+        }
+
+        private void finishMonth() throws IOException {
+            if (out == null) {
+                return;
+            }
+            out.flush();
+            gzip.finish();
+            // synced before the move into place, so a crash never leaves a truncated file behind a final name
+            channel.force(true);
+            out.close();
+            out = null;
+            gzip = null;
+            channel = null;
+        }
+
+        private String fileName(YearMonth month) {
+            return "attendances-" + month + "." + partition + ".jsonl.gz";
+        }
+    }
+
+    // the archived form of a session; only what the read paths need, without audit columns
+    private record ArchivedAttendance(
+            UUID id,
+            String attendanceId,
+            UUID employeeId,
+            LocalDate date,
+            OffsetDateTime checkIn,
+            OffsetDateTime checkOut,
+            double hoursWorked,
+            AttendanceStatus attendanceStatus,
+            String location
+    ) {
+        static ArchivedAttendance of(Attendance a) {
+            return new ArchivedAttendance(a.getId(), a.getAttendanceId(), a.getEmployeeId(), a.getDate(), a.getCheckIn(),
+                    a.getCheckOut(), a.getHoursWorked(), a.getAttendanceStatus(), a.getLocation());
+        }
+
+        Attendance toEntity() {
+            return Attendance.builder()
+                    .id(id)
+                    .attendanceId(attendanceId)
+                    .employeeId(employeeId)
+                    .date(date)
+                    .checkIn(checkIn)
+                    .checkOut(checkOut)
+                    .hoursWorked(hoursWorked)
+                    .attendanceStatus(attendanceStatus)
+                    .location(location)
+                    .build();
+        }
+    }
+
+    private record DayKey(UUID employeeId, LocalDate date) {
+    }
+
+    private record DailyTotal(UUID employeeId, LocalDate date, Long sessions, Double hoursWorked) implements EmployeeDailyAttendanceView {
+        @Override
+        public UUID getEmployeeId() {
+            return employeeId;
+        }
+
+        @Override
+        public LocalDate getDate() {
+            return date;
+        }
+
+        @Override
+        public Long getSessions() {
+            return sessions;
+        }
+
+        @Override
+        public Double getHoursWorked() {
+            return hoursWorked;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.repository.AttendancePartitionRepository;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the attendances table partitioned by month and moves old months into the archive.
+ * <p>
+ * Queries bounded by date only touch the partitions their range covers, and each partition has
+ * its own small copy of the indexes. A pass makes sure partitions exist up to months-ahead past
+ * the current month and, with the archive enabled,
+ * writes every month older than retain-months to {@link AttendanceArchive} and drops its
+ * partition, oldest first. Dropping a partition is instant and leaves no fragmentation
+ * behind, so the indexes only ever cover the retained months. A month is only dropped if the
+ * partition still holds exactly the rows that were archived; otherwise it is left for the next
+ * pass. Only the instance holding the database lease runs a pass; other databases are skipped.
+ * <p>
+ * Partitioning an existing table copies it under a blocking ALTER, so a pass leaves an
+ * unpartitioned table alone unless convert-table is set. Operators turn that on for one
+ * deployment, in a maintenance window, and off again once the table is partitioned; from then on
+ * a pass only splits p_future and drops archived months, which are quick.
+ */
+@Slf4j
+@Component
+public class AttendancePartitionManager {
+
+    static final String LEASE_NAME = "attendance-partition-manager";
+
+    private final AttendancePartitionRepository partitionRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceArchive attendanceArchive;
+    private final SchedulerLeases schedulerLeases;
+
+    private final boolean enabled;
+    private final boolean convertTable;
+    private final int monthsAhead;
+    private final boolean archiveEnabled;
+    private final int retainMonths;
+    private final Duration lease;
+
+    private final Counter archivedRows;
+
+    // resolved on the first pass; null until then
+    private Boolean supported;
+
+    public AttendancePartitionManager(
+            AttendancePartitionRepository partitionRepository,
+            AttendanceRepository attendanceRepository,
+            AttendanceArchive attendanceArchive,
+            SchedulerLeases schedulerLeases,
+            @Value("${attendance.partitions.enabled:false}") boolean enabled,
+            @Value("${attendance.partitions.convert-table:false}") boolean convertTable,
+            @Value("${attendance.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${attendance.archive.enabled:false}") boolean archiveEnabled,
+            @Value("${attendance.archive.retain-months:24}") int retainMonths,
+            @Value("${attendance.partitions.lease:PT5H}") Duration lease,
+            MeterRegistry meterRegistry
+    ) {
+        this.partitionRepository = partitionRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.attendanceArchive = attendanceArchive;
+        this.schedulerLeases = schedulerLeases;
+        this.enabled = enabled;
+        this.convertTable = convertTable;
+        this.monthsAhead = Math.max(monthsAhead, 1);
+        this.archiveEnabled = archiveEnabled;
+        this.retainMonths = Math.max(retainMonths, 1);
+        this.lease = lease;
+        this.archivedRows = Counter.builder("attendance.archive.rows")
+                .description("Attendance sessions moved from MySQL to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${attendance.partitions.initial-delay:PT1M}",
+            fixedDelayString = "${attendance.partitions.interval:PT6H}"
+    )
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (supported == null) {
+                supported = partitionRepository.isSupported();
+            }
+            if (!supported) {
+                log.debug("Attendance partitions skipped, the database does not support them");
+                return;
+            }
+            if (!schedulerLeases.tryAcquire(LEASE_NAME, lease)) {
+                log.debug("Attendance partition pass skipped, another instance holds the lease");
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not start the attendance partition pass", e);
+            return;
+        }
+
+        try {
+            List<YearMonth> months = ensurePartitions(YearMonth.now());
+            if (archiveEnabled) {
+                archiveOldMonths(months, YearMonth.now().minusMonths(retainMonths));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Attendance partition pass failed, releasing the lease for the next run", e);
+            schedulerLeases.release(LEASE_NAME);
+        }
+    }
+
+    private List<YearMonth> ensurePartitions(YearMonth current) {
+        YearMonth last = current.plusMonths(monthsAhead);
+        List<YearMonth> months = partitionRepository.findMonths();
+
+        if (months.isEmpty()) {
+            if (!convertTable) {
+                log.warn("Attendances is not partitioned yet; set attendance.partitions.convert-table for one run, in a maintenance window, to partition it");
+                return months;
+            }
+            LocalDate oldest = partitionRepository.findOldestDate();
+            YearMonth first = oldest != null && YearMonth.from(oldest).isBefore(current) ? YearMonth.from(oldest) : current;
+            List<YearMonth> all = monthsBetween(first, last);
+            log.info("Partitioning attendances by month from {} to {}", first, last);
+            partitionRepository.partitionByMonth(all);
+            return all;
+        }
+
+        YearMonth partitionedThrough = months.getLast();
+        if (partitionedThrough.isBefore(last)) {
+            List<YearMonth> added = monthsBetween(partitionedThrough.plusMonths(1), last);
+            log.info("Adding attendance partitions {} to {}", added.getFirst(), last);
+            partitionRepository.addMonths(added);
+            List<YearMonth> all = new ArrayList<>(months);
+            all.addAll(added);
+            return all;
+        }
+        return months;
+    }
+
+    private void archiveOldMonths(List<YearMonth> months, YearMonth keepFrom) {
+        // the last monthly partition is never dropped, so p_future always has a neighbour to split from
+        for (int i = 0; i < months.size() - 1 && months.get(i).isBefore(keepFrom); i++) {
+            if (!archive(months.get(i))) {
+                return;
+            }
+        }
+    }
+
+    private boolean archive(YearMonth month) {
+        // older partitions are already gone, so everything dated before the month's end is in its partition
+        LocalDate before = month.plusMonths(1).atDay(1);
+        try (AttendanceArchive.Writer writer = attendanceArchive.open(AttendancePartitionRepository.partitionName(month))) {
+            for (LocalDate date : attendanceRepository.findDatesBefore(before)) {
+                for (Attendance attendance : attendanceRepository.findAllByDate(date)) {
+                    writer.append(attendance);
+                }
+            }
+
+            // a late write into the month would otherwise be dropped without being archived
+            long rows = partitionRepository.countRows(month);
+            if (rows != writer.rows()) {
+                log.warn("Partition {} changed while it was archived ({} rows, {} archived), retrying next pass", month, rows, writer.rows());
+                return false;
+            }
+            writer.commit();
+            partitionRepository.dropMonth(month);
+            archivedRows.increment(rows);
+            log.info("Archived {} attendance sessions from partition {}", rows, month);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<YearMonth> monthsBetween(YearMonth first, YearMonth last) {
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+}
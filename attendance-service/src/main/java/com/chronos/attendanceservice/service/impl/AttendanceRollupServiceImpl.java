@@ -0,0 +1,228 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.dto.EmployeeIdsRequestDTO;
+import com.chronos.attendanceservice.dto.ReportCacheInvalidationRequestDTO;
+import com.chronos.attendanceservice.dto.RollupRebuildResponseDTO;
+import com.chronos.attendanceservice.entity.DailyEmployeeAttendanceRollup;
+import com.chronos.attendanceservice.entity.DailyTeamAttendanceRollup;
+import com.chronos.attendanceservice.feign.EmployeeClient;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.repository.DailyEmployeeAttendanceRollupRepository;
+import com.chronos.attendanceservice.repository.DailyTeamAttendanceRollupRepository;
+import com.chronos.attendanceservice.repository.projections.EmployeeDailyAttendanceView;
+import com.chronos.attendanceservice.service.AttendanceRollupService;
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.constants.TeamConstants;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.InvalidDateException;
+import com.chronos.common.util.UuidV7Generator;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Maintains the daily employee and team attendance rollups.
+ * <p>
+ * Check-out credits the finished session to both rollups inside the caller's transaction using
+ * atomic increments, so concurrent check-outs from the same team never lose updates. Missing
+ * rollup rows are created first in the same transaction with an insert that leaves a row a
+ * concurrent check-out created alone, so a check-out never needs a second connection.
+ * <p>
+ * Whenever a past day changes (a session checked out after midnight, or a rebuild), every
+ * report-service instance is told to drop cached reports covering that day once the change has
+ * committed. Rebuilds also
+ * count the sessions of months already moved to the {@link AttendanceArchive}.
+ */
+@Slf4j
+@Service
+public class AttendanceRollupServiceImpl implements AttendanceRollupService {
+
+    private final AttendanceRepository attendanceRepository;
+    private final DailyEmployeeAttendanceRollupRepository employeeRollupRepository;
+    private final DailyTeamAttendanceRollupRepository teamRollupRepository;
+    private final EmployeeClient employeeClient;
+    private final ReportCacheInvalidator reportCacheInvalidator;
+    private final AttendanceArchive attendanceArchive;
+    private final TransactionTemplate newTransaction;
+
+    public AttendanceRollupServiceImpl(
+            AttendanceRepository attendanceRepository,
+            DailyEmployeeAttendanceRollupRepository employeeRollupRepository,
+            DailyTeamAttendanceRollupRepository teamRollupRepository,
+            EmployeeClient employeeClient,
+            ReportCacheInvalidator reportCacheInvalidator,
+            AttendanceArchive attendanceArchive,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.attendanceRepository = attendanceRepository;
+        this.employeeRollupRepository = employeeRollupRepository;
+        this.teamRollupRepository = teamRollupRepository;
+        this.employeeClient = employeeClient;
+        this.reportCacheInvalidator = reportCacheInvalidator;
+        this.attendanceArchive = attendanceArchive;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public void recordCompletedSession(UUID employeeId, String teamId, LocalDate date, double hoursWorked) {
+        log.info("Invoked the recordCompletedSession service method, employeeId:{}, teamId:{}, date:{}", employeeId, teamId, date);
+        String rollupTeamId = isTeamId(teamId) ? teamId : null;
+
+        ensureEmployeeRow(employeeId, date);
+        boolean firstSessionOfDay = employeeRollupRepository.recordFirstSession(employeeId, date, hoursWorked, rollupTeamId) == 1;
+        if (!firstSessionOfDay) {
+            employeeRollupRepository.recordSession(employeeId, date, hoursWorked);
+        }
+
+        if (rollupTeamId != null) {
+            ensureTeamRow(rollupTeamId, date);
+            teamRollupRepository.recordSession(rollupTeamId, date, firstSessionOfDay ? 1 : 0, hoursWorked);
+            // reports are only cached for closed ranges, so only a cross-midnight check-out can make one stale
+            if (date.isBefore(LocalDate.now())) {
+                invalidateReportsAfterCommit(rollupTeamId, date, date);
+            }
+        }
+    }
+
+    @Override
+    public RollupRebuildResponseDTO rebuildRollups(LocalDate startDate, LocalDate endDate) {
+        log.info("Invoked the rebuildRollups service method, startDate:{}, endDate:{}", startDate, endDate);
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidDateException(ErrorConstants.INVALID_DATE_RANGE);
+        }
+        // today is still being written by live check-outs; rebuilding it would race with them
+        if (!endDate.isBefore(LocalDate.now())) {
+            throw new InvalidDateException(ErrorConstants.ROLLUP_REBUILD_OPEN_RANGE);
+        }
+
+        Map<UUID, String> teamByEmployee = new HashMap<>();
+        int employeeDays = 0;
+        int teamDays = 0;
+
+        // one month per transaction keeps lock time and undo log bounded for multi-year backfills
+        LocalDate chunkStart = startDate;
+        while (!chunkStart.isAfter(endDate)) {
+            LocalDate monthEnd = chunkStart.with(TemporalAdjusters.lastDayOfMonth());
+            LocalDate chunkEnd = monthEnd.isAfter(endDate) ? endDate : monthEnd;
+
+            List<EmployeeDailyAttendanceView> totals = attendanceRepository.findDailyTotalsByDateBetween(chunkStart, chunkEnd, AttendanceStatus.COMPLETE);
+            totals = attendanceArchive.addDailyTotals(totals, chunkStart, chunkEnd, AttendanceStatus.COMPLETE);
+            resolveTeamIds(totals, teamByEmployee);
+
+            List<DailyEmployeeAttendanceRollup> employeeRows = new ArrayList<>(totals.size());
+            Map<String, Map<LocalDate, DailyTeamAttendanceRollup>> teamRows = new HashMap<>();
+            for (EmployeeDailyAttendanceView t : totals) {
+                String teamId = teamByEmployee.get(t.getEmployeeId());
+                double hours = t.getHoursWorked() == null ? 0.0 : t.getHoursWorked();
+
+                DailyEmployeeAttendanceRollup row = new DailyEmployeeAttendanceRollup();
+                row.setEmployeeId(t.getEmployeeId());
+                row.setDate(t.getDate());
+                row.setTeamId(teamId);
+                row.setSessions(t.getSessions().intValue());
+                row.setHoursWorked(hours);
+                employeeRows.add(row);
+
+                if (teamId != null) {
+                    DailyTeamAttendanceRollup teamRow = teamRows
+                            .computeIfAbsent(teamId, k -> new HashMap<>())
+                            .computeIfAbsent(t.getDate(), d -> newTeamRow(teamId, d));
+                    teamRow.setEmployeesPresent(teamRow.getEmployeesPresent() + 1);
+                    teamRow.setHoursWorked(teamRow.getHoursWorked() + hours);
+                }
+            }
+            List<DailyTeamAttendanceRollup> flatTeamRows = teamRows.values().stream()
+                    .flatMap(byDate -> byDate.values().stream())
+                    .toList();
+
+            LocalDate from = chunkStart;
+            newTransaction.executeWithoutResult(status -> {
+                employeeRollupRepository.deleteByDateBetween(from, chunkEnd);
+                teamRollupRepository.deleteByDateBetween(from, chunkEnd);
+                employeeRollupRepository.saveAll(employeeRows);
+                teamRollupRepository.saveAll(flatTeamRows);
+            });
+
+            employeeDays += employeeRows.size();
+            teamDays += flatTeamRows.size();
+            chunkStart = chunkEnd.plusDays(1);
+        }
+
+        invalidateReportsAfterCommit(null, startDate, endDate);
+        return new RollupRebuildResponseDTO(startDate, endDate, employeeDays, teamDays);
+    }
+
+    private void invalidateReportsAfterCommit(String teamId, LocalDate startDate, LocalDate endDate) {
+        ReportCacheInvalidationRequestDTO request = new ReportCacheInvalidationRequestDTO(teamId, startDate, endDate);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reportCacheInvalidator.invalidate(request);
+            return;
+        }
+        // invalidating before commit would let a concurrent report re-cache the old totals
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reportCacheInvalidator.invalidate(request);
+            }
+        });
+    }
+
+    private void ensureEmployeeRow(UUID employeeId, LocalDate date) {
+        employeeRollupRepository.createIfAbsent(UuidV7Generator.generate(), employeeId, date, Instant.now());
+    }
+
+    private void ensureTeamRow(String teamId, LocalDate date) {
+        teamRollupRepository.createIfAbsent(UuidV7Generator.generate(), teamId, date, Instant.now());
+    }
+
+    private static DailyTeamAttendanceRollup newTeamRow(String teamId, LocalDate date) {
+        DailyTeamAttendanceRollup row = new DailyTeamAttendanceRollup();
+        row.setTeamId(teamId);
+        row.setDate(date);
+        row.setEmployeesPresent(0);
+        row.setHoursWorked(0.0);
+        return row;
+    }
+
+    // one employee-service call for the chunk's employees not resolved by an earlier chunk
+    private void resolveTeamIds(List<EmployeeDailyAttendanceView> totals, Map<UUID, String> teamByEmployee) {
+        List<UUID> missing = totals.stream()
+                .map(EmployeeDailyAttendanceView::getEmployeeId)
+                .filter(id -> !teamByEmployee.containsKey(id))
+                .distinct()
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        // employees unknown to employee-service, or not resolved because the call failed, count without a team
+        missing.forEach(id -> teamByEmployee.put(id, null));
+        try {
+            List<EmployeeDTO> found = employeeClient.getEmployeesByIds(new EmployeeIdsRequestDTO(missing));
+            if (found != null) {
+                for (EmployeeDTO employee : found) {
+                    teamByEmployee.put(employee.id(), isTeamId(employee.teamId()) ? employee.teamId() : null);
+                }
+            }
+        } catch (FeignException e) {
+            log.warn("Could not resolve teams for {} employees during rollup rebuild, status:{}", missing.size(), e.status());
+        }
+    }
+
+    private static boolean isTeamId(String teamId) {
+        return teamId != null && !teamId.isBlank() && !TeamConstants.NOT_IN_A_TEAM.equals(teamId);
+    }
+}
@@ -1,35 +1,60 @@
 package com.chronos.attendanceservice.service.impl;
 
-import com.aventrix.jnanoid.jnanoid.NanoIdUtils;
+import com.chronos.attendanceservice.dto.AttendanceEventDTO;
+import com.chronos.attendanceservice.dto.AttendanceEventResultDTO;
+import com.chronos.attendanceservice.dto.AttendanceHistoryPageDTO;
 import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
 import com.chronos.attendanceservice.dto.CheckInRequestDTO;
 import com.chronos.attendanceservice.dto.ManagerAttendanceDisplayByDateResponseDTO;
 import com.chronos.attendanceservice.dto.ManagerAttendanceRowDTO;
+import com.chronos.attendanceservice.dto.SiteOccupancyResponseDTO;
 import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.entity.AttendanceEventReceipt;
 import com.chronos.attendanceservice.feign.EmployeeClient;
+import com.chronos.attendanceservice.repository.AttendanceEventReceiptRepository;
 import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.service.AttendanceRollupService;
 import com.chronos.attendanceservice.service.AttendanceService;
+import com.chronos.attendanceservice.service.impl.ActiveEmployeeIndex.ActiveEmployee;
 import com.chronos.attendanceservice.util.mapper.AttendanceMapper;
 import com.chronos.common.constants.ErrorConstants;
 import com.chronos.common.constants.UuidErrorConstants;
+import com.chronos.common.constants.enums.AttendanceEventOutcome;
+import com.chronos.common.constants.enums.AttendanceEventType;
 import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.constants.enums.IdPrefix;
 import com.chronos.common.dto.EmployeeDTO;
 import com.chronos.common.exception.custom.ActiveAttendanceExistsException;
 import com.chronos.common.exception.custom.ActiveAttendanceNotFoundException;
 import com.chronos.common.exception.custom.EmployeeNotFoundException;
 import com.chronos.common.exception.custom.InvalidDateException;
-import com.chronos.common.util.NanoIdGenerator;
+import com.chronos.common.util.PageCursor;
+import com.chronos.common.util.PublicIdGenerator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -38,24 +63,66 @@ import static com.chronos.common.util.ParseUUID.parseUUID;
 @Slf4j
 @Service
 public class AttendanceServiceImpl implements AttendanceService {
+    public static final int MAX_HISTORY_PAGE_SIZE = 200;
+
+    private static final Comparator<Attendance> TEAM_DAY_ORDER = Comparator.comparing(Attendance::getEmployeeId)
+            .thenComparing(Attendance::getCheckIn, Comparator.nullsLast(Comparator.naturalOrder()));
 
     private final AttendanceRepository attendanceRepository;
     private final EmployeeClient employeeClient;
+    private final AttendanceRollupService attendanceRollupService;
+    private final CurrentAttendanceCache currentAttendanceCache;
+    private final AttendanceEventReceiptRepository attendanceEventReceiptRepository;
+    private final CheckInWriteBehindBuffer checkInWriteBehindBuffer;
+    private final ActiveEmployeeIndex activeEmployeeIndex;
+    private final EmployeeAttendanceLocks employeeAttendanceLocks;
+    private final TeamPresenceIndex teamPresenceIndex;
+    private final SiteOccupancyIndex siteOccupancyIndex;
+    private final AttendanceArchive attendanceArchive;
 
     @Autowired
-    public AttendanceServiceImpl(AttendanceRepository attendanceRepository, EmployeeClient employeeClient) {
+    public AttendanceServiceImpl(
+            AttendanceRepository attendanceRepository,
+            EmployeeClient employeeClient,
+            AttendanceRollupService attendanceRollupService,
+            CurrentAttendanceCache currentAttendanceCache,
+            AttendanceEventReceiptRepository attendanceEventReceiptRepository,
+            CheckInWriteBehindBuffer checkInWriteBehindBuffer,
+            ActiveEmployeeIndex activeEmployeeIndex,
+            EmployeeAttendanceLocks employeeAttendanceLocks,
+            TeamPresenceIndex teamPresenceIndex,
+            SiteOccupancyIndex siteOccupancyIndex,
+            AttendanceArchive attendanceArchive
+    ) {
         this.attendanceRepository = attendanceRepository;
+        this.attendanceEventReceiptRepository = attendanceEventReceiptRepository;
+        this.checkInWriteBehindBuffer = checkInWriteBehindBuffer;
+        this.activeEmployeeIndex = activeEmployeeIndex;
+        this.employeeAttendanceLocks = employeeAttendanceLocks;
+        this.teamPresenceIndex = teamPresenceIndex;
+        this.siteOccupancyIndex = siteOccupancyIndex;
+        this.attendanceArchive = attendanceArchive;
         this.employeeClient = employeeClient;
+        this.attendanceRollupService = attendanceRollupService;
+        this.currentAttendanceCache = currentAttendanceCache;
     }
 
     @Override
     public AttendanceResponseDTO getLatestAttendance(String employeeId) {
         log.info("Invoked the getLatestAttendance service method, employeeId:{}", employeeId);
         UUID empID = parseUUID(employeeId, UuidErrorConstants.INVALID_EMPLOYEE_UUID);
-        List<AttendanceResponseDTO> list = attendanceRepository.findAllByEmployeeOrderByDateDesc(empID);
 
-        if (!list.isEmpty()) {
-            return list.getFirst();
+        // loaded on every login, so served from memory and otherwise read as a single row
+        Optional<AttendanceResponseDTO> cached = currentAttendanceCache.get(empID);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long cacheGeneration = currentAttendanceCache.generation();
+
+        List<AttendanceResponseDTO> latest = attendanceRepository.findLatestByEmployee(empID, Limit.of(1));
+        if (!latest.isEmpty()) {
+            currentAttendanceCache.putLoaded(empID, latest.getFirst(), cacheGeneration);
+            return latest.getFirst();
         }
         return new AttendanceResponseDTO(
                 "N/A",
@@ -69,10 +136,49 @@ public class AttendanceServiceImpl implements AttendanceService {
     }
 
     @Override
-    public List<AttendanceResponseDTO> getAttendanceHistory(String employeeId) {
-        log.info("Invoked the getAttendanceHistory service method, employeeId:{}", employeeId);
+    public AttendanceHistoryPageDTO getAttendanceHistory(String employeeId, LocalDate from, LocalDate to, String cursor, int size) {
+        log.info("Invoked the getAttendanceHistory service method, employeeId:{}, from:{}, to:{}, cursor:{}, size:{}", employeeId, from, to, cursor, size);
         UUID empID = parseUUID(employeeId, UuidErrorConstants.INVALID_EMPLOYEE_UUID);
-        return attendanceRepository.findAllByEmployeeOrderByDateDesc(empID);
+
+        // open bounds fall back to the whole history up to today
+        LocalDate fromDate = from != null ? from : LocalDate.EPOCH;
+        LocalDate toDate = to != null ? to : LocalDate.now();
+        if (toDate.isBefore(fromDate)) {
+            throw new InvalidDateException(ErrorConstants.INVALID_DATE_RANGE);
+        }
+
+        int pageSize = Math.clamp(size, 1, MAX_HISTORY_PAGE_SIZE);
+        // one extra row tells whether there is a next page without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Attendance> rows;
+        LocalDate cursorDate = null;
+        UUID cursorId = null;
+        if (cursor == null || cursor.isBlank()) {
+            rows = attendanceRepository.findHistoryFirstPage(empID, fromDate, toDate, limit);
+        } else {
+            // the cursor already lies inside [from, to], so only the lower bound still applies
+            String[] keys = PageCursor.decode(cursor, 2);
+            cursorDate = PageCursor.parse(keys[0], LocalDate::parse);
+            cursorId = PageCursor.parse(keys[1], UUID::fromString);
+            rows = attendanceRepository.findHistoryBefore(empID, fromDate, cursorDate, cursorId, limit);
+        }
+
+        // archived months are only read once the page reaches back to them
+        Optional<LocalDate> archivedThrough = attendanceArchive.archivedThrough();
+        if (archivedThrough.isPresent() && !fromDate.isAfter(archivedThrough.get())
+                && (rows.size() <= pageSize || !rows.getLast().getDate().isAfter(archivedThrough.get()))) {
+            List<Attendance> archived = attendanceArchive.findHistory(empID, fromDate, toDate, cursorDate, cursorId, limit.max());
+            rows = withArchived(rows, archived, AttendanceArchive.HISTORY_ORDER, limit.max());
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Attendance last = rows.getLast();
+            nextCursor = PageCursor.encode(last.getDate(), last.getId());
+        }
+        return new AttendanceHistoryPageDTO(rows.stream().map(AttendanceMapper::attendanceEntityToDto).toList(), nextCursor);
     }
 
     @Override
@@ -80,54 +186,53 @@ public class AttendanceServiceImpl implements AttendanceService {
         log.info("Invoked the checkIn service method, employeeId:{}, checkInRequestDTO:{}", employeeId, checkInRequestDTO);
         UUID empID = parseUUID(employeeId, UuidErrorConstants.INVALID_EMPLOYEE_UUID);
 
-        EmployeeDTO employee = employeeClient.getEmployeeById(employeeId);
-
-        if(employee == null) {
+        // answered from the local employee index; employee-service is only asked about unknown ids
+        if(activeEmployeeIndex.resolve(empID).isEmpty()) {
             throw new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND);
         }
 
-        List<Attendance> activeList = attendanceRepository.findLatestByEmployeeAndStatus(empID, AttendanceStatus.ACTIVE);
-
-        if(!activeList.isEmpty()) {
-            throw new ActiveAttendanceExistsException(ErrorConstants.ALREADY_CHECKED_IN);
+        // held until the session is saved (or logged), so a double tap sees the first check-in
+        try (EmployeeAttendanceLocks.Held ignored = employeeAttendanceLocks.lock(empID)) {
+            List<Attendance> activeList = attendanceRepository.findLatestByEmployeeAndStatus(empID, AttendanceStatus.ACTIVE);
+
+            if(!activeList.isEmpty()) {
+                throw new ActiveAttendanceExistsException(ErrorConstants.ALREADY_CHECKED_IN);
+            }
+
+            Attendance attendance = openSession(empID, checkInRequestDTO != null ? checkInRequestDTO.location() : null, OffsetDateTime.now());
+
+            if (checkInWriteBehindBuffer.isEnabled()) {
+                // acknowledged once it is durable in the local log; MySQL gets it with the next group flush
+                checkInWriteBehindBuffer.append(attendance);
+                AttendanceResponseDTO result = AttendanceMapper.attendanceEntityToDto(attendance);
+                publishCurrentAttendance(Map.of(empID, result));
+                return result;
+            }
+
+            Attendance savedAttendance;
+            try {
+                savedAttendance = attendanceRepository.save(attendance);
+            } catch (DataIntegrityViolationException e) {
+                // the open-session key: another instance checked the employee in first
+                throw new ActiveAttendanceExistsException(ErrorConstants.ALREADY_CHECKED_IN);
+            }
+            AttendanceResponseDTO result = AttendanceMapper.attendanceEntityToDto(savedAttendance);
+            updateCurrentAttendanceAfterCommit(empID, result);
+            return result;
         }
-
-        OffsetDateTime now = OffsetDateTime.now();
-
-        Attendance attendance = new Attendance();
-
-        int attendanceIdLength = 10;
-        String nanoId = NanoIdUtils.randomNanoId(
-                NanoIdGenerator.DEFAULT_NUMBER_GENERATOR,
-                NanoIdGenerator.DEFAULT_ALPHABET,
-                attendanceIdLength
-        );
-
-        attendance.setAttendanceId("ATT-" + nanoId);
-        attendance.setEmployeeId(empID);
-        attendance.setDate(LocalDate.now());
-        attendance.setCheckIn(now);
-        attendance.setCheckOut(null);
-        attendance.setHoursWorked(0.0);
-        attendance.setAttendanceStatus(AttendanceStatus.ACTIVE);
-        attendance.setLocation(checkInRequestDTO != null ? checkInRequestDTO.location() : null);
-
-        Attendance savedAttendance = attendanceRepository.save(attendance);
-        return AttendanceMapper.attendanceEntityToDto(savedAttendance);
-
     }
 
     @Override
+    @Transactional
     public AttendanceResponseDTO checkOut(String employeeId) {
         log.info("Invoked the checkOut service method, employeeId:{}", employeeId);
         UUID empID = parseUUID(employeeId, UuidErrorConstants.INVALID_EMPLOYEE_UUID);
 
-        EmployeeDTO employee = employeeClient.getEmployeeById(employeeId);
-
-        if(employee == null) {
-            throw new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND);
-        }
+        ActiveEmployee employee = activeEmployeeIndex.resolve(empID)
+                .orElseThrow(() -> new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND));
 
+        employeeAttendanceLocks.lockUntilCompletion(empID);
+        checkInWriteBehindBuffer.awaitPersisted(empID);
         List<Attendance> activeList = attendanceRepository.findLatestByEmployeeAndStatus(empID, AttendanceStatus.ACTIVE);
         Attendance attendance = activeList.isEmpty() ? null : activeList.get(0);
 
@@ -135,7 +240,122 @@ public class AttendanceServiceImpl implements AttendanceService {
             throw new ActiveAttendanceNotFoundException(ErrorConstants.ACTIVE_ATTENDANCE_NOT_FOUND);
         }
 
-        OffsetDateTime now = OffsetDateTime.now();
+        double hours = closeSession(attendance, OffsetDateTime.now());
+
+        Attendance saved;
+        try {
+            saved = attendanceRepository.save(attendance);
+            attendanceRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            // the version check: another instance closed this session first
+            throw new ActiveAttendanceNotFoundException(ErrorConstants.ACTIVE_ATTENDANCE_NOT_FOUND);
+        }
+
+        // keep the daily rollups in step so range reports never rescan raw sessions
+        attendanceRollupService.recordCompletedSession(empID, employee.teamId(), saved.getDate(), hours);
+
+        AttendanceResponseDTO result = AttendanceMapper.attendanceEntityToDto(saved);
+        updateCurrentAttendanceAfterCommit(empID, result);
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public List<AttendanceEventResultDTO> recordAttendanceEvents(List<AttendanceEventDTO> events) {
+        log.info("Invoked the recordAttendanceEvents service method, events:{}", events.size());
+
+        // everything the batch depends on is read up front: receipts, employees and open sessions, one lookup each
+        Map<String, AttendanceEventReceipt> receipts = new HashMap<>();
+        Set<String> keys = events.stream().map(AttendanceEventDTO::idempotencyKey).collect(Collectors.toSet());
+        attendanceEventReceiptRepository.findByIdempotencyKeyIn(keys).forEach(r -> receipts.put(r.getIdempotencyKey(), r));
+
+        List<UUID> employeeIds = events.stream()
+                .filter(e -> !receipts.containsKey(e.idempotencyKey()))
+                .map(AttendanceEventDTO::employeeId)
+                .distinct()
+                .toList();
+        Map<UUID, ActiveEmployee> employees = employeeIds.isEmpty() ? Map.of() : activeEmployeeIndex.resolveAll(employeeIds);
+        Map<UUID, Attendance> activeByEmployee = new HashMap<>();
+        if (!employees.isEmpty()) {
+            employeeAttendanceLocks.lockUntilCompletion(employees.keySet());
+            checkInWriteBehindBuffer.awaitPersisted(employees.keySet());
+            attendanceRepository.findByEmployeeIdsAndStatus(employees.keySet(), AttendanceStatus.ACTIVE)
+                    .forEach(a -> activeByEmployee.putIfAbsent(a.getEmployeeId(), a));
+        }
+
+        List<AttendanceEventResultDTO> results = new ArrayList<>(events.size());
+        Set<Attendance> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<AttendanceEventReceipt> newReceipts = new ArrayList<>();
+        List<Attendance> completed = new ArrayList<>();
+        Map<UUID, Attendance> latestByEmployee = new HashMap<>();
+
+        // events apply in request order, so a check-in and its check-out can arrive in the same batch
+        for (AttendanceEventDTO event : events) {
+            AttendanceEventReceipt receipt = receipts.get(event.idempotencyKey());
+            if (receipt != null) {
+                results.add(eventResult(event, AttendanceEventOutcome.DUPLICATE, receipt.getAttendanceId(), null));
+                continue;
+            }
+            if (!employees.containsKey(event.employeeId())) {
+                results.add(eventResult(event, AttendanceEventOutcome.REJECTED, null, ErrorConstants.EMPLOYEE_NOT_FOUND));
+                continue;
+            }
+
+            Attendance attendance;
+            if (event.type() == AttendanceEventType.CHECK_IN) {
+                if (activeByEmployee.containsKey(event.employeeId())) {
+                    results.add(eventResult(event, AttendanceEventOutcome.REJECTED, null, ErrorConstants.ALREADY_CHECKED_IN));
+                    continue;
+                }
+                attendance = openSession(event.employeeId(), event.location(), OffsetDateTime.now());
+                activeByEmployee.put(event.employeeId(), attendance);
+            } else {
+                attendance = activeByEmployee.remove(event.employeeId());
+                if (attendance == null) {
+                    results.add(eventResult(event, AttendanceEventOutcome.REJECTED, null, ErrorConstants.ACTIVE_ATTENDANCE_NOT_FOUND));
+                    continue;
+                }
+                closeSession(attendance, OffsetDateTime.now());
+                completed.add(attendance);
+            }
+
+            changed.add(attendance);
+            latestByEmployee.put(event.employeeId(), attendance);
+            receipt = new AttendanceEventReceipt(null, event.idempotencyKey(), event.employeeId(), event.type(), attendance.getAttendanceId());
+            receipts.put(event.idempotencyKey(), receipt);
+            newReceipts.add(receipt);
+            results.add(eventResult(event, AttendanceEventOutcome.APPLIED, attendance.getAttendanceId(), null));
+        }
+
+        // written before the rollup updates, which would otherwise flush them one statement at a time
+        attendanceRepository.saveAll(changed);
+        attendanceEventReceiptRepository.saveAll(newReceipts);
+
+        for (Attendance attendance : completed) {
+            String teamId = employees.get(attendance.getEmployeeId()).teamId();
+            attendanceRollupService.recordCompletedSession(attendance.getEmployeeId(), teamId, attendance.getDate(), attendance.getHoursWorked());
+        }
+
+        Map<UUID, AttendanceResponseDTO> current = new HashMap<>();
+        latestByEmployee.forEach((id, a) -> current.put(id, AttendanceMapper.attendanceEntityToDto(a)));
+        updateCurrentAttendanceAfterCommit(current);
+        return results;
+    }
+
+    private Attendance openSession(UUID employeeId, String location, OffsetDateTime now) {
+        Attendance attendance = new Attendance();
+        attendance.setAttendanceId(PublicIdGenerator.generate(IdPrefix.ATTENDANCE));
+        attendance.setEmployeeId(employeeId);
+        attendance.setDate(now.toLocalDate());
+        attendance.setCheckIn(now);
+        attendance.setCheckOut(null);
+        attendance.setHoursWorked(0.0);
+        attendance.setAttendanceStatus(AttendanceStatus.ACTIVE);
+        attendance.setLocation(location);
+        return attendance;
+    }
+
+    private double closeSession(Attendance attendance, OffsetDateTime now) {
         attendance.setCheckOut(now);
 
         double hours = 0.0;
@@ -145,9 +365,48 @@ public class AttendanceServiceImpl implements AttendanceService {
 
         attendance.setHoursWorked(hours);
         attendance.setAttendanceStatus(AttendanceStatus.COMPLETE);
+        return hours;
+    }
 
-        Attendance saved = attendanceRepository.save(attendance);
-        return AttendanceMapper.attendanceEntityToDto(saved);
+    private static AttendanceEventResultDTO eventResult(AttendanceEventDTO event, AttendanceEventOutcome outcome, String attendanceId, String error) {
+        return new AttendanceEventResultDTO(event.idempotencyKey(), event.employeeId(), event.type(), outcome, attendanceId, error);
+    }
+
+    // a month being archived is briefly in both places, so rows are kept once by id
+    private static List<Attendance> withArchived(List<Attendance> live, List<Attendance> archived, Comparator<Attendance> order, int limit) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        Map<UUID, Attendance> byId = new LinkedHashMap<>();
+        live.forEach(a -> byId.put(a.getId(), a));
+        archived.forEach(a -> byId.putIfAbsent(a.getId(), a));
+        return byId.values().stream().sorted(order).limit(limit).toList();
+    }
+
+    private void updateCurrentAttendanceAfterCommit(UUID employeeId, AttendanceResponseDTO attendance) {
+        updateCurrentAttendanceAfterCommit(Map.of(employeeId, attendance));
+    }
+
+    private void updateCurrentAttendanceAfterCommit(Map<UUID, AttendanceResponseDTO> attendances) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishCurrentAttendance(attendances);
+            return;
+        }
+        // a rolled-back check-out must not leave the tile, or a manager's presence stream, showing a completed session
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publishCurrentAttendance(attendances);
+            }
+        });
+    }
+
+    private void publishCurrentAttendance(Map<UUID, AttendanceResponseDTO> attendances) {
+        attendances.forEach((employeeId, attendance) -> {
+            currentAttendanceCache.update(employeeId, attendance);
+            teamPresenceIndex.record(employeeId, attendance);
+            siteOccupancyIndex.record(attendance);
+        });
     }
 
     @Override
@@ -177,6 +436,9 @@ public class AttendanceServiceImpl implements AttendanceService {
 
         List<UUID> ids = new ArrayList<>(employeeById.keySet());
         List<Attendance> rows = attendanceRepository.findTeamAttendanceByDate(ids, localDate);
+        if (attendanceArchive.archivedThrough().filter(d -> !localDate.isAfter(d)).isPresent()) {
+            rows = withArchived(rows, attendanceArchive.findByDate(ids, localDate), TEAM_DAY_ORDER, Integer.MAX_VALUE);
+        }
 
 
         List<ManagerAttendanceRowDTO> result = rows.stream().map(
@@ -197,4 +459,25 @@ public class AttendanceServiceImpl implements AttendanceService {
 
         return new ManagerAttendanceDisplayByDateResponseDTO(localDate, result);
     }
+
+    @Override
+    public SseEmitter streamTeamPresence(String managerId) {
+        log.info("Invoked the streamTeamPresence service method, managerId:{}", managerId);
+        UUID managerUuid = parseUUID(managerId, UuidErrorConstants.INVALID_EMPLOYEE_UUID);
+
+        if(activeEmployeeIndex.resolve(managerUuid).isEmpty()) {
+            throw new EmployeeNotFoundException(ErrorConstants.MANAGER_NOT_FOUND);
+        }
+
+        // membership is read once per stream; the team's sessions come from the presence index
+        List<EmployeeDTO> team = employeeClient.getTeamMembers(managerId);
+        return teamPresenceIndex.subscribe(team == null ? List.of() : team, LocalDate.now());
+    }
+
+    @Override
+    public SiteOccupancyResponseDTO getSiteOccupancy(String location) {
+        log.info("Invoked the getSiteOccupancy service method, location:{}", location);
+        // answered from the in-memory minute buckets; the attendances table is only read by their rebuild
+        return siteOccupancyIndex.headcountByHour(location == null || location.isBlank() ? null : location);
+    }
 }
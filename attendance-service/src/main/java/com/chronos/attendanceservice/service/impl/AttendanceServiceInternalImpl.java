@@ -0,0 +1,57 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.dto.AttendanceSummaryRequestDTO;
+import com.chronos.attendanceservice.dto.EmployeeAttendanceSummaryDTO;
+import com.chronos.attendanceservice.dto.TeamAttendanceSummaryDTO;
+import com.chronos.attendanceservice.repository.DailyEmployeeAttendanceRollupRepository;
+import com.chronos.attendanceservice.repository.DailyTeamAttendanceRollupRepository;
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.exception.custom.InvalidDateException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class AttendanceServiceInternalImpl {
+
+    private final DailyEmployeeAttendanceRollupRepository employeeRollupRepository;
+    private final DailyTeamAttendanceRollupRepository teamRollupRepository;
+
+    public AttendanceServiceInternalImpl(
+            DailyEmployeeAttendanceRollupRepository employeeRollupRepository,
+            DailyTeamAttendanceRollupRepository teamRollupRepository
+    ) {
+        this.employeeRollupRepository = employeeRollupRepository;
+        this.teamRollupRepository = teamRollupRepository;
+    }
+
+    public List<EmployeeAttendanceSummaryDTO> getAttendanceSummaryByEmployeeIds(AttendanceSummaryRequestDTO request) {
+        log.info("Invoked the getAttendanceSummaryByEmployeeIds service method, startDate:{}, endDate:{}", request.startDate(), request.endDate());
+        List<UUID> empIds = request.employeeIds() == null ? List.of() : request.employeeIds();
+        if (empIds.isEmpty()) {
+            return List.of();
+        }
+
+        validateRange(request.startDate(), request.endDate());
+
+        return employeeRollupRepository.summarizeByEmployeeIdsAndDateBetween(empIds, request.startDate(), request.endDate());
+    }
+
+    public TeamAttendanceSummaryDTO getTeamAttendanceSummary(String teamId, LocalDate startDate, LocalDate endDate) {
+        log.info("Invoked the getTeamAttendanceSummary service method, teamId:{}, startDate:{}, endDate:{}", teamId, startDate, endDate);
+        validateRange(startDate, endDate);
+
+        return teamRollupRepository.summarizeByTeamIdAndDateBetween(teamId, startDate, endDate)
+                .orElse(new TeamAttendanceSummaryDTO(teamId, 0L, 0.0));
+    }
+
+    private static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidDateException(ErrorConstants.INVALID_DATE_RANGE);
+        }
+    }
+}
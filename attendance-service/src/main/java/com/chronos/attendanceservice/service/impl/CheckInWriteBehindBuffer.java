@@ -0,0 +1,432 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.exception.custom.ActiveAttendanceExistsException;
+import com.chronos.common.exception.custom.ServiceBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind buffer that lets check-ins absorb shift-start bursts.
+ * <p>
+ * A request thread puts its new session on a bounded lock-free queue and waits only until the
+ * single log writer thread has appended it, together with whatever else was queued meanwhile, to a
+ * local append-only log and forced that to disk. A flusher thread then writes the logged groups to
+ * MySQL in one batched transaction each. On startup, sessions left in the log by a crash are
+ * replayed before any request is served; rows that had already been committed are skipped.
+ * <p>
+ * An employee has at most one unflushed check-in. Check-out and bulk ingestion wait for it to reach
+ * the database before reading the employee's open session. Disabled unless
+ * attendance.write-behind.enabled is set; the log must live on a disk that survives restarts.
+ * <p>
+ * A check-in is only refused while it can still be withdrawn: one that times out before the log
+ * writer has taken it is dropped from the queue, and one the writer has taken waits for its write.
+ * A logged check-in the database later refuses has already been acknowledged, so it is appended
+ * to the dead-letter file, on the same disk, for an operator to recover, and counted in
+ * attendance.write-behind.rejected.
+ */
+@Slf4j
+@Component
+public class CheckInWriteBehindBuffer {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long RETRY_BACKOFF_MILLIS = 1_000;
+
+    private final boolean enabled;
+    private final Path logFile;
+    private final Path deadLetterFile;
+    private final int capacity;
+    private final int maxGroupSize;
+    private final Duration ackTimeout;
+    private final AttendanceRepository attendanceRepository;
+    private final TransactionTemplate transaction;
+    private final CurrentAttendanceCache currentAttendanceCache;
+    private final ObjectMapper objectMapper;
+
+    // producers only touch these three, all lock-free; the log and the groups belong to the two threads
+    private final ConcurrentLinkedQueue<PendingCheckIn> queue = new ConcurrentLinkedQueue<>();
+    // counts a check-in from enqueue until it is in MySQL, so the bound also holds while the database lags
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentHashMap<UUID, PendingCheckIn> unflushed = new ConcurrentHashMap<>();
+
+    private final LinkedBlockingQueue<List<PendingCheckIn>> logged = new LinkedBlockingQueue<>();
+    private final Counter flushedRows;
+    private final Counter rejectedRows;
+
+    private volatile boolean running;
+    private volatile Thread logWriter;
+    private Thread flusher;
+    private FileChannel journal;
+
+    public CheckInWriteBehindBuffer(
+            @Value("${attendance.write-behind.enabled:false}") boolean enabled,
+            @Value("${attendance.write-behind.log-file:data/attendance-check-ins.log}") String logFile,
+            @Value("${attendance.write-behind.dead-letter-file:data/attendance-check-ins.rejected.log}") String deadLetterFile,
+            @Value("${attendance.write-behind.capacity:10000}") int capacity,
+            @Value("${attendance.write-behind.max-group-size:500}") int maxGroupSize,
+            @Value("${attendance.write-behind.ack-timeout:PT2S}") Duration ackTimeout,
+            AttendanceRepository attendanceRepository,
+            PlatformTransactionManager transactionManager,
+            CurrentAttendanceCache currentAttendanceCache,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.logFile = Path.of(logFile);
+        this.deadLetterFile = Path.of(deadLetterFile);
+        this.capacity = capacity;
+        this.maxGroupSize = maxGroupSize;
+        this.ackTimeout = ackTimeout;
+        this.attendanceRepository = attendanceRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.currentAttendanceCache = currentAttendanceCache;
+        this.objectMapper = objectMapper;
+        this.flushedRows = Counter.builder("attendance.write-behind.flushed").register(meterRegistry);
+        this.rejectedRows = Counter.builder("attendance.write-behind.rejected").register(meterRegistry);
+        Gauge.builder("attendance.write-behind.pending", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        for (Path file : List.of(logFile, deadLetterFile)) {
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+        }
+        replay();
+        journal = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        journal.truncate(0);
+        running = true;
+        logWriter = Thread.ofPlatform().name("attendance-write-behind-log").start(this::runLogWriter);
+        flusher = Thread.ofPlatform().name("attendance-write-behind-flush").start(this::runFlusher);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!running) {
+            return;
+        }
+        // whatever is queued is still logged and flushed; what cannot be flushed stays in the log for replay
+        running = false;
+        LockSupport.unpark(logWriter);
+        logWriter.join();
+        flusher.join(ackTimeout.toMillis() * 10);
+        journal.close();
+    }
+
+    /**
+     * Queues a new session and returns once it is durable in the local log.
+     *
+     * @throws ActiveAttendanceExistsException if the employee already has an unflushed check-in
+     * @throws ServiceBusyException            if the buffer is full or the log does not keep up; the
+     *                                         check-in has then been withdrawn and will not be applied
+     */
+    public void append(Attendance attendance) {
+        PendingCheckIn pending = new PendingCheckIn(attendance, new CompletableFuture<>(), new CompletableFuture<>());
+        if (unflushed.putIfAbsent(attendance.getEmployeeId(), pending) != null) {
+            throw new ActiveAttendanceExistsException(ErrorConstants.ALREADY_CHECKED_IN);
+        }
+        if (!running || inFlight.incrementAndGet() > capacity) {
+            if (running) {
+                inFlight.decrementAndGet();
+            }
+            unflushed.remove(attendance.getEmployeeId(), pending);
+            throw new ServiceBusyException(ErrorConstants.CHECK_IN_QUEUE_FULL);
+        }
+        queue.offer(pending);
+        LockSupport.unpark(logWriter);
+        try {
+            await(pending.logged());
+        } catch (ServiceBusyException e) {
+            if (queue.remove(pending)) {
+                // never logged, so refusing it is the truth
+                release(pending, null);
+                throw e;
+            }
+            // the log writer already has it and will log it; only a failed write may be reported
+            awaitLogWrite(pending.logged());
+        }
+    }
+
+    // for readers of the employee's open session, which must not miss a check-in still on its way to MySQL
+    public void awaitPersisted(UUID employeeId) {
+        PendingCheckIn pending = unflushed.get(employeeId);
+        if (pending != null) {
+            await(pending.persisted());
+        }
+    }
+
+    public void awaitPersisted(Collection<UUID> employeeIds) {
+        if (unflushed.isEmpty()) {
+            return;
+        }
+        employeeIds.forEach(this::awaitPersisted);
+    }
+
+    private void await(CompletableFuture<Void> future) {
+        try {
+            future.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(ErrorConstants.CHECK_IN_QUEUE_FULL);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new ServiceBusyException(ErrorConstants.CHECK_IN_QUEUE_FULL);
+        }
+    }
+
+    private static void awaitLogWrite(CompletableFuture<Void> logged) {
+        try {
+            logged.get();
+        } catch (InterruptedException e) {
+            // the write goes ahead regardless, so the check-in stands
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new ServiceBusyException(ErrorConstants.CHECK_IN_QUEUE_FULL);
+        }
+    }
+
+    private void runLogWriter() {
+        while (running || !queue.isEmpty()) {
+            List<PendingCheckIn> group = new ArrayList<>();
+            PendingCheckIn next;
+            while (group.size() < maxGroupSize && (next = queue.poll()) != null) {
+                group.add(next);
+            }
+            if (group.isEmpty()) {
+                truncateIfIdle();
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                // one force per group: this is the group commit that keeps acknowledgement latency flat under load
+                writeToLog(group);
+            } catch (IOException e) {
+                log.error("Failed to append {} check-ins to the write-behind log", group.size(), e);
+                group.forEach(p -> release(p, e));
+                continue;
+            }
+            group.forEach(p -> p.logged().complete(null));
+            logged.add(group);
+        }
+    }
+
+    private void writeToLog(List<PendingCheckIn> group) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(group.size() * 200);
+        for (PendingCheckIn pending : group) {
+            lines.write(objectMapper.writeValueAsBytes(LoggedCheckIn.of(pending.attendance())));
+            lines.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        journal.force(false);
+    }
+
+    // everything logged has been flushed once nothing is in flight, so the log can start over
+    private void truncateIfIdle() {
+        try {
+            if (inFlight.get() == 0 && journal.size() > 0) {
+                journal.truncate(0);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to truncate the write-behind log", e);
+        }
+    }
+
+    private void runFlusher() {
+        while (running || logWriter.isAlive() || !logged.isEmpty()) {
+            List<PendingCheckIn> group;
+            try {
+                group = logged.poll(IDLE_PARK_NANOS, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (group == null) {
+                continue;
+            }
+            // groups logged while the previous flush ran go out in the same transaction
+            List<List<PendingCheckIn>> groups = new ArrayList<>();
+            groups.add(group);
+            logged.drainTo(groups);
+            List<PendingCheckIn> batch = groups.stream().flatMap(List::stream).toList();
+            if (!flush(batch)) {
+                return;
+            }
+            batch.forEach(p -> release(p, null));
+            flushedRows.increment(batch.size());
+        }
+    }
+
+    private boolean flush(List<PendingCheckIn> batch) {
+        List<Attendance> rows = batch.stream().map(PendingCheckIn::attendance).toList();
+        while (true) {
+            try {
+                transaction.executeWithoutResult(status -> attendanceRepository.saveAll(rows));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                flushOneByOne(rows);
+                return true;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("Leaving {} check-ins in the write-behind log for replay on the next start", rows.size(), e);
+                    return false;
+                }
+                log.error("Failed to flush {} check-ins, retrying", rows.size(), e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_BACKOFF_MILLIS));
+            }
+        }
+    }
+
+    // a row the database refuses would otherwise hold back every check-in queued behind it
+    private void flushOneByOne(List<Attendance> rows) {
+        for (Attendance row : rows) {
+            try {
+                transaction.executeWithoutResult(status -> attendanceRepository.save(row));
+            } catch (DataIntegrityViolationException e) {
+                deadLetter(row, e);
+                currentAttendanceCache.evict(row.getEmployeeId());
+            }
+        }
+    }
+
+    // the check-in was acknowledged, so it is kept for recovery rather than dropped
+    private void deadLetter(Attendance row, DataIntegrityViolationException rejection) {
+        rejectedRows.increment();
+        String reason = rejection.getMostSpecificCause().getMessage();
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(new RejectedCheckIn(LoggedCheckIn.of(row), reason, OffsetDateTime.now()));
+            try (FileChannel deadLetters = FileChannel.open(deadLetterFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+                while (buffer.hasRemaining()) {
+                    deadLetters.write(buffer);
+                }
+                deadLetters.force(false);
+            }
+            log.error("Check-in {} for employee {} was rejected by the database and moved to {}: {}",
+                    row.getAttendanceId(), row.getEmployeeId(), deadLetterFile, reason);
+        } catch (IOException e) {
+            // the log line is then the only record left
+            log.error("Check-in {} for employee {} at {} (date {}, location {}) was rejected by the database ({}) and could not be written to {}",
+                    row.getAttendanceId(), row.getEmployeeId(), row.getCheckIn(), row.getDate(), row.getLocation(), reason, deadLetterFile, e);
+        }
+    }
+
+    private void release(PendingCheckIn pending, Throwable failure) {
+        unflushed.remove(pending.attendance().getEmployeeId(), pending);
+        inFlight.decrementAndGet();
+        if (failure != null) {
+            pending.logged().completeExceptionally(failure);
+        }
+        pending.persisted().complete(null);
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        List<Attendance> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(logFile)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                entries.add(objectMapper.readValue(line, LoggedCheckIn.class).toAttendance());
+            } catch (JsonProcessingException e) {
+                // the torn tail of a write that was never forced, and so never acknowledged
+                log.warn("Skipping unreadable write-behind log entry");
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        // a crash between commit and truncation leaves rows that are already in MySQL
+        Set<UUID> employeeIds = new HashSet<>();
+        LocalDate since = LocalDate.MAX;
+        for (Attendance entry : entries) {
+            employeeIds.add(entry.getEmployeeId());
+            since = entry.getDate().isBefore(since) ? entry.getDate() : since;
+        }
+        Set<String> committed = new HashSet<>(attendanceRepository.findAttendanceIdsSince(employeeIds, since));
+        List<Attendance> missing = entries.stream().filter(a -> !committed.contains(a.getAttendanceId())).toList();
+        if (!missing.isEmpty()) {
+            transaction.executeWithoutResult(status -> attendanceRepository.saveAll(missing));
+        }
+        log.info("Replayed {} of {} check-ins from the write-behind log", missing.size(), entries.size());
+    }
+
+    private record PendingCheckIn(Attendance attendance, CompletableFuture<Void> logged, CompletableFuture<Void> persisted) {
+    }
+
+    record RejectedCheckIn(LoggedCheckIn checkIn, String reason, OffsetDateTime rejectedAt) {
+    }
+
+    record LoggedCheckIn(String attendanceId, UUID employeeId, LocalDate date, OffsetDateTime checkIn, String location) {
+
+        static LoggedCheckIn of(Attendance attendance) {
+            return new LoggedCheckIn(attendance.getAttendanceId(), attendance.getEmployeeId(), attendance.getDate(), attendance.getCheckIn(), attendance.getLocation());
+        }
+
+        Attendance toAttendance() {
+            Attendance attendance = new Attendance();
+            attendance.setAttendanceId(attendanceId);
+            attendance.setEmployeeId(employeeId);
+            attendance.setDate(date);
+            attendance.setCheckIn(checkIn);
+            attendance.setHoursWorked(0.0);
+            attendance.setAttendanceStatus(AttendanceStatus.ACTIVE);
+            attendance.setLocation(location);
+            return attendance;
+        }
+    }
+}
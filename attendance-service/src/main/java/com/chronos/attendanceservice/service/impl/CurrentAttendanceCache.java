@@ -0,0 +1,103 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps each employee's latest attendance record (the "current session" tile) in memory.
+ * <p>
+ * Check-in and check-out write their result straight into the cache once it is committed, so this
+ * instance never serves a session older than its own writes. Entries expire after the configured
+ * TTL, which bounds how long a change made through another instance can go unseen. Records loaded
+ * from the database are only stored if nothing newer was written in the meantime. Hit and miss
+ * counts are published as attendance.current-cache.* meters.
+ */
+@Component
+public class CurrentAttendanceCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // access-ordered so the least recently read employee is dropped first; guarded by this
+    private final LinkedHashMap<UUID, CachedAttendance> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // bumped on every eviction so a record read before it is not stored after it
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CurrentAttendanceCache(
+            @Value("${attendance.current-cache.max-entries:10000}") int maxEntries,
+            @Value("${attendance.current-cache.ttl:PT1M}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = Counter.builder("attendance.current-cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("attendance.current-cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("attendance.current-cache.size", this, CurrentAttendanceCache::size).register(meterRegistry);
+    }
+
+    public synchronized Optional<AttendanceResponseDTO> get(UUID employeeId) {
+        CachedAttendance cached = entries.get(employeeId);
+        if (cached == null || System.nanoTime() - cached.storedAt() > ttlNanos) {
+            if (cached != null) {
+                entries.remove(employeeId);
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached.attendance());
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    // a record read from the database; a check-in/out that landed while it was being read wins
+    public synchronized void putLoaded(UUID employeeId, AttendanceResponseDTO attendance, long loadedAtGeneration) {
+        if (loadedAtGeneration != generation || entries.containsKey(employeeId)) {
+            return;
+        }
+        store(employeeId, attendance);
+    }
+
+    // the committed result of a check-in or check-out, which is the employee's latest record by definition
+    public synchronized void update(UUID employeeId, AttendanceResponseDTO attendance) {
+        store(employeeId, attendance);
+    }
+
+    // for changes made without a fresh record at hand; the next read goes to the database
+    public synchronized void evict(UUID employeeId) {
+        generation++;
+        entries.remove(employeeId);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void store(UUID employeeId, AttendanceResponseDTO attendance) {
+        entries.put(employeeId, new CachedAttendance(attendance, System.nanoTime()));
+        while (entries.size() > maxEntries) {
+            Iterator<UUID> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private record CachedAttendance(AttendanceResponseDTO attendance, long storedAt) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.exception.custom.ServiceBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes check-in and check-out for the same employee within this instance.
+ * <p>
+ * Employees are hashed onto a fixed array of locks (by default a multiple of the core count), so
+ * two employees only wait for each other when they share a stripe. Inside a transaction the lock
+ * is released once the transaction completes, so the next request for the employee reads the
+ * committed session rather than racing the commit; a caller whose write commits before it returns
+ * can hold the lock for a block instead. Several employees are always locked in stripe order,
+ * which keeps concurrent bulk batches from deadlocking. Other instances are held off by the unique
+ * open-session key and the version column on attendances.
+ */
+@Component
+public class EmployeeAttendanceLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long waitNanos;
+
+    public EmployeeAttendanceLocks(
+            @Value("${attendance.locks.stripes:0}") int stripes,
+            @Value("${attendance.locks.wait-timeout:PT2S}") Duration waitTimeout
+    ) {
+        int count = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors() * 64;
+        // a power of two so the stripe is a mask of the hash
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(count - 1, 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.waitNanos = waitTimeout.toNanos();
+    }
+
+    // for a caller whose write commits before it returns, such as a single repository save
+    public Held lock(UUID employeeId) {
+        return lock(List.of(employeeId));
+    }
+
+    public Held lock(Collection<UUID> employeeIds) {
+        TreeSet<Integer> ordered = new TreeSet<>();
+        employeeIds.forEach(id -> ordered.add(stripeOf(id)));
+
+        List<ReentrantLock> held = new ArrayList<>(ordered.size());
+        try {
+            for (int stripe : ordered) {
+                ReentrantLock lock = stripes[stripe];
+                if (!lock.tryLock(waitNanos, TimeUnit.NANOSECONDS)) {
+                    throw new ServiceBusyException(ErrorConstants.EMPLOYEE_ATTENDANCE_BUSY);
+                }
+                held.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unlock(held);
+            throw new ServiceBusyException(ErrorConstants.EMPLOYEE_ATTENDANCE_BUSY);
+        } catch (RuntimeException e) {
+            unlock(held);
+            throw e;
+        }
+        return new Held(held);
+    }
+
+    public void lockUntilCompletion(UUID employeeId) {
+        lockUntilCompletion(List.of(employeeId));
+    }
+
+    public void lockUntilCompletion(Collection<UUID> employeeIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Employee attendance locks can only be held until an active transaction completes");
+        }
+        Held held = lock(employeeIds);
+        // runs after commit or rollback, on the thread that took the locks
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                held.close();
+            }
+        });
+    }
+
+    private int stripeOf(UUID employeeId) {
+        long bits = employeeId.getMostSignificantBits() ^ employeeId.getLeastSignificantBits();
+        int hash = (int) (bits ^ (bits >>> 32));
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private static void unlock(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    public static final class Held implements AutoCloseable {
+        private final List<ReentrantLock> locks;
+
+        private Held(List<ReentrantLock> locks) {
+            this.locks = locks;
+        }
+
+        @Override
+        public void close() {
+            unlock(locks);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.dto.ReportCacheInvalidationRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tells every report-service instance to drop cached reports covering changed attendance.
+ * <p>
+ * Each report-service instance caches reports in its own memory, so a single load-balanced call
+ * would only clear one of them and the others would keep serving the old totals. The instances
+ * are looked up in Eureka on every call and each one is sent the request directly. A failed
+ * instance is logged and skipped; the others are still invalidated.
+ */
+@Slf4j
+@Component
+public class ReportCacheInvalidator {
+
+    static final String REPORT_SERVICE = "report-service";
+    static final String INVALIDATE_PATH = "/api/reports/internal/cache/invalidate";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+
+    public ReportCacheInvalidator(
+            DiscoveryClient discoveryClient,
+            RestClient.Builder restClientBuilder,
+            @Value("${attendance.report-cache.timeout:PT2S}") Duration timeout
+    ) {
+        this.discoveryClient = discoveryClient;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    /**
+     * Sends the invalidation to every registered report-service instance.
+     *
+     * @return how many instances accepted it
+     */
+    public int invalidate(ReportCacheInvalidationRequestDTO request) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(REPORT_SERVICE);
+        int invalidated = 0;
+        for (ServiceInstance instance : instances) {
+            try {
+                restClient.post()
+                        .uri(instance.getUri().resolve(INVALIDATE_PATH))
+                        .body(request)
+                        .retrieve()
+                        .toBodilessEntity();
+                invalidated++;
+            } catch (RestClientException e) {
+                // the attendance change is already committed; a failed notification must not surface to the caller
+                log.warn("Could not invalidate cached reports on {}, request:{}, error:{}", instance.getUri(), request, e.getMessage());
+            }
+        }
+        if (invalidated < instances.size()) {
+            log.warn("Invalidated cached reports on {} of {} report-service instances", invalidated, instances.size());
+        }
+        return invalidated;
+    }
+}
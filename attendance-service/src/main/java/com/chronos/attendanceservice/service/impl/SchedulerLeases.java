@@ -0,0 +1,68 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Database leases that let one attendance-service instance at a time run a scheduled job.
+ * <p>
+ * A lease is a row in scheduler_leases; taking it is a conditional update that only matches once
+ * the current lease has run out (or already belongs to this instance), so instances never need to
+ * know about each other. Each call commits on its own, independent of any caller transaction.
+ */
+@Slf4j
+@Component
+public class SchedulerLeases {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TransactionTemplate newTransaction;
+
+    // identifies this instance as a lease owner for as long as it runs
+    private final String owner = UUID.randomUUID().toString();
+
+    public SchedulerLeases(SchedulerLeaseRepository schedulerLeaseRepository, PlatformTransactionManager transactionManager) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean tryAcquire(String name, Duration leaseFor) {
+        Instant now = Instant.now();
+        Integer acquired = newTransaction.execute(status -> schedulerLeaseRepository.acquire(name, owner, now, now.plus(leaseFor)));
+        if (acquired != null && acquired == 1) {
+            return true;
+        }
+        if (!createIfMissing(name)) {
+            return false;
+        }
+        acquired = newTransaction.execute(status -> schedulerLeaseRepository.acquire(name, owner, now, now.plus(leaseFor)));
+        return acquired != null && acquired == 1;
+    }
+
+    // lets another instance take the job straight away, e.g. after a failed run
+    public void release(String name) {
+        newTransaction.executeWithoutResult(status -> schedulerLeaseRepository.release(name, owner, Instant.EPOCH));
+    }
+
+    private boolean createIfMissing(String name) {
+        if (schedulerLeaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            // created already expired, so whichever instance then wins the update owns it
+            newTransaction.executeWithoutResult(status -> schedulerLeaseRepository.create(name, Instant.EPOCH));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lease {} was created by another instance", name);
+        }
+        return true;
+    }
+}
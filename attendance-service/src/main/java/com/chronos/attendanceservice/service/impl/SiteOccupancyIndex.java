@@ -0,0 +1,237 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
+import com.chronos.attendanceservice.dto.LocationOccupancyDTO;
+import com.chronos.attendanceservice.dto.SiteOccupancyResponseDTO;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.repository.projections.OccupancySessionView;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * People on site per location for today, by minute, answered from memory.
+ * <p>
+ * Each location keeps a ring of 1440 minute buckets holding how many people arrived in that
+ * minute (+1) and left in the minute before (-1), plus how many were already on site at
+ * midnight, so the headcount of any minute is a prefix sum and an hour's peak is the largest
+ * prefix within it. The ring wraps at midnight, carrying everyone still checked in into the new
+ * day. Committed check-ins and check-outs are applied as they happen; sessions are tracked by
+ * attendance id, so a session reported twice, or only once it has ended, is counted once.
+ * <p>
+ * The day is rebuilt from the database on startup and every rebuild-interval, which also folds
+ * in sessions written by other instances and drops sessions closed by the stale-session job.
+ * Check-ins still waiting in the write-behind buffer during a rebuild reappear with the next one.
+ */
+@Slf4j
+@Component
+public class SiteOccupancyIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final AttendanceRepository attendanceRepository;
+    private final Duration lookBack;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // guarded by this
+    private DayOccupancy day;
+    // sessions recorded while a rebuild reads the database, replayed onto its result; null otherwise
+    private List<AttendanceResponseDTO> recordedDuringRebuild;
+
+    public SiteOccupancyIndex(
+            AttendanceRepository attendanceRepository,
+            @Value("${attendance.occupancy.look-back:P1D}") Duration lookBack,
+            MeterRegistry meterRegistry
+    ) {
+        this.attendanceRepository = attendanceRepository;
+        this.lookBack = lookBack;
+        this.day = new DayOccupancy(LocalDate.now(zone), zone);
+        Gauge.builder("attendance.occupancy.locations", this, SiteOccupancyIndex::locationCount).register(meterRegistry);
+    }
+
+    /**
+     * Applies a committed attendance session.
+     */
+    public synchronized void record(AttendanceResponseDTO session) {
+        rollOver(LocalDate.now(zone));
+        day.apply(session.attendanceId(), session.location(), session.checkIn(), session.checkOut(), session.attendanceStatus());
+        if (recordedDuringRebuild != null) {
+            recordedDuringRebuild.add(session);
+        }
+    }
+
+    /**
+     * Headcount per location for today: people on site now, and the peak of every hour so far.
+     *
+     * @param location only this location, or every location when null
+     */
+    public synchronized SiteOccupancyResponseDTO headcountByHour(String location) {
+        OffsetDateTime now = OffsetDateTime.now(zone);
+        rollOver(now.toLocalDate());
+        int minute = day.minuteOf(now);
+
+        List<LocationOccupancyDTO> locations = new ArrayList<>();
+        day.locations.forEach((name, minutes) -> {
+            if (location == null || location.equals(name)) {
+                locations.add(minutes.summarize(name, minute));
+            }
+        });
+        locations.sort(Comparator.comparing(LocationOccupancyDTO::location, Comparator.nullsLast(Comparator.naturalOrder())));
+        return new SiteOccupancyResponseDTO(day.date, now, locations);
+    }
+
+    @Scheduled(
+            initialDelayString = "${attendance.occupancy.rebuild-initial-delay:PT0S}",
+            fixedDelayString = "${attendance.occupancy.rebuild-interval:PT15M}"
+    )
+    public void rebuild() {
+        try {
+            synchronized (this) {
+                recordedDuringRebuild = new ArrayList<>();
+            }
+            DayOccupancy rebuilt = new DayOccupancy(LocalDate.now(zone), zone);
+            List<OccupancySessionView> sessions = attendanceRepository.findOccupancySessions(
+                    AttendanceStatus.ACTIVE,
+                    AttendanceStatus.COMPLETE,
+                    rebuilt.dayStart.minus(lookBack),
+                    rebuilt.dayStart,
+                    rebuilt.dayEnd
+            );
+            sessions.forEach(s -> rebuilt.apply(s.getAttendanceId(), s.getLocation(), s.getCheckIn(), s.getCheckOut(), s.getAttendanceStatus()));
+
+            synchronized (this) {
+                recordedDuringRebuild.forEach(s -> rebuilt.apply(s.attendanceId(), s.location(), s.checkIn(), s.checkOut(), s.attendanceStatus()));
+                day = rebuilt;
+                rollOver(LocalDate.now(zone));
+            }
+            log.debug("Rebuilt site occupancy from {} sessions", sessions.size());
+        } catch (RuntimeException e) {
+            // live updates keep the current figures going until the next rebuild
+            log.warn("Failed to rebuild site occupancy", e);
+        } finally {
+            synchronized (this) {
+                recordedDuringRebuild = null;
+            }
+        }
+    }
+
+    public synchronized int locationCount() {
+        return day.locations.size();
+    }
+
+    private void rollOver(LocalDate today) {
+        if (!day.date.isBefore(today)) {
+            return;
+        }
+        DayOccupancy next = new DayOccupancy(today, zone);
+        day.open.forEach((attendanceId, location) -> {
+            next.open.put(attendanceId, location);
+            next.minutes(location).onSiteAtStart++;
+        });
+        day = next;
+    }
+
+    private static final class DayOccupancy {
+        private final LocalDate date;
+        private final ZoneId zone;
+        private final OffsetDateTime dayStart;
+        private final OffsetDateTime dayEnd;
+        private final Map<String, LocationMinutes> locations = new HashMap<>();
+        // attendance id to location of every session counted as arrived but not yet left
+        private final Map<String, String> open = new HashMap<>();
+        private final Set<String> closed = new HashSet<>();
+
+        private DayOccupancy(LocalDate date, ZoneId zone) {
+            this.date = date;
+            this.zone = zone;
+            this.dayStart = date.atStartOfDay(zone).toOffsetDateTime();
+            this.dayEnd = date.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
+        }
+
+        void apply(String attendanceId, String location, OffsetDateTime checkIn, OffsetDateTime checkOut, AttendanceStatus status) {
+            if (checkIn == null || attendanceId == null || closed.contains(attendanceId)) {
+                return;
+            }
+            if (status == AttendanceStatus.ACTIVE) {
+                if (!open.containsKey(attendanceId)) {
+                    arrive(location, checkIn);
+                    open.put(attendanceId, location);
+                }
+            } else if (status == AttendanceStatus.COMPLETE && checkOut != null) {
+                if (!open.containsKey(attendanceId)) {
+                    if (checkOut.isBefore(dayStart)) {
+                        return;
+                    }
+                    arrive(location, checkIn);
+                }
+                open.remove(attendanceId);
+                leave(location, checkOut);
+                closed.add(attendanceId);
+            }
+        }
+
+        int minuteOf(OffsetDateTime time) {
+            return time.atZoneSameInstant(zone).toLocalTime().toSecondOfDay() / 60;
+        }
+
+        LocationMinutes minutes(String location) {
+            return locations.computeIfAbsent(location, l -> new LocationMinutes());
+        }
+
+        private void arrive(String location, OffsetDateTime time) {
+            if (time.isBefore(dayStart)) {
+                minutes(location).onSiteAtStart++;
+            } else if (time.isBefore(dayEnd)) {
+                minutes(location).delta[minuteOf(time)]++;
+            }
+        }
+
+        // still counted during the minute they left in
+        private void leave(String location, OffsetDateTime time) {
+            if (time.isBefore(dayStart)) {
+                minutes(location).onSiteAtStart--;
+            } else if (time.isBefore(dayEnd)) {
+                int next = minuteOf(time) + 1;
+                if (next < MINUTES_PER_DAY) {
+                    minutes(location).delta[next]--;
+                }
+            }
+        }
+    }
+
+    private static final class LocationMinutes {
+        private int onSiteAtStart;
+        private final int[] delta = new int[MINUTES_PER_DAY];
+
+        LocationOccupancyDTO summarize(String location, int upToMinute) {
+            List<Integer> peakByHour = new ArrayList<>(upToMinute / 60 + 1);
+            int onSite = onSiteAtStart;
+            int peak = Integer.MIN_VALUE;
+            for (int minute = 0; minute <= upToMinute; minute++) {
+                onSite += delta[minute];
+                peak = Math.max(peak, onSite);
+                if (minute % 60 == 59 || minute == upToMinute) {
+                    peakByHour.add(peak);
+                    peak = Integer.MIN_VALUE;
+                }
+            }
+            return new LocationOccupancyDTO(location, onSite, peakByHour);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.repository.projections.StaleSessionView;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Closes attendance sessions that were never checked out, which would otherwise stay ACTIVE and
+ * block the employee's next check-in.
+ * <p>
+ * A session is stale once it has been open longer than max-session-length, or, with
+ * close-previous-days set, once its day is over. Stale sessions are marked AUTO_CLOSED with no
+ * hours, so they never count towards the rollups. Each chunk is one id lookup on the
+ * (attendance_status, check_in) index and one UPDATE in its own short transaction; no entities
+ * are loaded. Only the instance holding the database lease runs a pass, and it keeps the lease
+ * for the rest of the interval so other instances skip theirs. The number of closed sessions is
+ * published as attendance.auto-close.sessions.
+ */
+@Slf4j
+@Component
+public class StaleAttendanceCloser {
+
+    static final String LEASE_NAME = "attendance-stale-session-closer";
+
+    private final AttendanceRepository attendanceRepository;
+    private final SchedulerLeases schedulerLeases;
+    private final CurrentAttendanceCache currentAttendanceCache;
+    private final TeamPresenceIndex teamPresenceIndex;
+    private final TransactionTemplate transaction;
+
+    private final boolean enabled;
+    private final Duration maxSessionLength;
+    private final boolean closePreviousDays;
+    private final int chunkSize;
+    private final Duration lease;
+
+    private final Counter closedSessions;
+
+    public StaleAttendanceCloser(
+            AttendanceRepository attendanceRepository,
+            SchedulerLeases schedulerLeases,
+            CurrentAttendanceCache currentAttendanceCache,
+            TeamPresenceIndex teamPresenceIndex,
+            PlatformTransactionManager transactionManager,
+            @Value("${attendance.auto-close.enabled:true}") boolean enabled,
+            @Value("${attendance.auto-close.max-session-length:PT16H}") Duration maxSessionLength,
+            @Value("${attendance.auto-close.close-previous-days:false}") boolean closePreviousDays,
+            @Value("${attendance.auto-close.chunk-size:500}") int chunkSize,
+            @Value("${attendance.auto-close.lease:PT14M}") Duration lease,
+            MeterRegistry meterRegistry
+    ) {
+        this.attendanceRepository = attendanceRepository;
+        this.schedulerLeases = schedulerLeases;
+        this.currentAttendanceCache = currentAttendanceCache;
+        this.teamPresenceIndex = teamPresenceIndex;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxSessionLength = maxSessionLength;
+        this.closePreviousDays = closePreviousDays;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.closedSessions = Counter.builder("attendance.auto-close.sessions").register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${attendance.auto-close.initial-delay:PT1M}",
+            fixedDelayString = "${attendance.auto-close.interval:PT15M}"
+    )
+    public void closeStaleSessions() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!schedulerLeases.tryAcquire(LEASE_NAME, lease)) {
+                log.debug("Stale session pass skipped, another instance holds the lease");
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not take the stale session lease", e);
+            return;
+        }
+
+        try {
+            int closed = closeStale();
+            if (closed > 0) {
+                log.info("Auto-closed {} stale attendance sessions", closed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Stale session pass failed, releasing the lease for the next run", e);
+            schedulerLeases.release(LEASE_NAME);
+        }
+    }
+
+    private int closeStale() {
+        long startedAt = System.nanoTime();
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime checkInBefore = now.minus(maxSessionLength);
+        LocalDate dateBefore = closePreviousDays ? now.toLocalDate() : LocalDate.EPOCH;
+
+        int total = 0;
+        while (true) {
+            List<StaleSessionView> chunk = attendanceRepository.findStaleSessions(AttendanceStatus.ACTIVE, checkInBefore, dateBefore, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            List<UUID> ids = chunk.stream().map(StaleSessionView::getId).toList();
+            Integer updated = transaction.execute(status ->
+                    attendanceRepository.closeSessions(ids, AttendanceStatus.ACTIVE, AttendanceStatus.AUTO_CLOSED, Instant.now()));
+            int closed = updated == null ? 0 : updated;
+            // evicted after commit, so a tile read concurrently is not cached with the old session
+            chunk.forEach(s -> {
+                currentAttendanceCache.evict(s.getEmployeeId());
+                teamPresenceIndex.forget(s.getEmployeeId());
+            });
+            total += closed;
+            closedSessions.increment(closed);
+
+            // a backlog larger than one lease is left for the next pass rather than run unguarded
+            if (chunk.size() < chunkSize || System.nanoTime() - startedAt > lease.toNanos()) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,339 @@
+package com.chronos.attendanceservice.service.impl;
+
+import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
+import com.chronos.attendanceservice.dto.TeamPresenceRowDTO;
+import com.chronos.attendanceservice.dto.TeamPresenceSnapshotDTO;
+import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.util.mapper.AttendanceMapper;
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.ServiceBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Today's attendance sessions per employee, kept in memory and streamed to managers over SSE.
+ * <p>
+ * Check-in and check-out record their committed session here, and every manager subscribed to
+ * the employee's team gets it as an "attendance" event. A new subscriber first receives a
+ * "snapshot" of the team's sessions for the day. Only employees this instance has not seen yet
+ * today are read from the database, once, after which the team is answered from memory.
+ * Recording, snapshotting and subscribing happen under one lock, which queues each event for its
+ * subscriber in order, so a subscriber never sees a delta older than its snapshot. Each
+ * subscriber's queue is sent on a virtual thread of its own, so a manager whose connection
+ * stalls only holds up their own stream; once max-pending-events pile up for them, their stream
+ * is closed and the client's reconnect starts over from a fresh snapshot. Sessions changed
+ * through another instance are only seen here after a reconnect. The team is resolved when the
+ * stream opens; streams time out after stream-timeout, and the client's reconnect picks up
+ * membership changes.
+ */
+@Slf4j
+@Component
+public class TeamPresenceIndex {
+
+    private final AttendanceRepository attendanceRepository;
+    private final long streamTimeoutMillis;
+    private final int maxSubscribers;
+
+    // guarded by this
+    private final Map<UUID, DayPresence> presence = new HashMap<>();
+    private final Map<UUID, Set<Subscriber>> subscribersByEmployee = new HashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final int maxPendingEvents;
+
+    // at most one task per subscriber drains its queue, so events reach it in the order they were queued
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("attendance-presence-sender-", 0).factory());
+
+    public TeamPresenceIndex(
+            AttendanceRepository attendanceRepository,
+            @Value("${attendance.presence.stream-timeout:PT30M}") Duration streamTimeout,
+            @Value("${attendance.presence.max-subscribers:1000}") int maxSubscribers,
+            @Value("${attendance.presence.max-pending-events:100}") int maxPendingEvents,
+            MeterRegistry meterRegistry
+    ) {
+        this.attendanceRepository = attendanceRepository;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        this.maxPendingEvents = maxPendingEvents;
+        Gauge.builder("attendance.presence.subscribers", this, TeamPresenceIndex::subscribers).register(meterRegistry);
+        Gauge.builder("attendance.presence.employees", this, TeamPresenceIndex::size).register(meterRegistry);
+    }
+
+    /**
+     * Opens a presence stream over the given team members, starting with their sessions on the given day.
+     *
+     * @throws ServiceBusyException if max-subscribers streams are already open
+     */
+    public SseEmitter subscribe(List<EmployeeDTO> team, LocalDate day) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceBusyException(ErrorConstants.PRESENCE_SUBSCRIBERS_FULL);
+        }
+        Map<UUID, EmployeeDTO> members = new HashMap<>();
+        team.stream().filter(e -> e.id() != null).forEach(e -> members.put(e.id(), e));
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, members);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        try {
+            load(members.keySet(), day);
+            synchronized (this) {
+                List<TeamPresenceRowDTO> rows = new ArrayList<>();
+                for (UUID employeeId : members.keySet()) {
+                    DayPresence sessions = presence.get(employeeId);
+                    if (sessions != null && sessions.date().equals(day)) {
+                        sessions.sessions().values().forEach(s -> rows.add(subscriber.row(employeeId, s)));
+                    }
+                    subscribersByEmployee.computeIfAbsent(employeeId, id -> new HashSet<>()).add(subscriber);
+                }
+                rows.sort(Comparator.comparing(TeamPresenceRowDTO::displayEmployeeId, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(TeamPresenceRowDTO::checkIn, Comparator.nullsLast(Comparator.naturalOrder())));
+                send(subscriber, SseEmitter.event().name("snapshot").data(new TeamPresenceSnapshotDTO(day, rows)));
+            }
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * Records an employee's committed session and pushes it to the managers watching them.
+     */
+    public synchronized void record(UUID employeeId, AttendanceResponseDTO session) {
+        DayPresence day = presence.get(employeeId);
+        if (day == null || day.date().isBefore(session.date())) {
+            // the rest of the employee's day is unknown here until a snapshot loads it
+            day = new DayPresence(session.date(), new LinkedHashMap<>(), false);
+            presence.put(employeeId, day);
+        }
+        if (day.date().equals(session.date())) {
+            day.sessions().put(session.attendanceId(), session);
+        }
+
+        Set<Subscriber> subscribers = subscribersByEmployee.get(employeeId);
+        if (subscribers != null) {
+            // a subscriber that has fallen too far behind is removed while sending
+            for (Subscriber subscriber : List.copyOf(subscribers)) {
+                send(subscriber, SseEmitter.event().name("attendance").data(subscriber.row(employeeId, session)));
+            }
+        }
+    }
+
+    // for changes made without a session at hand, such as the stale-session job; the next snapshot reloads them
+    public synchronized void forget(UUID employeeId) {
+        presence.remove(employeeId);
+    }
+
+    public synchronized int size() {
+        return presence.size();
+    }
+
+    public int subscribers() {
+        return subscriberCount.get();
+    }
+
+    // keeps idle streams open through proxies and drops days that are over
+    @Scheduled(fixedDelayString = "${attendance.presence.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        List<Subscriber> subscribers;
+        synchronized (this) {
+            LocalDate today = LocalDate.now();
+            presence.values().removeIf(day -> day.date().isBefore(today));
+            subscribers = subscribersByEmployee.values().stream().flatMap(Set::stream).distinct().toList();
+        }
+        subscribers.forEach(s -> send(s, SseEmitter.event().comment("keep-alive")));
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+        List<Subscriber> subscribers;
+        synchronized (this) {
+            subscribers = subscribersByEmployee.values().stream().flatMap(Set::stream).distinct().toList();
+        }
+        subscribers.forEach(s -> s.emitter().complete());
+    }
+
+    private void load(Collection<UUID> employeeIds, LocalDate day) {
+        List<UUID> unknown;
+        synchronized (this) {
+            unknown = employeeIds.stream().filter(id -> {
+                DayPresence known = presence.get(id);
+                return known == null || !known.complete() || !known.date().equals(day);
+            }).toList();
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, DayPresence> loaded = new HashMap<>();
+        unknown.forEach(id -> loaded.put(id, new DayPresence(day, new LinkedHashMap<>(), true)));
+        for (Attendance a : attendanceRepository.findTeamAttendanceByDate(unknown, day)) {
+            loaded.get(a.getEmployeeId()).sessions().put(a.getAttendanceId(), AttendanceMapper.attendanceEntityToDto(a));
+        }
+
+        synchronized (this) {
+            loaded.forEach((id, fresh) -> {
+                DayPresence current = presence.get(id);
+                if (current != null && current.date().equals(day)) {
+                    if (current.complete()) {
+                        return;
+                    }
+                    // recorded while the query ran, so newer than what it read
+                    fresh.sessions().putAll(current.sessions());
+                }
+                presence.put(id, fresh);
+            });
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        synchronized (this) {
+            if (!subscriber.open) {
+                return;
+            }
+            subscriber.open = false;
+            for (UUID employeeId : subscriber.members().keySet()) {
+                Set<Subscriber> subscribers = subscribersByEmployee.get(employeeId);
+                if (subscribers != null && subscribers.remove(subscriber) && subscribers.isEmpty()) {
+                    subscribersByEmployee.remove(employeeId);
+                }
+            }
+        }
+        subscriberCount.decrementAndGet();
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        boolean overflowed;
+        synchronized (subscriber) {
+            if (subscriber.pending == null) {
+                return;
+            }
+            overflowed = subscriber.pending.size() >= maxPendingEvents;
+            if (overflowed) {
+                subscriber.pending = null;
+            } else {
+                subscriber.pending.add(event);
+                if (subscriber.draining) {
+                    return;
+                }
+                subscriber.draining = true;
+            }
+        }
+        if (!overflowed) {
+            execute(() -> drain(subscriber));
+            return;
+        }
+        // a stream missing events would show the manager a wrong picture; close it so the client resyncs
+        log.warn("Presence subscriber fell {} events behind, closing the stream", maxPendingEvents);
+        unsubscribe(subscriber);
+        // completing waits for the stalled send, so not on this thread
+        execute(() -> subscriber.emitter().complete());
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            synchronized (subscriber) {
+                event = subscriber.pending == null ? null : subscriber.pending.poll();
+                if (event == null) {
+                    subscriber.draining = false;
+                    return;
+                }
+            }
+            try {
+                subscriber.emitter().send(event);
+            } catch (IOException | IllegalStateException e) {
+                // the manager went away; the emitter's completion callback is not guaranteed to run
+                synchronized (subscriber) {
+                    subscriber.pending = null;
+                    subscriber.draining = false;
+                }
+                unsubscribe(subscriber);
+                return;
+            }
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            sender.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Presence sender is shut down, dropping event");
+        }
+    }
+
+    private record DayPresence(LocalDate date, Map<String, AttendanceResponseDTO> sessions, boolean complete) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Map<UUID, EmployeeDTO> members;
+        // guarded by the index
+        private boolean open = true;
+        // guarded by the subscriber; null once the stream is closed or failed
+        private Queue<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+
+        private Subscriber(SseEmitter emitter, Map<UUID, EmployeeDTO> members) {
+            this.emitter = emitter;
+            this.members = members;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        Map<UUID, EmployeeDTO> members() {
+            return members;
+        }
+
+        TeamPresenceRowDTO row(UUID employeeId, AttendanceResponseDTO session) {
+            EmployeeDTO employee = members.get(employeeId);
+            String displayId = employee != null ? employee.displayEmployeeId() : "";
+            String name = employee != null ? (employee.firstName() + " " + (employee.lastName() == null ? "" : employee.lastName())).trim() : "";
+            return new TeamPresenceRowDTO(
+                    session.attendanceId(),
+                    displayId,
+                    name,
+                    session.date(),
+                    session.checkIn(),
+                    session.checkOut(),
+                    session.hoursWorked(),
+                    session.attendanceStatus()
+            );
+        }
+    }
+}
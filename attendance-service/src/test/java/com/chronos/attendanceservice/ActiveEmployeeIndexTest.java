@@ -0,0 +1,84 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.dto.EmployeeIdsRequestDTO;
+import com.chronos.attendanceservice.dto.EmployeePageDTO;
+import com.chronos.attendanceservice.dto.EmployeeStatusDTO;
+import com.chronos.attendanceservice.dto.EmployeeStatusPageDTO;
+import com.chronos.attendanceservice.feign.EmployeeClient;
+import com.chronos.attendanceservice.service.impl.ActiveEmployeeIndex;
+import com.chronos.attendanceservice.service.impl.ActiveEmployeeIndex.ActiveEmployee;
+import com.chronos.common.dto.EmployeeDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ActiveEmployeeIndexTest {
+
+    private final EmployeeClient employeeClient = mock(EmployeeClient.class);
+    private final ActiveEmployeeIndex index = new ActiveEmployeeIndex(employeeClient, 100, Duration.ofMinutes(1), Duration.ofHours(6), new SimpleMeterRegistry());
+
+    private final UUID employee = UUID.randomUUID();
+    private final UUID colleague = UUID.randomUUID();
+
+    @Test
+    void resolve_AfterReload_ServedWithoutRemoteCall() {
+        when(employeeClient.getActiveEmployeesPage(null, 100)).thenReturn(new EmployeePageDTO(List.of(employee(employee, true)), null));
+
+        index.refresh();
+
+        assertThat(index.resolve(employee)).contains(new ActiveEmployee(employee, "TEAM-1"));
+        verify(employeeClient, never()).getEmployeeById(anyString());
+    }
+
+    @Test
+    void refresh_ChangeFeed_DropsDeactivatedAndAddsReactivated() {
+        when(employeeClient.getActiveEmployeesPage(null, 100)).thenReturn(new EmployeePageDTO(List.of(employee(employee, true)), null));
+        when(employeeClient.getEmployeeChanges(anyString(), isNull(), eq(100))).thenReturn(new EmployeeStatusPageDTO(List.of(
+                new EmployeeStatusDTO(employee, false, "TEAM-1", Instant.now()),
+                new EmployeeStatusDTO(colleague, true, "TEAM-2", Instant.now())
+        ), null));
+
+        index.refresh();
+        index.refresh();
+
+        assertThat(index.resolve(colleague)).contains(new ActiveEmployee(colleague, "TEAM-2"));
+        assertThat(index.size()).isEqualTo(1);
+        verify(employeeClient, never()).getEmployeeById(anyString());
+    }
+
+    @Test
+    void resolve_Miss_FallsBackOnceAndRemembersActiveEmployee() {
+        when(employeeClient.getEmployeeById(employee.toString())).thenReturn(employee(employee, true));
+
+        assertThat(index.resolve(employee)).isPresent();
+        assertThat(index.resolve(employee)).isPresent();
+
+        verify(employeeClient, times(1)).getEmployeeById(employee.toString());
+    }
+
+    @Test
+    void resolveAll_FetchesOnlyMissingIdsInOneCall() {
+        when(employeeClient.getEmployeeById(employee.toString())).thenReturn(employee(employee, true));
+        index.resolve(employee);
+        UUID unknown = UUID.randomUUID();
+        when(employeeClient.getEmployeesByIds(new EmployeeIdsRequestDTO(List.of(colleague, unknown)))).thenReturn(List.of(employee(colleague, true)));
+
+        Map<UUID, ActiveEmployee> resolved = index.resolveAll(List.of(employee, colleague, unknown));
+
+        assertThat(resolved).containsOnlyKeys(employee, colleague);
+        verify(employeeClient, times(1)).getEmployeesByIds(any());
+    }
+
+    private EmployeeDTO employee(UUID id, boolean active) {
+        return new EmployeeDTO(id, "E-1", "John", "Doe", null, null, null, null, active, null, null, "TEAM-1");
+    }
+}
@@ -0,0 +1,214 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.feign.EmployeeClient;
+import com.chronos.attendanceservice.repository.AttendanceEventReceiptRepository;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.service.AttendanceRollupService;
+import com.chronos.attendanceservice.service.impl.ActiveEmployeeIndex;
+import com.chronos.attendanceservice.service.impl.AttendanceArchive;
+import com.chronos.attendanceservice.service.impl.AttendanceServiceImpl;
+import com.chronos.attendanceservice.service.impl.CheckInWriteBehindBuffer;
+import com.chronos.attendanceservice.service.impl.CurrentAttendanceCache;
+import com.chronos.attendanceservice.service.impl.EmployeeAttendanceLocks;
+import com.chronos.attendanceservice.service.impl.SiteOccupancyIndex;
+import com.chronos.attendanceservice.service.impl.TeamPresenceIndex;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.ActiveAttendanceExistsException;
+import com.chronos.common.exception.custom.ActiveAttendanceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Double taps and overlapping check-outs from many threads against an in-memory table that only
+ * publishes writes on commit, as MySQL would under READ COMMITTED.
+ */
+class AttendanceConcurrencyStressTest {
+
+    private static final int THREADS = 32;
+    private static final int OPERATIONS_PER_THREAD = 250;
+
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final EmployeeClient employeeClient = mock(EmployeeClient.class);
+    private final AttendanceRollupService attendanceRollupService = mock(AttendanceRollupService.class);
+    private final TransactionTemplate transaction = new TransactionTemplate(new InMemoryTransactionManager());
+
+    // committed rows by id; guarded by itself
+    private final Map<UUID, Attendance> table = new HashMap<>();
+    private final AtomicInteger secondOpenSessions = new AtomicInteger();
+    private final AtomicInteger doubleCloses = new AtomicInteger();
+
+    private AttendanceServiceImpl attendanceService;
+
+    @BeforeEach
+    void setup() {
+        when(employeeClient.getEmployeeById(anyString())).thenAnswer(inv -> new EmployeeDTO(
+                UUID.fromString(inv.getArgument(0)), "E-1", "John", "Doe", null, null, null, null, true, null, null, "TEAM-1"));
+        when(attendanceRepository.findLatestByEmployeeAndStatus(any(), eq(AttendanceStatus.ACTIVE))).thenAnswer(inv -> {
+            List<Attendance> active = committedActive(inv.getArgument(0));
+            // widen the gap between reading the open session and writing the new one
+            LockSupport.parkNanos(20_000);
+            return active;
+        });
+        when(attendanceRepository.save(any(Attendance.class))).thenAnswer(inv -> {
+            Attendance row = copy(inv.getArgument(0));
+            if (row.getId() == null) {
+                row.setId(UUID.randomUUID());
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publish(row);
+                    }
+                });
+            } else {
+                publish(row);
+            }
+            return row;
+        });
+
+        ActiveEmployeeIndex activeEmployeeIndex = new ActiveEmployeeIndex(employeeClient, 100, Duration.ofMinutes(1), Duration.ofHours(6), new SimpleMeterRegistry());
+        attendanceService = new AttendanceServiceImpl(
+                attendanceRepository, employeeClient, attendanceRollupService,
+                new CurrentAttendanceCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                mock(AttendanceEventReceiptRepository.class), mock(CheckInWriteBehindBuffer.class),
+                activeEmployeeIndex, new EmployeeAttendanceLocks(0, Duration.ofSeconds(10)), mock(TeamPresenceIndex.class), mock(SiteOccupancyIndex.class),
+                mock(AttendanceArchive.class)
+        );
+    }
+
+    @Test
+    void concurrentCheckInsAndCheckOuts_NeverOpenTwoSessionsOrCloseOneTwice() throws Exception {
+        List<UUID> employees = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        AtomicInteger checkIns = new AtomicInteger();
+        AtomicInteger checkOuts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        String employeeId = employees.get(random.nextInt(employees.size())).toString();
+                        try {
+                            if (random.nextBoolean()) {
+                                attendanceService.checkIn(employeeId, null);
+                                checkIns.incrementAndGet();
+                            } else {
+                                // checkOut runs in the transaction its @Transactional proxy would open
+                                transaction.executeWithoutResult(status -> attendanceService.checkOut(employeeId));
+                                checkOuts.incrementAndGet();
+                            }
+                        } catch (ActiveAttendanceExistsException | ActiveAttendanceNotFoundException expected) {
+                            // the other tap won
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(secondOpenSessions).hasValue(0);
+        assertThat(doubleCloses).hasValue(0);
+        assertThat(checkIns.get()).isPositive();
+        assertThat(checkOuts.get()).isPositive();
+        long stillOpen = employees.stream().filter(id -> !committedActive(id).isEmpty()).count();
+        assertThat(checkIns.get() - checkOuts.get()).isEqualTo((int) stillOpen);
+        verify(attendanceRollupService, times(checkOuts.get())).recordCompletedSession(any(), eq("TEAM-1"), any(), anyDouble());
+    }
+
+    private List<Attendance> committedActive(UUID employeeId) {
+        synchronized (table) {
+            return table.values().stream()
+                    .filter(a -> a.getEmployeeId().equals(employeeId) && a.getAttendanceStatus() == AttendanceStatus.ACTIVE)
+                    .map(AttendanceConcurrencyStressTest::copy)
+                    .toList();
+        }
+    }
+
+    private void publish(Attendance row) {
+        synchronized (table) {
+            Attendance previous = table.get(row.getId());
+            if (previous == null && table.values().stream().anyMatch(a -> a.getEmployeeId().equals(row.getEmployeeId())
+                    && a.getAttendanceStatus() == AttendanceStatus.ACTIVE)) {
+                secondOpenSessions.incrementAndGet();
+            }
+            if (previous != null && previous.getAttendanceStatus() == AttendanceStatus.COMPLETE) {
+                doubleCloses.incrementAndGet();
+            }
+            table.put(row.getId(), row);
+        }
+    }
+
+    // each caller gets its own instance, like an entity loaded in its own persistence context
+    private static Attendance copy(Attendance source) {
+        Attendance copy = new Attendance();
+        copy.setId(source.getId());
+        copy.setAttendanceId(source.getAttendanceId());
+        copy.setEmployeeId(source.getEmployeeId());
+        copy.setDate(source.getDate());
+        copy.setCheckIn(source.getCheckIn());
+        copy.setCheckOut(source.getCheckOut());
+        copy.setHoursWorked(source.getHoursWorked());
+        copy.setAttendanceStatus(source.getAttendanceStatus());
+        copy.setLocation(source.getLocation());
+        return copy;
+    }
+
+    // runs the transaction synchronization lifecycle without a database behind it
+    private static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
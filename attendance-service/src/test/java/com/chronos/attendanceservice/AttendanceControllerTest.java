@@ -1,6 +1,7 @@
 package com.chronos.attendanceservice;
 
 import com.chronos.attendanceservice.controller.AttendanceController;
+import com.chronos.attendanceservice.dto.AttendanceHistoryPageDTO;
 import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
 import com.chronos.attendanceservice.dto.CheckInRequestDTO;
 import com.chronos.attendanceservice.dto.ManagerAttendanceDisplayByDateResponseDTO;
@@ -22,6 +23,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -93,7 +95,7 @@ class AttendanceControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/attendances/{employeeId}/history -> 200 and list")
+    @DisplayName("GET /api/attendances/{employeeId}/history -> 200 and page")
     void getAttendanceHistory_ReturnsOk() throws Exception {
         String employeeId = "22222222-2222-2222-2222-222222222222";
 
@@ -107,16 +109,22 @@ class AttendanceControllerTest {
                 "Office-B"
         );
 
-        Mockito.when(attendanceService.getAttendanceHistory(employeeId)).thenReturn(List.of(dto));
+        LocalDate from = LocalDate.of(2025, 2, 1);
+        LocalDate to = LocalDate.of(2025, 2, 28);
+        Mockito.when(attendanceService.getAttendanceHistory(employeeId, from, to, null, 50))
+                .thenReturn(new AttendanceHistoryPageDTO(List.of(dto), "next"));
 
         mockMvc.perform(get("/api/attendances/{employeeId}/history", employeeId)
+                        .param("from", "2025-02-01")
+                        .param("to", "2025-02-28")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].attendanceId", is("ATT-H1")))
-                .andExpect(jsonPath("$[0].hoursWorked", is(8.0)));
+                .andExpect(jsonPath("$.records", hasSize(1)))
+                .andExpect(jsonPath("$.records[0].attendanceId", is("ATT-H1")))
+                .andExpect(jsonPath("$.records[0].hoursWorked", is(8.0)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
 
-        Mockito.verify(attendanceService, times(1)).getAttendanceHistory(employeeId);
+        Mockito.verify(attendanceService, times(1)).getAttendanceHistory(employeeId, from, to, null, 50);
     }
 
     @Test
@@ -212,6 +220,17 @@ class AttendanceControllerTest {
 
         Mockito.verify(attendanceService, times(1)).getTeamsAttendanceByDate(managerId, date);
     }
-}
 
+    @Test
+    @DisplayName("GET /api/attendances/{managerId}/presence/stream -> event stream")
+    void streamTeamPresence_StartsEventStream() throws Exception {
+        String managerId = "22222222-2222-2222-2222-222222222222";
+        Mockito.when(attendanceService.streamTeamPresence(managerId)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/attendances/{managerId}/presence/stream", managerId).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
 
+        Mockito.verify(attendanceService, times(1)).streamTeamPresence(managerId);
+    }
+}
@@ -0,0 +1,149 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.repository.AttendancePartitionRepository;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.service.impl.AttendanceArchive;
+import com.chronos.attendanceservice.service.impl.AttendancePartitionManager;
+import com.chronos.attendanceservice.service.impl.SchedulerLeases;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AttendancePartitionManagerTest {
+
+    private final AttendancePartitionRepository partitionRepository = mock(AttendancePartitionRepository.class);
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final SchedulerLeases schedulerLeases = mock(SchedulerLeases.class);
+
+    @TempDir
+    private Path archiveDir;
+
+    private AttendanceArchive archive;
+    private AttendancePartitionManager manager;
+
+    private final YearMonth current = YearMonth.now();
+    private final UUID employeeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        archive = new AttendanceArchive(new ObjectMapper().findAndRegisterModules(), archiveDir);
+        manager = manager(false);
+        when(partitionRepository.isSupported()).thenReturn(true);
+        when(schedulerLeases.tryAcquire(anyString(), any())).thenReturn(true);
+    }
+
+    @Test
+    void maintain_UnpartitionedTable_LeavesItAloneUnlessConversionIsOn() {
+        when(partitionRepository.findMonths()).thenReturn(List.of());
+
+        manager.maintain();
+
+        verify(partitionRepository, never()).partitionByMonth(any());
+        verify(partitionRepository, never()).addMonths(any());
+        verifyNoInteractions(attendanceRepository);
+    }
+
+    @Test
+    void maintain_UnpartitionedTableWithConversion_PartitionsFromOldestRowToMonthsAhead() {
+        when(partitionRepository.findMonths()).thenReturn(List.of());
+        when(partitionRepository.findOldestDate()).thenReturn(current.minusMonths(2).atDay(17));
+
+        manager(true).maintain();
+
+        verify(partitionRepository).partitionByMonth(List.of(
+                current.minusMonths(2), current.minusMonths(1), current, current.plusMonths(1), current.plusMonths(2), current.plusMonths(3)));
+    }
+
+    @Test
+    void maintain_PartitionedThroughCurrentMonth_AddsMissingMonths() {
+        when(partitionRepository.findMonths()).thenReturn(List.of(current.minusMonths(1), current));
+
+        manager.maintain();
+
+        verify(partitionRepository).addMonths(List.of(current.plusMonths(1), current.plusMonths(2), current.plusMonths(3)));
+        verify(partitionRepository, never()).dropMonth(any());
+    }
+
+    @Test
+    void maintain_MonthPastRetention_ArchivesItThenDropsThePartition() {
+        YearMonth old = current.minusMonths(30);
+        LocalDate day = old.atDay(3);
+        Attendance session = session(day);
+        when(partitionRepository.findMonths()).thenReturn(List.of(old, current, current.plusMonths(1), current.plusMonths(2), current.plusMonths(3)));
+        when(attendanceRepository.findDatesBefore(old.plusMonths(1).atDay(1))).thenReturn(List.of(day));
+        when(attendanceRepository.findAllByDate(day)).thenReturn(List.of(session));
+        when(partitionRepository.countRows(old)).thenReturn(1L);
+
+        manager.maintain();
+
+        verify(partitionRepository).dropMonth(old);
+        assertThat(archive.archivedThrough()).contains(old.atEndOfMonth());
+        assertThat(archive.findHistory(employeeId, LocalDate.EPOCH, LocalDate.now(), null, null, 10))
+                .extracting(Attendance::getAttendanceId)
+                .containsExactly(session.getAttendanceId());
+        assertThat(archive.findByDate(List.of(employeeId), day)).hasSize(1);
+    }
+
+    @Test
+    void maintain_PartitionChangedWhileArchiving_KeepsItAndPublishesNothing() {
+        YearMonth old = current.minusMonths(30);
+        LocalDate day = old.atDay(3);
+        when(partitionRepository.findMonths()).thenReturn(List.of(old, current, current.plusMonths(1), current.plusMonths(2), current.plusMonths(3)));
+        when(attendanceRepository.findDatesBefore(any())).thenReturn(List.of(day));
+        when(attendanceRepository.findAllByDate(day)).thenReturn(List.of(session(day)));
+        when(partitionRepository.countRows(old)).thenReturn(2L);
+
+        manager.maintain();
+
+        verify(partitionRepository, never()).dropMonth(any());
+        assertThat(archive.archivedThrough()).isEmpty();
+        assertThat(archiveDir).isEmptyDirectory();
+    }
+
+    @Test
+    void maintain_DatabaseWithoutPartitions_DoesNothing() {
+        when(partitionRepository.isSupported()).thenReturn(false);
+
+        manager.maintain();
+
+        verify(partitionRepository, never()).findMonths();
+        verifyNoInteractions(schedulerLeases, attendanceRepository);
+    }
+
+    private AttendancePartitionManager manager(boolean convertTable) {
+        return new AttendancePartitionManager(partitionRepository, attendanceRepository, archive, schedulerLeases,
+                true, convertTable, 3, true, 24, Duration.ofHours(5), new SimpleMeterRegistry());
+    }
+
+    private Attendance session(LocalDate day) {
+        OffsetDateTime checkIn = day.atTime(9, 0).atOffset(ZoneOffset.UTC);
+        return Attendance.builder()
+                .id(UUID.randomUUID())
+                .attendanceId("ATT-" + day)
+                .employeeId(employeeId)
+                .date(day)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusHours(8))
+                .hoursWorked(8.0)
+                .attendanceStatus(AttendanceStatus.COMPLETE)
+                .location("HQ")
+                .build();
+    }
+}
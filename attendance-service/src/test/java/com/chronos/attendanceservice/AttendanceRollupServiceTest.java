@@ -0,0 +1,163 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.dto.EmployeeIdsRequestDTO;
+import com.chronos.attendanceservice.dto.ReportCacheInvalidationRequestDTO;
+import com.chronos.attendanceservice.dto.RollupRebuildResponseDTO;
+import com.chronos.attendanceservice.feign.EmployeeClient;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.repository.DailyEmployeeAttendanceRollupRepository;
+import com.chronos.attendanceservice.repository.DailyTeamAttendanceRollupRepository;
+import com.chronos.attendanceservice.repository.projections.EmployeeDailyAttendanceView;
+import com.chronos.attendanceservice.service.impl.AttendanceArchive;
+import com.chronos.attendanceservice.service.impl.AttendanceRollupServiceImpl;
+import com.chronos.attendanceservice.service.impl.ReportCacheInvalidator;
+import com.chronos.common.constants.TeamConstants;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.InvalidDateException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceRollupServiceTest {
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private DailyEmployeeAttendanceRollupRepository employeeRollupRepository;
+
+    @Mock
+    private DailyTeamAttendanceRollupRepository teamRollupRepository;
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    @Mock
+    private ReportCacheInvalidator reportCacheInvalidator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path archiveDir;
+
+    private AttendanceRollupServiceImpl rollupService;
+
+    private final UUID employeeId = UUID.randomUUID();
+    private final LocalDate date = LocalDate.of(2025, 3, 10);
+
+    @BeforeEach
+    void setup() {
+        rollupService = new AttendanceRollupServiceImpl(attendanceRepository, employeeRollupRepository, teamRollupRepository, employeeClient, reportCacheInvalidator,
+                new AttendanceArchive(new ObjectMapper().findAndRegisterModules(), archiveDir), transactionManager);
+    }
+
+    @Test
+    void recordCompletedSession_firstSessionOfDay_createsRowsAndCountsEmployeePresent() {
+        when(employeeRollupRepository.createIfAbsent(any(), eq(employeeId), eq(date), any())).thenReturn(1);
+        when(employeeRollupRepository.recordFirstSession(employeeId, date, 4.0, "TEAM-1")).thenReturn(1);
+
+        rollupService.recordCompletedSession(employeeId, "TEAM-1", date, 4.0);
+
+        verify(employeeRollupRepository, never()).recordSession(any(), any(), anyDouble());
+        verify(teamRollupRepository).createIfAbsent(any(), eq("TEAM-1"), eq(date), any());
+        verify(teamRollupRepository).recordSession("TEAM-1", date, 1, 4.0);
+        // rows are created in the check-out's own transaction, never a second one
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void recordCompletedSession_laterSessionSameDay_addsHoursWithoutRecountingPresence() {
+        when(employeeRollupRepository.recordFirstSession(employeeId, date, 2.5, "TEAM-1")).thenReturn(0);
+
+        rollupService.recordCompletedSession(employeeId, "TEAM-1", date, 2.5);
+
+        verify(employeeRollupRepository).recordSession(employeeId, date, 2.5);
+        verify(teamRollupRepository).recordSession("TEAM-1", date, 0, 2.5);
+    }
+
+    @Test
+    void recordCompletedSession_employeeWithoutTeam_skipsTeamRollup() {
+        when(employeeRollupRepository.recordFirstSession(employeeId, date, 1.0, null)).thenReturn(1);
+
+        rollupService.recordCompletedSession(employeeId, TeamConstants.NOT_IN_A_TEAM, date, 1.0);
+
+        verifyNoInteractions(teamRollupRepository);
+    }
+
+    @Test
+    void recordCompletedSession_pastDay_invalidatesCachedTeamReports() {
+        when(employeeRollupRepository.recordFirstSession(employeeId, date, 3.0, "TEAM-1")).thenReturn(1);
+
+        rollupService.recordCompletedSession(employeeId, "TEAM-1", date, 3.0);
+
+        verify(reportCacheInvalidator).invalidate(new ReportCacheInvalidationRequestDTO("TEAM-1", date, date));
+    }
+
+    @Test
+    void recordCompletedSession_today_leavesReportCacheAlone() {
+        LocalDate today = LocalDate.now();
+        when(employeeRollupRepository.recordFirstSession(employeeId, today, 3.0, "TEAM-1")).thenReturn(1);
+
+        rollupService.recordCompletedSession(employeeId, "TEAM-1", today, 3.0);
+
+        verifyNoInteractions(reportCacheInvalidator);
+    }
+
+    @Test
+    void rebuildRollups_rangeIncludingToday_throws() {
+        LocalDate today = LocalDate.now();
+        assertThatThrownBy(() -> rollupService.rebuildRollups(today.minusDays(3), today))
+                .isInstanceOf(InvalidDateException.class);
+        verifyNoInteractions(attendanceRepository);
+    }
+
+    @Test
+    void rebuildRollups_resolvesTeamsOncePerMonthInOneCall() {
+        UUID otherId = UUID.randomUUID();
+        LocalDate january = LocalDate.of(2025, 1, 31);
+        LocalDate february = LocalDate.of(2025, 2, 1);
+        List<EmployeeDailyAttendanceView> januaryTotals = List.of(dailyTotal(employeeId, january), dailyTotal(otherId, january));
+        List<EmployeeDailyAttendanceView> februaryTotals = List.of(dailyTotal(employeeId, february));
+        when(attendanceRepository.findDailyTotalsByDateBetween(january, january, AttendanceStatus.COMPLETE)).thenReturn(januaryTotals);
+        when(attendanceRepository.findDailyTotalsByDateBetween(february, february, AttendanceStatus.COMPLETE)).thenReturn(februaryTotals);
+        EmployeeDTO employee = mock(EmployeeDTO.class);
+        when(employee.id()).thenReturn(employeeId);
+        when(employee.teamId()).thenReturn("TEAM-1");
+        when(employeeClient.getEmployeesByIds(new EmployeeIdsRequestDTO(List.of(employeeId, otherId)))).thenReturn(List.of(employee));
+
+        RollupRebuildResponseDTO result = rollupService.rebuildRollups(january, february);
+
+        // february's only employee was already resolved for january
+        verify(employeeClient, times(1)).getEmployeesByIds(any());
+        verify(employeeClient, never()).getEmployeeById(any());
+        assertThat(result.employeeDaysWritten()).isEqualTo(3);
+        // the employee employee-service does not know counts without a team
+        assertThat(result.teamDaysWritten()).isEqualTo(2);
+    }
+
+    private static EmployeeDailyAttendanceView dailyTotal(UUID employeeId, LocalDate date) {
+        EmployeeDailyAttendanceView view = mock(EmployeeDailyAttendanceView.class);
+        when(view.getEmployeeId()).thenReturn(employeeId);
+        when(view.getDate()).thenReturn(date);
+        when(view.getSessions()).thenReturn(1L);
+        when(view.getHoursWorked()).thenReturn(8.0);
+        return view;
+    }
+}
@@ -1,20 +1,28 @@
 package com.chronos.attendanceservice;
 
 import com.chronos.attendanceservice.feign.EmployeeClient;
+import com.chronos.attendanceservice.repository.AttendanceEventReceiptRepository;
 import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.repository.DailyEmployeeAttendanceRollupRepository;
+import com.chronos.attendanceservice.repository.DailyTeamAttendanceRollupRepository;
+import com.chronos.attendanceservice.repository.SchedulerLeaseRepository;
+import com.chronos.attendanceservice.service.impl.ReportCacheInvalidator;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Optional;
 
 @SpringBootTest
 @TestPropertySource(properties = {
+        "spring.profiles.active=test",
         "spring.cloud.config.enabled=false",
         "eureka.client.enabled=false",
         "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration," +
@@ -26,9 +34,30 @@ class AttendanceServiceApplicationTests {
     private
     EmployeeClient employeeClient;
 
+    @MockitoBean
+    private ReportCacheInvalidator reportCacheInvalidator;
+
     @MockitoBean
     private AttendanceRepository shiftRepository;
 
+    @MockitoBean
+    private AttendanceEventReceiptRepository attendanceEventReceiptRepository;
+
+    @MockitoBean
+    private DailyEmployeeAttendanceRollupRepository dailyEmployeeAttendanceRollupRepository;
+
+    @MockitoBean
+    private DailyTeamAttendanceRollupRepository dailyTeamAttendanceRollupRepository;
+
+    @MockitoBean
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void contextLoads() {
     }
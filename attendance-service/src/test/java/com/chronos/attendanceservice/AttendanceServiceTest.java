@@ -1,27 +1,49 @@
 package com.chronos.attendanceservice;
 
+import com.chronos.attendanceservice.dto.AttendanceEventDTO;
+import com.chronos.attendanceservice.dto.AttendanceEventResultDTO;
+import com.chronos.attendanceservice.dto.AttendanceHistoryPageDTO;
 import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
+import com.chronos.attendanceservice.dto.CheckInRequestDTO;
+import com.chronos.attendanceservice.dto.EmployeeIdsRequestDTO;
 import com.chronos.attendanceservice.dto.ManagerAttendanceDisplayByDateResponseDTO;
 import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.entity.AttendanceEventReceipt;
 import com.chronos.attendanceservice.feign.EmployeeClient;
+import com.chronos.attendanceservice.repository.AttendanceEventReceiptRepository;
 import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.service.AttendanceRollupService;
+import com.chronos.attendanceservice.service.impl.ActiveEmployeeIndex;
+import com.chronos.attendanceservice.service.impl.AttendanceArchive;
 import com.chronos.attendanceservice.service.impl.AttendanceServiceImpl;
+import com.chronos.attendanceservice.service.impl.CheckInWriteBehindBuffer;
+import com.chronos.attendanceservice.service.impl.CurrentAttendanceCache;
+import com.chronos.attendanceservice.service.impl.EmployeeAttendanceLocks;
+import com.chronos.attendanceservice.service.impl.SiteOccupancyIndex;
+import com.chronos.attendanceservice.service.impl.TeamPresenceIndex;
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.constants.enums.AttendanceEventOutcome;
+import com.chronos.common.constants.enums.AttendanceEventType;
 import com.chronos.common.constants.enums.AttendanceStatus;
 import com.chronos.common.dto.EmployeeDTO;
 import com.chronos.common.exception.custom.ActiveAttendanceExistsException;
 import com.chronos.common.exception.custom.ActiveAttendanceNotFoundException;
 import com.chronos.common.exception.custom.EmployeeNotFoundException;
 import com.chronos.common.exception.custom.InvalidDateException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,7 +59,30 @@ class AttendanceServiceImplTest {
     @Mock
     private EmployeeClient employeeClient;
 
-    @InjectMocks
+    @Mock
+    private AttendanceRollupService attendanceRollupService;
+
+    @Mock
+    private AttendanceEventReceiptRepository attendanceEventReceiptRepository;
+
+    @Mock
+    private CheckInWriteBehindBuffer checkInWriteBehindBuffer;
+
+    @Mock
+    private EmployeeAttendanceLocks employeeAttendanceLocks;
+
+    @Mock
+    private TeamPresenceIndex teamPresenceIndex;
+
+    @Mock
+    private SiteOccupancyIndex siteOccupancyIndex;
+
+    @Mock
+    private AttendanceArchive attendanceArchive;
+
+    @Spy
+    private CurrentAttendanceCache currentAttendanceCache = new CurrentAttendanceCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
     private AttendanceServiceImpl attendanceService;
 
     private String employeeId;
@@ -47,6 +92,12 @@ class AttendanceServiceImplTest {
     void setup() {
         employeeUuid = UUID.randomUUID();
         employeeId = employeeUuid.toString();
+        // the real index, starting empty, so every employee lookup falls through to the mocked client
+        ActiveEmployeeIndex activeEmployeeIndex = new ActiveEmployeeIndex(employeeClient, 100, Duration.ofMinutes(1), Duration.ofHours(6), new SimpleMeterRegistry());
+        attendanceService = new AttendanceServiceImpl(
+                attendanceRepository, employeeClient, attendanceRollupService, currentAttendanceCache,
+                attendanceEventReceiptRepository, checkInWriteBehindBuffer, activeEmployeeIndex, employeeAttendanceLocks, teamPresenceIndex, siteOccupancyIndex, attendanceArchive
+        );
     }
 
     @Test
@@ -54,17 +105,46 @@ class AttendanceServiceImplTest {
         AttendanceResponseDTO dto1 = new AttendanceResponseDTO("ATT-1", LocalDate.now(), null, null, 0.0, AttendanceStatus.ACTIVE, "Loc");
         AttendanceResponseDTO dto2 = new AttendanceResponseDTO("ATT-2", LocalDate.now().minusDays(1), null, null, 0.0, AttendanceStatus.COMPLETE, "Loc2");
 
-        when(attendanceRepository.findAllByEmployeeOrderByDateDesc(employeeUuid)).thenReturn(List.of(dto1, dto2));
+        when(attendanceRepository.findLatestByEmployee(employeeUuid, Limit.of(1))).thenReturn(List.of(dto1));
 
         AttendanceResponseDTO result = attendanceService.getLatestAttendance(employeeId);
 
         assertThat(result.attendanceId()).isEqualTo("ATT-1");
-        verify(attendanceRepository, times(1)).findAllByEmployeeOrderByDateDesc(employeeUuid);
+        verify(attendanceRepository, times(1)).findLatestByEmployee(employeeUuid, Limit.of(1));
+    }
+
+    @Test
+    void getLatestAttendance_repeatedCall_servedFromCache() {
+        AttendanceResponseDTO dto = new AttendanceResponseDTO("ATT-1", LocalDate.now(), null, null, 0.0, AttendanceStatus.COMPLETE, "Loc");
+        when(attendanceRepository.findLatestByEmployee(employeeUuid, Limit.of(1))).thenReturn(List.of(dto));
+
+        attendanceService.getLatestAttendance(employeeId);
+        AttendanceResponseDTO second = attendanceService.getLatestAttendance(employeeId);
+
+        assertThat(second).isEqualTo(dto);
+        verify(attendanceRepository, times(1)).findLatestByEmployee(employeeUuid, Limit.of(1));
+    }
+
+    @Test
+    void getLatestAttendance_afterCheckIn_returnsNewSessionWithoutQuery() {
+        AttendanceResponseDTO old = new AttendanceResponseDTO("ATT-OLD", LocalDate.now().minusDays(1), null, null, 8.0, AttendanceStatus.COMPLETE, "Loc");
+        when(attendanceRepository.findLatestByEmployee(employeeUuid, Limit.of(1))).thenReturn(List.of(old));
+        when(employeeClient.getEmployeeById(employeeId)).thenReturn(mock(EmployeeDTO.class));
+        when(attendanceRepository.findLatestByEmployeeAndStatus(employeeUuid, AttendanceStatus.ACTIVE)).thenReturn(List.of());
+        when(attendanceRepository.save(any(Attendance.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        attendanceService.getLatestAttendance(employeeId);
+        AttendanceResponseDTO checkedIn = attendanceService.checkIn(employeeId, null);
+        AttendanceResponseDTO latest = attendanceService.getLatestAttendance(employeeId);
+
+        assertThat(latest).isEqualTo(checkedIn);
+        assertThat(latest.attendanceStatus()).isEqualTo(AttendanceStatus.ACTIVE);
+        verify(attendanceRepository, times(1)).findLatestByEmployee(employeeUuid, Limit.of(1));
     }
 
     @Test
     void getLatestAttendance_whenEmpty_returnsDefault() {
-        when(attendanceRepository.findAllByEmployeeOrderByDateDesc(employeeUuid)).thenReturn(List.of());
+        when(attendanceRepository.findLatestByEmployee(employeeUuid, Limit.of(1))).thenReturn(List.of());
 
         AttendanceResponseDTO result = attendanceService.getLatestAttendance(employeeId);
 
@@ -73,13 +153,61 @@ class AttendanceServiceImplTest {
     }
 
     @Test
-    void getAttendanceHistory_returnsListFromRepo() {
-        AttendanceResponseDTO dto = new AttendanceResponseDTO("ATT-H", LocalDate.now(), null, null, 0.0, AttendanceStatus.COMPLETE, null);
-        when(attendanceRepository.findAllByEmployeeOrderByDateDesc(employeeUuid)).thenReturn(List.of(dto));
+    void getAttendanceHistory_FullPage_CursorContinuesAfterLastRow() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+        Attendance jan20 = attendance(UUID.fromString("00000000-0000-0000-0000-000000000003"), LocalDate.of(2025, 1, 20));
+        Attendance jan10 = attendance(UUID.fromString("00000000-0000-0000-0000-000000000002"), LocalDate.of(2025, 1, 10));
+        Attendance jan05 = attendance(UUID.fromString("00000000-0000-0000-0000-000000000001"), LocalDate.of(2025, 1, 5));
+        when(attendanceRepository.findHistoryFirstPage(employeeUuid, from, to, Limit.of(3)))
+                .thenReturn(List.of(jan20, jan10, jan05));
+        when(attendanceRepository.findHistoryBefore(employeeUuid, from, jan10.getDate(), jan10.getId(), Limit.of(3)))
+                .thenReturn(List.of(jan05));
+
+        AttendanceHistoryPageDTO first = attendanceService.getAttendanceHistory(employeeId, from, to, null, 2);
+
+        assertThat(first.records()).extracting(AttendanceResponseDTO::date).containsExactly(jan20.getDate(), jan10.getDate());
+        assertThat(first.nextCursor()).isNotNull();
+
+        AttendanceHistoryPageDTO second = attendanceService.getAttendanceHistory(employeeId, from, to, first.nextCursor(), 2);
+
+        assertThat(second.records()).extracting(AttendanceResponseDTO::date).containsExactly(jan05.getDate());
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void getAttendanceHistory_NoBounds_DefaultsToEverythingUpToToday() {
+        when(attendanceRepository.findHistoryFirstPage(employeeUuid, LocalDate.EPOCH, LocalDate.now(), Limit.of(51)))
+                .thenReturn(List.of());
 
-        List<AttendanceResponseDTO> history = attendanceService.getAttendanceHistory(employeeId);
+        AttendanceHistoryPageDTO page = attendanceService.getAttendanceHistory(employeeId, null, null, null, 50);
 
-        assertThat(history).hasSize(1).contains(dto);
+        assertThat(page.records()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getAttendanceHistory_ShortPageReachingArchivedMonths_ContinuesFromArchive() {
+        LocalDate from = LocalDate.of(2023, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+        Attendance jan20 = attendance(UUID.fromString("00000000-0000-0000-0000-000000000003"), LocalDate.of(2025, 1, 20));
+        Attendance archivedDec = attendance(UUID.fromString("00000000-0000-0000-0000-000000000002"), LocalDate.of(2023, 12, 4));
+        Attendance archivedNov = attendance(UUID.fromString("00000000-0000-0000-0000-000000000001"), LocalDate.of(2023, 11, 9));
+        when(attendanceRepository.findHistoryFirstPage(employeeUuid, from, to, Limit.of(3))).thenReturn(List.of(jan20));
+        when(attendanceArchive.archivedThrough()).thenReturn(Optional.of(LocalDate.of(2023, 12, 31)));
+        when(attendanceArchive.findHistory(employeeUuid, from, to, null, null, 3)).thenReturn(List.of(archivedDec, archivedNov));
+
+        AttendanceHistoryPageDTO page = attendanceService.getAttendanceHistory(employeeId, from, to, null, 2);
+
+        assertThat(page.records()).extracting(AttendanceResponseDTO::date).containsExactly(jan20.getDate(), archivedDec.getDate());
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void getAttendanceHistory_ToBeforeFrom_Throws() {
+        assertThatThrownBy(() -> attendanceService.getAttendanceHistory(employeeId, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, 50))
+                .isInstanceOf(InvalidDateException.class);
+        verifyNoInteractions(attendanceRepository);
     }
 
     @Test
@@ -106,6 +234,22 @@ class AttendanceServiceImplTest {
         assertThat(response.attendanceStatus()).isEqualTo(AttendanceStatus.ACTIVE);
         assertThat(response.checkIn()).isEqualTo(now);
         verify(attendanceRepository).save(any(Attendance.class));
+        verify(teamPresenceIndex).record(employeeUuid, response);
+        verify(siteOccupancyIndex).record(response);
+    }
+
+    @Test
+    void checkIn_writeBehindEnabled_appendsToBufferInsteadOfSaving() {
+        when(employeeClient.getEmployeeById(employeeId)).thenReturn(mock(EmployeeDTO.class));
+        when(attendanceRepository.findLatestByEmployeeAndStatus(employeeUuid, AttendanceStatus.ACTIVE)).thenReturn(List.of());
+        when(checkInWriteBehindBuffer.isEnabled()).thenReturn(true);
+
+        AttendanceResponseDTO response = attendanceService.checkIn(employeeId, new CheckInRequestDTO("Office"));
+
+        assertThat(response.attendanceStatus()).isEqualTo(AttendanceStatus.ACTIVE);
+        verify(checkInWriteBehindBuffer).append(argThat(a -> a.getEmployeeId().equals(employeeUuid) && "Office".equals(a.getLocation())));
+        verify(attendanceRepository, never()).save(any());
+        assertThat(currentAttendanceCache.get(employeeUuid)).contains(response);
     }
 
     @Test
@@ -150,6 +294,9 @@ class AttendanceServiceImplTest {
         assertThat(resp.attendanceStatus()).isEqualTo(AttendanceStatus.COMPLETE);
         assertThat(resp.hoursWorked()).isGreaterThan(0.0);
         verify(attendanceRepository).save(any(Attendance.class));
+        verify(attendanceRollupService).recordCompletedSession(eq(employeeUuid), any(), any(), eq(resp.hoursWorked()));
+        verify(teamPresenceIndex).record(employeeUuid, resp);
+        verify(siteOccupancyIndex).record(resp);
     }
 
     @Test
@@ -162,6 +309,70 @@ class AttendanceServiceImplTest {
                 .isInstanceOf(ActiveAttendanceNotFoundException.class);
     }
 
+    @Test
+    void recordAttendanceEvents_CheckInThenCheckOut_AppliedInOrderWithOneLookup() {
+        when(attendanceEventReceiptRepository.findByIdempotencyKeyIn(anyCollection())).thenReturn(List.of());
+        when(employeeClient.getEmployeesByIds(any(EmployeeIdsRequestDTO.class))).thenReturn(List.of(employee(employeeUuid)));
+        when(attendanceRepository.findByEmployeeIdsAndStatus(anyCollection(), eq(AttendanceStatus.ACTIVE))).thenReturn(List.of());
+
+        List<AttendanceEventResultDTO> results = attendanceService.recordAttendanceEvents(List.of(
+                new AttendanceEventDTO("k-1", employeeUuid, AttendanceEventType.CHECK_IN, "Gate A"),
+                new AttendanceEventDTO("k-2", employeeUuid, AttendanceEventType.CHECK_OUT, null)
+        ));
+
+        assertThat(results).extracting(AttendanceEventResultDTO::outcome)
+                .containsExactly(AttendanceEventOutcome.APPLIED, AttendanceEventOutcome.APPLIED);
+        assertThat(results.get(1).attendanceId()).isEqualTo(results.get(0).attendanceId());
+        verify(employeeClient, times(1)).getEmployeesByIds(any(EmployeeIdsRequestDTO.class));
+        verify(attendanceRepository).saveAll(argThat(rows -> rows.iterator().next().getAttendanceStatus() == AttendanceStatus.COMPLETE));
+        verify(attendanceEventReceiptRepository).saveAll(argThat(receipts -> receipts.spliterator().getExactSizeIfKnown() == 2));
+        verify(attendanceRollupService).recordCompletedSession(eq(employeeUuid), eq("TEAM-1"), any(), anyDouble());
+        assertThat(currentAttendanceCache.get(employeeUuid)).get()
+                .extracting(AttendanceResponseDTO::attendanceStatus).isEqualTo(AttendanceStatus.COMPLETE);
+    }
+
+    @Test
+    void recordAttendanceEvents_KnownOrRepeatedKey_AnsweredAsDuplicate() {
+        AttendanceEventReceipt receipt = new AttendanceEventReceipt(UUID.randomUUID(), "k-1", employeeUuid, AttendanceEventType.CHECK_IN, "ATT-OLD");
+        when(attendanceEventReceiptRepository.findByIdempotencyKeyIn(anyCollection())).thenReturn(List.of(receipt));
+        when(employeeClient.getEmployeesByIds(any(EmployeeIdsRequestDTO.class))).thenReturn(List.of(employee(employeeUuid)));
+        when(attendanceRepository.findByEmployeeIdsAndStatus(anyCollection(), eq(AttendanceStatus.ACTIVE))).thenReturn(List.of());
+
+        List<AttendanceEventResultDTO> results = attendanceService.recordAttendanceEvents(List.of(
+                new AttendanceEventDTO("k-1", employeeUuid, AttendanceEventType.CHECK_IN, null),
+                new AttendanceEventDTO("k-2", employeeUuid, AttendanceEventType.CHECK_IN, null),
+                new AttendanceEventDTO("k-2", employeeUuid, AttendanceEventType.CHECK_IN, null)
+        ));
+
+        assertThat(results).extracting(AttendanceEventResultDTO::outcome).containsExactly(
+                AttendanceEventOutcome.DUPLICATE, AttendanceEventOutcome.APPLIED, AttendanceEventOutcome.DUPLICATE);
+        assertThat(results.get(0).attendanceId()).isEqualTo("ATT-OLD");
+        assertThat(results.get(2).attendanceId()).isEqualTo(results.get(1).attendanceId());
+    }
+
+    @Test
+    void recordAttendanceEvents_UnknownEmployeeAndSessionConflicts_RejectedIndividually() {
+        UUID unknown = UUID.randomUUID();
+        UUID checkedOut = UUID.randomUUID();
+        Attendance active = attendance(UUID.randomUUID(), LocalDate.now());
+        active.setAttendanceStatus(AttendanceStatus.ACTIVE);
+
+        when(attendanceEventReceiptRepository.findByIdempotencyKeyIn(anyCollection())).thenReturn(List.of());
+        when(employeeClient.getEmployeesByIds(any(EmployeeIdsRequestDTO.class))).thenReturn(List.of(employee(employeeUuid), employee(checkedOut)));
+        when(attendanceRepository.findByEmployeeIdsAndStatus(anyCollection(), eq(AttendanceStatus.ACTIVE))).thenReturn(List.of(active));
+
+        List<AttendanceEventResultDTO> results = attendanceService.recordAttendanceEvents(List.of(
+                new AttendanceEventDTO("k-1", unknown, AttendanceEventType.CHECK_IN, null),
+                new AttendanceEventDTO("k-2", employeeUuid, AttendanceEventType.CHECK_IN, null),
+                new AttendanceEventDTO("k-3", checkedOut, AttendanceEventType.CHECK_OUT, null)
+        ));
+
+        assertThat(results).extracting(AttendanceEventResultDTO::outcome).containsOnly(AttendanceEventOutcome.REJECTED);
+        assertThat(results).extracting(AttendanceEventResultDTO::error).containsExactly(
+                ErrorConstants.EMPLOYEE_NOT_FOUND, ErrorConstants.ALREADY_CHECKED_IN, ErrorConstants.ACTIVE_ATTENDANCE_NOT_FOUND);
+        verifyNoInteractions(attendanceRollupService);
+    }
+
     @Test
     void getTeamsAttendanceByDate_managerNotFound_throws() {
         String managerId = UUID.randomUUID().toString();
@@ -222,5 +433,18 @@ class AttendanceServiceImplTest {
         assertThat(res.attendanceRows().get(0).displayEmployeeId()).isEqualTo("E-1");
         assertThat(res.attendanceRows().get(0).employeeName()).contains("John");
     }
-}
 
+    private EmployeeDTO employee(UUID id) {
+        return new EmployeeDTO(id, "E-1", "John", "Doe", null, null, null, null, true, null, null, "TEAM-1");
+    }
+
+    private Attendance attendance(UUID id, LocalDate date) {
+        Attendance a = new Attendance();
+        a.setId(id);
+        a.setAttendanceId("ATT-" + date);
+        a.setEmployeeId(employeeUuid);
+        a.setDate(date);
+        a.setAttendanceStatus(AttendanceStatus.COMPLETE);
+        return a;
+    }
+}
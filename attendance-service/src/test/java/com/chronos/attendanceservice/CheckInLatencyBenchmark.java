@@ -0,0 +1,123 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.service.impl.CheckInWriteBehindBuffer;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.constants.enums.IdPrefix;
+import com.chronos.common.util.PublicIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Check-in latency under a shift-start burst: many request threads checking in at once, either
+ * saving each session in its own transaction (the synchronous path) or appending it to the
+ * write-behind buffer, which acknowledges after the group-committed log write. Compare the p0.99
+ * rows of the two paths.
+ * <p>
+ * Each thread pauses {@code pauseMicros} between check-ins (outside the measured time), so both
+ * paths face the same offered load instead of each running flat out. Without the pause the buffer
+ * acknowledges faster than any database can absorb and simply fills up, which is the overload it
+ * is bounded against rather than the burst it is meant to smooth.
+ * <p>
+ * Runs the real repository and buffer against a file-backed H2 database. H2 does not force its
+ * file on commit the way InnoDB does with innodb_flush_log_at_trx_commit=1, so the synchronous
+ * numbers here are a lower bound. Run from attendance-service with:
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.chronos.attendanceservice.CheckInLatencyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class CheckInLatencyBenchmark {
+
+    @Param({"sync", "write-behind"})
+    private String path;
+
+    @Param({"10000"})
+    private long pauseMicros;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private AttendanceRepository attendanceRepository;
+    private CheckInWriteBehindBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("check-in-latency");
+        context = new SpringApplicationBuilder(AttendanceServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.cloud.config.enabled=false",
+                        "--eureka.client.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("attendance"),
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=100",
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--logging.level.root=WARN",
+                        "--logging.file.name=",
+                        "--attendance.write-behind.enabled=" + "write-behind".equals(path),
+                        "--attendance.write-behind.log-file=" + directory.resolve("check-ins.log"),
+                        "--attendance.write-behind.capacity=100000",
+                        "--attendance.write-behind.ack-timeout=PT30S"
+                );
+        attendanceRepository = context.getBean(AttendanceRepository.class);
+        buffer = context.getBean(CheckInWriteBehindBuffer.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Pacing {
+        @Setup(Level.Invocation)
+        public void pause(CheckInLatencyBenchmark benchmark) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(benchmark.pauseMicros));
+        }
+    }
+
+    @Benchmark
+    public void checkIn(Pacing pacing) {
+        // a fresh employee per call, so no check-in is turned away as a duplicate
+        Attendance attendance = new Attendance();
+        attendance.setAttendanceId(PublicIdGenerator.generate(IdPrefix.ATTENDANCE));
+        attendance.setEmployeeId(UUID.randomUUID());
+        attendance.setDate(LocalDate.now());
+        attendance.setCheckIn(OffsetDateTime.now());
+        attendance.setAttendanceStatus(AttendanceStatus.ACTIVE);
+        attendance.setLocation("Gate A");
+
+        if (buffer.isEnabled()) {
+            buffer.append(attendance);
+        } else {
+            attendanceRepository.save(attendance);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CheckInLatencyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,158 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.service.impl.CheckInWriteBehindBuffer;
+import com.chronos.attendanceservice.service.impl.CurrentAttendanceCache;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.exception.custom.ActiveAttendanceExistsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CheckInWriteBehindBufferTest {
+
+    @TempDir
+    Path directory;
+
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CheckInWriteBehindBuffer buffer;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void append_AcknowledgedFromLog_ThenFlushedAndLogTruncated() throws Exception {
+        buffer = start();
+        Attendance attendance = session(UUID.randomUUID(), "ATT-1");
+
+        buffer.append(attendance);
+        buffer.awaitPersisted(attendance.getEmployeeId());
+
+        verify(attendanceRepository).saveAll(argThat(rows -> rows.iterator().next() == attendance));
+        // the log writer truncates on its next idle pass
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (Files.size(logFile()) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(Files.size(logFile())).isZero();
+    }
+
+    @Test
+    void append_SecondCheckInWhileFirstUnflushed_Rejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(attendanceRepository.saveAll(anyList())).thenAnswer(inv -> {
+            release.await();
+            return inv.getArgument(0);
+        });
+        buffer = start();
+        UUID employee = UUID.randomUUID();
+
+        buffer.append(session(employee, "ATT-1"));
+
+        assertThat(Files.readString(logFile())).contains("ATT-1");
+        assertThatThrownBy(() -> buffer.append(session(employee, "ATT-2")))
+                .isInstanceOf(ActiveAttendanceExistsException.class);
+        release.countDown();
+    }
+
+    @Test
+    void flush_RowRejectedByDatabase_KeptInDeadLetterFileAndCounted() throws Exception {
+        Attendance rejected = session(UUID.randomUUID(), "ATT-1");
+        Attendance accepted = session(UUID.randomUUID(), "ATT-2");
+        when(attendanceRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(attendanceRepository.save(any(Attendance.class))).thenAnswer(inv -> {
+            if (inv.getArgument(0) == rejected) {
+                throw new DataIntegrityViolationException("Duplicate entry");
+            }
+            return inv.getArgument(0);
+        });
+        buffer = start();
+
+        buffer.append(rejected);
+        buffer.append(accepted);
+        buffer.awaitPersisted(rejected.getEmployeeId());
+        buffer.awaitPersisted(accepted.getEmployeeId());
+
+        List<String> deadLetters = Files.readAllLines(deadLetterFile());
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.getFirst()).contains("ATT-1", rejected.getEmployeeId().toString(), "Duplicate entry");
+        assertThat(meterRegistry.counter("attendance.write-behind.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void start_ReplaysLoggedCheckInsNotYetInDatabase() throws Exception {
+        UUID employee = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        String committed = objectMapper.writeValueAsString(Map.of("attendanceId", "ATT-1", "employeeId", employee, "date", today, "checkIn", OffsetDateTime.now()));
+        String lost = objectMapper.writeValueAsString(Map.of("attendanceId", "ATT-2", "employeeId", employee, "date", today, "checkIn", OffsetDateTime.now()));
+        Files.writeString(logFile(), committed + "\n" + lost + "\n{\"attendanceId\":\"ATT-");
+        when(attendanceRepository.findAttendanceIdsSince(anyCollection(), eq(today))).thenReturn(List.of("ATT-1"));
+
+        buffer = start();
+
+        verify(attendanceRepository).saveAll(argThat(rows -> {
+            List<Attendance> replayed = (List<Attendance>) rows;
+            return replayed.size() == 1
+                    && replayed.getFirst().getAttendanceId().equals("ATT-2")
+                    && replayed.getFirst().getAttendanceStatus() == AttendanceStatus.ACTIVE;
+        }));
+        assertThat(Files.size(logFile())).isZero();
+    }
+
+    private CheckInWriteBehindBuffer start() throws Exception {
+        CheckInWriteBehindBuffer started = new CheckInWriteBehindBuffer(
+                true, logFile().toString(), deadLetterFile().toString(), 100, 50, Duration.ofSeconds(2),
+                attendanceRepository, mock(PlatformTransactionManager.class),
+                new CurrentAttendanceCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                objectMapper, meterRegistry
+        );
+        started.start();
+        return started;
+    }
+
+    private Path logFile() {
+        return directory.resolve("check-ins.log");
+    }
+
+    private Path deadLetterFile() {
+        return directory.resolve("check-ins.rejected.log");
+    }
+
+    private Attendance session(UUID employeeId, String attendanceId) {
+        Attendance attendance = new Attendance();
+        attendance.setAttendanceId(attendanceId);
+        attendance.setEmployeeId(employeeId);
+        attendance.setDate(LocalDate.now());
+        attendance.setCheckIn(OffsetDateTime.now());
+        attendance.setAttendanceStatus(AttendanceStatus.ACTIVE);
+        return attendance;
+    }
+}
@@ -0,0 +1,79 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
+import com.chronos.attendanceservice.service.impl.CurrentAttendanceCache;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CurrentAttendanceCacheTest {
+
+    private final UUID employee = UUID.randomUUID();
+
+    private final AttendanceResponseDTO completed = attendance("ATT-1", AttendanceStatus.COMPLETE);
+    private final AttendanceResponseDTO active = attendance("ATT-2", AttendanceStatus.ACTIVE);
+
+    @Test
+    void putLoaded_DoesNotOverwriteNewerCheckIn() {
+        CurrentAttendanceCache cache = cache(10, Duration.ofMinutes(1));
+        long generation = cache.generation();
+
+        cache.update(employee, active);
+        cache.putLoaded(employee, completed, generation);
+
+        assertThat(cache.get(employee)).contains(active);
+    }
+
+    @Test
+    void putLoaded_ReadBeforeEviction_IsNotStored() {
+        CurrentAttendanceCache cache = cache(10, Duration.ofMinutes(1));
+        long generation = cache.generation();
+
+        cache.evict(employee);
+        cache.putLoaded(employee, completed, generation);
+
+        assertThat(cache.get(employee)).isEmpty();
+    }
+
+    @Test
+    void get_ExpiredEntry_Misses() throws InterruptedException {
+        CurrentAttendanceCache cache = cache(10, Duration.ofMillis(20));
+        cache.update(employee, active);
+
+        Thread.sleep(50);
+
+        assertThat(cache.get(employee)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void update_OverCapacity_DropsLeastRecentlyRead() {
+        CurrentAttendanceCache cache = cache(2, Duration.ofMinutes(1));
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.update(employee, active);
+        cache.update(second, active);
+        cache.get(employee);
+
+        cache.update(third, active);
+
+        assertThat(cache.get(employee)).isPresent();
+        assertThat(cache.get(second)).isEqualTo(Optional.empty());
+        assertThat(cache.get(third)).isPresent();
+    }
+
+    private static CurrentAttendanceCache cache(int maxEntries, Duration ttl) {
+        return new CurrentAttendanceCache(maxEntries, ttl, new SimpleMeterRegistry());
+    }
+
+    private static AttendanceResponseDTO attendance(String id, AttendanceStatus status) {
+        return new AttendanceResponseDTO(id, LocalDate.now(), null, null, 0.0, status, "Office");
+    }
+}
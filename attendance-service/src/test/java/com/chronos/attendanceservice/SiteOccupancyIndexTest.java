@@ -0,0 +1,105 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
+import com.chronos.attendanceservice.dto.LocationOccupancyDTO;
+import com.chronos.attendanceservice.dto.SiteOccupancyResponseDTO;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.repository.projections.OccupancySessionView;
+import com.chronos.attendanceservice.service.impl.SiteOccupancyIndex;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SiteOccupancyIndexTest {
+
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final SiteOccupancyIndex index = new SiteOccupancyIndex(attendanceRepository, Duration.ofDays(1), new SimpleMeterRegistry());
+
+    private final OffsetDateTime midnight = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+
+    @Test
+    void record_SameCheckInTwice_CountsThePersonOnce() {
+        AttendanceResponseDTO checkedIn = session("ATT-1", "HQ", midnight, null, AttendanceStatus.ACTIVE);
+
+        index.record(checkedIn);
+        index.record(checkedIn);
+
+        LocationOccupancyDTO hq = location(index.headcountByHour("HQ"));
+        assertThat(hq.onSite()).isEqualTo(1);
+        assertThat(hq.peakByHour()).allMatch(peak -> peak == 1);
+    }
+
+    @Test
+    void record_SessionOnlySeenOnceClosed_CountsItsWholeStay() {
+        // checked in yesterday evening and out at midnight, reported only at check-out
+        AttendanceResponseDTO completed = session("ATT-2", "HQ", midnight.minusHours(2), midnight, AttendanceStatus.COMPLETE);
+
+        index.record(completed);
+        index.record(completed);
+
+        LocationOccupancyDTO hq = location(index.headcountByHour(null));
+        assertThat(hq.peakByHour().getFirst()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_ReplacesLiveCountsWithTheDaysSessions() {
+        index.record(session("ATT-LIVE", "Annex", midnight, null, AttendanceStatus.ACTIVE));
+        when(attendanceRepository.findOccupancySessions(eq(AttendanceStatus.ACTIVE), eq(AttendanceStatus.COMPLETE), any(), eq(midnight), any()))
+                .thenReturn(List.of(view("ATT-1", "HQ", midnight, null, AttendanceStatus.ACTIVE),
+                        view("ATT-2", "HQ", midnight.minusHours(3), null, AttendanceStatus.ACTIVE)));
+
+        index.rebuild();
+
+        SiteOccupancyResponseDTO occupancy = index.headcountByHour(null);
+        assertThat(occupancy.locations()).extracting(LocationOccupancyDTO::location).containsExactly("HQ");
+        assertThat(occupancy.locations().getFirst().onSite()).isEqualTo(2);
+    }
+
+    private static LocationOccupancyDTO location(SiteOccupancyResponseDTO occupancy) {
+        assertThat(occupancy.locations()).hasSize(1);
+        return occupancy.locations().getFirst();
+    }
+
+    private static AttendanceResponseDTO session(String id, String location, OffsetDateTime checkIn, OffsetDateTime checkOut, AttendanceStatus status) {
+        return new AttendanceResponseDTO(id, checkIn.toLocalDate(), checkIn, checkOut, 0.0, status, location);
+    }
+
+    private static OccupancySessionView view(String id, String location, OffsetDateTime checkIn, OffsetDateTime checkOut, AttendanceStatus status) {
+        return new OccupancySessionView() {
+            @Override
+            public String getAttendanceId() {
+                return id;
+            }
+
+            @Override
+            public String getLocation() {
+                return location;
+            }
+
+            @Override
+            public OffsetDateTime getCheckIn() {
+                return checkIn;
+            }
+
+            @Override
+            public OffsetDateTime getCheckOut() {
+                return checkOut;
+            }
+
+            @Override
+            public AttendanceStatus getAttendanceStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.repository.projections.StaleSessionView;
+import com.chronos.attendanceservice.service.impl.CurrentAttendanceCache;
+import com.chronos.attendanceservice.service.impl.SchedulerLeases;
+import com.chronos.attendanceservice.service.impl.StaleAttendanceCloser;
+import com.chronos.attendanceservice.service.impl.TeamPresenceIndex;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StaleAttendanceCloserTest {
+
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final SchedulerLeases schedulerLeases = mock(SchedulerLeases.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final CurrentAttendanceCache currentAttendanceCache = new CurrentAttendanceCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    private StaleAttendanceCloser closer;
+
+    @BeforeEach
+    void setup() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        closer = new StaleAttendanceCloser(attendanceRepository, schedulerLeases, currentAttendanceCache, mock(TeamPresenceIndex.class), transactionManager,
+                true, Duration.ofHours(16), false, 2, Duration.ofMinutes(14), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void closeStaleSessions_WithoutLease_DoesNothing() {
+        when(schedulerLeases.tryAcquire(anyString(), any())).thenReturn(false);
+
+        closer.closeStaleSessions();
+
+        verifyNoInteractions(attendanceRepository);
+    }
+
+    @Test
+    void closeStaleSessions_ClosesChunksUntilShortOneAndEvictsTiles() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        currentAttendanceCache.update(first, new AttendanceResponseDTO("ATT-1", LocalDate.now(), null, null, 0.0, AttendanceStatus.ACTIVE, null));
+        when(schedulerLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(attendanceRepository.findStaleSessions(eq(AttendanceStatus.ACTIVE), any(), eq(LocalDate.EPOCH), eq(Limit.of(2))))
+                .thenReturn(List.of(session(first), session(second)), List.of(session(third)));
+        when(attendanceRepository.closeSessions(anyCollection(), eq(AttendanceStatus.ACTIVE), eq(AttendanceStatus.AUTO_CLOSED), any()))
+                .thenReturn(2, 1);
+
+        closer.closeStaleSessions();
+
+        verify(attendanceRepository, times(2)).findStaleSessions(any(), any(), any(), any());
+        verify(attendanceRepository, times(2)).closeSessions(anyCollection(), any(), any(), any());
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(currentAttendanceCache.get(first)).isEmpty();
+        verify(schedulerLeases, never()).release(anyString());
+    }
+
+    @Test
+    void closeStaleSessions_Failure_ReleasesLease() {
+        when(schedulerLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(attendanceRepository.findStaleSessions(any(), any(), any(), any())).thenThrow(new IllegalStateException("db down"));
+
+        closer.closeStaleSessions();
+
+        verify(schedulerLeases).release(anyString());
+    }
+
+    private static StaleSessionView session(UUID employeeId) {
+        UUID id = UUID.randomUUID();
+        return new StaleSessionView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getEmployeeId() {
+                return employeeId;
+            }
+        };
+    }
+}
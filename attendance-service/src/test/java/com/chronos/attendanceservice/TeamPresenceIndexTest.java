@@ -0,0 +1,85 @@
+package com.chronos.attendanceservice;
+
+import com.chronos.attendanceservice.dto.AttendanceResponseDTO;
+import com.chronos.attendanceservice.entity.Attendance;
+import com.chronos.attendanceservice.repository.AttendanceRepository;
+import com.chronos.attendanceservice.service.impl.TeamPresenceIndex;
+import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TeamPresenceIndexTest {
+
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final TeamPresenceIndex index = new TeamPresenceIndex(attendanceRepository, Duration.ofMinutes(30), 2, 100, new SimpleMeterRegistry());
+
+    private final LocalDate today = LocalDate.now();
+    private final UUID member = UUID.randomUUID();
+    private final UUID colleague = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        index.stop();
+    }
+
+    @Test
+    void subscribe_SameTeamTwice_ReadsTheDayOnce() {
+        when(attendanceRepository.findTeamAttendanceByDate(anyList(), eq(today))).thenReturn(List.of(attendance(member)));
+
+        index.subscribe(List.of(employee(member), employee(colleague)), today);
+        index.subscribe(List.of(employee(member), employee(colleague)), today);
+
+        verify(attendanceRepository, times(1)).findTeamAttendanceByDate(anyList(), eq(today));
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.subscribers()).isEqualTo(2);
+    }
+
+    @Test
+    void subscribe_AfterRecord_StillLoadsTheRestOfThatDay() {
+        index.record(member, new AttendanceResponseDTO("ATT-NEW", today, OffsetDateTime.now(), null, 0.0, AttendanceStatus.ACTIVE, null));
+
+        index.subscribe(List.of(employee(member)), today);
+        index.subscribe(List.of(employee(member)), today);
+
+        // the recorded session alone does not make the day complete, so it is read once
+        verify(attendanceRepository, times(1)).findTeamAttendanceByDate(List.of(member), today);
+    }
+
+    @Test
+    void subscribe_PastMaxSubscribers_Throws() {
+        index.subscribe(List.of(employee(member)), today);
+        index.subscribe(List.of(employee(member)), today);
+
+        assertThatThrownBy(() -> index.subscribe(List.of(employee(member)), today))
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(index.subscribers()).isEqualTo(2);
+    }
+
+    private Attendance attendance(UUID employeeId) {
+        Attendance attendance = new Attendance();
+        attendance.setAttendanceId("ATT-1");
+        attendance.setEmployeeId(employeeId);
+        attendance.setDate(today);
+        attendance.setCheckIn(OffsetDateTime.now());
+        attendance.setAttendanceStatus(AttendanceStatus.ACTIVE);
+        return attendance;
+    }
+
+    private EmployeeDTO employee(UUID id) {
+        return new EmployeeDTO(id, "E-1", "John", "Doe", null, null, null, null, true, null, null, "TEAM-1");
+    }
+}
@@ -2,6 +2,7 @@ package com.chronos.authservice.entity;
 
 
 import com.chronos.common.constants.enums.Role;
+import com.chronos.common.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,7 +20,7 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class LoginCredential extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
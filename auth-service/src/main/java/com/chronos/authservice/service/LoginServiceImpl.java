@@ -1,6 +1,5 @@
 package com.chronos.authservice.service;
 
-import com.aventrix.jnanoid.jnanoid.NanoIdUtils;
 import com.chronos.authservice.dto.*;
 import com.chronos.authservice.entity.LoginCredential;
 import com.chronos.authservice.feign.EmployeeClient;
@@ -11,12 +10,13 @@ import com.chronos.authservice.service.interfaces.LoginService;
 import com.chronos.authservice.util.LoginMapper;
 import com.chronos.common.constants.ErrorConstants;
 import com.chronos.common.constants.LoginConstants;
+import com.chronos.common.constants.enums.IdPrefix;
 import com.chronos.common.constants.enums.Role;
 import com.chronos.common.dto.EmployeeDTO;
 import com.chronos.common.exception.custom.LoginFailedException;
 import com.chronos.common.exception.custom.PasswordDoNotMatchException;
 import com.chronos.common.exception.custom.ResourceNotFoundException;
-import com.chronos.common.util.NanoIdGenerator;
+import com.chronos.common.util.PublicIdGenerator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -105,14 +105,8 @@ public class LoginServiceImpl implements LoginService {
 
         LoginCredential loginCredential = new LoginCredential();
 
-        int loginCredentialIdLength = 10;
-        String nanoId = NanoIdUtils.randomNanoId(
-                NanoIdGenerator.DEFAULT_NUMBER_GENERATOR,
-                NanoIdGenerator.DEFAULT_ALPHABET,
-                loginCredentialIdLength
-        );
 
-        loginCredential.setLoginCredentialId(nanoId);
+        loginCredential.setLoginCredentialId(PublicIdGenerator.generate(IdPrefix.LOGIN_CREDENTIAL));
         loginCredential.setEmail(createLoginCredentialDTO.email());
         loginCredential.setPasswordHash(passwordEncoder.encode(createLoginCredentialDTO.password()));
         loginCredential.setRole(createLoginCredentialDTO.role());
@@ -17,6 +17,7 @@ import java.util.Optional;
 
 @SpringBootTest
 @TestPropertySource(properties = {
+        "spring.profiles.active=test",
         "spring.cloud.config.enabled=false",
         "eureka.client.enabled=false",
         "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration," +
@@ -0,0 +1,29 @@
+package com.chronos.common.autoconfigure;
+
+import com.chronos.common.calendar.WorkingDayCalendar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+@Configuration
+public class CommonCalendarAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public WorkingDayCalendar workingDayCalendar(
+            @Value("${calendar.weekend-days:SATURDAY,SUNDAY}") List<DayOfWeek> weekendDays,
+            @Value("${calendar.holidays:}") List<String> holidays
+    ) {
+        List<LocalDate> holidayDates = holidays.stream()
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(LocalDate::parse)
+                .toList();
+        return new WorkingDayCalendar(weekendDays, holidayDates);
+    }
+}
@@ -0,0 +1,26 @@
+package com.chronos.common.autoconfigure;
+
+import com.chronos.common.util.PublicIdGenerator;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+/**
+ * Refuses to start a service without a public id node, unless it runs a dev, local or test profile.
+ * <p>
+ * Replicas that fall back to random node ids collide with a probability of about 1 in 4096 per
+ * pair, so every deployed instance must be given its own CHRONOS_ID_NODE (0-4095).
+ */
+@Configuration
+public class CommonIdAutoConfiguration {
+
+    static final Profiles RANDOM_NODE_PROFILES = Profiles.of("dev", "local", "test");
+
+    public CommonIdAutoConfiguration(Environment environment) {
+        if (!PublicIdGenerator.isNodeConfigured() && !environment.acceptsProfiles(RANDOM_NODE_PROFILES)) {
+            throw new IllegalStateException("No public id node configured: set CHRONOS_ID_NODE (or -Dchronos.id.node) "
+                    + "to a value between 0 and 4095 that is unique per running instance, "
+                    + "or run with the dev, local or test profile");
+        }
+    }
+}
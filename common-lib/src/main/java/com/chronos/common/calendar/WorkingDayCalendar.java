@@ -0,0 +1,92 @@
+package com.chronos.common.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Working-day calendar with configurable weekend days and public holidays.
+ * <p>
+ * Each year is materialised once into a bitset of working days and a prefix-sum array over
+ * day-of-year, so {@link #isWorkingDay} is a bit test and {@link #countWorkingDays} is two array
+ * lookups per year touched, independent of how many days the range covers. Year tables are built
+ * lazily on first use and shared by all threads.
+ */
+public class WorkingDayCalendar {
+
+    private final Set<DayOfWeek> weekendDays;
+    private final Map<Integer, Set<Integer>> holidayDaysByYear = new HashMap<>();
+    private final ConcurrentHashMap<Integer, YearTable> years = new ConcurrentHashMap<>();
+
+    public WorkingDayCalendar(Collection<DayOfWeek> weekendDays, Collection<LocalDate> holidays) {
+        this.weekendDays = weekendDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekendDays);
+        for (LocalDate holiday : holidays) {
+            holidayDaysByYear.computeIfAbsent(holiday.getYear(), y -> new HashSet<>()).add(holiday.getDayOfYear());
+        }
+    }
+
+    /**
+     * Saturday/Sunday weekend without holidays.
+     */
+    public static WorkingDayCalendar standard() {
+        return new WorkingDayCalendar(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), List.of());
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        int index = date.getDayOfYear() - 1;
+        return (yearTable(date.getYear()).workingDays[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Counts working days in the inclusive range; returns 0 when endDate is before startDate.
+     */
+    public int countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return 0;
+        }
+        int startYear = startDate.getYear();
+        int endYear = endDate.getYear();
+        YearTable first = yearTable(startYear);
+        if (startYear == endYear) {
+            return first.prefix[endDate.getDayOfYear()] - first.prefix[startDate.getDayOfYear() - 1];
+        }
+
+        int count = first.total() - first.prefix[startDate.getDayOfYear() - 1];
+        for (int year = startYear + 1; year < endYear; year++) {
+            count += yearTable(year).total();
+        }
+        return count + yearTable(endYear).prefix[endDate.getDayOfYear()];
+    }
+
+    private YearTable yearTable(int year) {
+        return years.computeIfAbsent(year, this::buildYear);
+    }
+
+    private YearTable buildYear(int year) {
+        int length = Year.of(year).length();
+        Set<Integer> holidays = holidayDaysByYear.getOrDefault(year, Set.of());
+        long[] workingDays = new long[(length + 63) >>> 6];
+        int[] prefix = new int[length + 1];
+
+        DayOfWeek dow = LocalDate.of(year, 1, 1).getDayOfWeek();
+        for (int day = 1; day <= length; day++) {
+            boolean working = !weekendDays.contains(dow) && !holidays.contains(day);
+            if (working) {
+                int index = day - 1;
+                workingDays[index >>> 6] |= 1L << index;
+            }
+            prefix[day] = prefix[day - 1] + (working ? 1 : 0);
+            dow = dow.plus(1);
+        }
+        return new YearTable(workingDays, prefix);
+    }
+
+    // prefix[d] = working days among the first d days of the year
+    private record YearTable(long[] workingDays, int[] prefix) {
+        int total() {
+            return prefix[prefix.length - 1];
+        }
+    }
+}
@@ -75,13 +75,42 @@ public class ErrorConstants {
 
     public static final String INVALID_DATE_FORMAT = "Invalid date format. Expected yyyy-MM-dd";
 
+    public static final String INVALID_DATE_RANGE = "End date must be after or equal to start date";
+
+    public static final String INVALID_CURSOR = "Invalid page cursor, start again from the first page";
+
+    public static final String ROLLUP_REBUILD_OPEN_RANGE = "Rollups can only be rebuilt for days that have already ended";
+
     public static final String INVALID_SHIFT_TIMING = "Shift end time cannot be before start time";
 
+    public static final String SHIFT_OVERLAPS_EXISTING = "Shift overlaps another shift of the employee";
+
+    public static final String SHIFT_RULE_NOT_FOUND = "Shift rule not found";
+
+    public static final String SHIFT_RULE_NO_OCCURRENCE = "Shift rule does not repeat on this date";
+
+    public static final String SHIFT_RULE_OCCURRENCE_EXISTS = "This occurrence of the shift rule already has its own shift";
+
+    public static final String SHIFT_RULE_OVERLAPS_EXISTING = "Shift rule overlaps another shift or shift rule of the employee";
+
     public static final String INSUFFICIENT_LEAVE_BALANCE = "Employee has insufficient leave balance";
+    public static final String LEAVE_REQUEST_NO_WORKING_DAYS = "Leave request does not cover any working day";
 
     public static final String ALREADY_CHECKED_IN = "Employee already clocked in";
 
     public static final String CANNOT_SWAP_WITH_MANAGER = "Cannot swap with manager";
 
+    public static final String REPORT_JOB_NOT_FOUND = "Report job not found";
+
+    public static final String REPORT_QUEUE_FULL = "Report generation queue is full, try again shortly";
+
+    public static final String CHECK_IN_QUEUE_FULL = "Check-in queue is full, try again shortly";
+
+    public static final String EMPLOYEE_ATTENDANCE_BUSY = "Another attendance update for this employee is in progress, try again shortly";
+
+    public static final String PRESENCE_SUBSCRIBERS_FULL = "Too many live presence subscriptions, try again shortly";
+
+    public static final String SERVICE_BUSY = "Service is busy";
+
     public static final String BASE_ERROR = "Exception class is thrown";
 }
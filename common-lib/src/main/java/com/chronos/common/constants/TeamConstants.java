@@ -0,0 +1,6 @@
+package com.chronos.common.constants;
+
+public class TeamConstants {
+    // placeholder employee-service returns in EmployeeDTO.teamId for employees without a team
+    public static final String NOT_IN_A_TEAM = "[Not in a team]";
+}
@@ -9,6 +9,8 @@ public class UuidErrorConstants {
 
     public static final String INVALID_SWAP_REQUEST_ID = "Invalid shift swap request id";
 
+    public static final String INVALID_SHIFT_RULE_ID = "Invalid shift rule id";
+
     public static final String INVALID_REQUESTER_OR_REQUESTED_ID = "Invalid Requester or Requested employee id";
 
     public static final String INVALID_TEAM_ID = "Invalid team id given";
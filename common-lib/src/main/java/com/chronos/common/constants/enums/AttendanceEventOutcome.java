@@ -0,0 +1,7 @@
+package com.chronos.common.constants.enums;
+
+public enum AttendanceEventOutcome {
+    APPLIED,
+    DUPLICATE,
+    REJECTED
+}
@@ -0,0 +1,6 @@
+package com.chronos.common.constants.enums;
+
+public enum AttendanceEventType {
+    CHECK_IN,
+    CHECK_OUT
+}
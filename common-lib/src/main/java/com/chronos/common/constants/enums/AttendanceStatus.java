@@ -4,5 +4,7 @@ public enum AttendanceStatus {
     ACTIVE,
     COMPLETE,
     ABSENT,
-    LEAVE
+    LEAVE,
+    // left open past the cut-off and closed by the stale-session job; no check-out or hours are recorded
+    AUTO_CLOSED
 }
\ No newline at end of file
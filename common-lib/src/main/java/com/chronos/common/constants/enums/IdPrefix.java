@@ -0,0 +1,22 @@
+package com.chronos.common.constants.enums;
+
+public enum IdPrefix {
+    ATTENDANCE("ATT-"),
+    SHIFT("SH-"),
+    SHIFT_SWAP_REQUEST("SSR-"),
+    SHIFT_RULE("SR-"),
+    LEAVE_BALANCE("LB-"),
+    LEAVE_REQUEST("LR-"),
+    REPORT("RPT-"),
+    LOGIN_CREDENTIAL("");
+
+    private final String value;
+
+    IdPrefix(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+}
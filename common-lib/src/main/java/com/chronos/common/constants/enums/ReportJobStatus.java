@@ -0,0 +1,8 @@
+package com.chronos.common.constants.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
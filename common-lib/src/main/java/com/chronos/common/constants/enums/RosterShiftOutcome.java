@@ -0,0 +1,6 @@
+package com.chronos.common.constants.enums;
+
+public enum RosterShiftOutcome {
+    CREATED,
+    CONFLICT
+}
@@ -0,0 +1,7 @@
+package com.chronos.common.exception.custom;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
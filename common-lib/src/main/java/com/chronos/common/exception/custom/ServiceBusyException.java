@@ -0,0 +1,7 @@
+package com.chronos.common.exception.custom;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.chronos.common.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a UUID primary key to be generated as a time-ordered UUIDv7 (see UuidV7Generator).
+ * Use in place of {@code @GeneratedValue} on BINARY(16) ids.
+ */
+@IdGeneratorType(UuidV7IdentifierGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
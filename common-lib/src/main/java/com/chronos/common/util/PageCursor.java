@@ -0,0 +1,57 @@
+package com.chronos.common.util;
+
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.exception.custom.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Opaque cursors for keyset pagination.
+ * <p>
+ * A cursor carries the sort key of the last row of a page (e.g. generatedAt and id) so the next
+ * page can start right after it with an index seek instead of an OFFSET scan. The values are
+ * joined and base64url encoded; clients are expected to pass them back untouched.
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                joined.append(SEPARATOR);
+            }
+            joined.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // the raw key values, in the order they were encoded; callers parse them with parse()
+    public static String[] decode(String cursor, int expectedKeys) {
+        String joined;
+        try {
+            joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(ErrorConstants.INVALID_CURSOR);
+        }
+        String[] keys = joined.split("\\" + SEPARATOR, -1);
+        if (keys.length != expectedKeys) {
+            throw new InvalidCursorException(ErrorConstants.INVALID_CURSOR);
+        }
+        return keys;
+    }
+
+    public static <T> T parse(String key, Function<String, T> parser) {
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(ErrorConstants.INVALID_CURSOR);
+        }
+    }
+}
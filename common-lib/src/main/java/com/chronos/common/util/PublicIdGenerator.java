@@ -0,0 +1,106 @@
+package com.chronos.common.util;
+
+import com.chronos.common.constants.enums.IdPrefix;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered, prefixed public ids such as ATT-01JC9ZQ4X3K7M2P8.
+ * <p>
+ * The 16 characters after the prefix are 80 bits in Crockford base32, whose alphabet is in ASCII
+ * order, so ids sort by creation time as plain strings:
+ * - 48 bits: milliseconds since the epoch
+ * - 12 bits: node id, from the chronos.id.node system property / CHRONOS_ID_NODE environment
+ *   variable; each running instance needs its own. Without one it is random per JVM, which only
+ *   suits a single local instance, so services refuse to start outside the dev, local and test
+ *   profiles (see CommonIdAutoConfiguration)
+ * - 20 bits: sequence within the millisecond, starting at a random offset
+ * <p>
+ * Each prefix keeps its own lock-free state (one CAS per id, no shared SecureRandom), and ids of a
+ * prefix are strictly increasing within a JVM even if the wall clock steps back: the generator
+ * keeps using its last timestamp and borrows the next millisecond when a sequence runs out.
+ * With 20 characters for the public id column, the longest prefix (4 chars) still fits.
+ */
+public final class PublicIdGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 16;
+    private static final int NODE_BITS = 12;
+    private static final int SEQUENCE_BITS = 20;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    // a new millisecond starts somewhere in the lower half, leaving at least 2^19 ids before borrowing
+    private static final int SEQUENCE_START_BOUND = 1 << (SEQUENCE_BITS - 1);
+
+    private static final String CONFIGURED_NODE = System.getProperty("chronos.id.node", System.getenv("CHRONOS_ID_NODE"));
+    private static final long NODE_ID = resolveNodeId();
+
+    // per prefix: timestamp << SEQUENCE_BITS | sequence of the last id handed out
+    private static final AtomicLong[] STATES = new AtomicLong[IdPrefix.values().length];
+
+    static {
+        for (int i = 0; i < STATES.length; i++) {
+            STATES[i] = new AtomicLong();
+        }
+    }
+
+    private PublicIdGenerator() {
+    }
+
+    public static String generate(IdPrefix prefix) {
+        long state = nextState(STATES[prefix.ordinal()]);
+        long timestamp = state >>> SEQUENCE_BITS;
+        long low = (NODE_ID << SEQUENCE_BITS) | (state & SEQUENCE_MASK);
+        return prefix.value() + encode(timestamp, low);
+    }
+
+    /**
+     * Whether the node id was configured rather than picked at random.
+     */
+    public static boolean isNodeConfigured() {
+        return CONFIGURED_NODE != null && !CONFIGURED_NODE.isBlank();
+    }
+
+    private static long nextState(AtomicLong current) {
+        while (true) {
+            long previous = current.get();
+            long lastTimestamp = previous >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis();
+
+            long next;
+            if (now > lastTimestamp) {
+                next = (now << SEQUENCE_BITS) | ThreadLocalRandom.current().nextInt(SEQUENCE_START_BOUND);
+            } else {
+                // same (or earlier) millisecond: the sequence carries into the timestamp when exhausted
+                next = previous + 1;
+            }
+            if (current.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    // 48-bit high part and 32-bit low part, written as 16 base32 digits, most significant first
+    private static String encode(long high, long low) {
+        char[] out = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (low & 31)];
+            low = (low >>> 5) | ((high & 31) << 27);
+            high >>>= 5;
+        }
+        return new String(out);
+    }
+
+    private static long resolveNodeId() {
+        long max = (1L << NODE_BITS) - 1;
+        if (isNodeConfigured()) {
+            long node = Long.parseLong(CONFIGURED_NODE.trim());
+            if (node < 0 || node > max) {
+                throw new IllegalStateException("chronos.id.node must be between 0 and " + max);
+            }
+            return node;
+        }
+        return new SecureRandom().nextInt(1 << NODE_BITS);
+    }
+}
@@ -0,0 +1,33 @@
+package com.chronos.common.autoconfigure;
+
+import com.chronos.common.util.PublicIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+class CommonIdAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(CommonIdAutoConfiguration.class));
+
+    @Test
+    void startup_WithoutNodeOutsideDevProfiles_Fails() {
+        assumeFalse(PublicIdGenerator.isNodeConfigured(), "CHRONOS_ID_NODE is set in this environment");
+
+        contextRunner.withPropertyValues("spring.profiles.active=prod")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().hasRootCauseMessage(
+                                "No public id node configured: set CHRONOS_ID_NODE (or -Dchronos.id.node) "
+                                        + "to a value between 0 and 4095 that is unique per running instance, "
+                                        + "or run with the dev, local or test profile"));
+    }
+
+    @Test
+    void startup_WithoutNodeUnderDevProfile_Starts() {
+        contextRunner.withPropertyValues("spring.profiles.active=dev")
+                .run(context -> assertThat(context).hasNotFailed());
+    }
+}
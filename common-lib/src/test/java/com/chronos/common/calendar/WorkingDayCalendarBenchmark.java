@@ -0,0 +1,84 @@
+package com.chronos.common.calendar;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link WorkingDayCalendar#countWorkingDays} with the day-by-day loop report-service used before.
+ * <p>
+ * Run from common-lib with:
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.chronos.common.calendar.WorkingDayCalendarBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkingDayCalendarBenchmark {
+
+    private static final int RANGES = 1024;
+
+    // typical report ranges: a week, a month, a quarter, a year
+    @Param({"7", "31", "92", "366"})
+    public int rangeDays;
+
+    private final WorkingDayCalendar calendar = WorkingDayCalendar.standard();
+    private LocalDate[] starts;
+    private LocalDate[] ends;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        starts = new LocalDate[RANGES];
+        ends = new LocalDate[RANGES];
+        for (int i = 0; i < RANGES; i++) {
+            starts[i] = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(730));
+            ends[i] = starts[i].plusDays(rangeDays - 1);
+        }
+        // build the year tables outside the measured region
+        calendar.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2027, 12, 31));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RANGES)
+    public void dayByDayLoop(Blackhole bh) {
+        for (int i = 0; i < RANGES; i++) {
+            bh.consume(loopCount(starts[i], ends[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RANGES)
+    public void prefixSums(Blackhole bh) {
+        for (int i = 0; i < RANGES; i++) {
+            bh.consume(calendar.countWorkingDays(starts[i], ends[i]));
+        }
+    }
+
+    private static int loopCount(LocalDate startDate, LocalDate endDate) {
+        int count = 0;
+        LocalDate d = startDate;
+        while (!d.isAfter(endDate)) {
+            DayOfWeek dow = d.getDayOfWeek();
+            if (dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY) {
+                count++;
+            }
+            d = d.plusDays(1);
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WorkingDayCalendarBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.chronos.common.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkingDayCalendarTest {
+
+    @Test
+    void countWorkingDays_StandardWeek() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.standard();
+
+        // Mon 2025-02-03 .. Sun 2025-02-09
+        assertEquals(5, calendar.countWorkingDays(LocalDate.of(2025, 2, 3), LocalDate.of(2025, 2, 9)));
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2025, 2, 8), LocalDate.of(2025, 2, 9)));
+        assertEquals(1, calendar.countWorkingDays(LocalDate.of(2025, 2, 3), LocalDate.of(2025, 2, 3)));
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2025, 2, 9), LocalDate.of(2025, 2, 3)));
+    }
+
+    @Test
+    void countWorkingDays_HolidaysAndCustomWeekend() {
+        WorkingDayCalendar calendar = new WorkingDayCalendar(
+                EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY),
+                List.of(LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 27)) // Thu, and a Sat already off
+        );
+
+        // Sun 2025-12-21 .. Sat 2025-12-27: Sun-Thu working, minus the Thursday holiday
+        assertEquals(4, calendar.countWorkingDays(LocalDate.of(2025, 12, 21), LocalDate.of(2025, 12, 27)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 12, 25)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2025, 12, 21)));
+    }
+
+    @Test
+    void countWorkingDays_MatchesDayByDayLoopAcrossYears() {
+        Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+        List<LocalDate> holidays = List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 12, 31), LocalDate.of(2026, 1, 1));
+        WorkingDayCalendar calendar = new WorkingDayCalendar(weekend, holidays);
+        Random random = new Random(42);
+        LocalDate origin = LocalDate.of(2023, 6, 1);
+
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate start = origin.plusDays(random.nextInt(900));
+            LocalDate end = start.plusDays(random.nextInt(800));
+
+            int expected = 0;
+            for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                if (!weekend.contains(d.getDayOfWeek()) && !holidays.contains(d)) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, calendar.countWorkingDays(start, end), start + ".." + end);
+        }
+    }
+}
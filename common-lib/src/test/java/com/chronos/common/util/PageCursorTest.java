@@ -0,0 +1,34 @@
+package com.chronos.common.util;
+
+import com.chronos.common.exception.custom.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void encodeDecode_RoundTripsKeys() {
+        Instant generatedAt = Instant.parse("2025-03-01T10:15:30.123456Z");
+        UUID id = UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057");
+
+        String cursor = PageCursor.encode(generatedAt, id);
+        String[] keys = PageCursor.decode(cursor, 2);
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+        assertEquals(generatedAt, PageCursor.parse(keys[0], Instant::parse));
+        assertEquals(id, PageCursor.parse(keys[1], UUID::fromString));
+    }
+
+    @Test
+    void decode_MalformedCursor_Throws() {
+        String wrongArity = PageCursor.encode("only-one-key");
+
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("%%%", 2));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode(wrongArity, 2));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.parse("yesterday", Instant::parse));
+    }
+}
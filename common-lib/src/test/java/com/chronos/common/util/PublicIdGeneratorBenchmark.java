@@ -0,0 +1,63 @@
+package com.chronos.common.util;
+
+import com.aventrix.jnanoid.jnanoid.NanoIdUtils;
+import com.chronos.common.constants.enums.IdPrefix;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-threaded throughput of {@link PublicIdGenerator} against the previous scheme: a 10 character
+ * NanoId drawn from one SecureRandom shared by every thread.
+ * <p>
+ * Run from common-lib with:
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.chronos.common.util.PublicIdGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicIdGeneratorBenchmark {
+
+    private static final SecureRandom SHARED_RANDOM = new SecureRandom();
+    private static final char[] NANO_ID_ALPHABET = "_-0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    @Benchmark
+    @Threads(1)
+    public String nanoIdSharedSecureRandom_1thread() {
+        return nanoId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String nanoIdSharedSecureRandom_8threads() {
+        return nanoId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String publicIdGenerator_1thread() {
+        return PublicIdGenerator.generate(IdPrefix.ATTENDANCE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String publicIdGenerator_8threads() {
+        return PublicIdGenerator.generate(IdPrefix.ATTENDANCE);
+    }
+
+    private static String nanoId() {
+        return "ATT-" + NanoIdUtils.randomNanoId(SHARED_RANDOM, NANO_ID_ALPHABET, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PublicIdGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
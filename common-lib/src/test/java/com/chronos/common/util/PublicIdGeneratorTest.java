@@ -0,0 +1,69 @@
+package com.chronos.common.util;
+
+import com.chronos.common.constants.enums.IdPrefix;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicIdGeneratorTest {
+
+    @Test
+    void generate_PrefixedAndFitsPublicIdColumn() {
+        for (IdPrefix prefix : IdPrefix.values()) {
+            String id = PublicIdGenerator.generate(prefix);
+
+            assertTrue(id.startsWith(prefix.value()), id);
+            assertEquals(prefix.value().length() + 16, id.length());
+            assertTrue(id.length() <= 20, id);
+            assertTrue(id.substring(prefix.value().length()).matches("[0-9A-HJKMNP-TV-Z]{16}"), id);
+        }
+    }
+
+    @Test
+    void generate_SortsInCreationOrder() {
+        String previous = PublicIdGenerator.generate(IdPrefix.REPORT);
+        for (int i = 0; i < 100_000; i++) {
+            String next = PublicIdGenerator.generate(IdPrefix.REPORT);
+            assertTrue(next.compareTo(previous) > 0, previous + " !< " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void generate_UniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(PublicIdGenerator.generate(IdPrefix.ATTENDANCE));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, ids.size());
+    }
+}
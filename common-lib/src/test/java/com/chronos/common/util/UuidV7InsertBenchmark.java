@@ -0,0 +1,102 @@
+package com.chronos.common.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulk insert time into a BINARY(16) primary key with random (v4) and time-ordered (v7) ids, on a
+ * file-backed H2 database with a small page cache so the index does not fit in memory, like an
+ * InnoDB table outgrowing its buffer pool.
+ * <p>
+ * Each invocation starts from an empty table and inserts {@code rows} rows in JDBC batches.
+ * Run from common-lib with:
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.chronos.common.util.UuidV7InsertBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 2)
+@Fork(1)
+public class UuidV7InsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"1000000", "2000000"})
+    private int rows;
+
+    @Param({"v4", "v7"})
+    private String idType;
+
+    private Path directory;
+    private Connection connection;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("uuid-insert");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("bench") + ";CACHE_SIZE=16384");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE attendances (id BINARY(16) PRIMARY KEY, employee_id BINARY(16) NOT NULL, attendance_id VARCHAR(20) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS DELETE FILES");
+        }
+        connection.close();
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int insert() throws SQLException {
+        Supplier<UUID> ids = "v7".equals(idType) ? UuidV7Generator::generate : UUID::randomUUID;
+        byte[] employeeId = toBytes(UUID.randomUUID());
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO attendances (id, employee_id, attendance_id) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                statement.setBytes(1, toBytes(ids.get()));
+                statement.setBytes(2, employeeId);
+                statement.setString(3, "ATT-" + i);
+                statement.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+        return rows;
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UuidV7InsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
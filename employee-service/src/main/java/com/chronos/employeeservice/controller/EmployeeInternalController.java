@@ -0,0 +1,137 @@
+package com.chronos.employeeservice.controller;
+
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeIdNameDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeIdsRequestDTO;
+import com.chronos.employeeservice.dto.employee.EmployeePageResponseDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeStatusPageResponseDTO;
+import com.chronos.employeeservice.service.impl.EmployeeServiceInternalImpl;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Internal REST controller for bulk employee retrieval operations.
+ * <p>
+ * This controller provides internal APIs used by other microservices within the platform
+ * for walking the employee directory without loading it in one response.
+ * <p>
+ * Responsibilities:
+ * - Page through active employees with a keyset cursor.
+ * - Resolve a batch of employees by id in a single call.
+ * - Resolve a batch of employee names by id in a single call.
+ * - Feed employee status changes to services that keep a local copy.
+ * <p>
+ * Base path: /api/employees/internal
+ * Security: Internal endpoints - intended for service-to-service communication.
+ * <p>
+ * Created by: Sourasish Mondal
+ * Since: 2025-11-06
+ */
+
+@Slf4j
+@RestController
+@RequestMapping("/api/employees/internal")
+public class EmployeeInternalController {
+    private final EmployeeServiceInternalImpl employeeServiceInternal;
+
+    public EmployeeInternalController(EmployeeServiceInternalImpl employeeServiceInternal) {
+        this.employeeServiceInternal = employeeServiceInternal;
+    }
+
+    /**
+     * Retrieve one page of active employees ordered by id.
+     * <p>
+     * HTTP: GET /api/employees/internal/active
+     * Security: Internal endpoint for inter-service communication.
+     * <p>
+     * Pass the returned nextCursor as after to fetch the following page; a null
+     * nextCursor means the last page has been reached.
+     *
+     * @param after the cursor returned with the previous page, absent for the first page
+     * @param size  the maximum number of employees to return (capped at 1000)
+     * @return the page of employees and the cursor for the next page
+     */
+
+    @GetMapping("/active")
+    public ResponseEntity<EmployeePageResponseDTO> getActiveEmployeesPage(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "500") int size
+    ) {
+        log.info("Invoked the GET: getActiveEmployeesPage controller method, after:{}, size:{}", after, size);
+        EmployeePageResponseDTO page = employeeServiceInternal.getActiveEmployeesPage(after, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve the employees with the given ids.
+     * <p>
+     * HTTP: POST /api/employees/internal/by-ids
+     * Security: Internal endpoint for inter-service communication.
+     * <p>
+     * Ids that do not match an employee are left out of the response, so callers can tell
+     * unknown ids apart without one request per employee.
+     *
+     * @param request the employee ids to resolve (at most 1000)
+     * @return the matching employees, in no particular order
+     */
+
+    @PostMapping("/by-ids")
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesByIds(@Valid @RequestBody EmployeeIdsRequestDTO request) {
+        log.info("Invoked the POST: getEmployeesByIds controller method, employees:{}", request.employeeIds().size());
+        List<EmployeeDTO> employees = employeeServiceInternal.getEmployeesByIds(request.employeeIds());
+        return new ResponseEntity<>(employees, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve the names of the employees with the given ids.
+     * <p>
+     * HTTP: POST /api/employees/internal/names-by-ids
+     * Security: Internal endpoint for inter-service communication.
+     * <p>
+     * Returns only id, first name and last name, for listings that show who is involved.
+     * Ids that do not match an employee are left out of the response.
+     *
+     * @param request the employee ids to resolve (at most 1000)
+     * @return the id and name of each matching employee, in no particular order
+     */
+
+    @PostMapping("/names-by-ids")
+    public ResponseEntity<List<EmployeeIdNameDTO>> getEmployeeNamesByIds(@Valid @RequestBody EmployeeIdsRequestDTO request) {
+        log.info("Invoked the POST: getEmployeeNamesByIds controller method, employees:{}", request.employeeIds().size());
+        List<EmployeeIdNameDTO> names = employeeServiceInternal.getEmployeeNamesByIds(request.employeeIds());
+        return new ResponseEntity<>(names, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve one page of employees whose record changed after a point in time.
+     * <p>
+     * HTTP: GET /api/employees/internal/changes?since={instant}
+     * Security: Internal endpoint for inter-service communication.
+     * <p>
+     * Rows are ordered by last update time, then id. Pass the returned nextCursor back, together
+     * with the same since, to fetch the following page; a null nextCursor means the caller is
+     * caught up. Newly created employees are not reported until their first update.
+     *
+     * @param since  only employees updated strictly after this instant are returned
+     * @param cursor the cursor returned with the previous page, absent for the first page
+     * @param size   the maximum number of employees to return (capped at 1000)
+     * @return the id, active flag and team of each changed employee, and the cursor for the next page
+     */
+
+    @GetMapping("/changes")
+    public ResponseEntity<EmployeeStatusPageResponseDTO> getEmployeeChanges(
+            @RequestParam("since") Instant since,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "500") int size
+    ) {
+        log.info("Invoked the GET: getEmployeeChanges controller method, since:{}, cursor:{}, size:{}", since, cursor, size);
+        EmployeeStatusPageResponseDTO page = employeeServiceInternal.getEmployeeChanges(since, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+}
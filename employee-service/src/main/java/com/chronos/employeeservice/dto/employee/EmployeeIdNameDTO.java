@@ -0,0 +1,10 @@
+package com.chronos.employeeservice.dto.employee;
+
+import java.util.UUID;
+
+public record EmployeeIdNameDTO(
+        UUID id,
+        String firstName,
+        String lastName
+) {
+}
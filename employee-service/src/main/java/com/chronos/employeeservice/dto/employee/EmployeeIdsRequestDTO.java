@@ -0,0 +1,14 @@
+package com.chronos.employeeservice.dto.employee;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EmployeeIdsRequestDTO(
+        @NotNull(message = "employeeIds is required")
+        @Size(max = 1000, message = "At most 1000 employee ids per request")
+        List<UUID> employeeIds
+) {
+}
@@ -0,0 +1,11 @@
+package com.chronos.employeeservice.dto.employee;
+
+import com.chronos.common.dto.EmployeeDTO;
+
+import java.util.List;
+
+public record EmployeePageResponseDTO(
+        List<EmployeeDTO> employees,
+        String nextCursor
+) {
+}
@@ -0,0 +1,12 @@
+package com.chronos.employeeservice.dto.employee;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record EmployeeStatusDTO(
+        UUID id,
+        boolean active,
+        String teamId,
+        Instant updatedAt
+) {
+}
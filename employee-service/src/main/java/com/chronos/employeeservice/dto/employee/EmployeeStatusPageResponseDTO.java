@@ -0,0 +1,9 @@
+package com.chronos.employeeservice.dto.employee;
+
+import java.util.List;
+
+public record EmployeeStatusPageResponseDTO(
+        List<EmployeeStatusDTO> employees,
+        String nextCursor
+) {
+}
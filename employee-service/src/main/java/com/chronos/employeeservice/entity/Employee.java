@@ -2,6 +2,7 @@ package com.chronos.employeeservice.entity;
 
 import com.chronos.common.constants.enums.Gender;
 import com.chronos.common.constants.enums.Role;
+import com.chronos.common.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,12 +16,15 @@ import java.util.UUID;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "employees")
+@Table(
+        name = "employees",
+        indexes = @Index(name = "idx_employees_updated_at", columnList = "updated_at")
+)
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 public class Employee extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -1,5 +1,6 @@
 package com.chronos.employeeservice.entity;
 
+import com.chronos.common.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,7 +18,7 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class Team extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -1,13 +1,18 @@
 package com.chronos.employeeservice.repository;
 
 import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeIdNameDTO;
 import com.chronos.employeeservice.dto.employee.EmployeeNameResponseDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeStatusDTO;
 import com.chronos.employeeservice.entity.Employee;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -62,4 +67,113 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
                 and (t.teamManager is null or teamEmp.id <> t.teamManager.id)
            """)
     List<Employee> findTeamEmployeesExcludingSelfAndManager(@Param("employeeId") UUID employeeId);
+
+    @Query("""
+            select new com.chronos.common.dto.EmployeeDTO(
+                 e.id,
+                 e.displayEmployeeId,
+                 e.firstName,
+                 e.lastName,
+                 e.email,
+                 e.gender,
+                 e.phoneNumber,
+                 e.jobTitle,
+                 e.isActive,
+                 e.departmentName,
+                 e.role,
+                 coalesce(t.teamId, '[Not in a team]')
+            )
+            from
+                 Employee e left join e.team t
+            where e.isActive = true
+            order by e.id asc
+            """)
+    List<EmployeeDTO> findActiveEmployeesFirstPage(Limit limit);
+
+    @Query("""
+            select new com.chronos.common.dto.EmployeeDTO(
+                 e.id,
+                 e.displayEmployeeId,
+                 e.firstName,
+                 e.lastName,
+                 e.email,
+                 e.gender,
+                 e.phoneNumber,
+                 e.jobTitle,
+                 e.isActive,
+                 e.departmentName,
+                 e.role,
+                 coalesce(t.teamId, '[Not in a team]')
+            )
+            from
+                 Employee e left join e.team t
+            where e.isActive = true
+            and e.id > :afterId
+            order by e.id asc
+            """)
+    List<EmployeeDTO> findActiveEmployeesAfter(@Param("afterId") UUID afterId, Limit limit);
+
+    @Query("""
+            select new com.chronos.common.dto.EmployeeDTO(
+                 e.id,
+                 e.displayEmployeeId,
+                 e.firstName,
+                 e.lastName,
+                 e.email,
+                 e.gender,
+                 e.phoneNumber,
+                 e.jobTitle,
+                 e.isActive,
+                 e.departmentName,
+                 e.role,
+                 coalesce(t.teamId, '[Not in a team]')
+            )
+            from
+                 Employee e left join e.team t
+            where e.id in :employeeIds
+            """)
+    List<EmployeeDTO> findEmployeesByIds(@Param("employeeIds") Collection<UUID> employeeIds);
+
+    // only the name columns, so display lookups skip the team join
+    @Query("""
+            select new com.chronos.employeeservice.dto.employee.EmployeeIdNameDTO(
+                 e.id,
+                 e.firstName,
+                 e.lastName
+            )
+            from
+                 Employee e
+            where e.id in :employeeIds
+            """)
+    List<EmployeeIdNameDTO> findEmployeeNamesByIds(@Param("employeeIds") Collection<UUID> employeeIds);
+
+    // updated_at is only set by updates, so new employees never show up here; callers look those up on first use
+    @Query("""
+            select new com.chronos.employeeservice.dto.employee.EmployeeStatusDTO(
+                 e.id,
+                 e.isActive,
+                 coalesce(t.teamId, '[Not in a team]'),
+                 e.updatedAt
+            )
+            from
+                 Employee e left join e.team t
+            where e.updatedAt > :since
+            order by e.updatedAt asc, e.id asc
+            """)
+    List<EmployeeStatusDTO> findEmployeeChangesFirstPage(@Param("since") Instant since, Limit limit);
+
+    @Query("""
+            select new com.chronos.employeeservice.dto.employee.EmployeeStatusDTO(
+                 e.id,
+                 e.isActive,
+                 coalesce(t.teamId, '[Not in a team]'),
+                 e.updatedAt
+            )
+            from
+                 Employee e left join e.team t
+            where e.updatedAt > :updatedAt
+            or (e.updatedAt = :updatedAt and e.id > :id)
+            order by e.updatedAt asc, e.id asc
+            """)
+    List<EmployeeStatusDTO> findEmployeeChangesAfter(@Param("updatedAt") Instant updatedAt, @Param("id") UUID id, Limit limit);
 }
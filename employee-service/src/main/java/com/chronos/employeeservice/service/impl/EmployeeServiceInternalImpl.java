@@ -0,0 +1,93 @@
+package com.chronos.employeeservice.service.impl;
+
+import com.chronos.common.constants.UuidErrorConstants;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.util.PageCursor;
+import com.chronos.employeeservice.dto.employee.EmployeeIdNameDTO;
+import com.chronos.employeeservice.dto.employee.EmployeePageResponseDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeStatusDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeStatusPageResponseDTO;
+import com.chronos.employeeservice.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.chronos.common.util.ParseUUID.parseUUID;
+
+@Slf4j
+@Service
+public class EmployeeServiceInternalImpl {
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+
+    public EmployeeServiceInternalImpl(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    // keyset on the primary key: every page is an index range scan, however deep the caller has paged
+    public EmployeePageResponseDTO getActiveEmployeesPage(String after, int size) {
+        log.info("Invoked the getActiveEmployeesPage service method, after:{}, size:{}", after, size);
+        Limit limit = Limit.of(Math.clamp(size, 1, MAX_PAGE_SIZE));
+
+        List<EmployeeDTO> employees = after == null || after.isBlank()
+                ? employeeRepository.findActiveEmployeesFirstPage(limit)
+                : employeeRepository.findActiveEmployeesAfter(parseUUID(after, UuidErrorConstants.INVALID_EMPLOYEE_UUID), limit);
+
+        String nextCursor = employees.size() < limit.max() ? null : employees.getLast().id().toString();
+        return new EmployeePageResponseDTO(employees, nextCursor);
+    }
+
+    // one IN-list query for a whole batch instead of a lookup per employee; unknown ids are simply absent
+    public List<EmployeeDTO> getEmployeesByIds(List<UUID> employeeIds) {
+        log.info("Invoked the getEmployeesByIds service method, employees:{}", employeeIds.size());
+        Set<UUID> distinctIds = new HashSet<>(employeeIds);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        return employeeRepository.findEmployeesByIds(distinctIds);
+    }
+
+    // the same batch lookup for callers that only display names
+    public List<EmployeeIdNameDTO> getEmployeeNamesByIds(List<UUID> employeeIds) {
+        log.info("Invoked the getEmployeeNamesByIds service method, employees:{}", employeeIds.size());
+        Set<UUID> distinctIds = new HashSet<>(employeeIds);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        return employeeRepository.findEmployeeNamesByIds(distinctIds);
+    }
+
+    // employees updated after since, in (updatedAt, id) order; lets other services keep a local copy current
+    public EmployeeStatusPageResponseDTO getEmployeeChanges(Instant since, String cursor, int size) {
+        log.info("Invoked the getEmployeeChanges service method, since:{}, cursor:{}, size:{}", since, cursor, size);
+        Limit limit = Limit.of(Math.clamp(size, 1, MAX_PAGE_SIZE));
+
+        List<EmployeeStatusDTO> changes;
+        if (cursor == null || cursor.isBlank()) {
+            changes = employeeRepository.findEmployeeChangesFirstPage(since, limit);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 2);
+            changes = employeeRepository.findEmployeeChangesAfter(
+                    PageCursor.parse(keys[0], Instant::parse),
+                    PageCursor.parse(keys[1], UUID::fromString),
+                    limit
+            );
+        }
+
+        String nextCursor = null;
+        if (changes.size() == limit.max()) {
+            EmployeeStatusDTO last = changes.getLast();
+            nextCursor = PageCursor.encode(last.updatedAt(), last.id());
+        }
+        return new EmployeeStatusPageResponseDTO(changes, nextCursor);
+    }
+}
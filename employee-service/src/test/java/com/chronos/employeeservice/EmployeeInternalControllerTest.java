@@ -0,0 +1,191 @@
+package com.chronos.employeeservice;
+
+import com.chronos.common.constants.enums.Gender;
+import com.chronos.common.constants.enums.Role;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.employeeservice.controller.EmployeeInternalController;
+import com.chronos.employeeservice.dto.employee.EmployeeIdNameDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeIdsRequestDTO;
+import com.chronos.employeeservice.dto.employee.EmployeePageResponseDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeStatusDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeStatusPageResponseDTO;
+import com.chronos.employeeservice.service.impl.EmployeeServiceInternalImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeInternalController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+class EmployeeInternalControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private EmployeeServiceInternalImpl employeeServiceInternal;
+
+    @MockitoBean(name = "jpaMappingContext")
+    private JpaMetamodelMappingContext jpaMappingContext;
+
+    @TestConfiguration
+    static class NoopAuditorConfig {
+        @Bean
+        AuditorAware<String> auditorAware() {
+            return () -> Optional.of("test-user");
+        }
+    }
+
+    @Test
+    void getActiveEmployeesPage_firstPageUsesDefaultSizeAndReturnsCursor() throws Exception {
+        UUID id = UUID.fromString("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa");
+        when(employeeServiceInternal.getActiveEmployeesPage(null, 500))
+                .thenReturn(new EmployeePageResponseDTO(List.of(employee(id, "EMP-1")), id.toString()));
+
+        mockMvc.perform(get("/api/employees/internal/active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees", hasSize(1)))
+                .andExpect(jsonPath("$.employees[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.nextCursor").value(id.toString()));
+
+        verify(employeeServiceInternal).getActiveEmployeesPage(null, 500);
+    }
+
+    @Test
+    void getActiveEmployeesPage_passesCursorAndSize() throws Exception {
+        String after = "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa";
+        when(employeeServiceInternal.getActiveEmployeesPage(after, 2))
+                .thenReturn(new EmployeePageResponseDTO(List.of(), null));
+
+        mockMvc.perform(get("/api/employees/internal/active").param("after", after).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void getEmployeesByIds_returns200AndKnownEmployees() throws Exception {
+        UUID known = UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb");
+        UUID unknown = UUID.fromString("cccccccc-cccc-cccc-cccc-cccccccccccc");
+        when(employeeServiceInternal.getEmployeesByIds(List.of(known, unknown))).thenReturn(List.of(employee(known, "EMP-2")));
+
+        mockMvc.perform(post("/api/employees/internal/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmployeeIdsRequestDTO(List.of(known, unknown)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].displayEmployeeId").value("EMP-2"));
+    }
+
+    @Test
+    void getEmployeesByIds_overBatchLimit_returns400() throws Exception {
+        mockMvc.perform(post("/api/employees/internal/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmployeeIdsRequestDTO(ids(1001)))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeServiceInternal);
+    }
+
+    @Test
+    void getEmployeesByIds_missingIds_returns400() throws Exception {
+        mockMvc.perform(post("/api/employees/internal/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeServiceInternal, never()).getEmployeesByIds(any());
+    }
+
+    @Test
+    void getEmployeeNamesByIds_returns200AndKnownNames() throws Exception {
+        UUID known = UUID.fromString("eeeeeeee-eeee-eeee-eeee-eeeeeeeeeeee");
+        UUID unknown = UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff");
+        when(employeeServiceInternal.getEmployeeNamesByIds(List.of(known, unknown)))
+                .thenReturn(List.of(new EmployeeIdNameDTO(known, "Ishika", "Dutta")));
+
+        mockMvc.perform(post("/api/employees/internal/names-by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmployeeIdsRequestDTO(List.of(known, unknown)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(known.toString()))
+                .andExpect(jsonPath("$[0].firstName").value("Ishika"));
+    }
+
+    @Test
+    void getEmployeeNamesByIds_overBatchLimit_returns400() throws Exception {
+        mockMvc.perform(post("/api/employees/internal/names-by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmployeeIdsRequestDTO(ids(1001)))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeServiceInternal);
+    }
+
+    @Test
+    void getEmployeeChanges_passesSinceCursorAndSize() throws Exception {
+        UUID id = UUID.fromString("dddddddd-dddd-dddd-dddd-dddddddddddd");
+        Instant since = Instant.parse("2025-11-01T00:00:00Z");
+        Instant updatedAt = Instant.parse("2025-11-02T08:30:00Z");
+        when(employeeServiceInternal.getEmployeeChanges(since, "CURSOR", 1))
+                .thenReturn(new EmployeeStatusPageResponseDTO(List.of(new EmployeeStatusDTO(id, false, "TEAM-1", updatedAt)), "NEXT"));
+
+        mockMvc.perform(get("/api/employees/internal/changes")
+                        .param("since", since.toString())
+                        .param("cursor", "CURSOR")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees", hasSize(1)))
+                .andExpect(jsonPath("$.employees[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.employees[0].active").value(false))
+                .andExpect(jsonPath("$.nextCursor").value("NEXT"));
+    }
+
+    @Test
+    void getEmployeeChanges_missingSince_returns400() throws Exception {
+        mockMvc.perform(get("/api/employees/internal/changes"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeServiceInternal);
+    }
+
+    private static List<UUID> ids(int count) {
+        return Stream.generate(UUID::randomUUID).limit(count).toList();
+    }
+
+    private static EmployeeDTO employee(UUID id, String displayId) {
+        return new EmployeeDTO(
+                id, displayId, "John", "Doe", "john@example.com",
+                Gender.MALE, "111", "Dev", true, "Eng", Role.EMPLOYEE, "TEAM-1"
+        );
+    }
+}
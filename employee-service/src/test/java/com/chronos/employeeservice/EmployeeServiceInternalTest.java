@@ -0,0 +1,154 @@
+package com.chronos.employeeservice;
+
+import com.chronos.common.constants.enums.Gender;
+import com.chronos.common.constants.enums.Role;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.InvalidCursorException;
+import com.chronos.common.exception.custom.InvalidUUIDException;
+import com.chronos.common.util.PageCursor;
+import com.chronos.employeeservice.dto.employee.EmployeeIdNameDTO;
+import com.chronos.employeeservice.dto.employee.EmployeePageResponseDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeStatusDTO;
+import com.chronos.employeeservice.dto.employee.EmployeeStatusPageResponseDTO;
+import com.chronos.employeeservice.repository.EmployeeRepository;
+import com.chronos.employeeservice.service.impl.EmployeeServiceInternalImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeServiceInternalTest {
+
+    private static final UUID FIRST = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID SECOND = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Mock
+    EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    EmployeeServiceInternalImpl service;
+
+    @Test
+    void getActiveEmployeesPage_fullPage_returnsLastIdAsCursor() {
+        when(employeeRepository.findActiveEmployeesFirstPage(Limit.of(2)))
+                .thenReturn(List.of(employee(FIRST), employee(SECOND)));
+
+        EmployeePageResponseDTO page = service.getActiveEmployeesPage(null, 2);
+
+        assertEquals(2, page.employees().size());
+        assertEquals(SECOND.toString(), page.nextCursor());
+    }
+
+    @Test
+    void getActiveEmployeesPage_afterCursor_shortPageEndsPaging() {
+        when(employeeRepository.findActiveEmployeesAfter(FIRST, Limit.of(2))).thenReturn(List.of(employee(SECOND)));
+
+        EmployeePageResponseDTO page = service.getActiveEmployeesPage(FIRST.toString(), 2);
+
+        assertEquals(List.of(employee(SECOND)), page.employees());
+        assertNull(page.nextCursor());
+        verify(employeeRepository, never()).findActiveEmployeesFirstPage(any());
+    }
+
+    @Test
+    void getActiveEmployeesPage_sizeClampedToMaximum() {
+        when(employeeRepository.findActiveEmployeesFirstPage(any())).thenReturn(List.of());
+
+        service.getActiveEmployeesPage("", 50_000);
+
+        verify(employeeRepository).findActiveEmployeesFirstPage(Limit.of(EmployeeServiceInternalImpl.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void getActiveEmployeesPage_malformedCursor_throws() {
+        assertThrows(InvalidUUIDException.class, () -> service.getActiveEmployeesPage("not-a-uuid", 10));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void getEmployeesByIds_deduplicatesAndLeavesOutUnknownIds() {
+        UUID unknown = UUID.fromString("33333333-3333-3333-3333-333333333333");
+        when(employeeRepository.findEmployeesByIds(Set.of(FIRST, unknown))).thenReturn(List.of(employee(FIRST)));
+
+        List<EmployeeDTO> out = service.getEmployeesByIds(Arrays.asList(FIRST, unknown, FIRST, null));
+
+        assertEquals(List.of(employee(FIRST)), out);
+        verify(employeeRepository).findEmployeesByIds(Set.of(FIRST, unknown));
+    }
+
+    @Test
+    void getEmployeesByIds_emptyInput_skipsQuery() {
+        assertTrue(service.getEmployeesByIds(List.of()).isEmpty());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void getEmployeeNamesByIds_deduplicatesAndLeavesOutUnknownIds() {
+        UUID unknown = UUID.fromString("33333333-3333-3333-3333-333333333333");
+        EmployeeIdNameDTO name = new EmployeeIdNameDTO(SECOND, "Jerry", "B");
+        when(employeeRepository.findEmployeeNamesByIds(Set.of(SECOND, unknown))).thenReturn(List.of(name));
+
+        List<EmployeeIdNameDTO> out = service.getEmployeeNamesByIds(List.of(SECOND, unknown, SECOND));
+
+        assertEquals(List.of(name), out);
+    }
+
+    @Test
+    void getEmployeeNamesByIds_emptyInput_skipsQuery() {
+        assertTrue(service.getEmployeeNamesByIds(Collections.singletonList(null)).isEmpty());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void getEmployeeChanges_fullPage_cursorPointsAtLastChange() {
+        Instant since = Instant.parse("2025-11-01T00:00:00Z");
+        Instant lastUpdate = Instant.parse("2025-11-02T08:30:00Z");
+        when(employeeRepository.findEmployeeChangesFirstPage(since, Limit.of(2))).thenReturn(List.of(
+                new EmployeeStatusDTO(FIRST, true, "TEAM-1", since.plusSeconds(60)),
+                new EmployeeStatusDTO(SECOND, false, null, lastUpdate)
+        ));
+
+        EmployeeStatusPageResponseDTO page = service.getEmployeeChanges(since, null, 2);
+
+        assertEquals(2, page.employees().size());
+        assertEquals(PageCursor.encode(lastUpdate, SECOND), page.nextCursor());
+    }
+
+    @Test
+    void getEmployeeChanges_cursor_resumesAfterLastChangeAndEndsOnShortPage() {
+        Instant since = Instant.parse("2025-11-01T00:00:00Z");
+        Instant lastUpdate = Instant.parse("2025-11-02T08:30:00Z");
+        EmployeeStatusDTO change = new EmployeeStatusDTO(SECOND, false, null, lastUpdate.plusSeconds(1));
+        when(employeeRepository.findEmployeeChangesAfter(lastUpdate, FIRST, Limit.of(2))).thenReturn(List.of(change));
+
+        EmployeeStatusPageResponseDTO page = service.getEmployeeChanges(since, PageCursor.encode(lastUpdate, FIRST), 2);
+
+        assertEquals(List.of(change), page.employees());
+        assertNull(page.nextCursor());
+        verify(employeeRepository, never()).findEmployeeChangesFirstPage(any(), any());
+    }
+
+    @Test
+    void getEmployeeChanges_malformedCursor_throws() {
+        assertThrows(InvalidCursorException.class,
+                () -> service.getEmployeeChanges(Instant.EPOCH, "not-a-cursor", 10));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private static EmployeeDTO employee(UUID id) {
+        return new EmployeeDTO(
+                id, "EMP-" + id.toString().charAt(0), "Tom", "A", "tom@example.com",
+                Gender.MALE, "123", "Dev", true, "Eng", Role.EMPLOYEE, "TEAM-1"
+        );
+    }
+}
@@ -2,6 +2,7 @@ package com.chronos.leaveservice.entity;
 
 import com.chronos.common.constants.enums.LeaveStatus;
 import com.chronos.common.constants.enums.LeaveType;
+import com.chronos.common.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,7 +22,7 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class LeaveRequest extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -1,14 +1,14 @@
 package com.chronos.leaveservice.service.impl;
 
-import com.aventrix.jnanoid.jnanoid.NanoIdUtils;
 import com.chronos.common.constants.ErrorConstants;
 import com.chronos.common.constants.UuidErrorConstants;
+import com.chronos.common.constants.enums.IdPrefix;
 import com.chronos.common.constants.enums.LeaveType;
 import com.chronos.common.dto.EmployeeDTO;
 import com.chronos.common.exception.custom.DuplicateLeaveBalanceFound;
 import com.chronos.common.exception.custom.EmployeeNotFoundException;
 import com.chronos.common.exception.custom.LeaveBalanceNotFoundException;
-import com.chronos.common.util.NanoIdGenerator;
+import com.chronos.common.util.PublicIdGenerator;
 import com.chronos.leaveservice.dto.leaveBalance.LeaveBalanceDTO;
 import com.chronos.leaveservice.dto.leaveBalance.LeaveBalanceResponseDTO;
 import com.chronos.leaveservice.entity.LeaveBalance;
@@ -65,15 +65,8 @@ public class LeaveBalanceServiceImpl implements com.chronos.leaveservice.service
         }
 
         LeaveBalance lb = new LeaveBalance();
-        int balanceIdLength = 10;
 
-        String nanoId = NanoIdUtils.randomNanoId(
-                NanoIdGenerator.DEFAULT_NUMBER_GENERATOR,
-                NanoIdGenerator.DEFAULT_ALPHABET,
-                balanceIdLength
-        );
-
-        lb.setBalanceId("LB-" + nanoId);
+        lb.setBalanceId(PublicIdGenerator.generate(IdPrefix.LEAVE_BALANCE));
         lb.setEmployeeId(empID);
         lb.setLeaveType(leaveType);
         lb.setLeaveBalance(leaveBalance);
@@ -1,5 +1,6 @@
 package com.chronos.leaveservice.service.impl;
 
+import com.chronos.common.calendar.WorkingDayCalendar;
 import com.chronos.common.constants.ErrorConstants;
 import com.chronos.common.constants.UuidErrorConstants;
 import com.chronos.common.constants.enums.LeaveStatus;
@@ -33,16 +34,19 @@ public class LeaveRequestServiceImpl implements com.chronos.leaveservice.service
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeClient employeeClient;
     private final LeaveBalanceRepository leaveBalanceRepository;
+    private final WorkingDayCalendar workingDayCalendar;
 
     @Autowired
     public LeaveRequestServiceImpl(
             LeaveRequestRepository leaveRequestRepository,
             EmployeeClient employeeClient,
-            LeaveBalanceRepository leaveBalanceRepository
+            LeaveBalanceRepository leaveBalanceRepository,
+            WorkingDayCalendar workingDayCalendar
     ) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.employeeClient = employeeClient;
         this.leaveBalanceRepository = leaveBalanceRepository;
+        this.workingDayCalendar = workingDayCalendar;
     }
 
     @Transactional
@@ -75,14 +79,17 @@ public class LeaveRequestServiceImpl implements com.chronos.leaveservice.service
 
         LeaveRequest leaveRequestEntity = LeaveRequestMapper.leaveRequestDtoToEntity(leaveRequestCreateDTO, empID);
 
-        int days = getLeaveRequestDays(leaveRequestEntity);
+        int days = getLeaveRequestDays(leaveRequestEntity, workingDayCalendar);
+        if (days == 0) {
+            throw new InvalidLeaveRequestException(ErrorConstants.LEAVE_REQUEST_NO_WORKING_DAYS);
+        }
         if(lb.getLeaveBalance() < days) {
             throw new InvalidLeaveRequestException(ErrorConstants.INSUFFICIENT_LEAVE_BALANCE);
         }
 
 
         LeaveRequest savedLeaveRequest = leaveRequestRepository.save(leaveRequestEntity);
-        return LeaveRequestMapper.leaveRequestEntityToResponse(savedLeaveRequest);
+        return LeaveRequestMapper.leaveRequestEntityToResponse(savedLeaveRequest, days);
     }
 
     @Override
@@ -95,7 +102,7 @@ public class LeaveRequestServiceImpl implements com.chronos.leaveservice.service
         List<LeaveRequestResponseDTO> response = new ArrayList<>();
 
         for (LeaveRequest lr : leaveRequests) {
-            LeaveRequestResponseDTO singleLeaveRequestDto = LeaveRequestMapper.leaveRequestEntityToResponse(lr);
+            LeaveRequestResponseDTO singleLeaveRequestDto = LeaveRequestMapper.leaveRequestEntityToResponse(lr, getLeaveRequestDays(lr, workingDayCalendar));
             response.add(singleLeaveRequestDto);
         }
 
@@ -128,7 +135,7 @@ public class LeaveRequestServiceImpl implements com.chronos.leaveservice.service
         for(LeaveRequest lr: teamsLeaveRequests) {
             EmployeeDTO emp = byId.get(lr.getEmployeeId());
             if(emp != null) {
-                result.add(LeaveRequestMapper.leaveRequestManagerEntityToDto(lr, emp));
+                result.add(LeaveRequestMapper.leaveRequestManagerEntityToDto(lr, emp, getLeaveRequestDays(lr, workingDayCalendar)));
             }
         }
 
@@ -168,7 +175,7 @@ public class LeaveRequestServiceImpl implements com.chronos.leaveservice.service
                     .orElseThrow(() -> new LeaveBalanceNotFoundException(ErrorConstants.LEAVE_BALANCE_NOT_FOUND));
 
 
-            int days = getLeaveRequestDays(lr);
+            int days = getLeaveRequestDays(lr, workingDayCalendar);
 
             if (lb.getLeaveBalance() < days) {
                 throw new InvalidLeaveRequestException(ErrorConstants.INSUFFICIENT_LEAVE_BALANCE);
@@ -1,15 +1,12 @@
 package com.chronos.leaveservice.util;
 
 
+import com.chronos.common.calendar.WorkingDayCalendar;
 import com.chronos.leaveservice.entity.LeaveRequest;
 
-import java.time.temporal.ChronoUnit;
-
 public class CalculateLeaveRequestDays {
-    public static int getLeaveRequestDays(LeaveRequest lr) {
-        return (int) ChronoUnit.DAYS.between(
-                lr.getStartDate(),
-                lr.getEndDate()
-        ) + 1;
+    // only working days are charged against the balance; weekends and holidays inside the range are free
+    public static int getLeaveRequestDays(LeaveRequest lr, WorkingDayCalendar calendar) {
+        return calendar.countWorkingDays(lr.getStartDate(), lr.getEndDate());
     }
 }
\ No newline at end of file
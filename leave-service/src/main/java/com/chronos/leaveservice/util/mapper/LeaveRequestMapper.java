@@ -1,9 +1,9 @@
 package com.chronos.leaveservice.util.mapper;
 
-import com.aventrix.jnanoid.jnanoid.NanoIdUtils;
+import com.chronos.common.constants.enums.IdPrefix;
 import com.chronos.common.constants.enums.LeaveStatus;
 import com.chronos.common.dto.EmployeeDTO;
-import com.chronos.common.util.NanoIdGenerator;
+import com.chronos.common.util.PublicIdGenerator;
 import com.chronos.leaveservice.dto.leaveRequests.LeaveRequestCreateDTO;
 import com.chronos.leaveservice.dto.leaveRequests.LeaveRequestResponseDTO;
 import com.chronos.leaveservice.dto.leaveRequests.ManagerLeaveRequestDTO;
@@ -12,23 +12,12 @@ import com.chronos.leaveservice.entity.LeaveRequest;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
-import static com.chronos.leaveservice.util.CalculateLeaveRequestDays.getLeaveRequestDays;
-
-
 public class LeaveRequestMapper {
 
     public static LeaveRequest leaveRequestDtoToEntity(LeaveRequestCreateDTO leaveRequestCreateDTO, UUID employeeId) {
         LeaveRequest leaveRequestEntity = new LeaveRequest();
 
-        int leaveRequestIdLength = 10;
-
-        String nanoId = NanoIdUtils.randomNanoId(
-                NanoIdGenerator.DEFAULT_NUMBER_GENERATOR,
-                NanoIdGenerator.DEFAULT_ALPHABET,
-                leaveRequestIdLength
-        );
-
-        leaveRequestEntity.setLeaveRequestId("LR-" + nanoId);
+        leaveRequestEntity.setLeaveRequestId(PublicIdGenerator.generate(IdPrefix.LEAVE_REQUEST));
         leaveRequestEntity.setEmployeeId(employeeId);
         leaveRequestEntity.setLeaveType(leaveRequestCreateDTO.leaveType());
         leaveRequestEntity.setStartDate(leaveRequestCreateDTO.startDate());
@@ -41,7 +30,7 @@ public class LeaveRequestMapper {
     }
 
 
-    public static ManagerLeaveRequestDTO leaveRequestManagerEntityToDto(LeaveRequest lr, EmployeeDTO emp) {
+    public static ManagerLeaveRequestDTO leaveRequestManagerEntityToDto(LeaveRequest lr, EmployeeDTO emp, int days) {
         return new ManagerLeaveRequestDTO(
                 lr.getId(),
                 lr.getEmployeeId(),
@@ -51,19 +40,19 @@ public class LeaveRequestMapper {
                 lr.getLeaveType(),
                 lr.getStartDate(),
                 lr.getEndDate(),
-                getLeaveRequestDays(lr),
+                days,
                 lr.getLeaveStatus(),
                 lr.getReason()
         );
     }
 
-    public static LeaveRequestResponseDTO leaveRequestEntityToResponse(LeaveRequest lr) {
+    public static LeaveRequestResponseDTO leaveRequestEntityToResponse(LeaveRequest lr, int days) {
         return new LeaveRequestResponseDTO(
                 lr.getLeaveRequestId(),
                 lr.getLeaveType(),
                 lr.getStartDate(),
                 lr.getEndDate(),
-                getLeaveRequestDays(lr),
+                days,
                 lr.getLeaveStatus(),
                 lr.getRequestDate(),
                 lr.getReason()
@@ -1,5 +1,6 @@
 package com.chronos.leaveservice;
 
+import com.chronos.common.calendar.WorkingDayCalendar;
 import com.chronos.common.constants.enums.LeaveStatus;
 import com.chronos.common.constants.enums.LeaveType;
 import com.chronos.common.dto.EmployeeDTO;
@@ -21,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -43,6 +45,9 @@ public class LeaveRequestServiceTest {
     @Mock
     private EmployeeClient employeeClient;
 
+    @Spy
+    private WorkingDayCalendar workingDayCalendar = WorkingDayCalendar.standard();
+
     @InjectMocks
     private LeaveRequestServiceImpl leaveRequestService;
 
@@ -182,6 +187,54 @@ public class LeaveRequestServiceTest {
         verifyNoInteractions(leaveRequestRepository);
     }
 
+    @Test
+    @DisplayName("createLeaveRequest: weekend days inside the range are not charged against the balance")
+    void createLeaveRequest_SpanningWeekend_ChargesWorkingDaysOnly() {
+
+        String employeeId = "77777777-7777-7777-7777-777777777777";
+        UUID empUUID = UUID.fromString(employeeId);
+        // Fri 2025-03-07 .. Mon 2025-03-10 -> 2 working days
+        LeaveRequestCreateRequestDTO req = new LeaveRequestCreateRequestDTO(
+                LeaveType.PERSONAL, LocalDate.of(2025, 3, 7), LocalDate.of(2025, 3, 10), "Long weekend trip"
+        );
+
+        when(employeeClient.getEmployeeById(employeeId)).thenReturn(mock(EmployeeDTO.class));
+        when(leaveBalanceRepository.findByEmployeeIdAndLeaveType(empUUID, LeaveType.PERSONAL))
+                .thenReturn(Optional.of(new LeaveBalance(
+                        UUID.randomUUID(), "LB-003", empUUID, LeaveType.PERSONAL, 2
+                )));
+        when(leaveRequestRepository.save(any(LeaveRequest.class)))
+                .thenAnswer(inv -> inv.getArgument(0, LeaveRequest.class));
+
+        LeaveRequestResponseDTO response = leaveRequestService.createLeaveRequest(employeeId, req);
+
+        assertEquals(LeaveStatus.PENDING, response.status());
+        verify(leaveRequestRepository, times(1)).save(any(LeaveRequest.class));
+    }
+
+    @Test
+    @DisplayName("createLeaveRequest: throws InvalidLeaveRequestException when the range has no working day")
+    void createLeaveRequest_WeekendOnly_Throws() {
+
+        String employeeId = "88888888-8888-8888-8888-888888888888";
+        UUID empUUID = UUID.fromString(employeeId);
+        // Sat 2025-03-08 .. Sun 2025-03-09
+        LeaveRequestCreateRequestDTO req = new LeaveRequestCreateRequestDTO(
+                LeaveType.PERSONAL, LocalDate.of(2025, 3, 8), LocalDate.of(2025, 3, 9), "Weekend only request"
+        );
+
+        when(employeeClient.getEmployeeById(employeeId)).thenReturn(mock(EmployeeDTO.class));
+        when(leaveBalanceRepository.findByEmployeeIdAndLeaveType(empUUID, LeaveType.PERSONAL))
+                .thenReturn(Optional.of(new LeaveBalance(
+                        UUID.randomUUID(), "LB-004", empUUID, LeaveType.PERSONAL, 5
+                )));
+
+        assertThrows(InvalidLeaveRequestException.class,
+                () -> leaveRequestService.createLeaveRequest(employeeId, req));
+
+        verifyNoInteractions(leaveRequestRepository);
+    }
+
     @Test
     @DisplayName("getLeaveRequestEmployeeDashboard: returns list and uses parsed UUID")
     void getLeaveRequestEmployeeDashboard_Succeeds() {
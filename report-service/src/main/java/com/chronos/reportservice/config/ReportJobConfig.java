@@ -0,0 +1,35 @@
+package com.chronos.reportservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ReportJobConfig {
+
+    // fixed-size pool with a bounded queue: month-end bursts queue up instead of exhausting DB connections
+    @Bean(name = "reportJobExecutor")
+    public ThreadPoolTaskExecutor reportJobExecutor(
+            @Value("${reports.jobs.pool-size:4}") int poolSize,
+            @Value("${reports.jobs.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // one virtual thread per downstream call; RemoteCallFanOut caps how many are in flight
+    @Bean(name = "reportFanOutExecutor", destroyMethod = "close")
+    public ExecutorService reportFanOutExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-fan-out-", 0).factory());
+    }
+}
@@ -1,23 +1,34 @@
 package com.chronos.reportservice.controller;
 
+import com.chronos.common.constants.enums.ReportExportFormat;
 import com.chronos.reportservice.dto.GeneratedReportRequestDTO;
+import com.chronos.reportservice.dto.ReportJobResponseDTO;
+import com.chronos.reportservice.dto.ReportPageResponseDTO;
 import com.chronos.reportservice.dto.ReportResponseDTO;
+import com.chronos.reportservice.service.ReportExportService;
+import com.chronos.reportservice.service.ReportJobService;
 import com.chronos.reportservice.service.ReportService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDate;
 
 /**
  * REST controller that manages report generation and retrieval operations.
  * <p>
  * Responsibilities:
  * - Generate new reports for managers within a specified date range.
+ * - Queue report generation as a background job and poll its status.
  * - Retrieve recent reports generated by a specific manager.
  * - Retrieve recent reports for a specific team.
+ * - Stream a per-employee breakdown for all active employees as CSV or NDJSON.
  * <p>
  * Base path: /api/reports
  * Security: Open endpoints for authorized users.
@@ -32,9 +43,13 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
+    private final ReportExportService reportExportService;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, ReportJobService reportJobService, ReportExportService reportExportService) {
         this.reportService = reportService;
+        this.reportJobService = reportJobService;
+        this.reportExportService = reportExportService;
     }
 
     /**
@@ -56,36 +71,116 @@ public class ReportController {
     }
 
     /**
-     * Retrieve recent reports generated by a specific manager.
+     * Queue report generation for a manager's team within a specified date range.
+     * Identical requests for the same team and range share one in-flight job.
+     * <p>
+     * HTTP: POST /api/reports/manager/{managerId}/generate-async
+     * Security: Open endpoint.
+     *
+     * @param managerId the unique identifier of the manager
+     * @param dto       the report generation request containing start and end dates
+     * @return the queued (or already running) report job
+     */
+
+    @PostMapping("/manager/{managerId}/generate-async")
+    public ResponseEntity<ReportJobResponseDTO> generateAsync(@PathVariable("managerId") String managerId, @Valid @RequestBody GeneratedReportRequestDTO dto) {
+        log.info("Invoked the POST: generateAsync controller method, managerId:{}, generateReportRequestDTO:{}", managerId, dto);
+        ReportJobResponseDTO job = reportJobService.submitReportForManager(managerId, dto.startDate(), dto.endDate());
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Retrieve the status of a report job, including the report once it has completed.
+     * <p>
+     * HTTP: GET /api/reports/jobs/{jobId}
+     * Security: Open endpoint.
+     *
+     * @param jobId the unique identifier of the report job
+     * @return the report job status
+     */
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobResponseDTO> getJob(@PathVariable("jobId") String jobId) {
+        log.info("Invoked the GET: getJob controller method, jobId:{}", jobId);
+        ReportJobResponseDTO job = reportJobService.getJob(jobId);
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve recent reports generated by a specific manager, newest first, one page at a time.
      * <p>
      * HTTP: GET /api/reports/manager/{managerId}/recent
      * Security: Open endpoint.
      *
      * @param managerId the unique identifier of the manager
-     * @return list of recent reports created by the manager
+     * @param cursor    nextCursor from the previous page; omit for the first page
+     * @param size      page size (default reports.history.page-size, at most 100)
+     * @return a page of recent reports for the manager's team and the cursor of the next page
      */
 
     @GetMapping("/manager/{managerId}/recent")
-    public ResponseEntity<List<ReportResponseDTO>> recentByManager(@PathVariable("managerId") String managerId){
-        log.info("Invoked the GET: recentByManager controller method, managerId:{}", managerId);
-        List<ReportResponseDTO> results = reportService.getRecentReportsForManager(managerId);
+    public ResponseEntity<ReportPageResponseDTO> recentByManager(
+            @PathVariable("managerId") String managerId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "${reports.history.page-size:20}") int size
+    ){
+        log.info("Invoked the GET: recentByManager controller method, managerId:{}, cursor:{}, size:{}", managerId, cursor, size);
+        ReportPageResponseDTO results = reportService.getRecentReportsForManager(managerId, cursor, size);
         return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
     /**
-     * Retrieve recent reports for a specific team.
+     * Retrieve recent reports for a specific team, newest first, one page at a time.
      * <p>
      * HTTP: GET /api/reports/team/{teamId}/recent
      * Security: Open endpoint.
      *
      * @param teamId the unique identifier of the team
-     * @return list of recent reports for the team
+     * @param cursor nextCursor from the previous page; omit for the first page
+     * @param size   page size (default reports.history.page-size, at most 100)
+     * @return a page of recent reports for the team and the cursor of the next page
      */
 
     @GetMapping("/team/{teamId}/recent")
-    public ResponseEntity<List<ReportResponseDTO>> recentByTeam(@PathVariable("teamId") String teamId) {
-        log.info("Invoked the GET: recentByTeam controller method, teamId:{}", teamId);
-        List<ReportResponseDTO> result = reportService.getRecentReportsForTeam(teamId);
+    public ResponseEntity<ReportPageResponseDTO> recentByTeam(
+            @PathVariable("teamId") String teamId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "${reports.history.page-size:20}") int size
+    ) {
+        log.info("Invoked the GET: recentByTeam controller method, teamId:{}, cursor:{}, size:{}", teamId, cursor, size);
+        ReportPageResponseDTO result = reportService.getRecentReportsForTeam(teamId, cursor, size);
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
+
+    /**
+     * Export the per-employee attendance breakdown for all active employees.
+     * <p>
+     * HTTP: GET /api/reports/export/employees
+     * Security: Open endpoint.
+     * <p>
+     * Rows are streamed page by page as they are computed, so the export never holds
+     * the full employee list in memory.
+     *
+     * @param startDate the first day of the period (inclusive)
+     * @param endDate   the last day of the period (inclusive)
+     * @param format    CSV (default) or NDJSON
+     * @return the streamed export body
+     */
+
+    @GetMapping("/export/employees")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "format", defaultValue = "CSV") ReportExportFormat format
+    ) {
+        log.info("Invoked the GET: exportEmployees controller method, startDate:{}, endDate:{}, format:{}", startDate, endDate, format);
+        StreamingResponseBody body = reportExportService.exportEmployeeBreakdown(startDate, endDate, format);
+
+        boolean csv = format == ReportExportFormat.CSV;
+        String fileName = "employee-report-" + startDate + "-to-" + endDate + (csv ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
 }
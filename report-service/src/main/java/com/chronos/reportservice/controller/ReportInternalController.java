@@ -0,0 +1,56 @@
+package com.chronos.reportservice.controller;
+
+import com.chronos.reportservice.dto.ReportCacheInvalidationRequestDTO;
+import com.chronos.reportservice.service.impl.ReportServiceInternalImpl;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Internal REST controller for report maintenance operations.
+ * <p>
+ * This controller provides internal APIs used by other microservices within the platform
+ * to keep report-service state consistent with their data.
+ * <p>
+ * Responsibilities:
+ * - Drop cached reports whose date range overlaps changed attendance.
+ * <p>
+ * Base path: /api/reports/internal
+ * Security: Internal endpoints - intended for service-to-service communication.
+ * <p>
+ * Created by: Sourasish Mondal
+ * Since: 2025-11-06
+ */
+
+@Slf4j
+@RestController
+@RequestMapping("/api/reports/internal")
+public class ReportInternalController {
+    private final ReportServiceInternalImpl reportServiceInternal;
+
+    public ReportInternalController(ReportServiceInternalImpl reportServiceInternal) {
+        this.reportServiceInternal = reportServiceInternal;
+    }
+
+    /**
+     * Invalidate cached reports overlapping a range of days.
+     * <p>
+     * HTTP: POST /api/reports/internal/cache/invalidate
+     * Security: Internal endpoint for inter-service communication.
+     * <p>
+     * Called by attendance-service after it changes attendance of past days. A missing
+     * team id invalidates the range for every team.
+     *
+     * @param request the team and date range whose attendance changed
+     * @return no content
+     */
+
+    @PostMapping("/cache/invalidate")
+    public ResponseEntity<Void> invalidateCache(@Valid @RequestBody ReportCacheInvalidationRequestDTO request) {
+        log.info("Invoked the POST: invalidateCache controller method, reportCacheInvalidationRequestDTO:{}", request);
+        reportServiceInternal.invalidateCachedReports(request);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -0,0 +1,12 @@
+package com.chronos.reportservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record AttendanceSummaryRequestDTO(
+        List<UUID> employeeIds,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
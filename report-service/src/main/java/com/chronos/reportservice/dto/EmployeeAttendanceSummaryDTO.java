@@ -0,0 +1,10 @@
+package com.chronos.reportservice.dto;
+
+import java.util.UUID;
+
+public record EmployeeAttendanceSummaryDTO(
+        UUID employeeId,
+        Long daysPresent,
+        Double hoursWorked
+) {
+}
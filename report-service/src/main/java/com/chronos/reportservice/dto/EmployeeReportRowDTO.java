@@ -0,0 +1,17 @@
+package com.chronos.reportservice.dto;
+
+import java.util.UUID;
+
+public record EmployeeReportRowDTO(
+        UUID employeeId,
+        String displayEmployeeId,
+        String firstName,
+        String lastName,
+        String teamId,
+        Integer daysPresent,
+        Integer daysAbsent,
+        Double hoursWorked,
+        // null when the figures are complete; otherwise why attendance could not be fetched
+        String error
+) {
+}
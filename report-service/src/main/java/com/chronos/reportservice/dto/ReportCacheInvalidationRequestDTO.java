@@ -0,0 +1,16 @@
+package com.chronos.reportservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record ReportCacheInvalidationRequestDTO(
+        String teamId,
+
+        @NotNull(message = "startDate is required")
+        LocalDate startDate,
+
+        @NotNull(message = "endDate is required")
+        LocalDate endDate
+) {
+}
@@ -0,0 +1,20 @@
+package com.chronos.reportservice.dto;
+
+import com.chronos.common.constants.enums.ReportJobStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ReportJobResponseDTO(
+        UUID jobId,
+        ReportJobStatus status,
+        String teamId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Instant submittedAt,
+        Instant completedAt,
+        ReportResponseDTO report,
+        String error
+) {
+}
@@ -0,0 +1,10 @@
+package com.chronos.reportservice.dto;
+
+import java.util.List;
+
+public record ReportPageResponseDTO(
+        List<ReportResponseDTO> reports,
+        // pass back as ?cursor= for the next (older) page; null on the last page
+        String nextCursor
+) {
+}
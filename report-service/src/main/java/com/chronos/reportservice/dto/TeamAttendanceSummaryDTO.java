@@ -0,0 +1,8 @@
+package com.chronos.reportservice.dto;
+
+public record TeamAttendanceSummaryDTO(
+        String teamId,
+        Long daysPresent,
+        Double hoursWorked
+) {
+}
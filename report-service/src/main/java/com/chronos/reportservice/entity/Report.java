@@ -1,6 +1,7 @@
 package com.chronos.reportservice.entity;
 
 
+import com.chronos.common.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,12 +17,16 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
-@Table(name = "reports")
+@Table(
+        name = "reports",
+        // InnoDB appends the primary key to secondary indexes, so this serves the (generated_at, id) keyset order per team
+        indexes = @Index(name = "idx_reports_team_generated_at", columnList = "team_id, generated_at")
+)
 @EntityListeners(AuditingEntityListener.class)
 public class Report extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -1,14 +1,27 @@
 package com.chronos.reportservice.feign;
 
-import com.chronos.reportservice.dto.AttendanceResponseDTO;
+import com.chronos.reportservice.dto.AttendanceSummaryRequestDTO;
+import com.chronos.reportservice.dto.EmployeeAttendanceSummaryDTO;
+import com.chronos.reportservice.dto.TeamAttendanceSummaryDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @FeignClient(name = "attendance-service", path = "/api/attendances")
 public interface AttendanceServiceClient {
-    @GetMapping("/{employeeId}/history")
-    List<AttendanceResponseDTO> getAttendanceHistory(@PathVariable("employeeId") String employeeId);
+    @PostMapping("/internal/summary-by-employee-ids")
+    List<EmployeeAttendanceSummaryDTO> getAttendanceSummary(@RequestBody AttendanceSummaryRequestDTO request);
+
+    @GetMapping("/internal/teams/{teamId}/summary")
+    TeamAttendanceSummaryDTO getTeamAttendanceSummary(
+            @PathVariable("teamId") String teamId,
+            @RequestParam("startDate") LocalDate startDate,
+            @RequestParam("endDate") LocalDate endDate
+    );
 }
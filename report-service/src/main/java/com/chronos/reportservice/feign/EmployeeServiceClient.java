@@ -1,14 +1,19 @@
 package com.chronos.reportservice.feign;
 
 import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.reportservice.dto.EmployeePageDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
-@FeignClient(name = "employee-service", path="/api/teams")
+@FeignClient(name = "employee-service", path="/api")
 public interface EmployeeServiceClient {
-    @GetMapping("/manager/{managerId}/team-members")
+    @GetMapping("/teams/manager/{managerId}/team-members")
     List<EmployeeDTO> getTeamMembers(@PathVariable("managerId") String managerId);
+
+    @GetMapping("/employees/internal/active")
+    EmployeePageDTO getActiveEmployeesPage(@RequestParam(value = "after", required = false) String after, @RequestParam("size") int size);
 }
@@ -1,13 +1,31 @@
 package com.chronos.reportservice.repository;
 
 import com.chronos.reportservice.entity.Report;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, UUID> {
-    List<Report> findByTeamIdOrderByGeneratedAtDesc(String teamId);
+    List<Report> findByTeamIdOrderByGeneratedAtDescIdDesc(String teamId, Limit limit);
+
+    // keyset continuation on (team_id, generated_at, id): seeks past the previous page's last row instead of skipping rows
+    @Query("""
+            select r from Report r
+            where r.teamId = :teamId
+            and (r.generatedAt < :generatedAt or (r.generatedAt = :generatedAt and r.id < :id))
+            order by r.generatedAt desc, r.id desc
+            """)
+    List<Report> findByTeamIdBefore(
+            @Param("teamId") String teamId,
+            @Param("generatedAt") Instant generatedAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
 }
@@ -0,0 +1,10 @@
+package com.chronos.reportservice.service;
+
+import com.chronos.common.constants.enums.ReportExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+public interface ReportExportService {
+    StreamingResponseBody exportEmployeeBreakdown(LocalDate startDate, LocalDate endDate, ReportExportFormat format);
+}
@@ -0,0 +1,11 @@
+package com.chronos.reportservice.service;
+
+import com.chronos.reportservice.dto.ReportJobResponseDTO;
+
+import java.time.LocalDate;
+
+public interface ReportJobService {
+    ReportJobResponseDTO submitReportForManager(String managerId, LocalDate startDate, LocalDate endDate);
+
+    ReportJobResponseDTO getJob(String jobId);
+}
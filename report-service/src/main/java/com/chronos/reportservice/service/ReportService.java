@@ -1,14 +1,15 @@
 package com.chronos.reportservice.service;
 
+import com.chronos.reportservice.dto.ReportPageResponseDTO;
 import com.chronos.reportservice.dto.ReportResponseDTO;
 
 import java.time.LocalDate;
-import java.util.List;
-
 public interface ReportService {
     ReportResponseDTO generatedReportForManager(String managerId, LocalDate startDate, LocalDate endDate);
 
-    List<ReportResponseDTO> getRecentReportsForManager(String managerId);
+    ReportResponseDTO generateReportForTeam(String teamId, int teamSize, LocalDate startDate, LocalDate endDate);
+
+    ReportPageResponseDTO getRecentReportsForManager(String managerId, String cursor, int size);
 
-    List<ReportResponseDTO> getRecentReportsForTeam(String teamId);
+    ReportPageResponseDTO getRecentReportsForTeam(String teamId, String cursor, int size);
 }
@@ -0,0 +1,117 @@
+package com.chronos.reportservice.service.impl;
+
+import com.chronos.reportservice.util.ForwardedHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Runs independent downstream calls concurrently on virtual threads.
+ * <p>
+ * At most max-concurrency calls are in flight across the whole service, so a large report cannot
+ * flood attendance-service; the caller blocks until a slot frees up. Each call gets call-timeout
+ * from the moment it starts; a call still running then is interrupted, which on a virtual thread
+ * closes the socket it is blocked on, so its slot frees up with the timeout rather than with
+ * Feign's own read timeout. The caller's forwarded auth headers are bound on every call thread.
+ * <p>
+ * Nothing is dropped silently: every key ends up either in {@link Result#results()} or, with the
+ * reason, in {@link Result#failures()}, and the caller decides how to surface the gaps.
+ */
+@Slf4j
+@Component
+public class RemoteCallFanOut {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Duration callTimeout;
+
+    public RemoteCallFanOut(
+            @Qualifier("reportFanOutExecutor") ExecutorService executor,
+            @Value("${reports.fan-out.max-concurrency:16}") int maxConcurrency,
+            @Value("${reports.fan-out.call-timeout:PT10S}") Duration callTimeout
+    ) {
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency);
+        this.callTimeout = callTimeout;
+    }
+
+    public <K, V> Result<K, V> invokeAll(List<K> keys, Function<K, V> call) {
+        Map<String, String> headers = ForwardedHeaders.current();
+
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        for (K key : keys) {
+            // taken before submitting, so the timeout below only counts time spent in the call itself
+            permits.acquireUninterruptibly();
+            CompletableFuture<V> future = new CompletableFuture<>();
+            // whoever claims the call first releases its permit: the call once it has run, or the timeout if it never started
+            AtomicBoolean claimed = new AtomicBoolean();
+            Future<?> task;
+            try {
+                task = executor.submit(() -> {
+                    if (!claimed.compareAndSet(false, true)) {
+                        return;
+                    }
+                    try {
+                        future.complete(ForwardedHeaders.callWith(headers, () -> call.apply(key)));
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+            future.orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((value, failure) -> {
+                if (failure instanceof TimeoutException) {
+                    if (claimed.compareAndSet(false, true)) {
+                        permits.release();
+                    } else {
+                        task.cancel(true);
+                    }
+                }
+            });
+            futures.put(key, future);
+        }
+
+        Map<K, V> results = new LinkedHashMap<>();
+        Map<K, String> failures = new LinkedHashMap<>();
+        futures.forEach((key, future) -> {
+            try {
+                results.put(key, future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                String reason = cause instanceof TimeoutException
+                        ? "timed out after " + callTimeout
+                        : cause.getClass().getSimpleName() + ": " + cause.getMessage();
+                log.warn("Downstream call failed, key:{}, reason:{}", key, reason);
+                failures.put(key, reason);
+            }
+        });
+        return new Result<>(Collections.unmodifiableMap(results), Collections.unmodifiableMap(failures));
+    }
+
+    public record Result<K, V>(Map<K, V> results, Map<K, String> failures) {
+        public boolean complete() {
+            return failures.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.chronos.reportservice.service.impl;
+
+import com.chronos.common.calendar.WorkingDayCalendar;
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.constants.enums.ReportExportFormat;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.InvalidDateException;
+import com.chronos.reportservice.dto.AttendanceSummaryRequestDTO;
+import com.chronos.reportservice.dto.EmployeeAttendanceSummaryDTO;
+import com.chronos.reportservice.dto.EmployeePageDTO;
+import com.chronos.reportservice.dto.EmployeeReportRowDTO;
+import com.chronos.reportservice.feign.AttendanceServiceClient;
+import com.chronos.reportservice.feign.EmployeeServiceClient;
+import com.chronos.reportservice.service.ReportExportService;
+import com.chronos.reportservice.util.ForwardedHeaders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.chronos.reportservice.util.RoundOffToTwo.round2;
+
+/**
+ * Streams a per-employee attendance breakdown for all active employees.
+ * <p>
+ * Employees are read from employee-service one keyset page at a time, their attendance is fetched
+ * for that page in batched calls (chunks of the page run concurrently), and the page's rows are
+ * written and flushed before the next page is requested. Memory use is bounded by the page size,
+ * not by the number of employees.
+ * <p>
+ * If the attendance call for a chunk fails, its employees are still listed, with empty figures and
+ * the reason in the error column, rather than being reported as absent for the whole range.
+ */
+@Slf4j
+@Service
+public class ReportExportServiceImpl implements ReportExportService {
+
+    private static final String CSV_HEADER = "employeeId,displayEmployeeId,firstName,lastName,teamId,daysPresent,daysAbsent,hoursWorked,error";
+
+    private final EmployeeServiceClient employeeServiceClient;
+    private final AttendanceServiceClient attendanceServiceClient;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final ObjectMapper objectMapper;
+    private final RemoteCallFanOut remoteCallFanOut;
+    private final int pageSize;
+    private final int chunkSize;
+
+    public ReportExportServiceImpl(
+            EmployeeServiceClient employeeServiceClient,
+            AttendanceServiceClient attendanceServiceClient,
+            WorkingDayCalendar workingDayCalendar,
+            ObjectMapper objectMapper,
+            RemoteCallFanOut remoteCallFanOut,
+            @Value("${reports.export.page-size:500}") int pageSize,
+            @Value("${reports.fan-out.chunk-size:100}") int chunkSize
+    ) {
+        this.employeeServiceClient = employeeServiceClient;
+        this.attendanceServiceClient = attendanceServiceClient;
+        this.workingDayCalendar = workingDayCalendar;
+        this.objectMapper = objectMapper;
+        this.remoteCallFanOut = remoteCallFanOut;
+        this.pageSize = pageSize;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public StreamingResponseBody exportEmployeeBreakdown(LocalDate startDate, LocalDate endDate, ReportExportFormat format) {
+        log.info("Invoked the exportEmployeeBreakdown service method, startDate:{}, endDate:{}, format:{}", startDate, endDate, format);
+        // validated here, before the response is committed, so a bad range still gets a proper error status
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidDateException(ErrorConstants.INVALID_DATE_RANGE);
+        }
+
+        // the body is written on an async thread; carry the headers over so Feign still forwards the caller's auth
+        Map<String, String> headers = ForwardedHeaders.current();
+        return out -> {
+            ForwardedHeaders.bind(headers);
+            try {
+                writeEmployeeBreakdown(startDate, endDate, format, out);
+            } finally {
+                ForwardedHeaders.clear();
+            }
+        };
+    }
+
+    private void writeEmployeeBreakdown(LocalDate startDate, LocalDate endDate, ReportExportFormat format, OutputStream out) throws IOException {
+        int workingDays = workingDayCalendar.countWorkingDays(startDate, endDate);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ReportExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        int rows = 0;
+        int failedRows = 0;
+        String cursor = null;
+        do {
+            EmployeePageDTO page = employeeServiceClient.getActiveEmployeesPage(cursor, pageSize);
+            List<EmployeeDTO> employees = page.employees() == null ? List.of() : page.employees();
+            if (!employees.isEmpty()) {
+                PageSummaries summaries = fetchSummaries(employees, startDate, endDate);
+                for (EmployeeDTO employee : employees) {
+                    String error = summaries.failures().get(employee.id());
+                    if (error != null) {
+                        failedRows++;
+                        writeRow(writer, format, failedRow(employee, error));
+                    } else {
+                        writeRow(writer, format, toRow(employee, summaries.byEmployee().get(employee.id()), workingDays));
+                    }
+                }
+                rows += employees.size();
+            }
+            // hand each page to the client as soon as it is ready instead of buffering the whole export
+            writer.flush();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        if (failedRows > 0) {
+            log.warn("Finished employee breakdown export with missing attendance, startDate:{}, endDate:{}, rows:{}, failedRows:{}", startDate, endDate, rows, failedRows);
+        } else {
+            log.info("Finished employee breakdown export, startDate:{}, endDate:{}, rows:{}", startDate, endDate, rows);
+        }
+    }
+
+    private PageSummaries fetchSummaries(List<EmployeeDTO> employees, LocalDate startDate, LocalDate endDate) {
+        List<UUID> ids = employees.stream().map(EmployeeDTO::id).toList();
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + chunkSize)));
+        }
+
+        RemoteCallFanOut.Result<List<UUID>, List<EmployeeAttendanceSummaryDTO>> result = remoteCallFanOut.invokeAll(
+                chunks,
+                chunk -> attendanceServiceClient.getAttendanceSummary(new AttendanceSummaryRequestDTO(chunk, startDate, endDate))
+        );
+
+        Map<UUID, EmployeeAttendanceSummaryDTO> byEmployee = new HashMap<>();
+        for (List<EmployeeAttendanceSummaryDTO> summaries : result.results().values()) {
+            if (summaries != null) {
+                for (EmployeeAttendanceSummaryDTO s : summaries) {
+                    byEmployee.put(s.employeeId(), s);
+                }
+            }
+        }
+        Map<UUID, String> failures = new HashMap<>();
+        result.failures().forEach((chunk, reason) -> chunk.forEach(id -> failures.put(id, reason)));
+        return new PageSummaries(byEmployee, failures);
+    }
+
+    private static EmployeeReportRowDTO toRow(EmployeeDTO employee, EmployeeAttendanceSummaryDTO summary, int workingDays) {
+        int daysPresent = summary == null || summary.daysPresent() == null ? 0 : summary.daysPresent().intValue();
+        double hoursWorked = summary == null || summary.hoursWorked() == null ? 0.0 : summary.hoursWorked();
+        return new EmployeeReportRowDTO(
+                employee.id(),
+                employee.displayEmployeeId(),
+                employee.firstName(),
+                employee.lastName(),
+                employee.teamId(),
+                daysPresent,
+                Math.max(0, workingDays - daysPresent),
+                round2(hoursWorked),
+                null
+        );
+    }
+
+    private static EmployeeReportRowDTO failedRow(EmployeeDTO employee, String error) {
+        return new EmployeeReportRowDTO(
+                employee.id(),
+                employee.displayEmployeeId(),
+                employee.firstName(),
+                employee.lastName(),
+                employee.teamId(),
+                null,
+                null,
+                null,
+                "attendance unavailable: " + error
+        );
+    }
+
+    private void writeRow(Writer writer, ReportExportFormat format, EmployeeReportRowDTO row) throws IOException {
+        if (format == ReportExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+        } else {
+            writer.write(String.join(",",
+                    csv(String.valueOf(row.employeeId())),
+                    csv(row.displayEmployeeId()),
+                    csv(row.firstName()),
+                    csv(row.lastName()),
+                    csv(row.teamId()),
+                    number(row.daysPresent()),
+                    number(row.daysAbsent()),
+                    number(row.hoursWorked()),
+                    csv(row.error())
+            ));
+        }
+        writer.write('\n');
+    }
+
+    private static String number(Number value) {
+        return value == null ? "" : String.valueOf(value);
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private record PageSummaries(Map<UUID, EmployeeAttendanceSummaryDTO> byEmployee, Map<UUID, String> failures) {
+    }
+}
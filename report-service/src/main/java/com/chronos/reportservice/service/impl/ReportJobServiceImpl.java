@@ -0,0 +1,161 @@
+package com.chronos.reportservice.service.impl;
+
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.constants.enums.ReportJobStatus;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.ResourceNotFoundException;
+import com.chronos.common.exception.custom.ServiceBusyException;
+import com.chronos.reportservice.dto.ReportJobResponseDTO;
+import com.chronos.reportservice.dto.ReportResponseDTO;
+import com.chronos.reportservice.feign.EmployeeServiceClient;
+import com.chronos.reportservice.service.ReportJobService;
+import com.chronos.reportservice.service.ReportService;
+import com.chronos.reportservice.util.ForwardedHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.chronos.common.util.ParseUUID.parseUUID;
+
+/**
+ * Runs report generation off the request thread.
+ * <p>
+ * A submission resolves the manager's team on the caller's thread (so forwarded auth headers
+ * still apply), then hands the aggregation to the bounded report job pool. Submissions for the
+ * same team and date range that arrive while a job is queued or running join that job instead
+ * of starting another. Finished jobs stay pollable for the configured retention period.
+ */
+@Slf4j
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private final ReportService reportService;
+    private final EmployeeServiceClient employeeServiceClient;
+    private final TaskExecutor reportJobExecutor;
+    private final Duration retention;
+
+    private final ConcurrentHashMap<UUID, ReportJob> jobsById = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ReportJobKey, ReportJob> inFlightJobs = new ConcurrentHashMap<>();
+
+    public ReportJobServiceImpl(
+            ReportService reportService,
+            EmployeeServiceClient employeeServiceClient,
+            @Qualifier("reportJobExecutor") TaskExecutor reportJobExecutor,
+            @Value("${reports.jobs.retention:PT1H}") Duration retention
+    ) {
+        this.reportService = reportService;
+        this.employeeServiceClient = employeeServiceClient;
+        this.reportJobExecutor = reportJobExecutor;
+        this.retention = retention;
+    }
+
+    @Override
+    public ReportJobResponseDTO submitReportForManager(String managerId, LocalDate startDate, LocalDate endDate) {
+        log.info("Invoked the submitReportForManager service method, managerId:{}, startDate:{}, endDate:{}", managerId, startDate, endDate);
+
+        List<EmployeeDTO> members = employeeServiceClient.getTeamMembers(managerId);
+        if (members == null || members.isEmpty()) {
+            throw new IllegalStateException(ErrorConstants.MANAGER_WITH_NO_TEAM);
+        }
+
+        evictExpiredJobs();
+
+        ReportJobKey key = new ReportJobKey(members.getFirst().teamId(), startDate, endDate);
+        ReportJob candidate = new ReportJob(UUID.randomUUID(), key, members.size());
+
+        // registered before it can be seen through inFlightJobs, so a coalesced caller can always poll it
+        jobsById.put(candidate.id, candidate);
+        ReportJob existing = inFlightJobs.putIfAbsent(key, candidate);
+        if (existing != null) {
+            jobsById.remove(candidate.id);
+            log.info("Coalesced report request onto in-flight job, jobId:{}, teamId:{}", existing.id, key.teamId());
+            return toDto(existing);
+        }
+
+        try {
+            // the job thread has no request, so it runs with the submitter's headers bound
+            reportJobExecutor.execute(ForwardedHeaders.wrap(() -> run(candidate)));
+        } catch (TaskRejectedException e) {
+            inFlightJobs.remove(key, candidate);
+            jobsById.remove(candidate.id);
+            throw new ServiceBusyException(ErrorConstants.REPORT_QUEUE_FULL);
+        }
+        return toDto(candidate);
+    }
+
+    @Override
+    public ReportJobResponseDTO getJob(String jobId) {
+        log.info("Invoked the getJob service method, jobId:{}", jobId);
+        ReportJob job = jobsById.get(parseUUID(jobId, ErrorConstants.REPORT_JOB_NOT_FOUND));
+        if (job == null) {
+            throw new ResourceNotFoundException(ErrorConstants.REPORT_JOB_NOT_FOUND);
+        }
+        return toDto(job);
+    }
+
+    private void run(ReportJob job) {
+        job.status = ReportJobStatus.RUNNING;
+        try {
+            ReportJobKey key = job.key;
+            job.report = reportService.generateReportForTeam(key.teamId(), job.teamSize, key.startDate(), key.endDate());
+            job.status = ReportJobStatus.COMPLETED;
+        } catch (RuntimeException e) {
+            log.error("Report job failed, jobId:{}, teamId:{}", job.id, job.key.teamId(), e);
+            job.error = e.getMessage();
+            job.status = ReportJobStatus.FAILED;
+        } finally {
+            job.completedAt = Instant.now();
+            // result is published before the key is released, so late joiners never see a half-finished job
+            inFlightJobs.remove(job.key, job);
+        }
+    }
+
+    private void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobsById.values().removeIf(j -> j.completedAt != null && j.completedAt.isBefore(cutoff));
+    }
+
+    private static ReportJobResponseDTO toDto(ReportJob job) {
+        return new ReportJobResponseDTO(
+                job.id,
+                job.status,
+                job.key.teamId(),
+                job.key.startDate(),
+                job.key.endDate(),
+                job.submittedAt,
+                job.completedAt,
+                job.report,
+                job.error
+        );
+    }
+
+    private record ReportJobKey(String teamId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private static final class ReportJob {
+        private final UUID id;
+        private final ReportJobKey key;
+        private final int teamSize;
+        private final Instant submittedAt = Instant.now();
+        private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        private volatile ReportResponseDTO report;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        private ReportJob(UUID id, ReportJobKey key, int teamSize) {
+            this.id = id;
+            this.key = key;
+            this.teamSize = teamSize;
+        }
+    }
+}
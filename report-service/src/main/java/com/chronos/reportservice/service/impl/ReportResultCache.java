@@ -0,0 +1,121 @@
+package com.chronos.reportservice.service.impl;
+
+import com.chronos.reportservice.dto.ReportResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps computed reports for fully closed date ranges, keyed by team and range.
+ * <p>
+ * Ranges that end today or later are never cached since check-outs are still landing in them.
+ * Attendance-service calls the invalidation endpoint when it changes rollups of past days, which
+ * drops every cached range overlapping those days. Hit, miss and eviction counts are published
+ * as the reports.cache.* meters on /actuator/metrics.
+ */
+@Slf4j
+@Component
+public class ReportResultCache {
+
+    private final int maxEntries;
+
+    // access-ordered so the oldest unused report is dropped first; guarded by this
+    private final LinkedHashMap<ReportCacheKey, CachedReport> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // bumped on every invalidation so a report computed before it is not stored after it
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidated;
+    private final Counter evicted;
+
+    public ReportResultCache(@Value("${reports.cache.max-entries:500}") int maxEntries, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("reports.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("reports.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.invalidated = Counter.builder("reports.cache.evictions").tag("cause", "invalidated").register(meterRegistry);
+        this.evicted = Counter.builder("reports.cache.evictions").tag("cause", "size").register(meterRegistry);
+        Gauge.builder("reports.cache.size", this, ReportResultCache::size).register(meterRegistry);
+    }
+
+    public static boolean isClosedRange(LocalDate endDate) {
+        return endDate.isBefore(LocalDate.now());
+    }
+
+    public synchronized Optional<ReportResponseDTO> get(String teamId, int teamSize, LocalDate startDate, LocalDate endDate) {
+        if (!isClosedRange(endDate)) {
+            return Optional.empty();
+        }
+        CachedReport cached = entries.get(new ReportCacheKey(teamId, startDate, endDate));
+        // absent days scale with team size, so a roster change makes the stored report stale
+        if (cached == null || cached.teamSize() != teamSize) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached.report());
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(String teamId, int teamSize, LocalDate startDate, LocalDate endDate, ReportResponseDTO report, long computedAtGeneration) {
+        if (!isClosedRange(endDate) || computedAtGeneration != generation) {
+            return;
+        }
+        entries.put(new ReportCacheKey(teamId, startDate, endDate), new CachedReport(teamSize, report));
+        while (entries.size() > maxEntries) {
+            Iterator<ReportCacheKey> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evicted.increment();
+        }
+    }
+
+    /**
+     * Drops every cached report whose range overlaps the given days.
+     *
+     * @param teamId    the team whose attendance changed, or null for all teams
+     * @param startDate first changed day
+     * @param endDate   last changed day
+     * @return number of reports dropped
+     */
+    public synchronized int invalidate(String teamId, LocalDate startDate, LocalDate endDate) {
+        generation++;
+        int removed = 0;
+        Iterator<Map.Entry<ReportCacheKey, CachedReport>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            ReportCacheKey key = it.next().getKey();
+            boolean sameTeam = teamId == null || teamId.equals(key.teamId());
+            boolean overlaps = !key.startDate().isAfter(endDate) && !key.endDate().isBefore(startDate);
+            if (sameTeam && overlaps) {
+                it.remove();
+                removed++;
+            }
+        }
+        invalidated.increment(removed);
+        log.info("Invalidated cached reports, teamId:{}, startDate:{}, endDate:{}, removed:{}", teamId, startDate, endDate, removed);
+        return removed;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record ReportCacheKey(String teamId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private record CachedReport(int teamSize, ReportResponseDTO report) {
+    }
+}
@@ -1,48 +1,58 @@
 package com.chronos.reportservice.service.impl;
 
+import com.chronos.common.calendar.WorkingDayCalendar;
 import com.chronos.common.constants.ErrorConstants;
-import com.chronos.common.constants.enums.AttendanceStatus;
+import com.chronos.common.constants.enums.IdPrefix;
 import com.chronos.common.dto.EmployeeDTO;
-import com.chronos.reportservice.dto.AttendanceResponseDTO;
+import com.chronos.common.util.PageCursor;
+import com.chronos.common.util.PublicIdGenerator;
+import com.chronos.reportservice.dto.ReportPageResponseDTO;
 import com.chronos.reportservice.dto.ReportResponseDTO;
+import com.chronos.reportservice.dto.TeamAttendanceSummaryDTO;
 import com.chronos.reportservice.entity.Report;
 import com.chronos.reportservice.feign.AttendanceServiceClient;
 import com.chronos.reportservice.feign.EmployeeServiceClient;
 import com.chronos.reportservice.repository.ReportRepository;
 import com.chronos.reportservice.service.ReportService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
-import static com.chronos.reportservice.util.CountWorkingDays.countWorkingDays;
-import static com.chronos.reportservice.util.ReportIdGenerator.generateReportId;
 import static com.chronos.reportservice.util.RoundOffToTwo.round2;
 import static com.chronos.reportservice.util.mapper.ReportMapper.toDto;
 
 @Slf4j
 @Service
 public class ReportServiceImpl implements ReportService {
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ReportRepository reportRepository;
     private final EmployeeServiceClient employeeServiceClient;
     private final AttendanceServiceClient attendanceServiceClient;
+    private final ReportResultCache reportResultCache;
+    private final WorkingDayCalendar workingDayCalendar;
 
     public ReportServiceImpl(
             ReportRepository reportRepository,
             EmployeeServiceClient employeeServiceClient,
-            AttendanceServiceClient attendanceServiceClient
+            AttendanceServiceClient attendanceServiceClient,
+            ReportResultCache reportResultCache,
+            WorkingDayCalendar workingDayCalendar
     ) {
         this.reportRepository = reportRepository;
         this.employeeServiceClient = employeeServiceClient;
         this.attendanceServiceClient = attendanceServiceClient;
+        this.reportResultCache = reportResultCache;
+        this.workingDayCalendar = workingDayCalendar;
     }
 
     @Override
-    @Transactional
     public ReportResponseDTO generatedReportForManager(String managerId, LocalDate startDate, LocalDate endDate) {
         log.info("Invoked the generatedReportForManager service method, managerId:{}, startDate:{}, endDate:{}", managerId, startDate, endDate);
 
@@ -52,52 +62,38 @@ public class ReportServiceImpl implements ReportService {
             throw new IllegalStateException(ErrorConstants.MANAGER_WITH_NO_TEAM);
         }
 
-        String teamId = members.getFirst().teamId();
+        return generateReportForTeam(members.getFirst().teamId(), members.size(), startDate, endDate);
+    }
+
+    // no surrounding transaction: the remote aggregation must not pin a DB connection, only the final save needs one
+    @Override
+    public ReportResponseDTO generateReportForTeam(String teamId, int teamSize, LocalDate startDate, LocalDate endDate) {
+        log.info("Invoked the generateReportForTeam service method, teamId:{}, teamSize:{}, startDate:{}, endDate:{}", teamId, teamSize, startDate, endDate);
 
+        // closed periods are served from the cache instead of recomputing and inserting another report row
+        Optional<ReportResponseDTO> cached = reportResultCache.get(teamId, teamSize, startDate, endDate);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long cacheGeneration = reportResultCache.generation();
 
         // calculating the number of working days from the range given
 
-        int workingDays = countWorkingDays(startDate, endDate);
-        int teamSize = members.size();
+        int workingDays = workingDayCalendar.countWorkingDays(startDate, endDate);
 
         int totalPossibleDays = workingDays * teamSize;
 
-        int totalDaysPresent = 0;
-        double totalHoursWorked = 0.0;
-
-        for (EmployeeDTO e : members) {
-            UUID empUUID = e.id();
-            if (empUUID == null) {
-                continue;
-            }
-
-            List<AttendanceResponseDTO> history = attendanceServiceClient.getAttendanceHistory(empUUID.toString());
-            if (history == null || history.isEmpty()) {
-                continue;
-            }
+        // the attendance side keeps one rollup row per team-day, so this is O(days) regardless of check-in volume
+        TeamAttendanceSummaryDTO summary = attendanceServiceClient.getTeamAttendanceSummary(teamId, startDate, endDate);
 
-            List<AttendanceResponseDTO>  inRangeActive = history.stream()
-                    .filter(a -> a.date() != null
-                    &&  !a.date().isBefore(startDate) && !a.date().isAfter(endDate) && a.attendanceStatus() == AttendanceStatus.COMPLETE
-                    ).toList();
-
-            int empPresentDays = inRangeActive.stream()
-                    .map(AttendanceResponseDTO::date)
-                    .collect(Collectors.toSet())
-                    .size();
-
-            totalDaysPresent += empPresentDays;
-
-            totalHoursWorked += inRangeActive.stream()
-                    .mapToDouble(AttendanceResponseDTO::hoursWorked)
-                    .sum();
-        }
+        int totalDaysPresent = summary == null || summary.daysPresent() == null ? 0 : summary.daysPresent().intValue();
+        double totalHoursWorked = summary == null || summary.hoursWorked() == null ? 0.0 : summary.hoursWorked();
 
         int totalDaysAbsent = Math.max(0, totalPossibleDays - totalDaysPresent);
 
 
         Report report = new Report();
-        report.setReportId(generateReportId());
+        report.setReportId(PublicIdGenerator.generate(IdPrefix.REPORT));
         report.setTeamId(teamId);
         report.setStartDate(startDate);
         report.setEndDate(endDate);
@@ -107,31 +103,56 @@ public class ReportServiceImpl implements ReportService {
 
         Report savedReport = reportRepository.save(report);
 
-        return toDto(savedReport);
+        ReportResponseDTO result = toDto(savedReport);
+        reportResultCache.put(teamId, teamSize, startDate, endDate, result, cacheGeneration);
+        return result;
     }
 
     @Override
-    public List<ReportResponseDTO> getRecentReportsForManager(String managerId) {
-        log.info("Invoked the getRecentReportsForManager service method, managerId:{}", managerId);
+    public ReportPageResponseDTO getRecentReportsForManager(String managerId, String cursor, int size) {
+        log.info("Invoked the getRecentReportsForManager service method, managerId:{}, cursor:{}, size:{}", managerId, cursor, size);
 
         List<EmployeeDTO> members = employeeServiceClient.getTeamMembers(managerId);
         if(members == null || members.isEmpty()) {
-            return List.of();
+            return new ReportPageResponseDTO(List.of(), null);
         }
 
         String teamId = members.getFirst().teamId();
         if(teamId == null) {
-            return List.of();
+            return new ReportPageResponseDTO(List.of(), null);
         }
 
 
-        return getRecentReportsForTeam(teamId);
+        return getRecentReportsForTeam(teamId, cursor, size);
     }
 
+    // newest first, one index range scan per page however many years of reports the team has
     @Override
-    public List<ReportResponseDTO> getRecentReportsForTeam(String teamId) {
-        log.info("Invoked the getRecentReportsForTeam service method, teamId:{}", teamId);
-        return reportRepository.findByTeamIdOrderByGeneratedAtDesc(teamId)
-                .stream().map(s -> toDto(s)).toList();
+    public ReportPageResponseDTO getRecentReportsForTeam(String teamId, String cursor, int size) {
+        log.info("Invoked the getRecentReportsForTeam service method, teamId:{}, cursor:{}, size:{}", teamId, cursor, size);
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // one extra row tells whether there is a next page without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Report> reports;
+        if (cursor == null || cursor.isBlank()) {
+            reports = reportRepository.findByTeamIdOrderByGeneratedAtDescIdDesc(teamId, limit);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 2);
+            reports = reportRepository.findByTeamIdBefore(
+                    teamId,
+                    PageCursor.parse(keys[0], Instant::parse),
+                    PageCursor.parse(keys[1], UUID::fromString),
+                    limit
+            );
+        }
+
+        String nextCursor = null;
+        if (reports.size() > pageSize) {
+            reports = reports.subList(0, pageSize);
+            Report last = reports.getLast();
+            nextCursor = PageCursor.encode(last.getGeneratedAt(), last.getId());
+        }
+        return new ReportPageResponseDTO(reports.stream().map(s -> toDto(s)).toList(), nextCursor);
     }
 }
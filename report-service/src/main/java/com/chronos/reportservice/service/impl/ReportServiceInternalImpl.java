@@ -0,0 +1,25 @@
+package com.chronos.reportservice.service.impl;
+
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.exception.custom.InvalidDateException;
+import com.chronos.reportservice.dto.ReportCacheInvalidationRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class ReportServiceInternalImpl {
+    private final ReportResultCache reportResultCache;
+
+    public ReportServiceInternalImpl(ReportResultCache reportResultCache) {
+        this.reportResultCache = reportResultCache;
+    }
+
+    public int invalidateCachedReports(ReportCacheInvalidationRequestDTO request) {
+        log.info("Invoked the invalidateCachedReports service method, request:{}", request);
+        if (request.endDate().isBefore(request.startDate())) {
+            throw new InvalidDateException(ErrorConstants.INVALID_DATE_RANGE);
+        }
+        return reportResultCache.invalidate(request.teamId(), request.startDate(), request.endDate());
+    }
+}
@@ -0,0 +1,91 @@
+package com.chronos.reportservice.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The caller's auth headers that Feign forwards to downstream services.
+ * <p>
+ * On the request thread they are read from the current request. Work that moves to another thread
+ * (report jobs, streamed exports, fan-out calls) captures them first and binds the snapshot on the
+ * worker thread: RequestContextHolder is thread-local, and the request may already be recycled by
+ * the time the work runs.
+ */
+public final class ForwardedHeaders {
+
+    public static final List<String> NAMES = List.of(
+            "Authorization",
+            "X-User-Email",
+            "X-User-Role",
+            "X-User-UUID",
+            "X-User-EmployeeId"
+    );
+
+    private static final ThreadLocal<Map<String, String>> BOUND = new ThreadLocal<>();
+
+    private ForwardedHeaders() {
+    }
+
+    // the bound snapshot if there is one, otherwise the headers of the current request (empty off-request)
+    public static Map<String, String> current() {
+        Map<String, String> bound = BOUND.get();
+        if (bound != null) {
+            return bound;
+        }
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs == null) {
+            return Map.of();
+        }
+        HttpServletRequest req = (HttpServletRequest) attrs.resolveReference(RequestAttributes.REFERENCE_REQUEST);
+        if (req == null) {
+            return Map.of();
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : NAMES) {
+            String value = req.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return Collections.unmodifiableMap(headers);
+    }
+
+    public static void bind(Map<String, String> headers) {
+        BOUND.set(headers);
+    }
+
+    public static void clear() {
+        BOUND.remove();
+    }
+
+    public static <T> T callWith(Map<String, String> headers, Supplier<T> call) {
+        Map<String, String> previous = BOUND.get();
+        BOUND.set(headers);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+
+    // captures on the calling thread, binds on whichever thread runs the task
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> headers = current();
+        return () -> callWith(headers, () -> {
+            task.run();
+            return null;
+        });
+    }
+}
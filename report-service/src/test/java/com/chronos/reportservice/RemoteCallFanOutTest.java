@@ -0,0 +1,127 @@
+package com.chronos.reportservice;
+
+import com.chronos.reportservice.service.impl.RemoteCallFanOut;
+import com.chronos.reportservice.util.ForwardedHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteCallFanOutTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void invokeAll_ReportsFailuresAlongsideResults() {
+        RemoteCallFanOut fanOut = new RemoteCallFanOut(executor, 4, Duration.ofSeconds(5));
+
+        RemoteCallFanOut.Result<Integer, String> result = fanOut.invokeAll(List.of(1, 2, 3), key -> {
+            if (key == 2) {
+                throw new IllegalStateException("attendance-service down");
+            }
+            return "ok-" + key;
+        });
+
+        assertFalse(result.complete());
+        assertEquals(Map.of(1, "ok-1", 3, "ok-3"), result.results());
+        assertEquals(Map.of(2, "IllegalStateException: attendance-service down"), result.failures());
+    }
+
+    @Test
+    void invokeAll_SlowCall_TimesOutWithoutFailingTheOthers() {
+        RemoteCallFanOut fanOut = new RemoteCallFanOut(executor, 4, Duration.ofMillis(200));
+
+        RemoteCallFanOut.Result<Integer, Integer> result = fanOut.invokeAll(List.of(1, 2), key -> {
+            if (key == 1) {
+                sleep(2_000);
+            }
+            return key;
+        });
+
+        assertEquals(Map.of(2, 2), result.results());
+        assertTrue(result.failures().get(1).startsWith("timed out"));
+    }
+
+    @Test
+    void invokeAll_TimedOutCall_IsInterruptedAndFreesItsSlot() {
+        RemoteCallFanOut fanOut = new RemoteCallFanOut(executor, 1, Duration.ofMillis(200));
+        AtomicBoolean interrupted = new AtomicBoolean();
+        long started = System.nanoTime();
+
+        RemoteCallFanOut.Result<Integer, Integer> result = fanOut.invokeAll(List.of(1, 2), key -> {
+            if (key == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            }
+            return key;
+        });
+
+        // the second call only got the single slot because the first one gave it up at its timeout
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(2)) < 0);
+        assertTrue(interrupted.get());
+        assertEquals(Map.of(2, 2), result.results());
+        assertTrue(result.failures().get(1).startsWith("timed out"));
+    }
+
+    @Test
+    void invokeAll_NeverExceedsConcurrencyCap() {
+        RemoteCallFanOut fanOut = new RemoteCallFanOut(executor, 3, Duration.ofSeconds(5));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        RemoteCallFanOut.Result<Integer, Integer> result = fanOut.invokeAll(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), key -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(50);
+            inFlight.decrementAndGet();
+            return key;
+        });
+
+        assertTrue(result.complete());
+        assertEquals(10, result.results().size());
+        assertTrue(peak.get() <= 3, "peak " + peak.get());
+    }
+
+    @Test
+    void invokeAll_ForwardsCallerHeadersToCallThreads() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        request.addHeader("X-User-Role", "MANAGER");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RemoteCallFanOut fanOut = new RemoteCallFanOut(executor, 2, Duration.ofSeconds(5));
+
+        RemoteCallFanOut.Result<Integer, Map<String, String>> result =
+                fanOut.invokeAll(List.of(1, 2), key -> ForwardedHeaders.current());
+
+        Map<String, String> expected = Map.of("Authorization", "Bearer token", "X-User-Role", "MANAGER");
+        assertEquals(expected, result.results().get(1));
+        assertEquals(expected, result.results().get(2));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
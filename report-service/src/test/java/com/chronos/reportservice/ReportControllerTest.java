@@ -1,8 +1,14 @@
 package com.chronos.reportservice;
 
 import com.chronos.reportservice.controller.ReportController;
+import com.chronos.common.constants.enums.ReportExportFormat;
+import com.chronos.common.constants.enums.ReportJobStatus;
 import com.chronos.reportservice.dto.GeneratedReportRequestDTO;
+import com.chronos.reportservice.dto.ReportJobResponseDTO;
+import com.chronos.reportservice.dto.ReportPageResponseDTO;
 import com.chronos.reportservice.dto.ReportResponseDTO;
+import com.chronos.reportservice.service.ReportExportService;
+import com.chronos.reportservice.service.ReportJobService;
 import com.chronos.reportservice.service.ReportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -17,6 +23,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -26,7 +33,9 @@ import java.util.UUID;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,6 +57,12 @@ class ReportControllerTest {
     @MockitoBean
     private ReportService reportService;
 
+    @MockitoBean
+    private ReportJobService reportJobService;
+
+    @MockitoBean
+    private ReportExportService reportExportService;
+
     @MockitoBean(name = "jpaMappingContext")
     private JpaMetamodelMappingContext jpaMappingContext;
 
@@ -79,30 +94,87 @@ class ReportControllerTest {
                 .andExpect(jsonPath("$.teamId").value("T1"));
     }
 
+    @Test
+    void generateAsync_returnsAccepted() throws Exception {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        UUID jobId = UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb");
+
+        when(reportJobService.submitReportForManager(eq("m1"), eq(start), eq(end)))
+                .thenReturn(new ReportJobResponseDTO(jobId, ReportJobStatus.QUEUED, "T1", start, end,
+                        Instant.parse("2025-03-01T10:00:00Z"), null, null, null));
+
+        mockMvc.perform(post("/api/reports/manager/{managerId}/generate-async", "m1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GeneratedReportRequestDTO(start, end))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value(jobId.toString()))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void getJob_returnsCompletedReport() throws Exception {
+        UUID jobId = UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb");
+
+        when(reportJobService.getJob(eq(jobId.toString())))
+                .thenReturn(new ReportJobResponseDTO(jobId, ReportJobStatus.COMPLETED, "T1",
+                        LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2),
+                        Instant.parse("2025-03-01T10:00:00Z"), Instant.parse("2025-03-01T10:00:05Z"),
+                        sampleDto("RPT-123", "T1"), null));
+
+        mockMvc.perform(get("/api/reports/jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.report.reportId").value("RPT-123"));
+    }
+
+    @Test
+    void exportEmployees_streamsCsvAttachment() throws Exception {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        when(reportExportService.exportEmployeeBreakdown(start, end, ReportExportFormat.CSV))
+                .thenReturn(out -> out.write("employeeId,daysPresent\n".getBytes()));
+
+        MvcResult started = mockMvc.perform(get("/api/reports/export/employees")
+                        .param("startDate", "2025-01-01")
+                        .param("endDate", "2025-01-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("employee-report-2025-01-01-to-2025-01-31.csv")))
+                .andExpect(content().string("employeeId,daysPresent\n"));
+    }
+
     @Test
     void recentByManager_returnsOk() throws Exception {
-        when(reportService.getRecentReportsForManager(eq("m1")))
-                .thenReturn(List.of(sampleDto("RPT-1", "T1")));
+        when(reportService.getRecentReportsForManager(eq("m1"), eq(null), eq(2)))
+                .thenReturn(new ReportPageResponseDTO(List.of(sampleDto("RPT-1", "T1")), "next"));
 
         mockMvc.perform(get("/api/reports/manager/{managerId}/recent", "m1")
                         .param("size", "2"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].reportId").value("RPT-1"));
+                .andExpect(jsonPath("$.reports", hasSize(1)))
+                .andExpect(jsonPath("$.reports[0].reportId").value("RPT-1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
     }
 
     @Test
     void recentByTeam_returnsOk() throws Exception {
-        when(reportService.getRecentReportsForTeam(eq("T9")))
-                .thenReturn(List.of(sampleDto("RPT-A", "T9"), sampleDto("RPT-B", "T9")));
+        when(reportService.getRecentReportsForTeam(eq("T9"), eq("abc"), eq(20)))
+                .thenReturn(new ReportPageResponseDTO(List.of(sampleDto("RPT-A", "T9"), sampleDto("RPT-B", "T9")), null));
 
-        mockMvc.perform(get("/api/reports/team/{teamId}/recent", "T9"))
+        mockMvc.perform(get("/api/reports/team/{teamId}/recent", "T9")
+                        .param("cursor", "abc"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].teamId").value("T9"))
-                .andExpect(jsonPath("$[1].reportId").value("RPT-B"));
+                .andExpect(jsonPath("$.reports", hasSize(2)))
+                .andExpect(jsonPath("$.reports[0].teamId").value("T9"))
+                .andExpect(jsonPath("$.reports[1].reportId").value("RPT-B"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 
     private static ReportResponseDTO sampleDto(String reportId, String teamId) {
@@ -0,0 +1,146 @@
+package com.chronos.reportservice;
+
+import com.chronos.common.calendar.WorkingDayCalendar;
+import com.chronos.common.constants.enums.ReportExportFormat;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.InvalidDateException;
+import com.chronos.reportservice.dto.AttendanceSummaryRequestDTO;
+import com.chronos.reportservice.dto.EmployeeAttendanceSummaryDTO;
+import com.chronos.reportservice.dto.EmployeePageDTO;
+import com.chronos.reportservice.feign.AttendanceServiceClient;
+import com.chronos.reportservice.feign.EmployeeServiceClient;
+import com.chronos.reportservice.service.impl.RemoteCallFanOut;
+import com.chronos.reportservice.service.impl.ReportExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportExportServiceTest {
+
+    // Mon 2025-02-03 .. Fri 2025-02-07 -> 5 working days
+    private static final LocalDate START = LocalDate.of(2025, 2, 3);
+    private static final LocalDate END = LocalDate.of(2025, 2, 7);
+
+    @Mock
+    private EmployeeServiceClient employeeServiceClient;
+
+    @Mock
+    private AttendanceServiceClient attendanceServiceClient;
+
+    private ExecutorService fanOutExecutor;
+
+    private ReportExportServiceImpl service;
+
+    private final UUID alice = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID bob = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private final UUID carol = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @BeforeEach
+    void setUp() {
+        service = exportService(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOutExecutor.close();
+    }
+
+    @Test
+    void export_Csv_WritesOneRowPerEmployeeAcrossPages() throws Exception {
+        when(employeeServiceClient.getActiveEmployeesPage(null, 2))
+                .thenReturn(new EmployeePageDTO(List.of(employee(alice, "Alice", "T1"), employee(bob, "Bob, Jr.", "T1")), bob.toString()));
+        when(employeeServiceClient.getActiveEmployeesPage(bob.toString(), 2))
+                .thenReturn(new EmployeePageDTO(List.of(employee(carol, "Carol", "T2")), null));
+        when(attendanceServiceClient.getAttendanceSummary(any(AttendanceSummaryRequestDTO.class)))
+                .thenReturn(List.of(new EmployeeAttendanceSummaryDTO(alice, 4L, 31.456)))
+                .thenReturn(List.of());
+
+        String csv = render(ReportExportFormat.CSV);
+
+        assertEquals("""
+                employeeId,displayEmployeeId,firstName,lastName,teamId,daysPresent,daysAbsent,hoursWorked,error
+                00000000-0000-0000-0000-000000000001,EMP-Alice,Alice,Last,T1,4,1,31.46,
+                00000000-0000-0000-0000-000000000002,"EMP-Bob, Jr.","Bob, Jr.",Last,T1,0,5,0.0,
+                00000000-0000-0000-0000-000000000003,EMP-Carol,Carol,Last,T2,0,5,0.0,
+                """, csv);
+        // one batched attendance call per page, never one per employee
+        verify(attendanceServiceClient, times(2)).getAttendanceSummary(any(AttendanceSummaryRequestDTO.class));
+        verify(attendanceServiceClient).getAttendanceSummary(new AttendanceSummaryRequestDTO(List.of(alice, bob), START, END));
+    }
+
+    @Test
+    void export_Ndjson_WritesOneJsonObjectPerLine() throws Exception {
+        when(employeeServiceClient.getActiveEmployeesPage(null, 2))
+                .thenReturn(new EmployeePageDTO(List.of(employee(alice, "Alice", "T1")), null));
+        when(attendanceServiceClient.getAttendanceSummary(any(AttendanceSummaryRequestDTO.class)))
+                .thenReturn(List.of(new EmployeeAttendanceSummaryDTO(alice, 5L, 40.0)));
+
+        String ndjson = render(ReportExportFormat.NDJSON);
+
+        assertEquals(1, ndjson.lines().count());
+        assertTrue(ndjson.startsWith("{\"employeeId\":\"00000000-0000-0000-0000-000000000001\""));
+        assertTrue(ndjson.contains("\"daysPresent\":5,\"daysAbsent\":0,\"hoursWorked\":40.0"));
+    }
+
+    @Test
+    void export_FailedChunk_ListsEmployeesWithErrorInsteadOfAbsent() throws Exception {
+        fanOutExecutor.close();
+        service = exportService(1);
+        when(employeeServiceClient.getActiveEmployeesPage(null, 2))
+                .thenReturn(new EmployeePageDTO(List.of(employee(alice, "Alice", "T1"), employee(bob, "Bob", "T1")), null));
+        when(attendanceServiceClient.getAttendanceSummary(new AttendanceSummaryRequestDTO(List.of(alice), START, END)))
+                .thenThrow(mock(FeignException.ServiceUnavailable.class));
+        when(attendanceServiceClient.getAttendanceSummary(new AttendanceSummaryRequestDTO(List.of(bob), START, END)))
+                .thenReturn(List.of(new EmployeeAttendanceSummaryDTO(bob, 5L, 40.0)));
+
+        List<String> lines = render(ReportExportFormat.CSV).lines().toList();
+
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith("00000000-0000-0000-0000-000000000001,EMP-Alice,Alice,Last,T1,,,,attendance unavailable: "), lines.get(1));
+        assertEquals("00000000-0000-0000-0000-000000000002,EMP-Bob,Bob,Last,T1,5,0,40.0,", lines.get(2));
+    }
+
+    @Test
+    void export_InvalidRange_ThrowsBeforeStreaming() {
+        assertThrows(InvalidDateException.class,
+                () -> service.exportEmployeeBreakdown(END, START, ReportExportFormat.CSV));
+        verifyNoInteractions(employeeServiceClient);
+    }
+
+    private ReportExportServiceImpl exportService(int chunkSize) {
+        fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        RemoteCallFanOut fanOut = new RemoteCallFanOut(fanOutExecutor, 4, Duration.ofSeconds(5));
+        return new ReportExportServiceImpl(employeeServiceClient, attendanceServiceClient,
+                WorkingDayCalendar.standard(), new ObjectMapper(), fanOut, 2, chunkSize);
+    }
+
+    private String render(ReportExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportEmployeeBreakdown(START, END, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static EmployeeDTO employee(UUID id, String firstName, String teamId) {
+        return new EmployeeDTO(id, "EMP-" + firstName, firstName, "Last", null,
+                null, null, null, true, null, null, teamId);
+    }
+}
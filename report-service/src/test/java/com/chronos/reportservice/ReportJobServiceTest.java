@@ -0,0 +1,135 @@
+package com.chronos.reportservice;
+
+import com.chronos.common.constants.enums.ReportJobStatus;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.ResourceNotFoundException;
+import com.chronos.common.exception.custom.ServiceBusyException;
+import com.chronos.reportservice.dto.ReportJobResponseDTO;
+import com.chronos.reportservice.dto.ReportResponseDTO;
+import com.chronos.reportservice.feign.EmployeeServiceClient;
+import com.chronos.reportservice.service.ReportService;
+import com.chronos.reportservice.service.impl.ReportJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private EmployeeServiceClient employeeServiceClient;
+
+    // holds submitted tasks until the test runs them, standing in for a busy pool
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private ReportJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReportJobServiceImpl(reportService, employeeServiceClient, queued::add, Duration.ofHours(1));
+    }
+
+    @Test
+    void submit_SameTeamAndRangeWhileInFlight_Coalesces() {
+        when(employeeServiceClient.getTeamMembers(anyString())).thenReturn(List.of(member(), member()));
+        when(reportService.generateReportForTeam("T1", 2, START, END)).thenReturn(sampleReport());
+
+        ReportJobResponseDTO first = service.submitReportForManager("m1", START, END);
+        ReportJobResponseDTO second = service.submitReportForManager("m1", START, END);
+
+        assertEquals(first.jobId(), second.jobId());
+        assertEquals(ReportJobStatus.QUEUED, second.status());
+        assertEquals(1, queued.size());
+
+        queued.getFirst().run();
+
+        ReportJobResponseDTO done = service.getJob(first.jobId().toString());
+        assertEquals(ReportJobStatus.COMPLETED, done.status());
+        assertEquals("RPT-1", done.report().reportId());
+        assertNotNull(done.completedAt());
+        verify(reportService, times(1)).generateReportForTeam("T1", 2, START, END);
+    }
+
+    @Test
+    void submit_AfterPreviousJobFinished_StartsNewJob() {
+        when(employeeServiceClient.getTeamMembers(anyString())).thenReturn(List.of(member()));
+        when(reportService.generateReportForTeam(anyString(), anyInt(), any(), any())).thenReturn(sampleReport());
+
+        ReportJobResponseDTO first = service.submitReportForManager("m1", START, END);
+        queued.getFirst().run();
+        ReportJobResponseDTO second = service.submitReportForManager("m1", START, END);
+
+        assertNotEquals(first.jobId(), second.jobId());
+        assertEquals(2, queued.size());
+    }
+
+    @Test
+    void job_GenerationFails_RecordsFailure() {
+        when(employeeServiceClient.getTeamMembers(anyString())).thenReturn(List.of(member()));
+        when(reportService.generateReportForTeam(anyString(), anyInt(), any(), any()))
+                .thenThrow(new IllegalStateException("attendance-service unavailable"));
+
+        ReportJobResponseDTO job = service.submitReportForManager("m1", START, END);
+        queued.getFirst().run();
+
+        ReportJobResponseDTO failed = service.getJob(job.jobId().toString());
+        assertEquals(ReportJobStatus.FAILED, failed.status());
+        assertEquals("attendance-service unavailable", failed.error());
+        assertNull(failed.report());
+    }
+
+    @Test
+    void submit_QueueFull_ThrowsServiceBusy() {
+        service = new ReportJobServiceImpl(reportService, employeeServiceClient, task -> {
+            throw new TaskRejectedException("full");
+        }, Duration.ofHours(1));
+        when(employeeServiceClient.getTeamMembers(anyString())).thenReturn(List.of(member()));
+
+        assertThrows(ServiceBusyException.class, () -> service.submitReportForManager("m1", START, END));
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void submit_NoTeam_Throws() {
+        when(employeeServiceClient.getTeamMembers("m1")).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> service.submitReportForManager("m1", START, END));
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void getJob_Unknown_Throws() {
+        assertThrows(ResourceNotFoundException.class, () -> service.getJob(UUID.randomUUID().toString()));
+    }
+
+    private static EmployeeDTO member() {
+        return new EmployeeDTO(UUID.randomUUID(), "EMP-1", "First", "Last", null,
+                null, null, null, true, null, null, "T1");
+    }
+
+    private static ReportResponseDTO sampleReport() {
+        return new ReportResponseDTO(UUID.randomUUID(), "RPT-1", "T1", START, END, 10, 2, 80.0, Instant.now());
+    }
+}
@@ -0,0 +1,101 @@
+package com.chronos.reportservice;
+
+import com.chronos.reportservice.dto.ReportResponseDTO;
+import com.chronos.reportservice.service.impl.ReportResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportResultCacheTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+    private static final LocalDate JAN_31 = LocalDate.of(2025, 1, 31);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReportResultCache(2, meterRegistry);
+    }
+
+    @Test
+    void get_AfterPut_HitsAndCountsMetrics() {
+        ReportResponseDTO report = report("T1", JAN_1, JAN_31);
+
+        assertTrue(cache.get("T1", 3, JAN_1, JAN_31).isEmpty());
+        cache.put("T1", 3, JAN_1, JAN_31, report, cache.generation());
+
+        assertSame(report, cache.get("T1", 3, JAN_1, JAN_31).orElseThrow());
+        assertEquals(1.0, meterRegistry.get("reports.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("reports.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("reports.cache.size").gauge().value());
+    }
+
+    @Test
+    void get_TeamSizeChanged_Misses() {
+        cache.put("T1", 3, JAN_1, JAN_31, report("T1", JAN_1, JAN_31), cache.generation());
+
+        assertTrue(cache.get("T1", 4, JAN_1, JAN_31).isEmpty());
+    }
+
+    @Test
+    void put_OpenRange_NotCached() {
+        LocalDate today = LocalDate.now();
+        cache.put("T1", 3, today.minusDays(7), today, report("T1", today.minusDays(7), today), cache.generation());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_ComputedBeforeInvalidation_Discarded() {
+        long generation = cache.generation();
+        cache.invalidate("T1", JAN_1, JAN_1);
+
+        cache.put("T1", 3, JAN_1, JAN_31, report("T1", JAN_1, JAN_31), generation);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidate_RemovesOnlyOverlappingRangesOfTeam() {
+        LocalDate feb1 = LocalDate.of(2025, 2, 1);
+        LocalDate feb28 = LocalDate.of(2025, 2, 28);
+        cache = new ReportResultCache(10, meterRegistry);
+        cache.put("T1", 3, JAN_1, JAN_31, report("T1", JAN_1, JAN_31), cache.generation());
+        cache.put("T1", 3, feb1, feb28, report("T1", feb1, feb28), cache.generation());
+        cache.put("T2", 3, JAN_1, JAN_31, report("T2", JAN_1, JAN_31), cache.generation());
+
+        assertEquals(1, cache.invalidate("T1", LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 15)));
+
+        assertTrue(cache.get("T1", 3, JAN_1, JAN_31).isEmpty());
+        assertTrue(cache.get("T1", 3, feb1, feb28).isPresent());
+        assertTrue(cache.get("T2", 3, JAN_1, JAN_31).isPresent());
+        assertEquals(2, cache.invalidate(null, JAN_31, feb1));
+    }
+
+    @Test
+    void put_OverCapacity_EvictsLeastRecentlyUsed() {
+        LocalDate feb1 = LocalDate.of(2025, 2, 1);
+        LocalDate mar1 = LocalDate.of(2025, 3, 1);
+        cache.put("T1", 3, JAN_1, JAN_1, report("T1", JAN_1, JAN_1), cache.generation());
+        cache.put("T1", 3, feb1, feb1, report("T1", feb1, feb1), cache.generation());
+        cache.get("T1", 3, JAN_1, JAN_1);
+        cache.put("T1", 3, mar1, mar1, report("T1", mar1, mar1), cache.generation());
+
+        assertTrue(cache.get("T1", 3, JAN_1, JAN_1).isPresent());
+        assertTrue(cache.get("T1", 3, feb1, feb1).isEmpty());
+        assertEquals(1.0, meterRegistry.get("reports.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    private static ReportResponseDTO report(String teamId, LocalDate start, LocalDate end) {
+        return new ReportResponseDTO(UUID.randomUUID(), "RPT-1", teamId, start, end, 10, 2, 80.0, Instant.now());
+    }
+}
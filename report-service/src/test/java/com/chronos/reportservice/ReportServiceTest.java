@@ -1,23 +1,33 @@
 package com.chronos.reportservice;
 
+import com.chronos.common.calendar.WorkingDayCalendar;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.InvalidCursorException;
+import com.chronos.reportservice.dto.ReportPageResponseDTO;
 import com.chronos.reportservice.dto.ReportResponseDTO;
+import com.chronos.reportservice.dto.TeamAttendanceSummaryDTO;
 import com.chronos.reportservice.entity.Report;
 import com.chronos.reportservice.feign.AttendanceServiceClient;
 import com.chronos.reportservice.feign.EmployeeServiceClient;
 import com.chronos.reportservice.repository.ReportRepository;
+import com.chronos.reportservice.service.impl.ReportResultCache;
 import com.chronos.reportservice.service.impl.ReportServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +43,12 @@ class ReportServiceTest {
     @Mock
     private AttendanceServiceClient attendanceServiceClient;
 
+    @Mock
+    private ReportResultCache reportResultCache;
+
+    @Spy
+    private WorkingDayCalendar workingDayCalendar = WorkingDayCalendar.standard();
+
     @InjectMocks
     private ReportServiceImpl service;
 
@@ -52,14 +68,72 @@ class ReportServiceTest {
     }
 
     @Test
-    void getRecentReportsForManager_NoTeam_EmptyList() {
+    void generatedReportForManager_ReadsTeamRollupSummary() {
+        String managerId = "m-3";
+        // Mon 2025-02-03 .. Fri 2025-02-07 -> 5 working days
+        LocalDate start = LocalDate.of(2025, 2, 3);
+        LocalDate end = LocalDate.of(2025, 2, 7);
+
+        when(employeeServiceClient.getTeamMembers(managerId)).thenReturn(List.of(member(UUID.randomUUID()), member(UUID.randomUUID())));
+        when(attendanceServiceClient.getTeamAttendanceSummary("T1", start, end))
+                .thenReturn(new TeamAttendanceSummaryDTO("T1", 7L, 56.75));
+        when(reportRepository.save(any(Report.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ReportResponseDTO dto = service.generatedReportForManager(managerId, start, end);
+
+        assertEquals("T1", dto.teamId());
+        assertEquals(7, dto.totalDaysPresent());
+        assertEquals(3, dto.totalDaysAbsent());
+        assertEquals(56.75, dto.totalHoursWorked());
+
+        verify(attendanceServiceClient, times(1)).getTeamAttendanceSummary("T1", start, end);
+        verifyNoMoreInteractions(attendanceServiceClient);
+    }
+
+    @Test
+    void generateReportForTeam_CachedClosedRange_SkipsRecomputeAndInsert() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        ReportResponseDTO cached = new ReportResponseDTO(UUID.randomUUID(), "RPT-1", "T1", start, end, 40, 6, 320.0, Instant.now());
+        when(reportResultCache.get("T1", 2, start, end)).thenReturn(Optional.of(cached));
+
+        ReportResponseDTO dto = service.generateReportForTeam("T1", 2, start, end);
+
+        assertSame(cached, dto);
+        verifyNoInteractions(attendanceServiceClient);
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    void generateReportForTeam_CacheMiss_StoresResult() {
+        LocalDate start = LocalDate.of(2025, 2, 3);
+        LocalDate end = LocalDate.of(2025, 2, 7);
+        when(reportResultCache.get("T1", 1, start, end)).thenReturn(Optional.empty());
+        when(reportResultCache.generation()).thenReturn(7L);
+        when(attendanceServiceClient.getTeamAttendanceSummary("T1", start, end))
+                .thenReturn(new TeamAttendanceSummaryDTO("T1", 5L, 40.0));
+        when(reportRepository.save(any(Report.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ReportResponseDTO dto = service.generateReportForTeam("T1", 1, start, end);
+
+        verify(reportResultCache).put("T1", 1, start, end, dto, 7L);
+    }
+
+    private static EmployeeDTO member(UUID id) {
+        return new EmployeeDTO(id, "EMP-" + id.toString().substring(0, 4), "First", "Last", null,
+                null, null, null, true, null, null, "T1");
+    }
+
+    @Test
+    void getRecentReportsForManager_NoTeam_EmptyPage() {
         String managerId = "m-2";
         when(employeeServiceClient.getTeamMembers(managerId)).thenReturn(List.of());
 
-        List<ReportResponseDTO> results = service.getRecentReportsForManager(managerId);
+        ReportPageResponseDTO page = service.getRecentReportsForManager(managerId, null, 20);
 
-        assertNotNull(results);
-        assertTrue(results.isEmpty());
+        assertNotNull(page);
+        assertTrue(page.reports().isEmpty());
+        assertNull(page.nextCursor());
         verify(employeeServiceClient).getTeamMembers(managerId);
         verifyNoInteractions(reportRepository);
     }
@@ -71,8 +145,7 @@ class ReportServiceTest {
         LocalDate end = LocalDate.of(2025, 2, 7);
         Instant genAt = Instant.parse("2025-03-01T10:00:00Z");
 
-        Report r = new Report();
-        r.setId(UUID.fromString("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa"));
+        Report r = report(UUID.fromString("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa"), genAt);
         r.setReportId("RPT-123");
         r.setTeamId(teamId);
         r.setStartDate(start);
@@ -80,17 +153,17 @@ class ReportServiceTest {
         r.setTotalDaysPresent(7);
         r.setTotalDaysAbsent(3);
         r.setTotalHoursWorked(40.5);
-        r.setGeneratedAt(genAt);
 
-        when(reportRepository.findByTeamIdOrderByGeneratedAtDesc(eq(teamId)))
+        when(reportRepository.findByTeamIdOrderByGeneratedAtDescIdDesc(eq(teamId), eq(Limit.of(21))))
                 .thenReturn(List.of(r));
 
-        List<ReportResponseDTO> dtos = service.getRecentReportsForTeam(teamId);
+        ReportPageResponseDTO page = service.getRecentReportsForTeam(teamId, null, 20);
 
-        assertNotNull(dtos);
-        assertEquals(1, dtos.size());
+        assertNotNull(page);
+        assertEquals(1, page.reports().size());
+        assertNull(page.nextCursor());
 
-        ReportResponseDTO dto = dtos.get(0);
+        ReportResponseDTO dto = page.reports().get(0);
         assertEquals(r.getId(), dto.id());
         assertEquals("RPT-123", dto.reportId());
         assertEquals(teamId, dto.teamId());
@@ -101,6 +174,41 @@ class ReportServiceTest {
         assertEquals(40.5, dto.totalHoursWorked());
         assertEquals(genAt, dto.generatedAt());
 
-        verify(reportRepository).findByTeamIdOrderByGeneratedAtDesc(eq(teamId));
+        verify(reportRepository).findByTeamIdOrderByGeneratedAtDescIdDesc(eq(teamId), eq(Limit.of(21)));
+    }
+
+    @Test
+    void getRecentReportsForTeam_FullPage_CursorSeeksPastLastRow() {
+        Report newest = report(UUID.fromString("00000000-0000-0000-0000-000000000003"), Instant.parse("2025-03-03T10:00:00Z"));
+        Report middle = report(UUID.fromString("00000000-0000-0000-0000-000000000002"), Instant.parse("2025-03-02T10:00:00Z"));
+        Report oldest = report(UUID.fromString("00000000-0000-0000-0000-000000000001"), Instant.parse("2025-03-01T10:00:00Z"));
+        when(reportRepository.findByTeamIdOrderByGeneratedAtDescIdDesc("T1", Limit.of(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+        when(reportRepository.findByTeamIdBefore("T1", middle.getGeneratedAt(), middle.getId(), Limit.of(3)))
+                .thenReturn(List.of(oldest));
+
+        ReportPageResponseDTO first = service.getRecentReportsForTeam("T1", null, 2);
+
+        assertEquals(List.of(newest.getId(), middle.getId()), first.reports().stream().map(ReportResponseDTO::id).toList());
+        assertNotNull(first.nextCursor());
+
+        ReportPageResponseDTO second = service.getRecentReportsForTeam("T1", first.nextCursor(), 2);
+
+        assertEquals(List.of(oldest.getId()), second.reports().stream().map(ReportResponseDTO::id).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void getRecentReportsForTeam_TamperedCursor_Throws() {
+        assertThrows(InvalidCursorException.class, () -> service.getRecentReportsForTeam("T1", "not-a-cursor", 20));
+        verifyNoInteractions(reportRepository);
+    }
+
+    private static Report report(UUID id, Instant generatedAt) {
+        Report r = new Report();
+        r.setId(id);
+        r.setTeamId("T1");
+        r.setGeneratedAt(generatedAt);
+        return r;
     }
 }
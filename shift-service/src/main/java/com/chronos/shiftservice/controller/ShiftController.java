@@ -2,7 +2,11 @@ package com.chronos.shiftservice.controller;
 
 
 import com.chronos.common.exception.ErrorResponse;
+import com.chronos.shiftservice.dto.shift.CopyWeekRequestDTO;
+import com.chronos.shiftservice.dto.shift.CreateRosterRequestDTO;
 import com.chronos.shiftservice.dto.shift.CreateShiftDateRequestDTO;
+import com.chronos.shiftservice.dto.shift.RosterResponseDTO;
+import com.chronos.shiftservice.dto.shift.ShiftPageDTO;
 import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
 import com.chronos.shiftservice.dto.shift.TeamShiftTableRowDTO;
 import com.chronos.shiftservice.service.impl.ShiftServiceImpl;
@@ -30,8 +34,10 @@ import java.util.List;
  * <p>
  * Responsibilities:
  * - Create shift assignments for a manager's team.
+ * - Create a whole roster at once, or copy one week's roster onto another week.
  * - Retrieve shifts for a specific employee.
  * - Retrieve all shifts for a manager's team.
+ * - Retrieve an employee's or a team's shifts in a date window, one page at a time.
  * - Retrieve team shifts for a specific date.
  * <p>
  * Base path: /api/shifts
@@ -43,7 +49,7 @@ import java.util.List;
 
 @Tag(
         name = "Shift CRUD Rest API",
-        description = "REST APIs - Create Shift, Get Employee Shifts, Get Team Shifts, Get Team Shifts By Date"
+        description = "REST APIs - Create Shift, Create Roster, Copy Roster Week, Get Employee Shifts, Get Team Shifts, Get Employee Shift Window, Get Team Shift Window, Get Team Shifts By Date"
 )
 @RestController
 @RequestMapping("/api/shifts")
@@ -102,6 +108,95 @@ public class ShiftController {
         return new ResponseEntity<>(createdShift, HttpStatus.CREATED);
     }
 
+    /**
+     * Create many shifts for a manager's team in one request.
+     * <p>
+     * Team membership is checked once for the whole roster and the shifts without conflicts are
+     * inserted together in one transaction. A shift for someone outside the team, with an end
+     * before its start, or overlapping another shift of the employee is reported as a conflict
+     * and skipped instead of failing the request.
+     * <p>
+     * HTTP: POST /api/shifts/manager/{managerId}/roster
+     * Security: Requires MANAGER role.
+     *
+     * @param managerId the unique identifier of the manager creating the roster
+     * @param request   the shifts to create
+     * @return how many shifts were created and the outcome of every requested shift
+     */
+
+    @Operation(
+            summary = "Create Roster REST API",
+            description = "Create many shifts for the manager's team in one request, reporting conflicts per shift"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Roster processed, see the per-shift results for conflicts",
+                    content = @Content(schema = @Schema(implementation = RosterResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PreAuthorize("hasRole('MANAGER')")
+    @PostMapping("/manager/{managerId}/roster")
+    public ResponseEntity<RosterResponseDTO> createRoster(@PathVariable String managerId, @Valid @RequestBody CreateRosterRequestDTO request) {
+        log.info("Invoked the POST: createRoster controller method, managerId={}, shifts={}", managerId, request.shifts().size());
+        RosterResponseDTO roster = shiftService.createRoster(managerId, request);
+        return new ResponseEntity<>(roster, HttpStatus.OK);
+    }
+
+    /**
+     * Copy every shift of a manager's team in one week onto another week.
+     * <p>
+     * The seven days from sourceWeekStart are copied to the same weekday and time of day from
+     * targetWeekStart. Copies that would overlap a shift the employee already has are reported as
+     * conflicts and skipped.
+     * <p>
+     * HTTP: POST /api/shifts/manager/{managerId}/roster/copy-week
+     * Security: Requires MANAGER role.
+     *
+     * @param managerId the unique identifier of the manager copying the roster
+     * @param request   the first day of the week to copy and of the week to copy it to
+     * @return how many shifts were created and the outcome of every requested shift
+     */
+
+    @Operation(
+            summary = "Copy Roster Week REST API",
+            description = "Copy the team's shifts of one week onto another week, reporting conflicts per shift"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Roster processed, see the per-shift results for conflicts",
+                    content = @Content(schema = @Schema(implementation = RosterResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PreAuthorize("hasRole('MANAGER')")
+    @PostMapping("/manager/{managerId}/roster/copy-week")
+    public ResponseEntity<RosterResponseDTO> copyWeek(@PathVariable String managerId, @Valid @RequestBody CopyWeekRequestDTO request) {
+        log.info("Invoked the POST: copyWeek controller method, managerId={}, copyWeekRequestDTO={}", managerId, request);
+        RosterResponseDTO roster = shiftService.copyWeek(managerId, request);
+        return new ResponseEntity<>(roster, HttpStatus.OK);
+    }
+
     /**
      * Retrieve all shift assignments for a specific employee.
      * <p>
@@ -190,6 +285,104 @@ public class ShiftController {
         return new ResponseEntity<>(shifts, HttpStatus.OK);
     }
 
+    /**
+     * Retrieve an employee's shifts in a date window, earliest first, one page at a time.
+     * <p>
+     * HTTP: GET /api/shifts/{employeeId}/window
+     * Security: Requires EMPLOYEE role.
+     *
+     * @param employeeId the unique identifier of the employee
+     * @param from       first day to include (default: today)
+     * @param to         last day to include (default: four weeks from {@code from})
+     * @param cursor     nextCursor from the previous page; omit for the first page
+     * @param size       page size (default shift.window.page-size, at most 200)
+     * @return a page of shifts and the cursor of the next page
+     */
+
+    @Operation(
+            summary = "Get Employee Shift Window REST API",
+            description = "Retrieve a page of an employee's shifts within a date window"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved employee shifts",
+                    content = @Content(schema = @Schema(implementation = ShiftPageDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid employee ID, date range or page cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @GetMapping("/{employeeId}/window")
+    public ResponseEntity<ShiftPageDTO> getEmployeeShiftWindow(
+            @PathVariable String employeeId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "${shift.window.page-size:50}") int size
+    ) {
+        log.info("Invoked the GET: getEmployeeShiftWindow controller method, employeeId={}, from={}, to={}, cursor={}, size={}", employeeId, from, to, cursor, size);
+        ShiftPageDTO shifts = shiftService.getEmployeeShiftWindow(employeeId, from, to, cursor, size);
+        return new ResponseEntity<>(shifts, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve a manager's team shifts in a date window, earliest first, one page at a time.
+     * <p>
+     * HTTP: GET /api/shifts/manager/{managerId}/team-shifts/window
+     * Security: Requires MANAGER role.
+     *
+     * @param managerId the unique identifier of the manager
+     * @param from      first day to include (default: today)
+     * @param to        last day to include (default: four weeks from {@code from})
+     * @param cursor    nextCursor from the previous page; omit for the first page
+     * @param size      page size (default shift.window.page-size, at most 200)
+     * @return a page of the team's shifts and the cursor of the next page
+     */
+
+    @Operation(
+            summary = "Get Team Shift Window REST API",
+            description = "Retrieve a page of the manager's team shifts within a date window"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved team shifts",
+                    content = @Content(schema = @Schema(implementation = ShiftPageDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid date range or page cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PreAuthorize("hasRole('MANAGER')")
+    @GetMapping("/manager/{managerId}/team-shifts/window")
+    public ResponseEntity<ShiftPageDTO> getTeamShiftWindow(
+            @PathVariable String managerId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "${shift.window.page-size:50}") int size
+    ) {
+        log.info("Invoked the GET: getTeamShiftWindow controller method, managerId={}, from={}, to={}, cursor={}, size={}", managerId, from, to, cursor, size);
+        ShiftPageDTO shifts = shiftService.getTeamShiftWindow(managerId, from, to, cursor, size);
+        return new ResponseEntity<>(shifts, HttpStatus.OK);
+    }
+
     /**
      * Retrieve team shift assignments filtered by a specific date.
      * <p>
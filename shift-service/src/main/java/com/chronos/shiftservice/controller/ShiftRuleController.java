@@ -0,0 +1,244 @@
+package com.chronos.shiftservice.controller;
+
+import com.chronos.common.exception.ErrorResponse;
+import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
+import com.chronos.shiftservice.dto.shiftRule.CreateShiftRuleRequestDTO;
+import com.chronos.shiftservice.dto.shiftRule.ShiftRuleResponseDTO;
+import com.chronos.shiftservice.service.impl.ShiftRuleServiceImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller that manages recurring shift rules.
+ * <p>
+ * A rule repeats a shift every week on the given days, until an end date or until further
+ * notice. Its occurrences are not stored; the schedule window and team-by-date reads expand them
+ * on the fly next to the concrete shifts.
+ * <p>
+ * Responsibilities:
+ * - Create recurring shift rules for a manager's team.
+ * - Retrieve the rules of a manager's team.
+ * - End a rule from a given date.
+ * - Turn one occurrence of a rule into a concrete shift, which can then be swapped like any other.
+ * <p>
+ * Base path: /api/shifts/rules
+ * Security: Endpoints are protected and require appropriate roles as noted per method.
+ */
+
+@Tag(
+        name = "Shift Rule CRUD Rest API",
+        description = "REST APIs - Create Shift Rule, Get Team Shift Rules, End Shift Rule, Materialize Shift Rule Occurrence"
+)
+@Slf4j
+@RestController
+@RequestMapping("/api/shifts/rules")
+public class ShiftRuleController {
+    private final ShiftRuleServiceImpl shiftRuleService;
+
+    @Autowired
+    public ShiftRuleController(ShiftRuleServiceImpl shiftRuleService) {
+        this.shiftRuleService = shiftRuleService;
+    }
+
+    /**
+     * Create a recurring shift rule for a member of the manager's team.
+     * <p>
+     * HTTP: POST /api/shifts/rules/manager/{managerId}
+     * Security: Requires MANAGER role.
+     *
+     * @param managerId the unique identifier of the manager creating the rule
+     * @param request   the weekdays, times and validity of the recurring shift
+     * @return the created shift rule
+     */
+
+    @Operation(
+            summary = "Create Shift Rule REST API",
+            description = "Create a shift that repeats every week on the given days for a member of the manager's team"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Successfully created shift rule",
+                    content = @Content(schema = @Schema(implementation = ShiftRuleResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid input data, timing or date range",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not Found - Employee not in the manager's team",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PreAuthorize("hasRole('MANAGER')")
+    @PostMapping("/manager/{managerId}")
+    public ResponseEntity<ShiftRuleResponseDTO> createRule(@PathVariable String managerId, @Valid @RequestBody CreateShiftRuleRequestDTO request) {
+        log.info("Invoked the POST: createRule controller method, managerId:{}, createShiftRuleRequestDTO:{}", managerId, request);
+        ShiftRuleResponseDTO rule = shiftRuleService.createRule(managerId, request);
+        return new ResponseEntity<>(rule, HttpStatus.CREATED);
+    }
+
+    /**
+     * Retrieve the recurring shift rules of a manager's team.
+     * <p>
+     * HTTP: GET /api/shifts/rules/manager/{managerId}
+     * Security: Requires MANAGER role.
+     *
+     * @param managerId the unique identifier of the manager
+     * @return the team's shift rules, oldest first, including ended ones
+     */
+
+    @Operation(
+            summary = "Get Team Shift Rules REST API",
+            description = "Retrieve the recurring shift rules of the manager's team members"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved shift rules",
+                    content = @Content(schema = @Schema(implementation = ShiftRuleResponseDTO[].class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid manager ID",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PreAuthorize("hasRole('MANAGER')")
+    @GetMapping("/manager/{managerId}")
+    public ResponseEntity<List<ShiftRuleResponseDTO>> getTeamRules(@PathVariable String managerId) {
+        log.info("Invoked the GET: getTeamRules controller method, managerId:{}", managerId);
+        List<ShiftRuleResponseDTO> rules = shiftRuleService.getTeamRules(managerId);
+        return new ResponseEntity<>(rules, HttpStatus.OK);
+    }
+
+    /**
+     * End a recurring shift rule.
+     * <p>
+     * HTTP: POST /api/shifts/rules/manager/{managerId}/{ruleId}/end?until=YYYY-MM-DD
+     * Security: Requires MANAGER role.
+     *
+     * @param managerId the unique identifier of the manager
+     * @param ruleId    the unique identifier of the shift rule
+     * @param until     the last day the rule repeats on; the day before it starts withdraws it
+     * @return the updated shift rule
+     */
+
+    @Operation(
+            summary = "End Shift Rule REST API",
+            description = "Stop a recurring shift after the given date; shifts already made from it stay"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully ended shift rule",
+                    content = @Content(schema = @Schema(implementation = ShiftRuleResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid rule ID or date",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not Found - Shift rule not found or not in the manager's team",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PreAuthorize("hasRole('MANAGER')")
+    @PostMapping("/manager/{managerId}/{ruleId}/end")
+    public ResponseEntity<ShiftRuleResponseDTO> endRule(
+            @PathVariable String managerId,
+            @PathVariable String ruleId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate until
+    ) {
+        log.info("Invoked the POST: endRule controller method, managerId:{}, ruleId:{}, until:{}", managerId, ruleId, until);
+        ShiftRuleResponseDTO rule = shiftRuleService.endRule(managerId, ruleId, until);
+        return new ResponseEntity<>(rule, HttpStatus.OK);
+    }
+
+    /**
+     * Turn one occurrence of a recurring shift rule into a concrete shift.
+     * <p>
+     * The new shift replaces the occurrence in every schedule read, and can be swapped like any
+     * other shift.
+     * <p>
+     * HTTP: POST /api/shifts/rules/manager/{managerId}/{ruleId}/occurrences/{date}
+     * Security: Requires MANAGER role.
+     *
+     * @param managerId the unique identifier of the manager
+     * @param ruleId    the unique identifier of the shift rule
+     * @param date      the date of the occurrence
+     * @return the created shift
+     */
+
+    @Operation(
+            summary = "Materialize Shift Rule Occurrence REST API",
+            description = "Create the concrete shift for one occurrence of a recurring shift rule"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Successfully created the shift",
+                    content = @Content(schema = @Schema(implementation = ShiftResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - The rule does not repeat on the date, or the occurrence already has a shift",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not Found - Shift rule not found or not in the manager's team",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PreAuthorize("hasRole('MANAGER')")
+    @PostMapping("/manager/{managerId}/{ruleId}/occurrences/{date}")
+    public ResponseEntity<ShiftResponseDTO> materializeOccurrence(
+            @PathVariable String managerId,
+            @PathVariable String ruleId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        log.info("Invoked the POST: materializeOccurrence controller method, managerId:{}, ruleId:{}, date:{}", managerId, ruleId, date);
+        ShiftResponseDTO shift = shiftRuleService.materializeOccurrence(managerId, ruleId, date);
+        return new ResponseEntity<>(shift, HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,10 @@
+package com.chronos.shiftservice.dto.employee;
+
+import java.util.UUID;
+
+public record EmployeeIdNameDTO(
+        UUID id,
+        String firstName,
+        String lastName
+) {
+}
@@ -0,0 +1,9 @@
+package com.chronos.shiftservice.dto.employee;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EmployeeIdsRequestDTO(
+        List<UUID> employeeIds
+) {
+}
@@ -0,0 +1,17 @@
+package com.chronos.shiftservice.dto.shift;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record CopyWeekRequestDTO(
+        // first day of the week to copy; the seven days from it are copied
+        @NotNull(message = "Source week start is required")
+        LocalDate sourceWeekStart,
+
+        @NotNull(message = "Target week start is required")
+        @FutureOrPresent(message = "Target week must start today or in the future")
+        LocalDate targetWeekStart
+) {
+}
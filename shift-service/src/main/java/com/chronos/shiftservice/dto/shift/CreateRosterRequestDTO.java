@@ -0,0 +1,14 @@
+package com.chronos.shiftservice.dto.shift;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateRosterRequestDTO(
+        @NotEmpty(message = "shifts is required")
+        @Size(max = 500, message = "At most 500 shifts per roster")
+        List<@Valid CreateShiftDateRequestDTO> shifts
+) {
+}
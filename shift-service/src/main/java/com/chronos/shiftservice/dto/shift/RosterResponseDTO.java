@@ -0,0 +1,10 @@
+package com.chronos.shiftservice.dto.shift;
+
+import java.util.List;
+
+public record RosterResponseDTO(
+        int created,
+        int conflicts,
+        List<RosterShiftResultDTO> results
+) {
+}
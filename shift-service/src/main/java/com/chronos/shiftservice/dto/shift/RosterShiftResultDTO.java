@@ -0,0 +1,20 @@
+package com.chronos.shiftservice.dto.shift;
+
+import com.chronos.common.constants.enums.RosterShiftOutcome;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record RosterShiftResultDTO(
+        // position of the shift in the request, or in the copied week
+        int index,
+        UUID employeeId,
+        LocalDate shiftDate,
+        OffsetDateTime shiftStartTime,
+        RosterShiftOutcome outcome,
+        // the created shift's id; null on conflict
+        String shiftId,
+        String error
+) {
+}
@@ -0,0 +1,10 @@
+package com.chronos.shiftservice.dto.shift;
+
+import java.util.List;
+
+public record ShiftPageDTO(
+        List<ShiftResponseDTO> shifts,
+        // pass back as ?cursor= for the next (later) page; null on the last page
+        String nextCursor
+) {
+}
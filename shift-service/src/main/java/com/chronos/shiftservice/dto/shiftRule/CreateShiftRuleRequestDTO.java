@@ -0,0 +1,42 @@
+package com.chronos.shiftservice.dto.shiftRule;
+
+import com.chronos.common.constants.enums.ShiftType;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.UUID;
+
+public record CreateShiftRuleRequestDTO(
+        @NotNull(message = "Employee ID is required")
+        UUID employeeId,
+
+        @NotEmpty(message = "At least one day of the week is required")
+        Set<DayOfWeek> daysOfWeek,
+
+        @NotNull(message = "Shift start time is required")
+        LocalTime startTime,
+
+        @NotNull(message = "Shift end time is required")
+        LocalTime endTime,
+
+        @NotNull(message = "Shift type is required")
+        ShiftType shiftType,
+
+        @NotNull(message = "Shift location is required")
+        @Size(min = 5, max = 50, message = "Shift location must be between 5 and 50 characters")
+        String shiftLocation,
+
+        @NotNull(message = "Valid from date is required")
+        @FutureOrPresent(message = "Valid from date must be today or in the future")
+        LocalDate validFrom,
+
+        // null repeats the shift until the rule is ended
+        LocalDate validUntil
+) {
+}
@@ -0,0 +1,23 @@
+package com.chronos.shiftservice.dto.shiftRule;
+
+import com.chronos.common.constants.enums.ShiftType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.UUID;
+
+public record ShiftRuleResponseDTO(
+        UUID id,
+        String shiftRuleId,
+        UUID employeeId,
+        Set<DayOfWeek> daysOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        ShiftType shiftType,
+        String shiftLocation,
+        LocalDate validFrom,
+        LocalDate validUntil
+) {
+}
@@ -2,6 +2,7 @@ package com.chronos.shiftservice.entity;
 
 import com.chronos.common.constants.enums.ShiftStatus;
 import com.chronos.common.constants.enums.ShiftType;
+import com.chronos.common.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,12 +18,22 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
-@Table(name = "shifts")
+@Table(
+        name = "shifts",
+        // schedule windows seek one employee's range of days; InnoDB appends id, which breaks ties for the cursor
+        indexes = {
+                @Index(name = "idx_shifts_employee_date_start", columnList = "employee_id, shift_date, shift_start_time"),
+                // the overlap index loads its horizon by date
+                @Index(name = "idx_shifts_date", columnList = "shift_date")
+        },
+        // a rule occurrence is replaced by at most one concrete shift
+        uniqueConstraints = @UniqueConstraint(name = "uk_shifts_rule_occurrence", columnNames = {"rule_id", "shift_date"})
+)
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 public class Shift extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -53,6 +64,10 @@ public class Shift extends Auditable {
     @Column(name = "shift_location", length = 100)
     private String shiftLocation;
 
+    // set when this shift replaces the occurrence of a recurring rule on its shift date, and kept through swaps
+    @Column(name = "rule_id", columnDefinition = "BINARY(16)")
+    private UUID ruleId;
+
     // lists
     @OneToMany(mappedBy = "offeringShift", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ShiftSwapRequest> offeringShift;
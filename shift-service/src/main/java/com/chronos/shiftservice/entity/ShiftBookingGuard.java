@@ -0,0 +1,31 @@
+package com.chronos.shiftservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One row per employee that shift bookings lock before checking the overlap index.
+ * <p>
+ * bookings counts the batches booked for the employee on any instance, so an instance can tell
+ * whether another one has booked for the employee since it last looked.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "shift_booking_guards")
+@Entity
+public class ShiftBookingGuard {
+    @Id
+    @Column(name = "employee_id", columnDefinition = "BINARY(16)")
+    private UUID employeeId;
+
+    @Column(name = "bookings", nullable = false)
+    private long bookings;
+}
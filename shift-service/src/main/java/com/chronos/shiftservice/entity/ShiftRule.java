@@ -0,0 +1,62 @@
+package com.chronos.shiftservice.entity;
+
+import com.chronos.common.constants.enums.ShiftType;
+import com.chronos.common.persistence.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * A shift that repeats every week on the given days until valid-until, or indefinitely when it
+ * is null. Occurrences are not stored; they are expanded for whatever window is read.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(
+        name = "shift_rules",
+        indexes = @Index(name = "idx_shift_rules_employee_valid_from", columnList = "employee_id, valid_from")
+)
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class ShiftRule extends Auditable {
+    @Id
+    @UuidV7
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(name = "shift_rule_id", length = 20, nullable = false, unique = true)
+    private String publicId;
+
+    @Column(name = "employee_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID employeeId;
+
+    // bit n set means the rule runs on DayOfWeek.of(n + 1)
+    @Column(name = "days_of_week", nullable = false)
+    private int daysOfWeek;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "shift_type", nullable = false)
+    private ShiftType shiftType;
+
+    @Column(name = "shift_location", length = 100)
+    private String shiftLocation;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    @Column(name = "valid_until")
+    private LocalDate validUntil;
+}
@@ -1,6 +1,7 @@
 package com.chronos.shiftservice.entity;
 
 import com.chronos.common.constants.enums.ShiftSwapRequestStatus;
+import com.chronos.common.persistence.UuidV7;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -21,7 +22,7 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class ShiftSwapRequest extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -1,9 +1,13 @@
 package com.chronos.shiftservice.feign;
 
 import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.shiftservice.dto.employee.EmployeeIdNameDTO;
+import com.chronos.shiftservice.dto.employee.EmployeeIdsRequestDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
@@ -14,4 +18,7 @@ public interface EmployeeClient {
 
     @GetMapping("/teams/manager/{managerId}/team-members")
     List<EmployeeDTO> getTeamMembers(@PathVariable String managerId);
+
+    @PostMapping("/employees/internal/names-by-ids")
+    List<EmployeeIdNameDTO> getEmployeeNamesByIds(@RequestBody EmployeeIdsRequestDTO request);
 }
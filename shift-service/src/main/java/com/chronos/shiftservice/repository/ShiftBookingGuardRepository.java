@@ -0,0 +1,36 @@
+package com.chronos.shiftservice.repository;
+
+import com.chronos.shiftservice.entity.ShiftBookingGuard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ShiftBookingGuardRepository extends JpaRepository<ShiftBookingGuard, UUID> {
+
+    // primary-key lookups, locked in key order so two batches sharing employees queue rather than deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from ShiftBookingGuard g where g.employeeId in :employeeIds order by g.employeeId")
+    List<ShiftBookingGuard> lockAll(@Param("employeeIds") Collection<UUID> employeeIds);
+
+    // a plain insert rather than save(), which would merge over a row another instance just created
+    @Modifying
+    @Query(value = """
+            insert into shift_booking_guards (employee_id, bookings)
+            values (:employeeId, 0)
+            on duplicate key update employee_id = employee_id
+            """, nativeQuery = true)
+    int createIfAbsent(@Param("employeeId") UUID employeeId);
+
+    @Modifying
+    @Query("update ShiftBookingGuard g set g.bookings = g.bookings + 1 where g.employeeId in :employeeIds")
+    int recordBookings(@Param("employeeIds") Collection<UUID> employeeIds);
+}
@@ -3,6 +3,9 @@ package com.chronos.shiftservice.repository;
 
 import com.chronos.shiftservice.entity.Shift;
 import com.chronos.shiftservice.repository.projections.EmployeeShiftView;
+import com.chronos.shiftservice.repository.projections.RuleOverrideView;
+import com.chronos.shiftservice.repository.projections.ShiftIntervalView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -47,6 +51,151 @@ public interface ShiftRepository extends JpaRepository<Shift, UUID> {
     List<Shift> findTeamShiftRowByEmployeeIdsAndDateBetween(@Param("employeeIds") List<UUID> employeeIds, @Param("date") LocalDate date);
 
 
+    @Query("""
+            select s
+            from Shift s
+            where s.employeeId = :employeeId
+            and s.shiftDate between :from and :to
+            order by s.shiftDate asc, s.shiftStartTime asc, s.id asc
+            """)
+    List<Shift> findEmployeeShiftWindowFirstPage(
+            @Param("employeeId") UUID employeeId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Limit limit
+    );
+
+    @Query("""
+            select s
+            from Shift s
+            where s.employeeId = :employeeId
+            and s.shiftDate <= :to
+            and (s.shiftDate > :date
+                 or (s.shiftDate = :date and (s.shiftStartTime > :start or (s.shiftStartTime = :start and s.id > :id))))
+            order by s.shiftDate asc, s.shiftStartTime asc, s.id asc
+            """)
+    List<Shift> findEmployeeShiftWindowAfter(
+            @Param("employeeId") UUID employeeId,
+            @Param("to") LocalDate to,
+            @Param("date") LocalDate date,
+            @Param("start") OffsetDateTime start,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    // one index range per team member, so the rows sorted are the team's shifts in the window, never its history
+    @Query("""
+            select s
+            from Shift s
+            where s.employeeId in :employeeIds
+            and s.shiftDate between :from and :to
+            order by s.shiftDate asc, s.shiftStartTime asc, s.id asc
+            """)
+    List<Shift> findTeamShiftWindowFirstPage(
+            @Param("employeeIds") List<UUID> employeeIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Limit limit
+    );
+
+    @Query("""
+            select s
+            from Shift s
+            where s.employeeId in :employeeIds
+            and s.shiftDate <= :to
+            and (s.shiftDate > :date
+                 or (s.shiftDate = :date and (s.shiftStartTime > :start or (s.shiftStartTime = :start and s.id > :id))))
+            order by s.shiftDate asc, s.shiftStartTime asc, s.id asc
+            """)
+    List<Shift> findTeamShiftWindowAfter(
+            @Param("employeeIds") List<UUID> employeeIds,
+            @Param("to") LocalDate to,
+            @Param("date") LocalDate date,
+            @Param("start") OffsetDateTime start,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    // the concrete shifts standing in for rule occurrences, wherever a swap has moved them
+    @Query("""
+            select s.ruleId as ruleId, s.shiftDate as shiftDate
+            from Shift s
+            where s.ruleId in :ruleIds
+            and s.shiftDate between :from and :to
+            """)
+    List<RuleOverrideView> findRuleOverrides(
+            @Param("ruleIds") Collection<UUID> ruleIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    boolean existsByRuleIdAndShiftDate(UUID ruleId, LocalDate shiftDate);
+
+    @Query("""
+            select
+                s.publicId as shiftId,
+                s.employeeId as employeeId,
+                s.shiftStartTime as shiftStartTime,
+                s.shiftEndTime as shiftEndTime
+            from Shift s
+            where s.shiftDate between :from and :to
+            """)
+    List<ShiftIntervalView> findIntervalsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+            select count(s) > 0
+            from Shift s
+            where s.employeeId = :employeeId
+            and s.shiftStartTime < :end
+            and s.shiftEndTime > :start
+            and s.publicId not in :excluded
+            """)
+    boolean existsOverlapping(
+            @Param("employeeId") UUID employeeId,
+            @Param("start") OffsetDateTime start,
+            @Param("end") OffsetDateTime end,
+            @Param("excluded") Collection<String> excluded
+    );
+
+    // one employee's part of findIntervalsBetween, for reloading them after another instance booked for them
+    @Query("""
+            select
+                s.publicId as shiftId,
+                s.employeeId as employeeId,
+                s.shiftStartTime as shiftStartTime,
+                s.shiftEndTime as shiftEndTime
+            from Shift s
+            where s.employeeId = :employeeId
+            and s.shiftDate between :from and :to
+            """)
+    List<ShiftIntervalView> findEmployeeIntervalsBetween(
+            @Param("employeeId") UUID employeeId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    // one employee's shifts from a date on; a new recurring rule is checked against these past the overlap index's horizon
+    @Query("""
+            select s
+            from Shift s
+            where s.employeeId = :employeeId
+            and s.shiftDate >= :from
+            """)
+    List<Shift> findEmployeeShiftsFrom(@Param("employeeId") UUID employeeId, @Param("from") LocalDate from);
+
+    // bounded by days, so copying a week never reads an employee's whole history
+    @Query("""
+            select s
+            from Shift s
+            where s.employeeId in :employeeIds
+            and s.shiftDate between :from and :to
+            """)
+    List<Shift> findByEmployeeIdsAndShiftDateBetween(
+            @Param("employeeIds") Collection<UUID> employeeIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
     @Query("""
            select
                 s.id as id,
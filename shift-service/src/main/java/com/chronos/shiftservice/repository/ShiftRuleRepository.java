@@ -0,0 +1,37 @@
+package com.chronos.shiftservice.repository;
+
+import com.chronos.shiftservice.entity.ShiftRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ShiftRuleRepository extends JpaRepository<ShiftRule, UUID> {
+
+    @Query("""
+            select r
+            from ShiftRule r
+            where r.employeeId in :employeeIds
+            and r.validFrom <= :to
+            and (r.validUntil is null or r.validUntil >= :from)
+            """)
+    List<ShiftRule> findActiveForEmployees(
+            @Param("employeeIds") Collection<UUID> employeeIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            select r
+            from ShiftRule r
+            where r.employeeId in :employeeIds
+            order by r.validFrom asc, r.id asc
+            """)
+    List<ShiftRule> findByEmployeeIds(@Param("employeeIds") Collection<UUID> employeeIds);
+}
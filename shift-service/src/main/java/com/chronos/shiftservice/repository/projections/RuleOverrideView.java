@@ -0,0 +1,10 @@
+package com.chronos.shiftservice.repository.projections;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface RuleOverrideView {
+    UUID getRuleId();
+
+    LocalDate getShiftDate();
+}
@@ -0,0 +1,14 @@
+package com.chronos.shiftservice.repository.projections;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface ShiftIntervalView {
+    String getShiftId();
+
+    UUID getEmployeeId();
+
+    OffsetDateTime getShiftStartTime();
+
+    OffsetDateTime getShiftEndTime();
+}
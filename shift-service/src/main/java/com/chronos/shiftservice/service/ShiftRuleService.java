@@ -0,0 +1,18 @@
+package com.chronos.shiftservice.service;
+
+import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
+import com.chronos.shiftservice.dto.shiftRule.CreateShiftRuleRequestDTO;
+import com.chronos.shiftservice.dto.shiftRule.ShiftRuleResponseDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ShiftRuleService {
+    ShiftRuleResponseDTO createRule(String managerId, CreateShiftRuleRequestDTO request);
+
+    List<ShiftRuleResponseDTO> getTeamRules(String managerId);
+
+    ShiftRuleResponseDTO endRule(String managerId, String ruleId, LocalDate until);
+
+    ShiftResponseDTO materializeOccurrence(String managerId, String ruleId, LocalDate date);
+}
@@ -1,6 +1,10 @@
 package com.chronos.shiftservice.service;
 
+import com.chronos.shiftservice.dto.shift.CopyWeekRequestDTO;
+import com.chronos.shiftservice.dto.shift.CreateRosterRequestDTO;
 import com.chronos.shiftservice.dto.shift.CreateShiftDateRequestDTO;
+import com.chronos.shiftservice.dto.shift.RosterResponseDTO;
+import com.chronos.shiftservice.dto.shift.ShiftPageDTO;
 import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
 import com.chronos.shiftservice.dto.shift.TeamShiftTableRowDTO;
 
@@ -10,9 +14,17 @@ import java.util.List;
 public interface ShiftService {
     ShiftResponseDTO createShift(CreateShiftDateRequestDTO request, String managerId);
 
+    RosterResponseDTO createRoster(String managerId, CreateRosterRequestDTO request);
+
+    RosterResponseDTO copyWeek(String managerId, CopyWeekRequestDTO request);
+
     List<ShiftResponseDTO> getEmployeeShifts(String employeeId);
 
     List<ShiftResponseDTO> getTeamsShiftByManager(String managerId);
 
+    ShiftPageDTO getEmployeeShiftWindow(String employeeId, LocalDate from, LocalDate to, String cursor, int size);
+
+    ShiftPageDTO getTeamShiftWindow(String managerId, LocalDate from, LocalDate to, String cursor, int size);
+
     List<TeamShiftTableRowDTO> getTeamShiftsByManagerAndDatePicker(String managerId, LocalDate date);
 }
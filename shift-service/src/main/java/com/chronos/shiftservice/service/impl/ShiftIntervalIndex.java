@@ -0,0 +1,431 @@
+package com.chronos.shiftservice.service.impl;
+
+import com.chronos.shiftservice.entity.Shift;
+import com.chronos.shiftservice.entity.ShiftBookingGuard;
+import com.chronos.shiftservice.repository.ShiftBookingGuardRepository;
+import com.chronos.shiftservice.repository.ShiftRepository;
+import com.chronos.shiftservice.repository.projections.ShiftIntervalView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Every employee's booked shifts over the active horizon, in memory, for overlap checks.
+ * <p>
+ * Each employee keeps their shifts ordered by start along with the longest of them, so the
+ * shifts that can overlap [start, end) all start between start minus that length and end: one
+ * ordered seek plus the shifts actually in reach, instead of a query per check. The horizon runs
+ * from look-back before today to horizon after it and is rebuilt from the database on startup
+ * and every rebuild-interval, which also folds in shifts written by other instances.
+ * {@link #isBooked} answers from memory within the horizon and from the database outside it.
+ * <p>
+ * A booking is visible to the next check on this instance straight away, before its transaction
+ * commits, so two requests cannot both take the same slot; it is taken back if the transaction
+ * rolls back. Across instances, a booking first locks each of its employees' {@link ShiftBookingGuard}
+ * rows, once per batch and in key order, until the caller's transaction ends, and counts itself
+ * on them. An instance remembers the count it has seen for each employee; a different count means
+ * another instance booked for them, and only then is that employee reloaded from the database.
+ * The in-memory check stays the authority, and two instances booking for the same employee
+ * queue on the guard row instead of both passing their own checks.
+ */
+@Slf4j
+@Component
+public class ShiftIntervalIndex {
+
+    private final ShiftRepository shiftRepository;
+    private final ShiftBookingGuardRepository guardRepository;
+    private final Period lookBack;
+    private final Period horizon;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // guarded by this; covers no dates until the first rebuild
+    private Intervals intervals = new Intervals(LocalDate.MAX, LocalDate.MIN);
+    // bookings made while a rebuild reads the database, replayed onto its result; null otherwise
+    private List<Change> changedDuringRebuild;
+    // guarded by this; each employee's guard row bookings count that the index reflects
+    private final Map<UUID, Long> knownBookings = new HashMap<>();
+
+    public ShiftIntervalIndex(
+            ShiftRepository shiftRepository,
+            ShiftBookingGuardRepository guardRepository,
+            @Value("${shift.intervals.look-back:P1D}") Period lookBack,
+            @Value("${shift.intervals.horizon:P90D}") Period horizon,
+            MeterRegistry meterRegistry
+    ) {
+        this.shiftRepository = shiftRepository;
+        this.guardRepository = guardRepository;
+        this.lookBack = lookBack;
+        this.horizon = horizon;
+        Gauge.builder("shift.intervals.size", this, ShiftIntervalIndex::size).register(meterRegistry);
+    }
+
+    /**
+     * Books the shifts for the employees now set on them, unless one would overlap another shift
+     * of its employee. The shifts are checked against each other as well, and their own earlier
+     * bookings are left out, so two shifts can trade employees. Must run inside the transaction
+     * that saves the shifts.
+     *
+     * @return whether the shifts were booked; nothing is booked when one of them overlaps
+     */
+    public boolean tryAssign(List<Shift> shifts) {
+        List<Interval> wanted = shifts.stream().map(Interval::of).toList();
+        Set<String> moving = wanted.stream().map(Interval::shiftId).collect(Collectors.toSet());
+        Map<UUID, Long> guards = lockGuards(wanted);
+
+        for (Interval interval : wanted) {
+            if (!covers(interval) && shiftRepository.existsOverlapping(
+                    interval.employeeId(), interval.start().atZone(zone).toOffsetDateTime(), interval.end().atZone(zone).toOffsetDateTime(), moving)) {
+                return false;
+            }
+        }
+
+        List<Change> undo = new ArrayList<>(wanted.size());
+        synchronized (this) {
+            for (int i = 0; i < wanted.size(); i++) {
+                Interval interval = wanted.get(i);
+                if (intervals.overlaps(interval, moving)) {
+                    return false;
+                }
+                for (int j = 0; j < i; j++) {
+                    if (wanted.get(j).overlaps(interval)) {
+                        return false;
+                    }
+                }
+            }
+            for (Interval interval : wanted) {
+                undo.add(new Change(interval.shiftId(), intervals.put(interval)));
+                recordChange(new Change(interval.shiftId(), interval));
+            }
+        }
+        guardRepository.recordBookings(guards.keySet());
+        settleOnCompletion(undo, guards);
+        return true;
+    }
+
+    /**
+     * Books each shift that overlaps no other shift of its employee, including the ones booked
+     * before it in the list, and leaves out the rest. The employees' guard rows are locked once
+     * for the whole list. Must run inside the transaction that saves the shifts.
+     *
+     * @return the ids of the shifts booked
+     */
+    public Set<String> assignEach(List<Shift> shifts) {
+        List<Interval> wanted = shifts.stream().map(Interval::of).toList();
+        Map<UUID, Long> guards = lockGuards(wanted);
+
+        Set<String> bookedInDatabase = new HashSet<>();
+        for (Interval interval : wanted) {
+            if (!covers(interval) && shiftRepository.existsOverlapping(
+                    interval.employeeId(), interval.start().atZone(zone).toOffsetDateTime(), interval.end().atZone(zone).toOffsetDateTime(), Set.of(""))) {
+                bookedInDatabase.add(interval.shiftId());
+            }
+        }
+
+        Set<String> booked = new HashSet<>();
+        Set<UUID> bookedFor = new HashSet<>();
+        List<Change> undo = new ArrayList<>();
+        synchronized (this) {
+            for (Interval interval : wanted) {
+                // shifts outside the horizon are in memory too once booked, so later ones in the list see them
+                if (bookedInDatabase.contains(interval.shiftId()) || intervals.overlaps(interval, Set.of())) {
+                    continue;
+                }
+                undo.add(new Change(interval.shiftId(), intervals.put(interval)));
+                recordChange(new Change(interval.shiftId(), interval));
+                booked.add(interval.shiftId());
+                bookedFor.add(interval.employeeId());
+            }
+        }
+        guards.keySet().retainAll(bookedFor);
+        if (!guards.isEmpty()) {
+            guardRepository.recordBookings(guards.keySet());
+        }
+        settleOnCompletion(undo, guards);
+        return booked;
+    }
+
+    /**
+     * Whether one of the employee's booked shifts overlaps [start, end), without booking anything.
+     */
+    public boolean isBooked(UUID employeeId, OffsetDateTime start, OffsetDateTime end) {
+        Interval interval = new Interval("", employeeId, start.toInstant(), end.toInstant());
+        if (!covers(interval)) {
+            return shiftRepository.existsOverlapping(employeeId, start, end, Set.of(""));
+        }
+        synchronized (this) {
+            return intervals.overlaps(interval, Set.of());
+        }
+    }
+
+    // the last day the index holds once rebuilt; later days are checked in the database
+    public LocalDate horizonEnd() {
+        return LocalDate.now(zone).plus(horizon);
+    }
+
+    @Scheduled(
+            initialDelayString = "${shift.intervals.rebuild-initial-delay:PT0S}",
+            fixedDelayString = "${shift.intervals.rebuild-interval:PT6H}"
+    )
+    public void rebuild() {
+        try {
+            synchronized (this) {
+                changedDuringRebuild = new ArrayList<>();
+            }
+            LocalDate today = LocalDate.now(zone);
+            Intervals rebuilt = new Intervals(today.minus(lookBack), today.plus(horizon));
+            // a day earlier too, for shifts running past midnight into the first day
+            List<ShiftIntervalView> rows = shiftRepository.findIntervalsBetween(rebuilt.from.minusDays(1), rebuilt.through);
+            rows.forEach(r -> rebuilt.put(new Interval(r.getShiftId(), r.getEmployeeId(), r.getShiftStartTime().toInstant(), r.getShiftEndTime().toInstant())));
+
+            synchronized (this) {
+                changedDuringRebuild.forEach(rebuilt::apply);
+                intervals = rebuilt;
+            }
+            log.info("Rebuilt the shift interval index from {} shifts, {} to {}", rows.size(), rebuilt.from, rebuilt.through);
+        } catch (RuntimeException e) {
+            // bookings keep the current index going until the next rebuild
+            log.warn("Failed to rebuild the shift interval index", e);
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return intervals.byShift.size();
+    }
+
+    private synchronized boolean covers(Interval interval) {
+        return !interval.start().atZone(zone).toLocalDate().isBefore(intervals.from)
+                && !interval.end().atZone(zone).toLocalDate().isAfter(intervals.through);
+    }
+
+    /**
+     * Locks the guard rows of the shifts' employees until the caller's transaction ends, and
+     * reloads every employee another instance has booked for since this one last looked.
+     *
+     * @return each employee's bookings count as locked
+     */
+    private Map<UUID, Long> lockGuards(List<Interval> wanted) {
+        List<UUID> employeeIds = wanted.stream().map(Interval::employeeId).distinct().toList();
+        List<UUID> unknown;
+        synchronized (this) {
+            unknown = employeeIds.stream().filter(id -> !knownBookings.containsKey(id)).toList();
+        }
+        // once per employee and instance; BINARY(16) sorts like the hex form, so these go in lockAll's order too
+        unknown.stream().sorted(Comparator.comparing(UUID::toString)).forEach(guardRepository::createIfAbsent);
+
+        Map<UUID, Long> guards = new HashMap<>();
+        for (ShiftBookingGuard guard : guardRepository.lockAll(employeeIds)) {
+            guards.put(guard.getEmployeeId(), guard.getBookings());
+        }
+        guards.forEach((employeeId, bookings) -> {
+            Long known;
+            synchronized (this) {
+                known = knownBookings.get(employeeId);
+            }
+            if (!bookings.equals(known)) {
+                reload(employeeId, bookings);
+            }
+        });
+        return guards;
+    }
+
+    // called holding the employee's guard row, so no other booking for them can commit meanwhile
+    private void reload(UUID employeeId, long bookings) {
+        LocalDate from;
+        LocalDate through;
+        synchronized (this) {
+            from = intervals.from;
+            through = intervals.through;
+        }
+        // before the first rebuild nothing is covered, and every check goes to the database
+        List<Interval> current = from.isAfter(through) ? List.of() : shiftRepository.findEmployeeIntervalsBetween(employeeId, from.minusDays(1), through).stream()
+                .map(r -> new Interval(r.getShiftId(), r.getEmployeeId(), r.getShiftStartTime().toInstant(), r.getShiftEndTime().toInstant()))
+                .toList();
+        synchronized (this) {
+            intervals.replace(employeeId, current).forEach(this::recordChange);
+            knownBookings.put(employeeId, bookings);
+        }
+    }
+
+    private void settleOnCompletion(List<Change> undo, Map<UUID, Long> guards) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            booked(guards);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    booked(guards);
+                    return;
+                }
+                // the guard rows' counts rolled back too, so the known counts still hold
+                synchronized (ShiftIntervalIndex.this) {
+                    undo.reversed().forEach(change -> {
+                        intervals.apply(change);
+                        recordChange(change);
+                    });
+                }
+            }
+        });
+    }
+
+    private synchronized void booked(Map<UUID, Long> guards) {
+        guards.forEach((employeeId, bookings) -> knownBookings.put(employeeId, bookings + 1));
+    }
+
+    // called holding the lock
+    private void recordChange(Change change) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(change);
+        }
+    }
+
+    /**
+     * A shift booked for an employee from start (inclusive) to end (exclusive).
+     */
+    record Interval(String shiftId, UUID employeeId, Instant start, Instant end) {
+        static Interval of(Shift shift) {
+            return new Interval(shift.getPublicId(), shift.getEmployeeId(), shift.getShiftStartTime().toInstant(), shift.getShiftEndTime().toInstant());
+        }
+
+        boolean overlaps(Interval other) {
+            return employeeId.equals(other.employeeId) && start.isBefore(other.end) && other.start.isBefore(end);
+        }
+    }
+
+    // the shift's interval from now on, or null once it is gone
+    private record Change(String shiftId, Interval interval) {
+    }
+
+    private static final class Intervals {
+        private final LocalDate from;
+        private final LocalDate through;
+        private final Map<UUID, EmployeeIntervals> byEmployee = new HashMap<>();
+        private final Map<String, Interval> byShift = new HashMap<>();
+
+        private Intervals(LocalDate from, LocalDate through) {
+            this.from = from;
+            this.through = through;
+        }
+
+        // returns the shift's previous interval, if any
+        Interval put(Interval interval) {
+            Interval previous = remove(interval.shiftId());
+            byShift.put(interval.shiftId(), interval);
+            byEmployee.computeIfAbsent(interval.employeeId(), id -> new EmployeeIntervals()).add(interval);
+            return previous;
+        }
+
+        Interval remove(String shiftId) {
+            Interval previous = byShift.remove(shiftId);
+            if (previous != null) {
+                EmployeeIntervals employee = byEmployee.get(previous.employeeId());
+                employee.remove(previous);
+                if (employee.isEmpty()) {
+                    byEmployee.remove(previous.employeeId());
+                }
+            }
+            return previous;
+        }
+
+        // the employee's intervals from now on; returns the changes made
+        List<Change> replace(UUID employeeId, List<Interval> current) {
+            List<Change> changes = new ArrayList<>();
+            EmployeeIntervals employee = byEmployee.get(employeeId);
+            if (employee != null) {
+                List.copyOf(employee.byStart).forEach(previous -> {
+                    remove(previous.shiftId());
+                    changes.add(new Change(previous.shiftId(), null));
+                });
+            }
+            current.forEach(interval -> {
+                put(interval);
+                changes.add(new Change(interval.shiftId(), interval));
+            });
+            return changes;
+        }
+
+        void apply(Change change) {
+            if (change.interval() == null) {
+                remove(change.shiftId());
+            } else {
+                put(change.interval());
+            }
+        }
+
+        boolean overlaps(Interval interval, Set<String> ignoring) {
+            EmployeeIntervals employee = byEmployee.get(interval.employeeId());
+            return employee != null && employee.overlaps(interval, ignoring);
+        }
+    }
+
+    private static final class EmployeeIntervals {
+        private static final Comparator<Interval> BY_START = Comparator.comparing(Interval::start).thenComparing(Interval::shiftId);
+
+        private final TreeSet<Interval> byStart = new TreeSet<>(BY_START);
+        // only grows until the next rebuild, which at worst widens the seek
+        private Duration longest = Duration.ZERO;
+
+        void add(Interval interval) {
+            byStart.add(interval);
+            Duration length = Duration.between(interval.start(), interval.end());
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        }
+
+        void remove(Interval interval) {
+            byStart.remove(interval);
+        }
+
+        boolean isEmpty() {
+            return byStart.isEmpty();
+        }
+
+        boolean overlaps(Interval interval, Set<String> ignoring) {
+            if (interval.end().isBefore(interval.start())) {
+                return false;
+            }
+            // anything starting earlier than this has ended by the interval's start
+            Interval low = probe(interval.start().minus(longest));
+            Interval high = probe(interval.end());
+            for (Interval other : byStart.subSet(low, true, high, false)) {
+                if (other.end().isAfter(interval.start()) && !ignoring.contains(other.shiftId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // sorts before every shift starting at the same instant
+        private static Interval probe(Instant at) {
+            return new Interval("", null, at, at);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.chronos.shiftservice.service.impl;
+
+import com.chronos.common.constants.enums.ShiftStatus;
+import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
+import com.chronos.shiftservice.entity.Shift;
+import com.chronos.shiftservice.entity.ShiftRule;
+import com.chronos.shiftservice.repository.ShiftRepository;
+import com.chronos.shiftservice.repository.ShiftRuleRepository;
+import com.chronos.shiftservice.repository.projections.RuleOverrideView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Expands recurring shift rules into their occurrences for a date window.
+ * <p>
+ * Occurrences are expanded per employee and week and kept in a bounded LRU cache, so a schedule
+ * read only queries the rules of weeks it has not seen recently, once per read, and employees
+ * without rules are cached as empty weeks. Concrete shifts that replace an occurrence carry its
+ * rule id and date, even after a swap has moved them to someone else; they are looked up on every
+ * read and never cached. Rule changes made here drop the employee's weeks at once, and entries
+ * expire after ttl so changes made through another instance show up as well.
+ * <p>
+ * Occurrences get a stable id derived from the rule and date, and the rule's public id as their
+ * shift id. They sort in schedule order: date, start time, then id as unsigned bytes, which is
+ * how MySQL orders the BINARY(16) ids of stored shifts, so they merge into keyset pages.
+ */
+@Slf4j
+@Component
+public class ShiftRuleExpander {
+
+    public static final Comparator<ShiftResponseDTO> SCHEDULE_ORDER = Comparator
+            .comparing(ShiftResponseDTO::shiftDate)
+            .thenComparing(ShiftResponseDTO::shiftStartTime, OffsetDateTime.timeLineOrder())
+            .thenComparing(ShiftResponseDTO::id, ShiftRuleExpander::compareUnsigned);
+
+    private final ShiftRuleRepository shiftRuleRepository;
+    private final ShiftRepository shiftRepository;
+    private final int maxWeeks;
+    private final long ttlNanos;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // access-ordered so the least recently read week is dropped first; guarded by this
+    private final LinkedHashMap<WeekKey, CachedWeek> weeks = new LinkedHashMap<>(16, 0.75f, true);
+
+    // bumped on every invalidation so a week expanded before it is not stored after it
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evicted;
+
+    public ShiftRuleExpander(
+            ShiftRuleRepository shiftRuleRepository,
+            ShiftRepository shiftRepository,
+            @Value("${shift.rules.cache.max-weeks:50000}") int maxWeeks,
+            @Value("${shift.rules.cache.ttl:PT10M}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.shiftRuleRepository = shiftRuleRepository;
+        this.shiftRepository = shiftRepository;
+        this.maxWeeks = maxWeeks;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = Counter.builder("shift.rules.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("shift.rules.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evicted = Counter.builder("shift.rules.cache.evictions").register(meterRegistry);
+        Gauge.builder("shift.rules.cache.size", this, ShiftRuleExpander::size).register(meterRegistry);
+    }
+
+    /**
+     * Every occurrence of the employees' rules between from and to that no concrete shift replaces.
+     */
+    public List<RuleOccurrence> expand(Collection<UUID> employeeIds, LocalDate from, LocalDate to) {
+        return expand(employeeIds, from, to, shift -> true, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #expand(Collection, LocalDate, LocalDate)}, keeping only occurrences that pass
+     * keep and stopping after the week in which limit of them were found. Later weeks only hold
+     * later occurrences, so the first limit of the result are the first limit of the window.
+     */
+    public List<RuleOccurrence> expand(Collection<UUID> employeeIds, LocalDate from, LocalDate to, Predicate<ShiftResponseDTO> keep, int limit) {
+        List<RuleOccurrence> result = new ArrayList<>();
+        if (employeeIds.isEmpty() || to.isBefore(from)) {
+            return result;
+        }
+
+        // read once, on the first week missing from the cache, for every week left in the window
+        Map<UUID, List<ShiftRule>> rules = null;
+        long loadedAt = 0;
+        LocalDate week = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        while (!week.isAfter(to) && result.size() < limit) {
+            // whole weeks until there are enough candidates, then one query for the replaced ones
+            List<RuleOccurrence> candidates = new ArrayList<>();
+            while (!week.isAfter(to) && candidates.size() < limit - result.size()) {
+                for (UUID employeeId : employeeIds) {
+                    List<RuleOccurrence> occurrences = cached(employeeId, week);
+                    if (occurrences == null) {
+                        if (rules == null) {
+                            loadedAt = generation();
+                            rules = shiftRuleRepository.findActiveForEmployees(employeeIds, week, to).stream()
+                                    .collect(Collectors.groupingBy(ShiftRule::getEmployeeId));
+                            log.debug("Loaded shift rules of {} employees from {} to {}", employeeIds.size(), week, to);
+                        }
+                        occurrences = expandWeek(rules.getOrDefault(employeeId, List.of()), week);
+                        store(employeeId, week, occurrences, loadedAt);
+                    }
+                    for (RuleOccurrence occurrence : occurrences) {
+                        LocalDate date = occurrence.shift().shiftDate();
+                        if (!date.isBefore(from) && !date.isAfter(to) && keep.test(occurrence.shift())) {
+                            candidates.add(occurrence);
+                        }
+                    }
+                }
+                week = week.plusWeeks(1);
+            }
+            result.addAll(withoutOverrides(candidates));
+        }
+        result.sort(Comparator.comparing(RuleOccurrence::shift, SCHEDULE_ORDER));
+        return result;
+    }
+
+    /**
+     * The occurrence of the rule on the given date, whether or not a concrete shift replaces it.
+     */
+    public ShiftResponseDTO occurrence(ShiftRule rule, LocalDate date) {
+        return new ShiftResponseDTO(
+                UUID.nameUUIDFromBytes((rule.getId() + "/" + date).getBytes(StandardCharsets.UTF_8)),
+                rule.getPublicId(),
+                date,
+                date.atTime(rule.getStartTime()).atZone(zone).toOffsetDateTime(),
+                date.atTime(rule.getEndTime()).atZone(zone).toOffsetDateTime(),
+                ShiftStatus.CONFIRMED,
+                rule.getShiftType(),
+                rule.getShiftLocation()
+        );
+    }
+
+    public static boolean repeatsOn(ShiftRule rule, LocalDate date) {
+        return !date.isBefore(rule.getValidFrom())
+                && (rule.getValidUntil() == null || !date.isAfter(rule.getValidUntil()))
+                && (rule.getDaysOfWeek() & 1 << date.getDayOfWeek().ordinal()) != 0;
+    }
+
+    public synchronized void invalidate(UUID employeeId) {
+        generation++;
+        weeks.keySet().removeIf(key -> key.employeeId().equals(employeeId));
+    }
+
+    public synchronized int size() {
+        return weeks.size();
+    }
+
+    private List<RuleOccurrence> expandWeek(List<ShiftRule> rules, LocalDate week) {
+        if (rules.isEmpty()) {
+            return List.of();
+        }
+        List<RuleOccurrence> occurrences = new ArrayList<>();
+        for (ShiftRule rule : rules) {
+            for (LocalDate date = week; date.isBefore(week.plusWeeks(1)); date = date.plusDays(1)) {
+                if (repeatsOn(rule, date)) {
+                    occurrences.add(new RuleOccurrence(rule.getId(), rule.getEmployeeId(), occurrence(rule, date)));
+                }
+            }
+        }
+        return List.copyOf(occurrences);
+    }
+
+    private List<RuleOccurrence> withoutOverrides(List<RuleOccurrence> candidates) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<UUID> ruleIds = new HashSet<>();
+        LocalDate first = LocalDate.MAX;
+        LocalDate last = LocalDate.MIN;
+        for (RuleOccurrence candidate : candidates) {
+            ruleIds.add(candidate.ruleId());
+            first = candidate.shift().shiftDate().isBefore(first) ? candidate.shift().shiftDate() : first;
+            last = candidate.shift().shiftDate().isAfter(last) ? candidate.shift().shiftDate() : last;
+        }
+
+        List<RuleOverrideView> overrides = shiftRepository.findRuleOverrides(ruleIds, first, last);
+        if (overrides.isEmpty()) {
+            return candidates;
+        }
+        Set<OccurrenceKey> replaced = overrides.stream()
+                .map(o -> new OccurrenceKey(o.getRuleId(), o.getShiftDate()))
+                .collect(Collectors.toSet());
+        return candidates.stream()
+                .filter(c -> !replaced.contains(new OccurrenceKey(c.ruleId(), c.shift().shiftDate())))
+                .toList();
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized List<RuleOccurrence> cached(UUID employeeId, LocalDate week) {
+        WeekKey key = new WeekKey(employeeId, week);
+        CachedWeek cached = weeks.get(key);
+        if (cached != null && System.nanoTime() - cached.expiresAt() > 0) {
+            weeks.remove(key);
+            cached = null;
+        }
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.occurrences();
+    }
+
+    private synchronized void store(UUID employeeId, LocalDate week, List<RuleOccurrence> occurrences, long loadedAt) {
+        if (loadedAt != generation) {
+            return;
+        }
+        weeks.put(new WeekKey(employeeId, week), new CachedWeek(occurrences, System.nanoTime() + ttlNanos));
+        while (weeks.size() > maxWeeks) {
+            Iterator<WeekKey> eldest = weeks.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evicted.increment();
+        }
+    }
+
+    // the byte order of the BINARY(16) column
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    public record RuleOccurrence(UUID ruleId, UUID employeeId, ShiftResponseDTO shift) {
+        // the concrete shift replacing this occurrence does not clash with it
+        public boolean overlaps(Shift other) {
+            return employeeId.equals(other.getEmployeeId())
+                    && !(ruleId.equals(other.getRuleId()) && shift.shiftDate().equals(other.getShiftDate()))
+                    && shift.shiftStartTime().isBefore(other.getShiftEndTime())
+                    && other.getShiftStartTime().isBefore(shift.shiftEndTime());
+        }
+    }
+
+    private record WeekKey(UUID employeeId, LocalDate week) {
+    }
+
+    private record CachedWeek(List<RuleOccurrence> occurrences, long expiresAt) {
+    }
+
+    private record OccurrenceKey(UUID ruleId, LocalDate date) {
+    }
+}
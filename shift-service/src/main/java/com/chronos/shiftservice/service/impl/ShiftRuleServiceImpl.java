@@ -0,0 +1,245 @@
+package com.chronos.shiftservice.service.impl;
+
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.constants.UuidErrorConstants;
+import com.chronos.common.constants.enums.IdPrefix;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.InvalidDateException;
+import com.chronos.common.exception.custom.ResourceNotFoundException;
+import com.chronos.common.util.PublicIdGenerator;
+import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
+import com.chronos.shiftservice.dto.shiftRule.CreateShiftRuleRequestDTO;
+import com.chronos.shiftservice.dto.shiftRule.ShiftRuleResponseDTO;
+import com.chronos.shiftservice.entity.Shift;
+import com.chronos.shiftservice.entity.ShiftRule;
+import com.chronos.shiftservice.feign.EmployeeClient;
+import com.chronos.shiftservice.repository.ShiftRepository;
+import com.chronos.shiftservice.repository.ShiftRuleRepository;
+import com.chronos.shiftservice.service.ShiftRuleService;
+import com.chronos.shiftservice.utils.mappers.ShiftMapper;
+import com.chronos.shiftservice.utils.mappers.ShiftRuleMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.chronos.common.util.ParseUUID.parseUUID;
+
+@Slf4j
+@Service
+public class ShiftRuleServiceImpl implements ShiftRuleService {
+    private final ShiftRuleRepository shiftRuleRepository;
+    private final ShiftRepository shiftRepository;
+    private final EmployeeClient employeeClient;
+    private final ShiftRuleExpander shiftRuleExpander;
+    private final ShiftIntervalIndex shiftIntervalIndex;
+
+    @Autowired
+    public ShiftRuleServiceImpl(
+            ShiftRuleRepository shiftRuleRepository,
+            ShiftRepository shiftRepository,
+            EmployeeClient employeeClient,
+            ShiftRuleExpander shiftRuleExpander,
+            ShiftIntervalIndex shiftIntervalIndex
+    ) {
+        this.shiftRuleRepository = shiftRuleRepository;
+        this.shiftRepository = shiftRepository;
+        this.employeeClient = employeeClient;
+        this.shiftRuleExpander = shiftRuleExpander;
+        this.shiftIntervalIndex = shiftIntervalIndex;
+    }
+
+    @Override
+    @Transactional
+    public ShiftRuleResponseDTO createRule(String managerId, CreateShiftRuleRequestDTO request) {
+        log.info("Invoked the createRule service method, managerId:{}, request:{}", managerId, request);
+        if (!teamMemberIds(managerId).contains(request.employeeId())) {
+            throw new ResourceNotFoundException(ErrorConstants.EMPLOYEE_NOT_IN_MANAGER_TEAM);
+        }
+        if (request.endTime().isBefore(request.startTime())) {
+            throw new IllegalArgumentException(ErrorConstants.INVALID_SHIFT_TIMING);
+        }
+        if (request.validUntil() != null && request.validUntil().isBefore(request.validFrom())) {
+            throw new InvalidDateException(ErrorConstants.INVALID_DATE_RANGE);
+        }
+
+        ShiftRule rule = new ShiftRule();
+        rule.setPublicId(PublicIdGenerator.generate(IdPrefix.SHIFT_RULE));
+        rule.setEmployeeId(request.employeeId());
+        rule.setDaysOfWeek(ShiftRuleMapper.daysMask(request.daysOfWeek()));
+        rule.setStartTime(request.startTime());
+        rule.setEndTime(request.endTime());
+        rule.setShiftType(request.shiftType());
+        rule.setShiftLocation(request.shiftLocation());
+        rule.setValidFrom(request.validFrom());
+        rule.setValidUntil(request.validUntil());
+        if (clashesWithBookings(rule)) {
+            throw new IllegalArgumentException(ErrorConstants.SHIFT_RULE_OVERLAPS_EXISTING);
+        }
+
+        ShiftRule saved = shiftRuleRepository.save(rule);
+        invalidateAfterCommit(saved.getEmployeeId());
+        log.info("Created shift rule {} for employeeId:{}", saved.getPublicId(), saved.getEmployeeId());
+        return ShiftRuleMapper.shiftRuleEntityToDto(saved);
+    }
+
+    @Override
+    public List<ShiftRuleResponseDTO> getTeamRules(String managerId) {
+        log.info("Invoked the getTeamRules service method, managerId:{}", managerId);
+        Set<UUID> team = teamMemberIds(managerId);
+        if (team.isEmpty()) {
+            return List.of();
+        }
+        return shiftRuleRepository.findByEmployeeIds(team).stream()
+                .map(ShiftRuleMapper::shiftRuleEntityToDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public ShiftRuleResponseDTO endRule(String managerId, String ruleId, LocalDate until) {
+        log.info("Invoked the endRule service method, managerId:{}, ruleId:{}, until:{}", managerId, ruleId, until);
+        ShiftRule rule = teamRule(managerId, ruleId);
+        // ending the day before it starts withdraws a rule that has not started yet
+        if (until.isBefore(rule.getValidFrom().minusDays(1))) {
+            throw new InvalidDateException(ErrorConstants.INVALID_DATE_RANGE);
+        }
+
+        // shifts already made from its occurrences are concrete now and stay
+        rule.setValidUntil(until);
+        ShiftRule saved = shiftRuleRepository.save(rule);
+        invalidateAfterCommit(saved.getEmployeeId());
+        return ShiftRuleMapper.shiftRuleEntityToDto(saved);
+    }
+
+    @Override
+    @Transactional
+    public ShiftResponseDTO materializeOccurrence(String managerId, String ruleId, LocalDate date) {
+        log.info("Invoked the materializeOccurrence service method, managerId:{}, ruleId:{}, date:{}", managerId, ruleId, date);
+        ShiftRule rule = teamRule(managerId, ruleId);
+        if (!ShiftRuleExpander.repeatsOn(rule, date)) {
+            throw new IllegalArgumentException(ErrorConstants.SHIFT_RULE_NO_OCCURRENCE);
+        }
+        if (shiftRepository.existsByRuleIdAndShiftDate(rule.getId(), date)) {
+            throw new IllegalStateException(ErrorConstants.SHIFT_RULE_OCCURRENCE_EXISTS);
+        }
+
+        ShiftResponseDTO occurrence = shiftRuleExpander.occurrence(rule, date);
+        Shift shift = new Shift();
+        shift.setPublicId(PublicIdGenerator.generate(IdPrefix.SHIFT));
+        shift.setEmployeeId(rule.getEmployeeId());
+        shift.setShiftDate(date);
+        shift.setShiftStartTime(occurrence.shiftStartTime());
+        shift.setShiftEndTime(occurrence.shiftEndTime());
+        shift.setShiftType(rule.getShiftType());
+        shift.setShiftStatus(occurrence.shiftStatus());
+        shift.setShiftLocation(rule.getShiftLocation());
+        // hides the occurrence from schedule reads from now on
+        shift.setRuleId(rule.getId());
+        // the employee's other rules may repeat on the same day
+        boolean clashesWithRule = shiftRuleExpander.expand(List.of(rule.getEmployeeId()), date, date)
+                .stream()
+                .anyMatch(o -> o.overlaps(shift));
+        if (clashesWithRule || !shiftIntervalIndex.tryAssign(List.of(shift))) {
+            throw new IllegalArgumentException(ErrorConstants.SHIFT_OVERLAPS_EXISTING);
+        }
+
+        Shift saved = shiftRepository.save(shift);
+        log.info("Materialized shift rule {} on {} as shift {}", rule.getPublicId(), date, saved.getPublicId());
+        return ShiftMapper.shiftEntityToDto(saved);
+    }
+
+    /**
+     * Whether an occurrence of the rule from today on would overlap one of the employee's other
+     * rules or shifts. Shifts are looked up in {@link ShiftIntervalIndex} over its horizon and with
+     * one query past it. Occurrences before today are history and are not checked.
+     */
+    private boolean clashesWithBookings(ShiftRule rule) {
+        LocalDate today = LocalDate.now(ZoneId.systemDefault());
+        for (ShiftRule other : shiftRuleRepository.findByEmployeeIds(List.of(rule.getEmployeeId()))) {
+            if (!other.getId().equals(rule.getId()) && clashes(rule, other, today)) {
+                return true;
+            }
+        }
+
+        LocalDate horizonEnd = shiftIntervalIndex.horizonEnd();
+        LocalDate through = rule.getValidUntil() != null && rule.getValidUntil().isBefore(horizonEnd) ? rule.getValidUntil() : horizonEnd;
+        for (LocalDate date = later(rule.getValidFrom(), today); !date.isAfter(through); date = date.plusDays(1)) {
+            if (ShiftRuleExpander.repeatsOn(rule, date)) {
+                ShiftResponseDTO occurrence = shiftRuleExpander.occurrence(rule, date);
+                if (shiftIntervalIndex.isBooked(rule.getEmployeeId(), occurrence.shiftStartTime(), occurrence.shiftEndTime())) {
+                    return true;
+                }
+            }
+        }
+
+        if (rule.getValidUntil() != null && !rule.getValidUntil().isAfter(horizonEnd)) {
+            return false;
+        }
+        return shiftRepository.findEmployeeShiftsFrom(rule.getEmployeeId(), later(rule.getValidFrom(), horizonEnd.plusDays(1))).stream()
+                .filter(s -> ShiftRuleExpander.repeatsOn(rule, s.getShiftDate()))
+                .anyMatch(s -> {
+                    ShiftResponseDTO occurrence = shiftRuleExpander.occurrence(rule, s.getShiftDate());
+                    return occurrence.shiftStartTime().isBefore(s.getShiftEndTime()) && s.getShiftStartTime().isBefore(occurrence.shiftEndTime());
+                });
+    }
+
+    // any weekday two rules share comes round within a week of the start of their common range
+    private static boolean clashes(ShiftRule a, ShiftRule b, LocalDate today) {
+        if (!a.getStartTime().isBefore(b.getEndTime()) || !b.getStartTime().isBefore(a.getEndTime())) {
+            return false;
+        }
+        LocalDate from = later(later(a.getValidFrom(), b.getValidFrom()), today);
+        for (LocalDate date = from; date.isBefore(from.plusWeeks(1)); date = date.plusDays(1)) {
+            if (ShiftRuleExpander.repeatsOn(a, date) && ShiftRuleExpander.repeatsOn(b, date)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private ShiftRule teamRule(String managerId, String ruleId) {
+        UUID id = parseUUID(ruleId, UuidErrorConstants.INVALID_SHIFT_RULE_ID);
+        ShiftRule rule = shiftRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.SHIFT_RULE_NOT_FOUND));
+        if (!teamMemberIds(managerId).contains(rule.getEmployeeId())) {
+            throw new ResourceNotFoundException(ErrorConstants.EMPLOYEE_NOT_IN_MANAGER_TEAM);
+        }
+        return rule;
+    }
+
+    private Set<UUID> teamMemberIds(String managerId) {
+        return employeeClient.getTeamMembers(managerId).stream()
+                .map(EmployeeDTO::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private void invalidateAfterCommit(UUID employeeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            shiftRuleExpander.invalidate(employeeId);
+            return;
+        }
+        // dropped before commit, a concurrent read could cache the old rules again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                shiftRuleExpander.invalidate(employeeId);
+            }
+        });
+    }
+}
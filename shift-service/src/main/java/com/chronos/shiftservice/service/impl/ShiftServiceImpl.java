@@ -1,14 +1,24 @@
 package com.chronos.shiftservice.service.impl;
 
-import com.aventrix.jnanoid.jnanoid.NanoIdUtils;
 import com.chronos.common.constants.ErrorConstants;
 import com.chronos.common.constants.UuidErrorConstants;
+import com.chronos.common.constants.enums.IdPrefix;
+import com.chronos.common.constants.enums.RosterShiftOutcome;
 import com.chronos.common.constants.enums.ShiftStatus;
+import com.chronos.common.constants.enums.ShiftType;
 import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.InvalidCursorException;
+import com.chronos.common.exception.custom.InvalidDateException;
 import com.chronos.common.exception.custom.ResourceNotFoundException;
 import com.chronos.common.exception.custom.ShiftNotFoundException;
-import com.chronos.common.util.NanoIdGenerator;
+import com.chronos.common.util.PageCursor;
+import com.chronos.common.util.PublicIdGenerator;
+import com.chronos.shiftservice.dto.shift.CopyWeekRequestDTO;
+import com.chronos.shiftservice.dto.shift.CreateRosterRequestDTO;
 import com.chronos.shiftservice.dto.shift.CreateShiftDateRequestDTO;
+import com.chronos.shiftservice.dto.shift.RosterResponseDTO;
+import com.chronos.shiftservice.dto.shift.RosterShiftResultDTO;
+import com.chronos.shiftservice.dto.shift.ShiftPageDTO;
 import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
 import com.chronos.shiftservice.dto.shift.TeamShiftTableRowDTO;
 import com.chronos.shiftservice.entity.Shift;
@@ -19,12 +29,14 @@ import com.chronos.shiftservice.utils.mappers.ShiftMapper;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -34,17 +46,26 @@ import static com.chronos.common.util.ParseUUID.parseUUID;
 @Slf4j
 @Service
 public class ShiftServiceImpl implements ShiftService {
+    public static final int MAX_WINDOW_PAGE_SIZE = 200;
+    // a schedule screen shows four weeks unless asked for another range
+    public static final int DEFAULT_WINDOW_DAYS = 28;
+
     private final ShiftRepository shiftRepository;
     private final EmployeeClient employeeClient;
+    private final ShiftRuleExpander shiftRuleExpander;
+    private final ShiftIntervalIndex shiftIntervalIndex;
 
     @Autowired
     public ShiftServiceImpl(
             ShiftRepository shiftRepository,
-            EmployeeClient employeeClient
-
+            EmployeeClient employeeClient,
+            ShiftRuleExpander shiftRuleExpander,
+            ShiftIntervalIndex shiftIntervalIndex
     ) {
         this.shiftRepository = shiftRepository;
         this.employeeClient = employeeClient;
+        this.shiftRuleExpander = shiftRuleExpander;
+        this.shiftIntervalIndex = shiftIntervalIndex;
     }
 
     @Override
@@ -71,14 +92,8 @@ public class ShiftServiceImpl implements ShiftService {
 
         Shift shift = new Shift();
 
-        int shiftIdLength = 10;
-        String nanoId = NanoIdUtils.randomNanoId(
-                NanoIdGenerator.DEFAULT_NUMBER_GENERATOR,
-                NanoIdGenerator.DEFAULT_ALPHABET,
-                shiftIdLength
-        );
 
-        shift.setPublicId("SH-" + nanoId);
+        shift.setPublicId(PublicIdGenerator.generate(IdPrefix.SHIFT));
         shift.setEmployeeId(shiftDTO.employeeId());
         shift.setShiftDate(shiftDTO.shiftDate());
         shift.setShiftStartTime(shiftStart);
@@ -87,6 +102,14 @@ public class ShiftServiceImpl implements ShiftService {
         shift.setShiftStatus(ShiftStatus.CONFIRMED);
         shift.setShiftLocation(shiftDTO.shiftLocation());
 
+        // recurring shifts count as booked too, unless a concrete shift already replaced them
+        boolean clashesWithRule = shiftRuleExpander.expand(List.of(empID), shiftDTO.shiftDate().minusDays(1), shiftDTO.shiftDate().plusDays(1))
+                .stream()
+                .anyMatch(o -> o.overlaps(shift));
+        if (clashesWithRule || !shiftIntervalIndex.tryAssign(List.of(shift))) {
+            throw new IllegalArgumentException(ErrorConstants.SHIFT_OVERLAPS_EXISTING);
+        }
+
         Shift savedShift = shiftRepository.save(shift);
 
         log.info("Created new shift with publicId:{}", savedShift.getPublicId());
@@ -94,6 +117,49 @@ public class ShiftServiceImpl implements ShiftService {
         return ShiftMapper.shiftEntityToDto(savedShift);
     }
 
+    @Override
+    @Transactional
+    public RosterResponseDTO createRoster(String managerId, CreateRosterRequestDTO request) {
+        log.info("Invoked the createRoster service method, managerId:{}, shifts:{}", managerId, request.shifts().size());
+        ZoneId zone = ZoneId.systemDefault();
+        List<Shift> shifts = request.shifts().stream().map(r -> newShift(
+                r.employeeId(),
+                r.shiftDate(),
+                r.shiftDate().atTime(r.shiftStartTime()).atZone(zone).toOffsetDateTime(),
+                r.shiftDate().atTime(r.shiftEndTime()).atZone(zone).toOffsetDateTime(),
+                r.shiftType(),
+                r.shiftLocation()
+        )).toList();
+        return saveRoster(teamMemberIds(managerId), shifts);
+    }
+
+    @Override
+    @Transactional
+    public RosterResponseDTO copyWeek(String managerId, CopyWeekRequestDTO request) {
+        log.info("Invoked the copyWeek service method, managerId:{}, request:{}", managerId, request);
+        Set<UUID> team = teamMemberIds(managerId);
+        if (team.isEmpty()) {
+            return new RosterResponseDTO(0, 0, List.of());
+        }
+
+        LocalDate sourceStart = request.sourceWeekStart();
+        long days = ChronoUnit.DAYS.between(sourceStart, request.targetWeekStart());
+        ZoneId zone = ZoneId.systemDefault();
+        List<Shift> copies = shiftRepository.findByEmployeeIdsAndShiftDateBetween(team, sourceStart, sourceStart.plusDays(6)).stream()
+                .sorted(Comparator.comparing(Shift::getShiftStartTime))
+                // moved by wall-clock time, so a 09:00 shift stays at 09:00 across a daylight saving change
+                .map(s -> newShift(
+                        s.getEmployeeId(),
+                        s.getShiftDate().plusDays(days),
+                        s.getShiftStartTime().atZoneSameInstant(zone).plusDays(days).toOffsetDateTime(),
+                        s.getShiftEndTime().atZoneSameInstant(zone).plusDays(days).toOffsetDateTime(),
+                        s.getShiftType(),
+                        s.getShiftLocation()
+                ))
+                .toList();
+        return saveRoster(team, copies);
+    }
+
     @Override
     public List<ShiftResponseDTO> getEmployeeShifts(String employeeId) {
         log.info("Invoked the getEmployeeShifts service method, employeeId:{}", employeeId);
@@ -135,6 +201,53 @@ public class ShiftServiceImpl implements ShiftService {
 
     }
 
+    @Override
+    public ShiftPageDTO getEmployeeShiftWindow(String employeeId, LocalDate from, LocalDate to, String cursor, int size) {
+        log.info("Invoked the getEmployeeShiftWindow service method, employeeId:{}, from:{}, to:{}, cursor:{}, size:{}", employeeId, from, to, cursor, size);
+        UUID empID = parseUUID(employeeId, UuidErrorConstants.INVALID_EMPLOYEE_UUID);
+        LocalDate fromDate = from != null ? from : LocalDate.now();
+        LocalDate toDate = windowEnd(fromDate, to);
+
+        int pageSize = Math.clamp(size, 1, MAX_WINDOW_PAGE_SIZE);
+        // one extra row tells whether there is a next page without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        WindowCursor after = WindowCursor.parse(cursor);
+        List<Shift> rows;
+        if (after == null) {
+            rows = shiftRepository.findEmployeeShiftWindowFirstPage(empID, fromDate, toDate, limit);
+        } else {
+            // the cursor already lies inside [from, to], so only the upper bound still applies
+            rows = shiftRepository.findEmployeeShiftWindowAfter(empID, toDate, after.date(), after.start(), after.id(), limit);
+        }
+        return shiftPage(List.of(empID), rows, pageSize, fromDate, toDate, after);
+    }
+
+    @Override
+    @CircuitBreaker(name="employee-service", fallbackMethod="getDefaultTeamShiftWindow")
+    public ShiftPageDTO getTeamShiftWindow(String managerId, LocalDate from, LocalDate to, String cursor, int size) {
+        log.info("Invoked the getTeamShiftWindow service method, managerId:{}, from:{}, to:{}, cursor:{}, size:{}", managerId, from, to, cursor, size);
+        LocalDate fromDate = from != null ? from : LocalDate.now();
+        LocalDate toDate = windowEnd(fromDate, to);
+        int pageSize = Math.clamp(size, 1, MAX_WINDOW_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<EmployeeDTO> team = employeeClient.getTeamMembers(managerId);
+        if (team.isEmpty()) {
+            return new ShiftPageDTO(List.of(), null);
+        }
+        List<UUID> empIds = team.stream().map(EmployeeDTO::id).toList();
+
+        WindowCursor after = WindowCursor.parse(cursor);
+        List<Shift> rows;
+        if (after == null) {
+            rows = shiftRepository.findTeamShiftWindowFirstPage(empIds, fromDate, toDate, limit);
+        } else {
+            rows = shiftRepository.findTeamShiftWindowAfter(empIds, toDate, after.date(), after.start(), after.id(), limit);
+        }
+        return shiftPage(empIds, rows, pageSize, fromDate, toDate, after);
+    }
+
     @Override
     public List<TeamShiftTableRowDTO> getTeamShiftsByManagerAndDatePicker(String managerId, LocalDate date) {
         log.info("Invoked the getTeamShiftsByManagerAndDatePicker service method, managerId:{}, date:{}", managerId, date);
@@ -153,9 +266,10 @@ public class ShiftServiceImpl implements ShiftService {
 
         List<UUID> empIds = new ArrayList<>(idToName.keySet());
         List<Shift> shifts = shiftRepository.findTeamShiftRowByEmployeeIdsAndDateBetween(empIds, date);
+        List<ShiftRuleExpander.RuleOccurrence> occurrences = shiftRuleExpander.expand(empIds, date, date);
 
-
-        return shifts.stream().map(s -> new TeamShiftTableRowDTO(
+        List<TeamShiftTableRowDTO> rows = new ArrayList<>(shifts.size() + occurrences.size());
+        shifts.forEach(s -> rows.add(new TeamShiftTableRowDTO(
                 s.getId(),
                 s.getPublicId(),
                 idToName.getOrDefault(s.getEmployeeId(), ""),
@@ -165,7 +279,24 @@ public class ShiftServiceImpl implements ShiftService {
                 s.getShiftType(),
                 s.getShiftLocation(),
                 s.getShiftStatus()
-        )).toList();
+        )));
+        if (occurrences.isEmpty()) {
+            return rows;
+        }
+
+        occurrences.forEach(o -> rows.add(new TeamShiftTableRowDTO(
+                o.shift().id(),
+                o.shift().shiftId(),
+                idToName.getOrDefault(o.employeeId(), ""),
+                o.shift().shiftDate(),
+                o.shift().shiftStartTime(),
+                o.shift().shiftEndTime(),
+                o.shift().shiftType(),
+                o.shift().shiftLocation(),
+                o.shift().shiftStatus()
+        )));
+        rows.sort(Comparator.comparing(TeamShiftTableRowDTO::shiftStartTime, OffsetDateTime.timeLineOrder()));
+        return rows;
     }
 
 
@@ -173,4 +304,144 @@ public class ShiftServiceImpl implements ShiftService {
         log.error("Circuit Breaker triggered for Employee Client call. Reason: {}, passed managerId:{}", managerId, t.getMessage());
         return Collections.emptyList();
     }
+
+    public ShiftPageDTO getDefaultTeamShiftWindow(String managerId, LocalDate from, LocalDate to, String cursor, int size, Throwable t) {
+        // bad input is the caller's error, not employee-service being down
+        if (t instanceof InvalidDateException || t instanceof InvalidCursorException) {
+            throw (RuntimeException) t;
+        }
+        log.error("Circuit Breaker triggered for Employee Client call. Reason: {}, passed managerId:{}", t.getMessage(), managerId);
+        return new ShiftPageDTO(List.of(), null);
+    }
+
+    // one employee-service call for the whole roster instead of one per shift
+    private Set<UUID> teamMemberIds(String managerId) {
+        return employeeClient.getTeamMembers(managerId).stream()
+                .map(EmployeeDTO::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Checks every shift against the team and the employee's other shifts, existing or earlier in
+     * the roster, and inserts the ones without conflicts in one batch. Existing shifts come from
+     * {@link ShiftIntervalIndex}, which books the whole roster in one call and so locks each
+     * employee's guard row once, however many rows they have.
+     */
+    private RosterResponseDTO saveRoster(Set<UUID> team, List<Shift> shifts) {
+        Map<UUID, List<ShiftRuleExpander.RuleOccurrence>> occurrences = new HashMap<>();
+        List<UUID> employees = shifts.stream().map(Shift::getEmployeeId).filter(team::contains).distinct().toList();
+        if (!employees.isEmpty()) {
+            LocalDate first = shifts.stream().map(Shift::getShiftDate).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDate last = shifts.stream().map(Shift::getShiftDate).max(Comparator.naturalOrder()).orElseThrow();
+            // recurring shifts count as booked too, unless a concrete shift already replaced them;
+            // a day either side catches shifts that run over midnight
+            shiftRuleExpander.expand(employees, first.minusDays(1), last.plusDays(1))
+                    .forEach(o -> occurrences.computeIfAbsent(o.employeeId(), id -> new ArrayList<>()).add(o));
+        }
+
+        String[] conflicts = new String[shifts.size()];
+        List<Shift> candidates = new ArrayList<>();
+        for (int i = 0; i < shifts.size(); i++) {
+            Shift shift = shifts.get(i);
+            if (!team.contains(shift.getEmployeeId())) {
+                conflicts[i] = ErrorConstants.EMPLOYEE_NOT_IN_MANAGER_TEAM;
+            } else if (shift.getShiftEndTime().isBefore(shift.getShiftStartTime())) {
+                conflicts[i] = ErrorConstants.INVALID_SHIFT_TIMING;
+            } else if (occurrences.getOrDefault(shift.getEmployeeId(), List.of()).stream().anyMatch(o -> o.overlaps(shift))) {
+                conflicts[i] = ErrorConstants.SHIFT_OVERLAPS_EXISTING;
+            } else {
+                shift.setPublicId(PublicIdGenerator.generate(IdPrefix.SHIFT));
+                candidates.add(shift);
+            }
+        }
+        // in roster order, so of two overlapping rows the earlier one is booked
+        Set<String> booked = candidates.isEmpty() ? Set.of() : shiftIntervalIndex.assignEach(candidates);
+
+        List<Shift> accepted = new ArrayList<>();
+        List<RosterShiftResultDTO> results = new ArrayList<>(shifts.size());
+        for (int i = 0; i < shifts.size(); i++) {
+            Shift shift = shifts.get(i);
+            String conflict = conflicts[i];
+            if (conflict == null && !booked.contains(shift.getPublicId())) {
+                conflict = ErrorConstants.SHIFT_OVERLAPS_EXISTING;
+            }
+
+            if (conflict != null) {
+                results.add(rosterResult(i, shift, RosterShiftOutcome.CONFLICT, null, conflict));
+                continue;
+            }
+            accepted.add(shift);
+            results.add(rosterResult(i, shift, RosterShiftOutcome.CREATED, shift.getPublicId(), null));
+        }
+
+        // ids are assigned before insert, so Hibernate sends these as JDBC batches
+        shiftRepository.saveAll(accepted);
+        log.info("Created {} roster shifts, {} conflicts", accepted.size(), shifts.size() - accepted.size());
+        return new RosterResponseDTO(accepted.size(), shifts.size() - accepted.size(), results);
+    }
+
+    private static Shift newShift(UUID employeeId, LocalDate date, OffsetDateTime start, OffsetDateTime end, ShiftType type, String location) {
+        Shift shift = new Shift();
+        shift.setEmployeeId(employeeId);
+        shift.setShiftDate(date);
+        shift.setShiftStartTime(start);
+        shift.setShiftEndTime(end);
+        shift.setShiftType(type);
+        shift.setShiftStatus(ShiftStatus.CONFIRMED);
+        shift.setShiftLocation(location);
+        return shift;
+    }
+
+    private static RosterShiftResultDTO rosterResult(int index, Shift shift, RosterShiftOutcome outcome, String shiftId, String error) {
+        return new RosterShiftResultDTO(index, shift.getEmployeeId(), shift.getShiftDate(), shift.getShiftStartTime(), outcome, shiftId, error);
+    }
+
+    private static LocalDate windowEnd(LocalDate from, LocalDate to) {
+        LocalDate toDate = to != null ? to : from.plusDays(DEFAULT_WINDOW_DAYS - 1);
+        if (toDate.isBefore(from)) {
+            throw new InvalidDateException(ErrorConstants.INVALID_DATE_RANGE);
+        }
+        return toDate;
+    }
+
+    /**
+     * Merges the rows of a window page with the rule occurrences that fall between the cursor and
+     * the last row, and cuts the result back to one page.
+     */
+    private ShiftPageDTO shiftPage(List<UUID> employeeIds, List<Shift> rows, int pageSize, LocalDate from, LocalDate to, WindowCursor after) {
+        List<ShiftResponseDTO> page = new ArrayList<>(rows.size());
+        rows.forEach(s -> page.add(ShiftMapper.shiftEntityToDto(s)));
+
+        // once the database fills the page, occurrences after its last row cannot make it in
+        LocalDate through = rows.size() > pageSize ? rows.getLast().getShiftDate() : to;
+        LocalDate since = after == null ? from : after.date();
+        shiftRuleExpander.expand(employeeIds, since, through, s -> after == null || after.isBefore(s), pageSize + 1)
+                .forEach(o -> page.add(o.shift()));
+        page.sort(ShiftRuleExpander.SCHEDULE_ORDER);
+
+        if (page.size() <= pageSize) {
+            return new ShiftPageDTO(List.copyOf(page), null);
+        }
+        ShiftResponseDTO last = page.get(pageSize - 1);
+        return new ShiftPageDTO(List.copyOf(page.subList(0, pageSize)), PageCursor.encode(last.shiftDate(), last.shiftStartTime(), last.id()));
+    }
+
+    private record WindowCursor(LocalDate date, OffsetDateTime start, UUID id) {
+        static WindowCursor parse(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            String[] keys = PageCursor.decode(cursor, 3);
+            return new WindowCursor(
+                    PageCursor.parse(keys[0], LocalDate::parse),
+                    PageCursor.parse(keys[1], OffsetDateTime::parse),
+                    PageCursor.parse(keys[2], UUID::fromString)
+            );
+        }
+
+        boolean isBefore(ShiftResponseDTO shift) {
+            return ShiftRuleExpander.SCHEDULE_ORDER.compare(new ShiftResponseDTO(id, null, date, start, null, null, null, null), shift) < 0;
+        }
+    }
 }
@@ -1,15 +1,16 @@
 package com.chronos.shiftservice.service.impl;
 
-import com.aventrix.jnanoid.jnanoid.NanoIdUtils;
 import com.chronos.common.constants.ErrorConstants;
 import com.chronos.common.constants.UuidErrorConstants;
+import com.chronos.common.constants.enums.IdPrefix;
 import com.chronos.common.constants.enums.Role;
 import com.chronos.common.constants.enums.ShiftStatus;
 import com.chronos.common.constants.enums.ShiftSwapRequestStatus;
 import com.chronos.common.dto.EmployeeDTO;
 import com.chronos.common.exception.custom.ResourceNotFoundException;
 import com.chronos.common.exception.custom.ShiftSwapRequestException;
-import com.chronos.common.util.NanoIdGenerator;
+import com.chronos.common.util.PublicIdGenerator;
+import com.chronos.shiftservice.dto.employee.EmployeeIdsRequestDTO;
 import com.chronos.shiftservice.dto.shiftSwapRequest.CreateShiftSwapRequestDTO;
 import com.chronos.shiftservice.dto.shiftSwapRequest.ShiftSwapQueryResponseDTO;
 import com.chronos.shiftservice.dto.shiftSwapRequest.ShiftSwapResponseDTO;
@@ -25,6 +26,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -34,18 +36,27 @@ import static com.chronos.common.util.ParseUUID.parseUUID;
 @Slf4j
 @Service
 public class ShiftSwapRequestServiceImpl implements ShiftSwapRequestService {
+    // the most ids employee-service resolves per request
+    private static final int MAX_NAME_BATCH = 1000;
+
     private final ShiftSwapRepository shiftSwapRepository;
     private final ShiftRepository shiftRepository;
     private final EmployeeClient employeeClient;
+    private final ShiftRuleExpander shiftRuleExpander;
+    private final ShiftIntervalIndex shiftIntervalIndex;
 
     @Autowired
     public ShiftSwapRequestServiceImpl(
             ShiftSwapRepository shiftSwapRepository,
             ShiftRepository shiftRepository,
-            EmployeeClient employeeClient) {
+            EmployeeClient employeeClient,
+            ShiftRuleExpander shiftRuleExpander,
+            ShiftIntervalIndex shiftIntervalIndex) {
         this.shiftSwapRepository = shiftSwapRepository;
         this.shiftRepository = shiftRepository;
         this.employeeClient = employeeClient;
+        this.shiftRuleExpander = shiftRuleExpander;
+        this.shiftIntervalIndex = shiftIntervalIndex;
     }
 
     @Override
@@ -105,14 +116,6 @@ public class ShiftSwapRequestServiceImpl implements ShiftSwapRequestService {
             throw new ShiftSwapRequestException(ErrorConstants.STARTED_SHIFT_SWAP_ERROR);
         }
 
-
-        int shiftSwapIdLength = 10;
-        String nanoId = NanoIdUtils.randomNanoId(
-                NanoIdGenerator.DEFAULT_NUMBER_GENERATOR,
-                NanoIdGenerator.DEFAULT_ALPHABET,
-                shiftSwapIdLength
-        );
-
         offeringShift.setShiftStatus(ShiftStatus.PENDING);
         requestingShift.setShiftStatus(ShiftStatus.PENDING);
         shiftRepository.save(offeringShift);
@@ -120,7 +123,7 @@ public class ShiftSwapRequestServiceImpl implements ShiftSwapRequestService {
 
         ShiftSwapRequest shiftSwapEntity = new ShiftSwapRequest();
 
-        shiftSwapEntity.setPublicId("SSR-" + nanoId);
+        shiftSwapEntity.setPublicId(PublicIdGenerator.generate(IdPrefix.SHIFT_SWAP_REQUEST));
         shiftSwapEntity.setRequesterEmployeeId(requesterId);
         shiftSwapEntity.setRequestedEmployeeId(requestedId);
         shiftSwapEntity.setOfferingShift(offeringShift);
@@ -147,14 +150,12 @@ public class ShiftSwapRequestServiceImpl implements ShiftSwapRequestService {
 
         List<ShiftSwapRequest> list = shiftSwapRepository.findSwapRequestsByEmployee(requesterOrRequestedID);
 
-        Map<UUID, String> nameCache = new HashMap<>();
+        Map<UUID, String> names = namesOf(list);
 
         return list.stream().map(e -> {
-            String requesterName = nameCache.computeIfAbsent(e.getRequesterEmployeeId(),
-                    id -> buildName(employeeClient.getEmployeeById(id.toString())));
-            String requestedName = nameCache.computeIfAbsent(e.getRequestedEmployeeId(),
-                    id -> buildName(employeeClient.getEmployeeById(id.toString())));
-            String approvedByName = e.getApprovedBy() == null ? null : nameCache.computeIfAbsent(e.getApprovedBy(), id -> buildName(employeeClient.getEmployeeById(id.toString())));
+            String requesterName = names.getOrDefault(e.getRequesterEmployeeId(), "");
+            String requestedName = names.getOrDefault(e.getRequestedEmployeeId(), "");
+            String approvedByName = e.getApprovedBy() == null ? null : names.getOrDefault(e.getApprovedBy(), "");
 
             return ShiftSwapMapper.toQueryDto(e, requesterName, requestedName, approvedByName);
         }).toList();
@@ -174,14 +175,12 @@ public class ShiftSwapRequestServiceImpl implements ShiftSwapRequestService {
 
         List<ShiftSwapRequest> list = shiftSwapRepository.findTeamSwapRequests(empIds);
 
-        Map<UUID, String> nameCache = new HashMap<>();
+        Map<UUID, String> names = namesOf(list);
 
         return list.stream().map(e -> {
-            String requesterName = nameCache.computeIfAbsent(e.getRequesterEmployeeId(),
-                    id -> buildName(employeeClient.getEmployeeById(id.toString())));
-            String requestedName = nameCache.computeIfAbsent(e.getRequestedEmployeeId(),
-                    id -> buildName(employeeClient.getEmployeeById(id.toString())));
-            String approvedByName = e.getApprovedBy() == null ? null : nameCache.computeIfAbsent(e.getApprovedBy(), id -> buildName(employeeClient.getEmployeeById(id.toString())));
+            String requesterName = names.getOrDefault(e.getRequesterEmployeeId(), "");
+            String requestedName = names.getOrDefault(e.getRequestedEmployeeId(), "");
+            String approvedByName = e.getApprovedBy() == null ? null : names.getOrDefault(e.getApprovedBy(), "");
 
             return ShiftSwapMapper.toQueryDto(e, requesterName, requestedName, approvedByName);
         }).toList();
@@ -219,6 +218,17 @@ public class ShiftSwapRequestServiceImpl implements ShiftSwapRequestService {
         offeringShift.setShiftStatus(ShiftStatus.CONFIRMED);
         requestingShift.setShiftStatus(ShiftStatus.CONFIRMED);
 
+        // neither employee may end up with two shifts at once, recurring ones included
+        List<Shift> swapped = List.of(offeringShift, requestingShift);
+        LocalDate first = swapped.stream().map(Shift::getShiftDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate last = swapped.stream().map(Shift::getShiftDate).max(Comparator.naturalOrder()).orElseThrow();
+        boolean clashesWithRule = shiftRuleExpander.expand(List.of(requesterId, requestedId), first.minusDays(1), last.plusDays(1))
+                .stream()
+                .anyMatch(o -> swapped.stream().anyMatch(o::overlaps));
+        if (clashesWithRule || !shiftIntervalIndex.tryAssign(swapped)) {
+            throw new ShiftSwapRequestException(ErrorConstants.SHIFT_OVERLAPS_EXISTING);
+        }
+
         // saving it in the database......
         shiftRepository.save(offeringShift);
         shiftRepository.save(requestingShift);
@@ -287,9 +297,33 @@ public class ShiftSwapRequestServiceImpl implements ShiftSwapRequestService {
     }
 
 
+    // everyone named in a listing in one employee-service call per MAX_NAME_BATCH people
+    private Map<UUID, String> namesOf(List<ShiftSwapRequest> swaps) {
+        Set<UUID> ids = new HashSet<>();
+        swaps.forEach(s -> {
+            ids.add(s.getRequesterEmployeeId());
+            ids.add(s.getRequestedEmployeeId());
+            if (s.getApprovedBy() != null) {
+                ids.add(s.getApprovedBy());
+            }
+        });
+
+        List<UUID> distinct = List.copyOf(ids);
+        Map<UUID, String> names = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += MAX_NAME_BATCH) {
+            List<UUID> batch = distinct.subList(from, Math.min(from + MAX_NAME_BATCH, distinct.size()));
+            employeeClient.getEmployeeNamesByIds(new EmployeeIdsRequestDTO(batch))
+                    .forEach(e -> names.put(e.id(), buildName(e.firstName(), e.lastName())));
+        }
+        return names;
+    }
+
     private String buildName(EmployeeDTO e) {
         if (e == null) return "";
-        String lName = e.lastName();
-        return (lName == null || lName.isBlank()) ? e.firstName() : e.firstName() + " " + lName;
+        return buildName(e.firstName(), e.lastName());
+    }
+
+    private static String buildName(String fName, String lName) {
+        return (lName == null || lName.isBlank()) ? fName : fName + " " + lName;
     }
 }
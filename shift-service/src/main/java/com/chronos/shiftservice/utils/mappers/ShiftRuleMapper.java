@@ -0,0 +1,44 @@
+package com.chronos.shiftservice.utils.mappers;
+
+import com.chronos.shiftservice.dto.shiftRule.ShiftRuleResponseDTO;
+import com.chronos.shiftservice.entity.ShiftRule;
+
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class ShiftRuleMapper {
+    public static ShiftRuleResponseDTO shiftRuleEntityToDto(ShiftRule rule) {
+        return new ShiftRuleResponseDTO(
+                rule.getId(),
+                rule.getPublicId(),
+                rule.getEmployeeId(),
+                daysOf(rule.getDaysOfWeek()),
+                rule.getStartTime(),
+                rule.getEndTime(),
+                rule.getShiftType(),
+                rule.getShiftLocation(),
+                rule.getValidFrom(),
+                rule.getValidUntil()
+        );
+    }
+
+    public static int daysMask(Collection<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << day.ordinal();
+        }
+        return mask;
+    }
+
+    public static Set<DayOfWeek> daysOf(int mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & 1 << day.ordinal()) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+}
@@ -1,9 +1,14 @@
 package com.chronos.shiftservice;
 
+import com.chronos.common.constants.enums.RosterShiftOutcome;
 import com.chronos.common.constants.enums.ShiftStatus;
 import com.chronos.common.constants.enums.ShiftType;
 import com.chronos.shiftservice.controller.ShiftController;
+import com.chronos.shiftservice.dto.shift.CreateRosterRequestDTO;
 import com.chronos.shiftservice.dto.shift.CreateShiftDateRequestDTO;
+import com.chronos.shiftservice.dto.shift.RosterResponseDTO;
+import com.chronos.shiftservice.dto.shift.RosterShiftResultDTO;
+import com.chronos.shiftservice.dto.shift.ShiftPageDTO;
 import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
 import com.chronos.shiftservice.dto.shift.TeamShiftTableRowDTO;
 import com.chronos.shiftservice.service.impl.ShiftServiceImpl;
@@ -174,6 +179,48 @@ class ShiftControllerTest {
                 .andExpect(jsonPath("$[1].shiftId").exists());
     }
 
+    @Test
+    void createRoster_returnsOkWithPerShiftResults() throws Exception {
+        String managerId = "manager-1";
+        UUID empId = UUID.randomUUID();
+        LocalDate futureDate = LocalDate.now().plusDays(5);
+        CreateRosterRequestDTO request = new CreateRosterRequestDTO(List.of(new CreateShiftDateRequestDTO(
+                empId, futureDate, LocalTime.of(9, 0), LocalTime.of(17, 0), ShiftStatus.CONFIRMED, ShiftType.REGULAR, "Headquarters"
+        )));
+        OffsetDateTime start = futureDate.atTime(9, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        RosterResponseDTO response = new RosterResponseDTO(0, 1, List.of(new RosterShiftResultDTO(
+                0, empId, futureDate, start, RosterShiftOutcome.CONFLICT, null, "Shift overlaps another shift of the employee"
+        )));
+
+        when(shiftService.createRoster(eq(managerId), any(CreateRosterRequestDTO.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/shifts/manager/{managerId}/roster", managerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conflicts").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("CONFLICT"));
+    }
+
+    @Test
+    void getEmployeeShiftWindow_returnsOkAndPage() throws Exception {
+        String employeeId = UUID.randomUUID().toString();
+        LocalDate from = LocalDate.of(2025, 1, 6);
+        LocalDate to = LocalDate.of(2025, 1, 12);
+        OffsetDateTime start = from.atTime(9, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        ShiftResponseDTO shift = new ShiftResponseDTO(UUID.randomUUID(), "SH-1", from, start, start.plusHours(8),
+                ShiftStatus.CONFIRMED, ShiftType.REGULAR, "HQ");
+
+        when(shiftService.getEmployeeShiftWindow(employeeId, from, to, null, 50)).thenReturn(new ShiftPageDTO(List.of(shift), "next"));
+
+        mockMvc.perform(get("/api/shifts/{employeeId}/window", employeeId)
+                        .param("from", "2025-01-06")
+                        .param("to", "2025-01-12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shifts[0].shiftId").value("SH-1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
     @Test
     void getTeamShiftsByManagerAndDatePicker_returnsOkAndRows() throws Exception {
         String managerId = "manager-1";
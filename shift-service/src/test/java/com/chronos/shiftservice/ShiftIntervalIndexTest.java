@@ -0,0 +1,170 @@
+package com.chronos.shiftservice;
+
+import com.chronos.common.constants.enums.ShiftStatus;
+import com.chronos.common.constants.enums.ShiftType;
+import com.chronos.shiftservice.entity.Shift;
+import com.chronos.shiftservice.entity.ShiftBookingGuard;
+import com.chronos.shiftservice.repository.ShiftBookingGuardRepository;
+import com.chronos.shiftservice.repository.ShiftRepository;
+import com.chronos.shiftservice.repository.projections.ShiftIntervalView;
+import com.chronos.shiftservice.service.impl.ShiftIntervalIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShiftIntervalIndexTest {
+
+    private final LocalDate today = LocalDate.now(ZoneId.systemDefault());
+    private final UUID empId = UUID.randomUUID();
+    private final UUID otherId = UUID.randomUUID();
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private ShiftBookingGuardRepository guardRepository;
+
+    private ShiftIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ShiftIntervalIndex(shiftRepository, guardRepository, Period.ofDays(1), Period.ofDays(90), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void tryAssign_rejectsOnlyOverlapsOfTheSameEmployee() {
+        rebuildWith(shift("SH-1", empId, today, 9, 17));
+
+        assertFalse(index.tryAssign(List.of(shift("SH-2", empId, today, 16, 20))));
+        assertTrue(index.tryAssign(List.of(shift("SH-3", empId, today, 17, 20))));
+        assertTrue(index.tryAssign(List.of(shift("SH-4", otherId, today, 9, 17))));
+        // the booking just made counts for the next check
+        assertFalse(index.tryAssign(List.of(shift("SH-5", empId, today, 19, 21))));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void tryAssign_letsTwoShiftsTradeEmployees() {
+        Shift mine = shift("SH-1", empId, today, 9, 17);
+        Shift theirs = shift("SH-2", otherId, today, 10, 18);
+        rebuildWith(mine, theirs);
+
+        mine.setEmployeeId(otherId);
+        theirs.setEmployeeId(empId);
+
+        assertTrue(index.tryAssign(List.of(mine, theirs)));
+        assertEquals(2, index.size());
+        assertFalse(index.tryAssign(List.of(shift("SH-3", empId, today, 17, 18))));
+    }
+
+    @Test
+    void assignEach_booksEveryRowThatFitsWithOneGuardLock() {
+        rebuildWith(shift("SH-1", empId, today, 9, 12));
+
+        Set<String> booked = index.assignEach(List.of(
+                shift("SH-2", empId, today, 11, 14),
+                shift("SH-3", empId, today, 13, 17),
+                shift("SH-4", empId, today, 16, 18),
+                shift("SH-5", otherId, today, 9, 17)
+        ));
+
+        // SH-4 loses to SH-3, booked earlier in the same list
+        assertEquals(Set.of("SH-3", "SH-5"), booked);
+        assertEquals(3, index.size());
+        verify(guardRepository, times(1)).lockAll(List.of(empId, otherId));
+    }
+
+    @Test
+    void tryAssign_rolledBack_releasesTheSlot() {
+        rebuildWith();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(index.tryAssign(List.of(shift("SH-1", empId, today, 9, 17))));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, index.size());
+        assertTrue(index.tryAssign(List.of(shift("SH-2", empId, today, 9, 17))));
+    }
+
+    @Test
+    void tryAssign_shiftCommittedByAnotherInstance_rejected() {
+        rebuildWith();
+        // another instance booked for the employee after the rebuild, so only the database knows about it
+        List<ShiftIntervalView> rows = List.of(view(shift("SH-9", empId, today, 8, 12)));
+        when(shiftRepository.findEmployeeIntervalsBetween(empId, today.minusDays(2), today.plusDays(90))).thenReturn(rows);
+        when(guardRepository.lockAll(List.of(empId))).thenReturn(List.of(new ShiftBookingGuard(empId, 3)));
+
+        assertFalse(index.tryAssign(List.of(shift("SH-1", empId, today, 9, 17))));
+        assertTrue(index.tryAssign(List.of(shift("SH-2", empId, today, 12, 17))));
+
+        // the second batch saw the same count on the guard row, so the employee was read only once
+        verify(shiftRepository, times(1)).findEmployeeIntervalsBetween(any(), any(), any());
+        verify(guardRepository, times(1)).createIfAbsent(empId);
+        verify(guardRepository, times(1)).recordBookings(Set.of(empId));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void isBooked_beyondTheHorizon_asksTheDatabase() {
+        rebuildWith();
+        LocalDate later = today.plusDays(120);
+        when(shiftRepository.existsOverlapping(eq(empId), any(), any(), eq(Set.of("")))).thenReturn(true);
+
+        assertTrue(index.isBooked(empId, later.atTime(9, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime(),
+                later.atTime(17, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime()));
+    }
+
+    private void rebuildWith(Shift... shifts) {
+        List<ShiftIntervalView> rows = Arrays.stream(shifts).map(ShiftIntervalIndexTest::view).toList();
+        when(shiftRepository.findIntervalsBetween(today.minusDays(2), today.plusDays(90))).thenReturn(rows);
+        index.rebuild();
+    }
+
+    private static ShiftIntervalView view(Shift s) {
+        ShiftIntervalView row = mock(ShiftIntervalView.class);
+        when(row.getShiftId()).thenReturn(s.getPublicId());
+        when(row.getEmployeeId()).thenReturn(s.getEmployeeId());
+        when(row.getShiftStartTime()).thenReturn(s.getShiftStartTime());
+        when(row.getShiftEndTime()).thenReturn(s.getShiftEndTime());
+        return row;
+    }
+
+    private static Shift shift(String publicId, UUID employeeId, LocalDate date, int startHour, int endHour) {
+        Shift s = new Shift();
+        s.setPublicId(publicId);
+        s.setEmployeeId(employeeId);
+        s.setShiftDate(date);
+        s.setShiftStartTime(date.atTime(startHour, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        s.setShiftEndTime(date.atTime(endHour, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        s.setShiftType(ShiftType.REGULAR);
+        s.setShiftStatus(ShiftStatus.CONFIRMED);
+        s.setShiftLocation("Headquarters");
+        return s;
+    }
+}
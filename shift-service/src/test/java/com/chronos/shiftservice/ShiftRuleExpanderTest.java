@@ -0,0 +1,128 @@
+package com.chronos.shiftservice;
+
+import com.chronos.common.constants.enums.ShiftType;
+import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
+import com.chronos.shiftservice.entity.ShiftRule;
+import com.chronos.shiftservice.repository.ShiftRepository;
+import com.chronos.shiftservice.repository.ShiftRuleRepository;
+import com.chronos.shiftservice.repository.projections.RuleOverrideView;
+import com.chronos.shiftservice.service.impl.ShiftRuleExpander;
+import com.chronos.shiftservice.utils.mappers.ShiftRuleMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShiftRuleExpanderTest {
+
+    // a Monday
+    private static final LocalDate WEEK = LocalDate.of(2025, 1, 6);
+
+    @Mock
+    private ShiftRuleRepository shiftRuleRepository;
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    private ShiftRuleExpander expander;
+
+    @BeforeEach
+    void setUp() {
+        expander = new ShiftRuleExpander(shiftRuleRepository, shiftRepository, 100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void expand_repeatsOnRuleDaysWithinValidity_skipsReplacedOccurrences_andCachesWeeks() {
+        UUID empId = UUID.randomUUID();
+        ShiftRule rule = rule(empId, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), WEEK.plusDays(2), WEEK.plusDays(14));
+        when(shiftRuleRepository.findActiveForEmployees(List.of(empId), WEEK, WEEK.plusDays(20))).thenReturn(List.of(rule));
+        RuleOverrideView replaced = mock(RuleOverrideView.class);
+        when(replaced.getRuleId()).thenReturn(rule.getId());
+        when(replaced.getShiftDate()).thenReturn(WEEK.plusDays(9));
+        when(shiftRepository.findRuleOverrides(Set.of(rule.getId()), WEEK.plusDays(2), WEEK.plusDays(14))).thenReturn(List.of(replaced));
+
+        List<ShiftRuleExpander.RuleOccurrence> first = expander.expand(List.of(empId), WEEK, WEEK.plusDays(20));
+        List<ShiftRuleExpander.RuleOccurrence> second = expander.expand(List.of(empId), WEEK, WEEK.plusDays(20));
+
+        // Wednesday 8th, Monday 13th and Monday 20th; Wednesday 15th has its own shift
+        assertEquals(List.of(WEEK.plusDays(2), WEEK.plusDays(7), WEEK.plusDays(14)),
+                first.stream().map(o -> o.shift().shiftDate()).toList());
+        assertEquals(rule.getPublicId(), first.getFirst().shift().shiftId());
+        assertEquals(LocalTime.of(9, 0), first.getFirst().shift().shiftStartTime().toLocalTime());
+        assertEquals(first, second);
+        verify(shiftRuleRepository, times(1)).findActiveForEmployees(any(), any(), any());
+        assertEquals(3, expander.size());
+    }
+
+    @Test
+    void expand_withLimit_stopsAfterTheWeekThatFillsIt() {
+        UUID empId = UUID.randomUUID();
+        ShiftRule rule = rule(empId, EnumSet.allOf(DayOfWeek.class), WEEK, null);
+        when(shiftRuleRepository.findActiveForEmployees(List.of(empId), WEEK, WEEK.plusYears(1))).thenReturn(List.of(rule));
+        when(shiftRepository.findRuleOverrides(Set.of(rule.getId()), WEEK.plusDays(2), WEEK.plusDays(6))).thenReturn(List.of());
+
+        List<ShiftRuleExpander.RuleOccurrence> result = expander.expand(List.of(empId), WEEK, WEEK.plusYears(1),
+                s -> s.shiftDate().isAfter(WEEK.plusDays(1)), 3);
+
+        assertEquals(5, result.size());
+        assertEquals(WEEK.plusDays(2), result.getFirst().shift().shiftDate());
+        assertEquals(1, expander.size());
+    }
+
+    @Test
+    void invalidate_dropsTheEmployeesWeeks() {
+        UUID empId = UUID.randomUUID();
+        when(shiftRuleRepository.findActiveForEmployees(anyCollection(), any(), any())).thenReturn(List.of());
+
+        expander.expand(List.of(empId), WEEK, WEEK.plusDays(6));
+        expander.invalidate(empId);
+        expander.expand(List.of(empId), WEEK, WEEK.plusDays(6));
+
+        verify(shiftRuleRepository, times(2)).findActiveForEmployees(anyCollection(), any(), any());
+    }
+
+    @Test
+    void scheduleOrder_breaksTiesByUnsignedId() {
+        OffsetDateTime start = WEEK.atTime(9, 0).atZone(java.time.ZoneId.systemDefault()).toOffsetDateTime();
+        ShiftResponseDTO low = new ShiftResponseDTO(new UUID(0x7fffffffffffffffL, 0), "SH-1", WEEK, start, start.plusHours(8), null, ShiftType.REGULAR, "HQ");
+        ShiftResponseDTO high = new ShiftResponseDTO(new UUID(0x8000000000000000L, 0), "SH-2", WEEK, start, start.plusHours(8), null, ShiftType.REGULAR, "HQ");
+
+        assertTrue(ShiftRuleExpander.SCHEDULE_ORDER.compare(low, high) < 0);
+    }
+
+    private static ShiftRule rule(UUID employeeId, Set<DayOfWeek> days, LocalDate validFrom, LocalDate validUntil) {
+        ShiftRule rule = new ShiftRule();
+        rule.setId(UUID.randomUUID());
+        rule.setPublicId("SR-1");
+        rule.setEmployeeId(employeeId);
+        rule.setDaysOfWeek(ShiftRuleMapper.daysMask(days));
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(17, 0));
+        rule.setShiftType(ShiftType.REGULAR);
+        rule.setShiftLocation("Site A");
+        rule.setValidFrom(validFrom);
+        rule.setValidUntil(validUntil);
+        return rule;
+    }
+}
@@ -0,0 +1,182 @@
+package com.chronos.shiftservice;
+
+import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.constants.enums.ShiftType;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.ResourceNotFoundException;
+import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
+import com.chronos.shiftservice.dto.shiftRule.CreateShiftRuleRequestDTO;
+import com.chronos.shiftservice.entity.Shift;
+import com.chronos.shiftservice.entity.ShiftRule;
+import com.chronos.shiftservice.feign.EmployeeClient;
+import com.chronos.shiftservice.repository.ShiftBookingGuardRepository;
+import com.chronos.shiftservice.repository.ShiftRepository;
+import com.chronos.shiftservice.repository.ShiftRuleRepository;
+import com.chronos.shiftservice.service.impl.ShiftIntervalIndex;
+import com.chronos.shiftservice.service.impl.ShiftRuleExpander;
+import com.chronos.shiftservice.service.impl.ShiftRuleServiceImpl;
+import com.chronos.shiftservice.utils.mappers.ShiftRuleMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShiftRuleServiceTest {
+
+    @Mock
+    private ShiftRuleRepository shiftRuleRepository;
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private ShiftBookingGuardRepository guardRepository;
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    private ShiftRuleServiceImpl shiftRuleService;
+
+    @BeforeEach
+    void setUp() {
+        ShiftRuleExpander expander = new ShiftRuleExpander(shiftRuleRepository, shiftRepository, 100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        ShiftIntervalIndex intervals = new ShiftIntervalIndex(shiftRepository, guardRepository, Period.ofDays(1), Period.ofDays(90), new SimpleMeterRegistry());
+        shiftRuleService = new ShiftRuleServiceImpl(shiftRuleRepository, shiftRepository, employeeClient, expander, intervals);
+    }
+
+    @Test
+    void createRule_employeeNotInTeam_throws() {
+        when(employeeClient.getTeamMembers("manager-1")).thenReturn(List.of());
+        CreateShiftRuleRequestDTO request = new CreateShiftRuleRequestDTO(UUID.randomUUID(), Set.of(DayOfWeek.MONDAY),
+                LocalTime.of(9, 0), LocalTime.of(17, 0), ShiftType.REGULAR, "Site A", LocalDate.now(), null);
+
+        assertThrows(ResourceNotFoundException.class, () -> shiftRuleService.createRule("manager-1", request));
+        verify(shiftRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void createRule_overlapsAnotherRuleOfTheEmployee_throws() {
+        ShiftRule existing = teamMemberRule();
+        when(shiftRuleRepository.findByEmployeeIds(List.of(existing.getEmployeeId()))).thenReturn(List.of(existing));
+        CreateShiftRuleRequestDTO request = new CreateShiftRuleRequestDTO(existing.getEmployeeId(), Set.of(DayOfWeek.FRIDAY),
+                LocalTime.of(16, 0), LocalTime.of(20, 0), ShiftType.REGULAR, "Site A", LocalDate.now(), null);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> shiftRuleService.createRule("manager-1", request));
+        assertEquals(ErrorConstants.SHIFT_RULE_OVERLAPS_EXISTING, ex.getMessage());
+        verify(shiftRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void createRule_overlapsBookedShift_throws() {
+        ShiftRule existing = teamMemberRule();
+        when(shiftRuleRepository.findByEmployeeIds(List.of(existing.getEmployeeId()))).thenReturn(List.of());
+        // the index has not been built yet, so every check goes to the database
+        when(shiftRepository.existsOverlapping(eq(existing.getEmployeeId()), any(), any(), any())).thenReturn(true);
+        CreateShiftRuleRequestDTO request = new CreateShiftRuleRequestDTO(existing.getEmployeeId(), Set.of(DayOfWeek.values()),
+                LocalTime.of(9, 0), LocalTime.of(17, 0), ShiftType.REGULAR, "Site A", LocalDate.now(), LocalDate.now().plusDays(6));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> shiftRuleService.createRule("manager-1", request));
+        assertEquals(ErrorConstants.SHIFT_RULE_OVERLAPS_EXISTING, ex.getMessage());
+        verify(shiftRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void materializeOccurrence_overlapsAnotherRule_throws() {
+        ShiftRule rule = teamRule();
+        LocalDate monday = LocalDate.of(2025, 1, 13);
+        ShiftRule lunch = new ShiftRule();
+        lunch.setId(UUID.randomUUID());
+        lunch.setPublicId("SR-2");
+        lunch.setEmployeeId(rule.getEmployeeId());
+        lunch.setDaysOfWeek(ShiftRuleMapper.daysMask(Set.of(DayOfWeek.MONDAY)));
+        lunch.setStartTime(LocalTime.of(12, 0));
+        lunch.setEndTime(LocalTime.of(13, 0));
+        lunch.setShiftType(ShiftType.REGULAR);
+        lunch.setShiftLocation("Site B");
+        lunch.setValidFrom(LocalDate.of(2025, 1, 1));
+        when(shiftRepository.existsByRuleIdAndShiftDate(rule.getId(), monday)).thenReturn(false);
+        when(shiftRuleRepository.findActiveForEmployees(anyCollection(), any(), any())).thenReturn(List.of(rule, lunch));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> shiftRuleService.materializeOccurrence("manager-1", rule.getId().toString(), monday));
+        assertEquals(ErrorConstants.SHIFT_OVERLAPS_EXISTING, ex.getMessage());
+        verify(shiftRepository, never()).save(any());
+    }
+
+    @Test
+    void materializeOccurrence_createsShiftTiedToTheRule() {
+        ShiftRule rule = teamRule();
+        LocalDate monday = LocalDate.of(2025, 1, 13);
+        when(shiftRepository.existsByRuleIdAndShiftDate(rule.getId(), monday)).thenReturn(false);
+        when(shiftRepository.save(any(Shift.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ShiftResponseDTO shift = shiftRuleService.materializeOccurrence("manager-1", rule.getId().toString(), monday);
+
+        ArgumentCaptor<Shift> saved = ArgumentCaptor.forClass(Shift.class);
+        verify(shiftRepository).save(saved.capture());
+        assertEquals(rule.getId(), saved.getValue().getRuleId());
+        assertEquals(rule.getEmployeeId(), saved.getValue().getEmployeeId());
+        assertTrue(shift.shiftId().startsWith("SH-"));
+        assertEquals(monday.atTime(9, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime(), shift.shiftStartTime());
+    }
+
+    @Test
+    void materializeOccurrence_alreadyReplaced_throws() {
+        ShiftRule rule = teamRule();
+        LocalDate monday = LocalDate.of(2025, 1, 13);
+        when(shiftRepository.existsByRuleIdAndShiftDate(rule.getId(), monday)).thenReturn(true);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> shiftRuleService.materializeOccurrence("manager-1", rule.getId().toString(), monday));
+        assertEquals(ErrorConstants.SHIFT_RULE_OCCURRENCE_EXISTS, ex.getMessage());
+    }
+
+    private ShiftRule teamRule() {
+        ShiftRule rule = teamMemberRule();
+        when(shiftRuleRepository.findById(rule.getId())).thenReturn(Optional.of(rule));
+        return rule;
+    }
+
+    private ShiftRule teamMemberRule() {
+        UUID empId = UUID.randomUUID();
+        ShiftRule rule = new ShiftRule();
+        rule.setId(UUID.randomUUID());
+        rule.setPublicId("SR-1");
+        rule.setEmployeeId(empId);
+        rule.setDaysOfWeek(ShiftRuleMapper.daysMask(Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY)));
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(17, 0));
+        rule.setShiftType(ShiftType.REGULAR);
+        rule.setShiftLocation("Site A");
+        rule.setValidFrom(LocalDate.of(2025, 1, 1));
+
+        EmployeeDTO member = mock(EmployeeDTO.class);
+        when(member.id()).thenReturn(empId);
+        when(employeeClient.getTeamMembers("manager-1")).thenReturn(List.of(member));
+        return rule;
+    }
+}
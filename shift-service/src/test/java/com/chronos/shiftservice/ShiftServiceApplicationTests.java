@@ -1,7 +1,9 @@
 package com.chronos.shiftservice;
 
 import com.chronos.shiftservice.feign.EmployeeClient;
+import com.chronos.shiftservice.repository.ShiftBookingGuardRepository;
 import com.chronos.shiftservice.repository.ShiftRepository;
+import com.chronos.shiftservice.repository.ShiftRuleRepository;
 import com.chronos.shiftservice.repository.ShiftSwapRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -16,6 +18,7 @@ import java.util.Optional;
 
 @SpringBootTest
 @TestPropertySource(properties = {
+        "spring.profiles.active=test",
         "spring.cloud.config.enabled=false",
         "eureka.client.enabled=false",
         "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration," +
@@ -30,9 +33,15 @@ class ShiftServiceApplicationTests {
     @MockitoBean
     private ShiftRepository shiftRepository;
 
+    @MockitoBean
+    private ShiftBookingGuardRepository shiftBookingGuardRepository;
+
     @MockitoBean
     private ShiftSwapRepository shiftSwapRepository;
 
+    @MockitoBean
+    private ShiftRuleRepository shiftRuleRepository;
+
 
     @Test
     void contextLoads() {
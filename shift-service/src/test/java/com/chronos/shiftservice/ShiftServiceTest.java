@@ -1,35 +1,57 @@
 package com.chronos.shiftservice;
 
 import com.chronos.common.constants.ErrorConstants;
+import com.chronos.common.constants.enums.RosterShiftOutcome;
 import com.chronos.common.constants.enums.ShiftStatus;
 import com.chronos.common.constants.enums.ShiftType;
 import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.common.exception.custom.InvalidDateException;
 import com.chronos.common.exception.custom.ResourceNotFoundException;
 import com.chronos.common.exception.custom.ShiftNotFoundException;
+import com.chronos.shiftservice.dto.shift.CopyWeekRequestDTO;
+import com.chronos.shiftservice.dto.shift.CreateRosterRequestDTO;
 import com.chronos.shiftservice.dto.shift.CreateShiftDateRequestDTO;
+import com.chronos.shiftservice.dto.shift.RosterResponseDTO;
+import com.chronos.shiftservice.dto.shift.RosterShiftResultDTO;
+import com.chronos.shiftservice.dto.shift.ShiftPageDTO;
 import com.chronos.shiftservice.dto.shift.ShiftResponseDTO;
 import com.chronos.shiftservice.dto.shift.TeamShiftTableRowDTO;
 import com.chronos.shiftservice.entity.Shift;
 import com.chronos.shiftservice.feign.EmployeeClient;
+import com.chronos.shiftservice.repository.ShiftBookingGuardRepository;
 import com.chronos.shiftservice.repository.ShiftRepository;
+import com.chronos.shiftservice.service.impl.ShiftIntervalIndex;
+import com.chronos.shiftservice.service.impl.ShiftRuleExpander;
 import com.chronos.shiftservice.service.impl.ShiftServiceImpl;
+import com.chronos.shiftservice.utils.mappers.ShiftMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.time.Period;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +63,12 @@ class ShiftServiceTest {
     @Mock
     private EmployeeClient employeeClient;
 
+    @Mock
+    private ShiftRuleExpander shiftRuleExpander;
+
+    @Mock
+    private ShiftIntervalIndex shiftIntervalIndex;
+
     @InjectMocks
     private ShiftServiceImpl shiftService;
 
@@ -76,6 +104,7 @@ class ShiftServiceTest {
         saved.setShiftStatus(ShiftStatus.CONFIRMED);
         saved.setShiftLocation("HQ");
 
+        when(shiftIntervalIndex.tryAssign(any())).thenReturn(true);
         when(shiftRepository.save(any(Shift.class))).thenReturn(saved);
 
         ShiftResponseDTO response = shiftService.createShift(request, managerId);
@@ -125,6 +154,96 @@ class ShiftServiceTest {
         assertEquals(ErrorConstants.INVALID_SHIFT_TIMING, ex.getMessage());
     }
 
+    @Test
+    void createShift_overlapsBookedShift_throws() {
+        UUID empId = UUID.randomUUID();
+        String managerId = "manager-1";
+
+        CreateShiftDateRequestDTO request = new CreateShiftDateRequestDTO(empId, LocalDate.of(2025, 1, 10),
+                LocalTime.of(9, 0), LocalTime.of(17, 0), ShiftStatus.CONFIRMED, ShiftType.REGULAR, "Headquarters");
+
+        EmployeeDTO empDto = mock(EmployeeDTO.class);
+        when(empDto.id()).thenReturn(empId);
+        when(employeeClient.getTeamMembers(managerId)).thenReturn(List.of(empDto));
+        when(shiftIntervalIndex.tryAssign(any())).thenReturn(false);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> shiftService.createShift(request, managerId));
+        assertEquals(ErrorConstants.SHIFT_OVERLAPS_EXISTING, ex.getMessage());
+        verify(shiftRepository, never()).save(any());
+    }
+
+    @Test
+    void createRoster_reportsConflictsAndSavesTheRest() {
+        UUID empId = UUID.randomUUID();
+        UUID outsider = UUID.randomUUID();
+        String managerId = "manager-1";
+        LocalDate day = LocalDate.of(2025, 1, 10);
+
+        EmployeeDTO empDto = mock(EmployeeDTO.class);
+        when(empDto.id()).thenReturn(empId);
+        when(employeeClient.getTeamMembers(managerId)).thenReturn(List.of(empDto));
+        // the employee already works 09:00-17:00 on the day after; the index has not been built,
+        // so only the database knows
+        when(shiftRepository.existsOverlapping(eq(empId), any(), any(), any()))
+                .thenAnswer(inv -> inv.<OffsetDateTime>getArgument(1).toLocalDate().equals(day.plusDays(1)));
+        ShiftBookingGuardRepository guards = mock(ShiftBookingGuardRepository.class);
+        ShiftIntervalIndex intervals = new ShiftIntervalIndex(shiftRepository, guards, Period.ofDays(1), Period.ofDays(90), new SimpleMeterRegistry());
+        ShiftServiceImpl shiftService = new ShiftServiceImpl(shiftRepository, employeeClient, shiftRuleExpander, intervals);
+
+        CreateRosterRequestDTO request = new CreateRosterRequestDTO(List.of(
+                rosterRow(empId, day, 9, 17),
+                rosterRow(outsider, day, 9, 17),
+                rosterRow(empId, day, 16, 20),
+                rosterRow(empId, day.plusDays(1), 12, 14),
+                rosterRow(empId, day.plusDays(1), 17, 9)
+        ));
+
+        RosterResponseDTO response = shiftService.createRoster(managerId, request);
+
+        assertEquals(1, response.created());
+        assertEquals(4, response.conflicts());
+        assertEquals(RosterShiftOutcome.CREATED, response.results().get(0).outcome());
+        assertNotNull(response.results().get(0).shiftId());
+        assertEquals(ErrorConstants.EMPLOYEE_NOT_IN_MANAGER_TEAM, response.results().get(1).error());
+        assertEquals(ErrorConstants.SHIFT_OVERLAPS_EXISTING, response.results().get(2).error());
+        assertEquals(ErrorConstants.SHIFT_OVERLAPS_EXISTING, response.results().get(3).error());
+        assertEquals(ErrorConstants.INVALID_SHIFT_TIMING, response.results().get(4).error());
+
+        ArgumentCaptor<List<Shift>> saved = ArgumentCaptor.captor();
+        verify(shiftRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(response.results().get(0).shiftId(), saved.getValue().getFirst().getPublicId());
+        verify(employeeClient, times(1)).getTeamMembers(managerId);
+        // the whole roster is booked in one batch, so the employee's guard row is locked once
+        verify(guards, times(1)).lockAll(List.of(empId));
+    }
+
+    @Test
+    void copyWeek_movesTheTeamsShiftsByWholeWeeks() {
+        UUID empId = UUID.randomUUID();
+        String managerId = "manager-1";
+        LocalDate source = LocalDate.of(2025, 1, 6);
+        LocalDate target = LocalDate.of(2025, 1, 20);
+
+        EmployeeDTO empDto = mock(EmployeeDTO.class);
+        when(empDto.id()).thenReturn(empId);
+        when(employeeClient.getTeamMembers(managerId)).thenReturn(List.of(empDto));
+        when(shiftRepository.findByEmployeeIdsAndShiftDateBetween(Set.of(empId), source, source.plusDays(6)))
+                .thenReturn(List.of(windowShift(empId, "SH-1", source.plusDays(2))));
+        when(shiftIntervalIndex.assignEach(any())).thenAnswer(inv -> inv.<List<Shift>>getArgument(0).stream()
+                .map(Shift::getPublicId)
+                .collect(Collectors.toSet()));
+
+        RosterResponseDTO response = shiftService.copyWeek(managerId, new CopyWeekRequestDTO(source, target));
+
+        assertEquals(1, response.created());
+        RosterShiftResultDTO copy = response.results().getFirst();
+        assertEquals(target.plusDays(2), copy.shiftDate());
+        assertEquals(LocalTime.of(9, 0), copy.shiftStartTime().atZoneSameInstant(ZoneId.systemDefault()).toLocalTime());
+        assertNotEquals("SH-1", copy.shiftId());
+    }
+
     @Test
     void getEmployeeShifts_success() {
         UUID empId = UUID.randomUUID();
@@ -162,6 +281,88 @@ class ShiftServiceTest {
         assertThrows(ShiftNotFoundException.class, () -> shiftService.getEmployeeShifts(empId.toString()));
     }
 
+    @Test
+    void getEmployeeShiftWindow_fullPage_cursorContinuesAfterLastShift() {
+        UUID empId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2025, 1, 6);
+        LocalDate to = LocalDate.of(2025, 1, 12);
+        Shift mon = windowShift(empId, "SH-1", LocalDate.of(2025, 1, 6));
+        Shift tue = windowShift(empId, "SH-2", LocalDate.of(2025, 1, 7));
+        Shift wed = windowShift(empId, "SH-3", LocalDate.of(2025, 1, 8));
+        when(shiftRepository.findEmployeeShiftWindowFirstPage(empId, from, to, Limit.of(3))).thenReturn(List.of(mon, tue, wed));
+        when(shiftRepository.findEmployeeShiftWindowAfter(empId, to, tue.getShiftDate(), tue.getShiftStartTime(), tue.getId(), Limit.of(3)))
+                .thenReturn(List.of(wed));
+
+        ShiftPageDTO first = shiftService.getEmployeeShiftWindow(empId.toString(), from, to, null, 2);
+
+        assertEquals(List.of("SH-1", "SH-2"), first.shifts().stream().map(ShiftResponseDTO::shiftId).toList());
+        assertNotNull(first.nextCursor());
+
+        ShiftPageDTO second = shiftService.getEmployeeShiftWindow(empId.toString(), from, to, first.nextCursor(), 2);
+
+        assertEquals(List.of("SH-3"), second.shifts().stream().map(ShiftResponseDTO::shiftId).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void getEmployeeShiftWindow_mergesRuleOccurrencesIntoThePage() {
+        UUID empId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2025, 1, 6);
+        LocalDate to = LocalDate.of(2025, 1, 12);
+        Shift mon = windowShift(empId, "SH-1", LocalDate.of(2025, 1, 6));
+        Shift wed = windowShift(empId, "SH-3", LocalDate.of(2025, 1, 8));
+        ShiftResponseDTO tue = ShiftMapper.shiftEntityToDto(windowShift(empId, "SR-1", LocalDate.of(2025, 1, 7)));
+        when(shiftRepository.findEmployeeShiftWindowFirstPage(empId, from, to, Limit.of(3))).thenReturn(List.of(mon, wed));
+        when(shiftRuleExpander.expand(eq(List.of(empId)), eq(from), eq(to), any(), eq(3)))
+                .thenReturn(List.of(new ShiftRuleExpander.RuleOccurrence(UUID.randomUUID(), empId, tue)));
+        when(shiftRepository.findEmployeeShiftWindowAfter(empId, to, tue.shiftDate(), tue.shiftStartTime(), tue.id(), Limit.of(3)))
+                .thenReturn(List.of(wed));
+
+        ShiftPageDTO first = shiftService.getEmployeeShiftWindow(empId.toString(), from, to, null, 2);
+        ShiftPageDTO second = shiftService.getEmployeeShiftWindow(empId.toString(), from, to, first.nextCursor(), 2);
+
+        assertEquals(List.of("SH-1", "SR-1"), first.shifts().stream().map(ShiftResponseDTO::shiftId).toList());
+        assertEquals(List.of("SH-3"), second.shifts().stream().map(ShiftResponseDTO::shiftId).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void getEmployeeShiftWindow_noBounds_defaultsToFourWeeksFromToday() {
+        UUID empId = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        when(shiftRepository.findEmployeeShiftWindowFirstPage(empId, today, today.plusDays(27), Limit.of(51))).thenReturn(List.of());
+
+        ShiftPageDTO page = shiftService.getEmployeeShiftWindow(empId.toString(), null, null, null, 50);
+
+        assertTrue(page.shifts().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getEmployeeShiftWindow_toBeforeFrom_throws() {
+        assertThrows(InvalidDateException.class, () -> shiftService.getEmployeeShiftWindow(
+                UUID.randomUUID().toString(), LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, 50));
+        verifyNoInteractions(shiftRepository);
+    }
+
+    @Test
+    void getTeamShiftWindow_readsOnlyTheTeamsWindow() {
+        String managerId = "manager-1";
+        UUID emp1 = UUID.randomUUID();
+        EmployeeDTO e1 = mock(EmployeeDTO.class);
+        when(e1.id()).thenReturn(emp1);
+        when(employeeClient.getTeamMembers(managerId)).thenReturn(List.of(e1));
+        LocalDate from = LocalDate.of(2025, 1, 6);
+        LocalDate to = LocalDate.of(2025, 1, 12);
+        when(shiftRepository.findTeamShiftWindowFirstPage(List.of(emp1), from, to, Limit.of(51)))
+                .thenReturn(List.of(windowShift(emp1, "SH-A", from)));
+
+        ShiftPageDTO page = shiftService.getTeamShiftWindow(managerId, from, to, null, 50);
+
+        assertEquals(1, page.shifts().size());
+        assertNull(page.nextCursor());
+    }
+
     @Test
     void getTeamsShiftByManager_success() {
         String managerId = "manager-1";
@@ -266,4 +467,23 @@ class ShiftServiceTest {
         assertNotNull(res);
         assertTrue(res.isEmpty());
     }
+
+    private static CreateShiftDateRequestDTO rosterRow(UUID employeeId, LocalDate date, int startHour, int endHour) {
+        return new CreateShiftDateRequestDTO(employeeId, date, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0),
+                ShiftStatus.CONFIRMED, ShiftType.REGULAR, "HQ");
+    }
+
+    private static Shift windowShift(UUID employeeId, String publicId, LocalDate date) {
+        Shift s = new Shift();
+        s.setId(UUID.randomUUID());
+        s.setPublicId(publicId);
+        s.setEmployeeId(employeeId);
+        s.setShiftDate(date);
+        s.setShiftStartTime(date.atTime(9, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        s.setShiftEndTime(date.atTime(17, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        s.setShiftType(ShiftType.REGULAR);
+        s.setShiftStatus(ShiftStatus.CONFIRMED);
+        s.setShiftLocation("HQ");
+        return s;
+    }
 }
@@ -0,0 +1,114 @@
+package com.chronos.shiftservice;
+
+import com.chronos.common.constants.enums.ShiftStatus;
+import com.chronos.common.constants.enums.ShiftSwapRequestStatus;
+import com.chronos.common.constants.enums.ShiftType;
+import com.chronos.common.dto.EmployeeDTO;
+import com.chronos.shiftservice.dto.employee.EmployeeIdNameDTO;
+import com.chronos.shiftservice.dto.employee.EmployeeIdsRequestDTO;
+import com.chronos.shiftservice.dto.shiftSwapRequest.ShiftSwapQueryResponseDTO;
+import com.chronos.shiftservice.entity.Shift;
+import com.chronos.shiftservice.entity.ShiftSwapRequest;
+import com.chronos.shiftservice.feign.EmployeeClient;
+import com.chronos.shiftservice.repository.ShiftSwapRepository;
+import com.chronos.shiftservice.service.impl.ShiftSwapRequestServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShiftSwapRequestServiceTest {
+
+    @Mock
+    private ShiftSwapRepository shiftSwapRepository;
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    @InjectMocks
+    private ShiftSwapRequestServiceImpl shiftSwapRequestService;
+
+    @Test
+    void getTeamSwapRequests_resolvesEveryNameInOneCall() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        UUID carol = UUID.randomUUID();
+        UUID managerId = UUID.randomUUID();
+
+        EmployeeDTO aliceDto = mock(EmployeeDTO.class);
+        when(aliceDto.id()).thenReturn(alice);
+        EmployeeDTO bobDto = mock(EmployeeDTO.class);
+        when(bobDto.id()).thenReturn(bob);
+        when(employeeClient.getTeamMembers("manager-1")).thenReturn(List.of(aliceDto, bobDto));
+
+        ShiftSwapRequest approved = swap(alice, bob, managerId);
+        ShiftSwapRequest pending = swap(bob, carol, null);
+        when(shiftSwapRepository.findTeamSwapRequests(List.of(alice, bob))).thenReturn(List.of(approved, pending));
+        when(employeeClient.getEmployeeNamesByIds(any())).thenReturn(List.of(
+                new EmployeeIdNameDTO(alice, "Alice", "Smith"),
+                new EmployeeIdNameDTO(bob, "Bob", null),
+                new EmployeeIdNameDTO(managerId, "Dana", "Lee")
+        ));
+
+        List<ShiftSwapQueryResponseDTO> swaps = shiftSwapRequestService.getTeamSwapRequests("manager-1");
+
+        ArgumentCaptor<EmployeeIdsRequestDTO> request = ArgumentCaptor.forClass(EmployeeIdsRequestDTO.class);
+        verify(employeeClient, times(1)).getEmployeeNamesByIds(request.capture());
+        assertEquals(Set.of(alice, bob, carol, managerId), Set.copyOf(request.getValue().employeeIds()));
+        verify(employeeClient, never()).getEmployeeById(anyString());
+
+        assertEquals("Alice Smith", swaps.get(0).fromEmployeeName());
+        assertEquals("Bob", swaps.get(0).toEmployeeName());
+        assertEquals("Dana Lee", swaps.get(0).approvedByName());
+        // an employee unknown to employee-service is shown without a name
+        assertEquals("", swaps.get(1).toEmployeeName());
+        assertNull(swaps.get(1).approvedByName());
+    }
+
+    private static ShiftSwapRequest swap(UUID requester, UUID requested, UUID approvedBy) {
+        ShiftSwapRequest swap = new ShiftSwapRequest();
+        swap.setId(UUID.randomUUID());
+        swap.setPublicId("SWP-" + requester.toString().substring(0, 4));
+        swap.setRequesterEmployeeId(requester);
+        swap.setRequestedEmployeeId(requested);
+        swap.setOfferingShift(shift(requester));
+        swap.setRequestingShift(shift(requested));
+        swap.setStatus(approvedBy == null ? ShiftSwapRequestStatus.PENDING : ShiftSwapRequestStatus.APPROVED);
+        swap.setReason("Family commitment");
+        swap.setApprovedBy(approvedBy);
+        return swap;
+    }
+
+    private static Shift shift(UUID employeeId) {
+        LocalDate date = LocalDate.of(2025, 1, 10);
+        Shift s = new Shift();
+        s.setId(UUID.randomUUID());
+        s.setPublicId("SH-" + employeeId.toString().substring(0, 4));
+        s.setEmployeeId(employeeId);
+        s.setShiftDate(date);
+        s.setShiftStartTime(date.atTime(9, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        s.setShiftEndTime(date.atTime(17, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        s.setShiftType(ShiftType.REGULAR);
+        s.setShiftStatus(ShiftStatus.CONFIRMED);
+        s.setShiftLocation("Headquarters");
+        return s;
+    }
+}